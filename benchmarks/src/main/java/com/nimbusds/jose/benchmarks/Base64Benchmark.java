@@ -0,0 +1,64 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Benchmarks the base64url encoding and decoding, which
+ * {@link Base64URL#encode(byte[])} and {@link Base64URL#decode()} delegate
+ * to the internal Base64Codec.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+
+
+	/**
+	 * The input size: a 256-bit signature or secret, a small and a large
+	 * header or claims set, a large payload.
+	 */
+	@Param({"32", "256", "4096", "65536"})
+	public int size;
+
+
+	private byte[] bytes;
+
+
+	private Base64URL encoded;
+
+
+	@Setup
+	public void setUp() {
+
+		bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		encoded = Base64URL.encode(bytes);
+	}
+
+
+	@Benchmark
+	public String encode() {
+
+		return Base64URL.encode(bytes).toString();
+	}
+
+
+	@Benchmark
+	public byte[] decode() {
+
+		return encoded.decode();
+	}
+}
@@ -0,0 +1,62 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs the benchmarks with the standard JMH command line options. Adds the
+ * GC profiler, which reports the allocated bytes per operation
+ * ({@code gc.alloc.rate.norm}) next to the throughput in ops/s.
+ *
+ * <p>Example runs:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar
+ * java -jar target/benchmarks.jar JWSBenchmark -p alg=ES256 -p provider=SpongyCastle
+ * java -jar target/benchmarks.jar JWTProcessorBenchmark.process$ -rf json
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public final class BenchmarkRunner {
+
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args The JMH command line options.
+	 *
+	 * @throws Exception If the benchmarks couldn't be run.
+	 */
+	public static void main(final String[] args)
+		throws Exception {
+
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+		if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers() || cmdOptions.shouldListResultFormats()) {
+			// Delegate the informational options
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		Options options = new OptionsBuilder()
+			.parent(cmdOptions)
+			.addProfiler(GCProfiler.class)
+			.build();
+
+		new Runner(options).run();
+	}
+
+
+	/**
+	 * Prevents public instantiation.
+	 */
+	private BenchmarkRunner() {
+	}
+}
@@ -0,0 +1,60 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.util.DeflateUtils;
+
+
+/**
+ * Benchmarks the DEFLATE compression and decompression applied to JWE
+ * payloads with {@code zip=DEF}.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeflateBenchmark {
+
+
+	@Param({"100", "1024", "10240", "102400", "1048576", "10485760"})
+	public int size;
+
+
+	private byte[] payload;
+
+
+	private byte[] compressed;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		payload = Payloads.generateJSON(size);
+		compressed = DeflateUtils.compress(payload);
+	}
+
+
+	@Benchmark
+	public byte[] compress()
+		throws Exception {
+
+		return DeflateUtils.compress(payload);
+	}
+
+
+	@Benchmark
+	public byte[] decompress()
+		throws Exception {
+
+		return DeflateUtils.decompress(compressed);
+	}
+}
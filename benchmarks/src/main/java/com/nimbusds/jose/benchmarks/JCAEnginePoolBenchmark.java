@@ -0,0 +1,159 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.JCAEnginePool;
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Compares the JWS and JWE providers with the {@link JCAEnginePool} enabled
+ * ({@code pooled=true}) against a new JCA engine obtained for each
+ * operation ({@code pooled=false}, the default), for each JCA provider.
+ *
+ * <p>The JWS benchmarks sign and verify a fixed signing input, which
+ * exercises the pooled {@code Signature} and {@code Mac} engines. The JWE
+ * benchmark decrypts a fixed {@code A128GCM} JWE, without parsing, which
+ * exercises the pooled {@code Cipher} and {@code KeyAgreement} engines.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class JCAEnginePoolBenchmark {
+
+
+	@State(Scope.Benchmark)
+	public static class Pool {
+
+
+		@Param({"true", "false"})
+		public boolean pooled;
+
+
+		@Param({JCAProviders.DEFAULT, JCAProviders.SPONGY_CASTLE})
+		public String provider;
+
+
+		@Setup
+		public void setUp() {
+
+			JCAEnginePool.setEnabled(pooled);
+		}
+
+
+		@TearDown
+		public void tearDown() {
+
+			JCAEnginePool.setEnabled(false);
+			JCAEnginePool.clear();
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class JWS {
+
+
+		@Param({"HS256", "RS256", "PS256", "ES256"})
+		public String jwsAlg;
+
+
+		private JWSFixture fixture;
+
+
+		private JWSHeader header;
+
+
+		private byte[] signingInput;
+
+
+		private Base64URL signature;
+
+
+		@Setup
+		public void setUp(final Pool pool)
+			throws Exception {
+
+			fixture = new JWSFixture(jwsAlg, pool.provider);
+			header = new JWSHeader.Builder(fixture.getAlgorithm()).keyID(JWSFixture.KEY_ID).build();
+
+			JWSObject jwsObject = new JWSObject(header, new Payload("{\"iss\":\"https://c2id.com\",\"sub\":\"alice\"}"));
+			signingInput = jwsObject.getSigningInput();
+			signature = fixture.getSigner().sign(header, signingInput);
+
+			if (! fixture.getVerifier().verify(header, signingInput, signature)) {
+				throw new IllegalStateException("Benchmark JWS verification failed");
+			}
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class JWE {
+
+
+		@Param({"A128KW", "RSA-OAEP", "ECDH-ES"})
+		public String jweAlg;
+
+
+		private JWEFixture fixture;
+
+
+		private JWEObject jweObject;
+
+
+		@Setup
+		public void setUp(final Pool pool)
+			throws Exception {
+
+			fixture = new JWEFixture(jweAlg, EncryptionMethod.A128GCM.getName(), pool.provider);
+
+			JWEObject jwe = new JWEObject(
+				new JWEHeader(fixture.getAlgorithm(), fixture.getEncryptionMethod()),
+				new Payload(Payloads.generateJSON(1024)));
+			jwe.encrypt(fixture.getEncrypter());
+			jweObject = JWEObject.parse(jwe.serialize());
+		}
+	}
+
+
+	@Benchmark
+	public Base64URL jwsSign(final Pool pool, final JWS jws)
+		throws JOSEException {
+
+		return jws.fixture.getSigner().sign(jws.header, jws.signingInput);
+	}
+
+
+	@Benchmark
+	public boolean jwsVerify(final Pool pool, final JWS jws)
+		throws JOSEException {
+
+		return jws.fixture.getVerifier().verify(jws.header, jws.signingInput, jws.signature);
+	}
+
+
+	@Benchmark
+	public byte[] jweDecrypt(final Pool pool, final JWE jwe)
+		throws JOSEException {
+
+		JWEObject o = jwe.jweObject;
+
+		return jwe.fixture.getDecrypter().decrypt(
+			o.getHeader(),
+			o.getEncryptedKey(),
+			o.getIV(),
+			o.getCipherText(),
+			o.getAuthTag());
+	}
+}
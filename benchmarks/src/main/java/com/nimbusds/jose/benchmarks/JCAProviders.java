@@ -0,0 +1,75 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.security.Provider;
+import java.security.Security;
+
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
+
+
+/**
+ * The JCA providers to benchmark with.
+ *
+ * <ul>
+ *     <li>{@link #DEFAULT} -- The default JCA providers of the Java runtime.
+ *         The bundled Spongy Castle provider is installed with the lowest
+ *         preference, so that it only supplies the algorithms which the
+ *         runtime lacks, such as the RSASSA-PSS signatures of the older
+ *         Java releases.
+ *     <li>{@link #SPONGY_CASTLE} -- The bundled Spongy Castle provider,
+ *         set explicitly on the signers, verifiers, encrypters and
+ *         decrypters.
+ * </ul>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public final class JCAProviders {
+
+
+	/**
+	 * The name of the default JCA providers.
+	 */
+	public static final String DEFAULT = "default";
+
+
+	/**
+	 * The name of the bundled Spongy Castle provider.
+	 */
+	public static final String SPONGY_CASTLE = "SpongyCastle";
+
+
+	static {
+		Provider spongyCastle = BouncyCastleProviderSingleton.getInstance();
+
+		if (Security.getProvider(spongyCastle.getName()) == null) {
+			Security.addProvider(spongyCastle);
+		}
+	}
+
+
+	/**
+	 * Returns the JCA provider with the specified benchmark name.
+	 *
+	 * @param name The benchmark name of the JCA provider.
+	 *
+	 * @return The JCA provider, {@code null} for the default providers.
+	 */
+	public static Provider get(final String name) {
+
+		if (DEFAULT.equals(name)) {
+			return null;
+		} else if (SPONGY_CASTLE.equals(name)) {
+			return BouncyCastleProviderSingleton.getInstance();
+		} else {
+			throw new IllegalArgumentException("Unknown JCA provider: " + name);
+		}
+	}
+
+
+	/**
+	 * Prevents public instantiation.
+	 */
+	private JCAProviders() {
+	}
+}
@@ -0,0 +1,119 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.*;
+
+
+/**
+ * Benchmarks {@link JWEObject#encrypt} and {@link JWEObject#decrypt}, the
+ * latter including the parsing of the compact serialisation, for each JWE
+ * algorithm and encryption method, payload size and compression, and JCA
+ * provider.
+ *
+ * <p>The {@code dir} algorithm measures the content encryption alone
+ * (AES/CBC/HMAC or AES/GCM), the other algorithms add their key
+ * management. The cost of the {@code zip=DEF} compression is measured
+ * separately by {@link DeflateBenchmark}.
+ *
+ * <p>The parameter space is large, select from it with {@code -p}, e.g.
+ * {@code -p alg=dir,A128KW -p enc=A128GCM -p size=1024}.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWEBenchmark {
+
+
+	@Param({
+		"RSA1_5", "RSA-OAEP", "RSA-OAEP-256",
+		"A128KW", "A192KW", "A256KW",
+		"A128GCMKW", "A192GCMKW", "A256GCMKW",
+		"dir",
+		"ECDH-ES", "ECDH-ES+A128KW", "ECDH-ES+A192KW", "ECDH-ES+A256KW",
+		"PBES2-HS256+A128KW", "PBES2-HS384+A192KW", "PBES2-HS512+A256KW"})
+	public String alg;
+
+
+	@Param({"A128CBC-HS256", "A192CBC-HS384", "A256CBC-HS512", "A128GCM", "A192GCM", "A256GCM"})
+	public String enc;
+
+
+	@Param({"100", "1024", "10240", "102400", "1048576", "10485760"})
+	public int size;
+
+
+	@Param({"none", "DEF"})
+	public String zip;
+
+
+	@Param({JCAProviders.DEFAULT, JCAProviders.SPONGY_CASTLE})
+	public String provider;
+
+
+	private JWEFixture fixture;
+
+
+	private JWEHeader header;
+
+
+	private Payload payload;
+
+
+	private String jweString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		fixture = new JWEFixture(alg, enc, provider);
+
+		JWEHeader.Builder headerBuilder = new JWEHeader.Builder(fixture.getAlgorithm(), fixture.getEncryptionMethod());
+		if ("DEF".equals(zip)) {
+			headerBuilder = headerBuilder.compressionAlgorithm(CompressionAlgorithm.DEF);
+		}
+		header = headerBuilder.build();
+
+		byte[] payloadBytes = Payloads.generateJSON(size);
+		payload = new Payload(payloadBytes);
+
+		jweString = encrypt();
+
+		JWEObject jweObject = JWEObject.parse(jweString);
+		jweObject.decrypt(fixture.getDecrypter());
+		if (! Arrays.equals(payloadBytes, jweObject.getPayload().toBytes())) {
+			throw new IllegalStateException("Benchmark JWE decryption failed");
+		}
+	}
+
+
+	@Benchmark
+	public String encrypt()
+		throws JOSEException {
+
+		JWEObject jweObject = new JWEObject(header, payload);
+		jweObject.encrypt(fixture.getEncrypter());
+		return jweObject.serialize();
+	}
+
+
+	@Benchmark
+	public Payload decrypt()
+		throws Exception {
+
+		JWEObject jweObject = JWEObject.parse(jweString);
+		jweObject.decrypt(fixture.getDecrypter());
+		return jweObject.getPayload();
+	}
+}
@@ -0,0 +1,178 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEDecrypter;
+import com.nimbusds.jose.JWEEncrypter;
+import com.nimbusds.jose.crypto.*;
+import com.nimbusds.jose.jwk.ECKey;
+
+
+/**
+ * JWE encrypter and decrypter for a benchmarked algorithm, encryption
+ * method and JCA provider, with a freshly generated key.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public final class JWEFixture {
+
+
+	/**
+	 * The PBES2 iteration count, the minimum recommended.
+	 */
+	public static final int PBES2_ITERATION_COUNT = PasswordBasedEncrypter.MIN_RECOMMENDED_ITERATION_COUNT;
+
+
+	/**
+	 * The JWE algorithm.
+	 */
+	private final JWEAlgorithm alg;
+
+
+	/**
+	 * The encryption method.
+	 */
+	private final EncryptionMethod enc;
+
+
+	/**
+	 * The JWE encrypter.
+	 */
+	private final JWEEncrypter encrypter;
+
+
+	/**
+	 * The JWE decrypter.
+	 */
+	private final JWEDecrypter decrypter;
+
+
+	/**
+	 * Creates a new JWE fixture.
+	 *
+	 * @param algName      The JWE algorithm name.
+	 * @param encName      The encryption method name.
+	 * @param providerName The benchmark name of the JCA provider.
+	 *
+	 * @throws Exception If the key generation failed.
+	 */
+	public JWEFixture(final String algName, final String encName, final String providerName)
+		throws Exception {
+
+		alg = JWEAlgorithm.parse(algName);
+		enc = EncryptionMethod.parse(encName);
+		Provider provider = JCAProviders.get(providerName);
+
+		if (JWEAlgorithm.Family.RSA.contains(alg)) {
+
+			KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+			gen.initialize(2048);
+			KeyPair keyPair = gen.generateKeyPair();
+			encrypter = new RSAEncrypter((RSAPublicKey)keyPair.getPublic());
+			decrypter = new RSADecrypter(keyPair.getPrivate());
+
+		} else if (JWEAlgorithm.Family.AES_KW.contains(alg) || JWEAlgorithm.Family.AES_GCM_KW.contains(alg)) {
+
+			// A128KW, A128GCMKW, etc.
+			byte[] kek = randomBytes(Integer.parseInt(alg.getName().substring(1, 4)) / 8);
+			encrypter = new AESEncrypter(kek);
+			decrypter = new AESDecrypter(kek);
+
+		} else if (JWEAlgorithm.DIR.equals(alg)) {
+
+			byte[] cek = randomBytes(enc.cekBitLength() / 8);
+			encrypter = new DirectEncrypter(cek);
+			decrypter = new DirectDecrypter(cek);
+
+		} else if (JWEAlgorithm.Family.ECDH_ES.contains(alg)) {
+
+			KeyPairGenerator gen = KeyPairGenerator.getInstance("EC");
+			gen.initialize(ECKey.Curve.P_256.toECParameterSpec());
+			KeyPair keyPair = gen.generateKeyPair();
+			encrypter = new ECDHEncrypter((ECPublicKey)keyPair.getPublic());
+			decrypter = new ECDHDecrypter((ECPrivateKey)keyPair.getPrivate());
+
+		} else if (JWEAlgorithm.Family.PBES2.contains(alg)) {
+
+			byte[] password = randomBytes(32);
+			encrypter = new PasswordBasedEncrypter(password, PasswordBasedEncrypter.MIN_SALT_LENGTH, PBES2_ITERATION_COUNT);
+			decrypter = new PasswordBasedDecrypter(password);
+
+		} else {
+			throw new JOSEException("Unsupported JWE algorithm: " + alg);
+		}
+
+		encrypter.getJCAContext().setProvider(provider);
+		decrypter.getJCAContext().setProvider(provider);
+	}
+
+
+	/**
+	 * Generates random bytes.
+	 *
+	 * @param length The number of bytes.
+	 *
+	 * @return The random bytes.
+	 */
+	private static byte[] randomBytes(final int length) {
+
+		byte[] bytes = new byte[length];
+		new SecureRandom().nextBytes(bytes);
+		return bytes;
+	}
+
+
+	/**
+	 * Returns the JWE algorithm.
+	 *
+	 * @return The JWE algorithm.
+	 */
+	public JWEAlgorithm getAlgorithm() {
+
+		return alg;
+	}
+
+
+	/**
+	 * Returns the encryption method.
+	 *
+	 * @return The encryption method.
+	 */
+	public EncryptionMethod getEncryptionMethod() {
+
+		return enc;
+	}
+
+
+	/**
+	 * Returns the JWE encrypter.
+	 *
+	 * @return The JWE encrypter.
+	 */
+	public JWEEncrypter getEncrypter() {
+
+		return encrypter;
+	}
+
+
+	/**
+	 * Returns the JWE decrypter.
+	 *
+	 * @return The JWE decrypter.
+	 */
+	public JWEDecrypter getDecrypter() {
+
+		return decrypter;
+	}
+}
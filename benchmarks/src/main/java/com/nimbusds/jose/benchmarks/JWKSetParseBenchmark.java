@@ -0,0 +1,95 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.*;
+
+
+/**
+ * Benchmarks {@link JWKSet#parse(String)} for public JWK sets of 1 to 500
+ * keys. The keys are RSA 2048 bit, EC P-256 and 256 bit secret keys in
+ * turn, each with an ID, use and algorithm, as published by a typical
+ * multi-tenant authorisation server.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWKSetParseBenchmark {
+
+
+	@Param({"1", "10", "100", "500"})
+	public int keys;
+
+
+	private String jwkSetString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		KeyPairGenerator rsaGen = KeyPairGenerator.getInstance("RSA");
+		rsaGen.initialize(2048);
+		KeyPairGenerator ecGen = KeyPairGenerator.getInstance("EC");
+		ecGen.initialize(ECKey.Curve.P_256.toECParameterSpec());
+		SecureRandom random = new SecureRandom();
+
+		List<JWK> jwkList = new ArrayList<>(keys);
+
+		for (int i=0; i < keys; i++) {
+
+			String kid = "key-" + i;
+
+			if (i % 3 == 0) {
+				KeyPair keyPair = rsaGen.generateKeyPair();
+				jwkList.add(new RSAKey.Builder((RSAPublicKey)keyPair.getPublic())
+					.keyID(kid)
+					.keyUse(KeyUse.SIGNATURE)
+					.algorithm(JWSAlgorithm.RS256)
+					.build());
+			} else if (i % 3 == 1) {
+				KeyPair keyPair = ecGen.generateKeyPair();
+				jwkList.add(new ECKey.Builder(ECKey.Curve.P_256, (ECPublicKey)keyPair.getPublic())
+					.keyID(kid)
+					.keyUse(KeyUse.SIGNATURE)
+					.algorithm(JWSAlgorithm.ES256)
+					.build());
+			} else {
+				byte[] secret = new byte[32];
+				random.nextBytes(secret);
+				jwkList.add(new OctetSequenceKey.Builder(secret)
+					.keyID(kid)
+					.keyUse(KeyUse.SIGNATURE)
+					.algorithm(JWSAlgorithm.HS256)
+					.build());
+			}
+		}
+
+		jwkSetString = new JWKSet(jwkList).toJSONObject(false).toJSONString();
+	}
+
+
+	@Benchmark
+	public JWKSet parse()
+		throws Exception {
+
+		return JWKSet.parse(jwkSetString);
+	}
+}
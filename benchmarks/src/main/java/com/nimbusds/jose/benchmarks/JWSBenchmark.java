@@ -0,0 +1,106 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+
+
+/**
+ * Benchmarks {@link JWSObject#sign} and {@link JWSObject#verify}, the latter
+ * including the parsing of the compact serialisation, for each JWS
+ * algorithm and JCA provider. The {@code Concurrent} variants run on all
+ * available processors.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWSBenchmark {
+
+
+	@Param({"HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512"})
+	public String alg;
+
+
+	@Param({JCAProviders.DEFAULT, JCAProviders.SPONGY_CASTLE})
+	public String provider;
+
+
+	private JWSFixture fixture;
+
+
+	private JWSHeader header;
+
+
+	private Payload payload;
+
+
+	private String jwsString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		fixture = new JWSFixture(alg, provider);
+		header = new JWSHeader.Builder(fixture.getAlgorithm()).keyID(JWSFixture.KEY_ID).build();
+		payload = new Payload("{\"iss\":\"https://c2id.com\",\"sub\":\"alice\",\"scope\":\"openid email\"}");
+
+		JWSObject jwsObject = new JWSObject(header, payload);
+		jwsObject.sign(fixture.getSigner());
+		jwsString = jwsObject.serialize();
+
+		if (! JWSObject.parse(jwsString).verify(fixture.getVerifier())) {
+			throw new IllegalStateException("Benchmark JWS verification failed");
+		}
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	public String sign()
+		throws JOSEException {
+
+		JWSObject jwsObject = new JWSObject(header, payload);
+		jwsObject.sign(fixture.getSigner());
+		return jwsObject.serialize();
+	}
+
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String signConcurrent()
+		throws JOSEException {
+
+		return sign();
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	public boolean verify()
+		throws Exception {
+
+		return JWSObject.parse(jwsString).verify(fixture.getVerifier());
+	}
+
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean verifyConcurrent()
+		throws Exception {
+
+		return verify();
+	}
+}
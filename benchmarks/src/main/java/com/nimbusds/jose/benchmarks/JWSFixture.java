@@ -0,0 +1,162 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.*;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+
+
+/**
+ * JWS signer, verifier and public JWK for a benchmarked algorithm and JCA
+ * provider, with a freshly generated key.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public final class JWSFixture {
+
+
+	/**
+	 * The key ID of the generated keys.
+	 */
+	public static final String KEY_ID = "benchmark";
+
+
+	/**
+	 * The JWS algorithm.
+	 */
+	private final JWSAlgorithm alg;
+
+
+	/**
+	 * The JWS signer.
+	 */
+	private final JWSSigner signer;
+
+
+	/**
+	 * The JWS verifier.
+	 */
+	private final JWSVerifier verifier;
+
+
+	/**
+	 * The verification JWK (the secret for HMAC).
+	 */
+	private final JWK verificationJWK;
+
+
+	/**
+	 * Creates a new JWS fixture.
+	 *
+	 * @param algName      The JWS algorithm name.
+	 * @param providerName The benchmark name of the JCA provider.
+	 *
+	 * @throws Exception If the key generation failed.
+	 */
+	public JWSFixture(final String algName, final String providerName)
+		throws Exception {
+
+		alg = JWSAlgorithm.parse(algName);
+		Provider provider = JCAProviders.get(providerName);
+
+		if (JWSAlgorithm.Family.HMAC_SHA.contains(alg)) {
+
+			byte[] secret = new byte[64];
+			new SecureRandom().nextBytes(secret);
+			signer = new MACSigner(secret);
+			verifier = new MACVerifier(secret);
+			verificationJWK = new OctetSequenceKey.Builder(secret).keyID(KEY_ID).build();
+
+		} else if (JWSAlgorithm.Family.RSA.contains(alg)) {
+
+			KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+			gen.initialize(2048);
+			KeyPair keyPair = gen.generateKeyPair();
+			signer = new RSASSASigner(keyPair.getPrivate());
+			verifier = new RSASSAVerifier((RSAPublicKey)keyPair.getPublic());
+			verificationJWK = new RSAKey.Builder((RSAPublicKey)keyPair.getPublic()).keyID(KEY_ID).build();
+
+		} else if (JWSAlgorithm.Family.EC.contains(alg)) {
+
+			ECKey.Curve crv;
+			if (JWSAlgorithm.ES256.equals(alg)) {
+				crv = ECKey.Curve.P_256;
+			} else if (JWSAlgorithm.ES384.equals(alg)) {
+				crv = ECKey.Curve.P_384;
+			} else {
+				crv = ECKey.Curve.P_521;
+			}
+			KeyPairGenerator gen = KeyPairGenerator.getInstance("EC");
+			gen.initialize(crv.toECParameterSpec());
+			KeyPair keyPair = gen.generateKeyPair();
+			signer = new ECDSASigner((ECPrivateKey)keyPair.getPrivate());
+			verifier = new ECDSAVerifier((ECPublicKey)keyPair.getPublic());
+			verificationJWK = new ECKey.Builder(crv, (ECPublicKey)keyPair.getPublic()).keyID(KEY_ID).build();
+
+		} else {
+			throw new JOSEException("Unsupported JWS algorithm: " + alg);
+		}
+
+		signer.getJCAContext().setProvider(provider);
+		verifier.getJCAContext().setProvider(provider);
+	}
+
+
+	/**
+	 * Returns the JWS algorithm.
+	 *
+	 * @return The JWS algorithm.
+	 */
+	public JWSAlgorithm getAlgorithm() {
+
+		return alg;
+	}
+
+
+	/**
+	 * Returns the JWS signer.
+	 *
+	 * @return The JWS signer.
+	 */
+	public JWSSigner getSigner() {
+
+		return signer;
+	}
+
+
+	/**
+	 * Returns the JWS verifier.
+	 *
+	 * @return The JWS verifier.
+	 */
+	public JWSVerifier getVerifier() {
+
+		return verifier;
+	}
+
+
+	/**
+	 * Returns the verification JWK, the secret for HMAC algorithms.
+	 *
+	 * @return The verification JWK.
+	 */
+	public JWK getVerificationJWK() {
+
+		return verificationJWK;
+	}
+}
@@ -0,0 +1,134 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.JCAEnginePool;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.SignedJWTTemplate;
+
+
+/**
+ * Benchmarks the issuance of signed JWTs with a {@link SignedJWT} for each
+ * token against a {@link SignedJWTTemplate}, for each JWS algorithm and JCA
+ * provider. The {@code Concurrent} variant runs on all available
+ * processors. The {@code templateSignAll} benchmark signs batches of
+ * {@value #BATCH_SIZE} claims sets, its score is per JWT.
+ *
+ * <p>The {@link JCAEnginePool} is left disabled for all threads, the
+ * default, so the {@code signedJWT} benchmark obtains a new JCA engine for
+ * each JWT. The template enables the pool for its thread while signing.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTIssuanceBenchmark {
+
+
+	/**
+	 * The number of claims sets in a batch.
+	 */
+	public static final int BATCH_SIZE = 100;
+
+
+	@Param({"HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512"})
+	public String alg;
+
+
+	@Param({JCAProviders.DEFAULT, JCAProviders.SPONGY_CASTLE})
+	public String provider;
+
+
+	private JWSFixture fixture;
+
+
+	private JWSHeader header;
+
+
+	private SignedJWTTemplate template;
+
+
+	private List<JWTClaimsSet> claimsSets;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JCAEnginePool.setEnabled(false);
+
+		fixture = new JWSFixture(alg, provider);
+		header = new JWSHeader.Builder(fixture.getAlgorithm()).keyID(JWSFixture.KEY_ID).build();
+		template = new SignedJWTTemplate(header, fixture.getSigner());
+
+		claimsSets = new ArrayList<>(BATCH_SIZE);
+
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			claimsSets.add(new JWTClaimsSet.Builder()
+				.issuer("https://c2id.com")
+				.subject("alice-" + i)
+				.audience("https://app.example.com")
+				.issueTime(new Date())
+				.expirationTime(new Date(new Date().getTime() + 60 * 60 * 1000L))
+				.claim("scope", "openid email")
+				.build());
+		}
+
+		if (! SignedJWT.parse(template.sign(claimsSets.get(0))).verify(fixture.getVerifier())) {
+			throw new IllegalStateException("Benchmark JWS verification failed");
+		}
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	public String signedJWT()
+		throws JOSEException {
+
+		SignedJWT jwt = new SignedJWT(header, claimsSets.get(0));
+		jwt.sign(fixture.getSigner());
+		return jwt.serialize();
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	public String template()
+		throws JOSEException {
+
+		return template.sign(claimsSets.get(0));
+	}
+
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String templateConcurrent()
+		throws JOSEException {
+
+		return template();
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	@OperationsPerInvocation(BATCH_SIZE)
+	public List<String> templateSignAll()
+		throws JOSEException {
+
+		return template.signAll(claimsSets);
+	}
+}
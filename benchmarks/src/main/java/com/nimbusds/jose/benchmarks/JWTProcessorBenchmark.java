@@ -0,0 +1,124 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.nimbusds.jwt.proc.JWTProcessingResult;
+
+
+/**
+ * Benchmarks {@link DefaultJWTProcessor#process(String, SecurityContext)}
+ * of a signed JWT, with a JWS key selector backed by an immutable JWK set,
+ * for each JWS algorithm and JCA provider. The {@code Concurrent} variant
+ * runs on all available processors. The {@code processAll} benchmark
+ * processes batches of {@value #BATCH_SIZE} JWTs in the default fork-join
+ * pool, its score is per JWT.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTProcessorBenchmark {
+
+
+	/**
+	 * The number of JWTs in a batch.
+	 */
+	public static final int BATCH_SIZE = 1000;
+
+
+	@Param({"HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512"})
+	public String alg;
+
+
+	@Param({JCAProviders.DEFAULT, JCAProviders.SPONGY_CASTLE})
+	public String provider;
+
+
+	private DefaultJWTProcessor<SecurityContext> jwtProcessor;
+
+
+	private String jwtString;
+
+
+	private List<String> jwtBatch;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWSFixture fixture = new JWSFixture(alg, provider);
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice")
+			.audience("https://app.example.com")
+			.issueTime(new Date())
+			.expirationTime(new Date(new Date().getTime() + 24 * 60 * 60 * 1000L))
+			.claim("scope", "openid email")
+			.build();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(fixture.getAlgorithm()).keyID(JWSFixture.KEY_ID).build(), claimsSet);
+		jwt.sign(fixture.getSigner());
+		jwtString = jwt.serialize();
+
+		jwtProcessor = new DefaultJWTProcessor<>();
+		jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+			fixture.getAlgorithm(),
+			new ImmutableJWKSet<>(new JWKSet(fixture.getVerificationJWK()))));
+		DefaultJWSVerifierFactory verifierFactory = new DefaultJWSVerifierFactory();
+		verifierFactory.getJCAContext().setProvider(JCAProviders.get(provider));
+		jwtProcessor.setJWSVerifierFactory(verifierFactory);
+
+		jwtProcessor.process(jwtString, null);
+
+		jwtBatch = Collections.nCopies(BATCH_SIZE, jwtString);
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	public JWTClaimsSet process()
+		throws Exception {
+
+		return jwtProcessor.process(jwtString, null);
+	}
+
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public JWTClaimsSet processConcurrent()
+		throws Exception {
+
+		return process();
+	}
+
+
+	@Benchmark
+	@Threads(1)
+	@OperationsPerInvocation(BATCH_SIZE)
+	public List<JWTProcessingResult> processAll() {
+
+		return jwtProcessor.processAll(jwtBatch, null);
+	}
+}
@@ -0,0 +1,188 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import net.minidev.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JOSEObject;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+
+
+/**
+ * Benchmarks the parsing of a signed JWT and of its parts, for a small and
+ * a large claims set. No cryptographic operations are involved.
+ *
+ * <ul>
+ *     <li>{@code small} -- An access token with 8 claims, about 200 bytes
+ *         of JSON.
+ *     <li>{@code large} -- An ID token with 7 registered and 61 custom
+ *         claims, including arrays and nested objects, about 4 kilobytes of
+ *         JSON.
+ * </ul>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+
+	@Param({"small", "large"})
+	public String claims;
+
+
+	private String jwtString;
+
+
+	private Base64URL headerB64;
+
+
+	private String claimsJSON;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWTClaimsSet claimsSet = "large".equals(claims) ? createLargeClaimsSet() : createSmallClaimsSet();
+
+		SignedJWT jwt = new SignedJWT(
+			new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("2026-10").type(JOSEObjectType.JWT).build(),
+			claimsSet);
+		byte[] secret = new byte[32];
+		new Random().nextBytes(secret);
+		jwt.sign(new MACSigner(secret));
+
+		jwtString = jwt.serialize();
+		headerB64 = jwt.getHeader().toBase64URL();
+		claimsJSON = claimsSet.toJSONObject().toJSONString();
+	}
+
+
+	/**
+	 * Creates a small claims set, typical of an access token.
+	 *
+	 * @return The claims set.
+	 */
+	static JWTClaimsSet createSmallClaimsSet() {
+
+		Date now = new Date();
+
+		return new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice")
+			.audience("https://api.example.com")
+			.issueTime(now)
+			.expirationTime(new Date(now.getTime() + 10 * 60 * 1000L))
+			.jwtID(UUID.randomUUID().toString())
+			.claim("scope", "openid email profile")
+			.claim("client_id", "000123")
+			.build();
+	}
+
+
+	/**
+	 * Creates a large claims set, typical of an ID token with many
+	 * user attributes.
+	 *
+	 * @return The claims set.
+	 */
+	static JWTClaimsSet createLargeClaimsSet() {
+
+		Date now = new Date();
+
+		JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice")
+			.audience(Arrays.asList("https://app-1.example.com", "https://app-2.example.com"))
+			.issueTime(now)
+			.notBeforeTime(now)
+			.expirationTime(new Date(now.getTime() + 10 * 60 * 1000L))
+			.jwtID(UUID.randomUUID().toString())
+			.claim("nonce", UUID.randomUUID().toString());
+
+		for (int i=0; i < 40; i++) {
+			builder = builder.claim("attr_" + i, "value-" + i + "-" + UUID.randomUUID());
+		}
+
+		for (int i=0; i < 10; i++) {
+			builder = builder.claim("number_" + i, i * 1000L + i);
+		}
+
+		for (int i=0; i < 5; i++) {
+			List<String> roles = new ArrayList<>();
+			for (int j=0; j < 8; j++) {
+				roles.add("role-" + i + "-" + j);
+			}
+			builder = builder.claim("roles_" + i, roles);
+		}
+
+		for (int i=0; i < 5; i++) {
+			JSONObject address = new JSONObject();
+			address.put("street_address", i + " Main Street");
+			address.put("locality", "Sofia");
+			address.put("postal_code", "10" + i + "0");
+			address.put("country", "BG");
+			builder = builder.claim("address_" + i, address);
+		}
+
+		return builder.build();
+	}
+
+
+	@Benchmark
+	public JWT parseJWT()
+		throws Exception {
+
+		return JWTParser.parse(jwtString);
+	}
+
+
+	@Benchmark
+	public Base64URL[] split()
+		throws Exception {
+
+		return JOSEObject.split(jwtString);
+	}
+
+
+	@Benchmark
+	public JWSHeader parseJWSHeader()
+		throws Exception {
+
+		return JWSHeader.parse(headerB64);
+	}
+
+
+	@Benchmark
+	public JWTClaimsSet parseJWTClaimsSet()
+		throws Exception {
+
+		return JWTClaimsSet.parse(claimsJSON);
+	}
+
+
+	@Benchmark
+	public JSONObject parseJSONObject()
+		throws Exception {
+
+		return JSONObjectUtils.parse(claimsJSON);
+	}
+}
@@ -0,0 +1,72 @@
+package com.nimbusds.jose.benchmarks;
+
+
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Generates benchmark payloads.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public final class Payloads {
+
+
+	/**
+	 * The UTF-8 character set.
+	 */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+
+	/**
+	 * Generates a JSON object payload of the specified size. The member
+	 * values are random base64url strings, so the payload compresses
+	 * about as well as a typical session or claims object. The output is
+	 * the same for a given size.
+	 *
+	 * @param size The payload size in bytes, at least 2.
+	 *
+	 * @return The payload bytes.
+	 */
+	public static byte[] generateJSON(final int size) {
+
+		Random random = new Random(size);
+
+		StringBuilder sb = new StringBuilder(size);
+		sb.append('{');
+
+		for (int i=0; ; i++) {
+
+			byte[] value = new byte[12 + random.nextInt(24)];
+			random.nextBytes(value);
+
+			String member = (i > 0 ? "," : "") + "\"attr" + i + "\":\"" + Base64URL.encode(value) + "\"";
+
+			if (sb.length() + member.length() + 1 > size) {
+				break;
+			}
+
+			sb.append(member);
+		}
+
+		// Pad to the exact size
+		while (sb.length() < size - 1) {
+			sb.append(' ');
+		}
+
+		sb.append('}');
+
+		return sb.toString().getBytes(UTF_8);
+	}
+
+
+	/**
+	 * Prevents public instantiation.
+	 */
+	private Payloads() {
+	}
+}
@@ -0,0 +1,202 @@
+package com.nimbusds.jose;
+
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.ExpiringLRUCache;
+
+
+/**
+ * Size-bounded cache of parsed {@link JWSHeader JWS} and
+ * {@link JWEHeader JWE} headers, keyed by their Base64URL encoding. Tokens
+ * from the same issuer typically carry byte-identical headers, so caching
+ * them saves the Base64URL decoding, JSON parsing and header construction
+ * for all but the first token.
+ *
+ * <p>The cache is disabled by default. To enable it for the header parse
+ * methods, {@link com.nimbusds.jwt.JWTParser} and
+ * {@link JOSEObject#parse(String)}:
+ *
+ * <pre>
+ * HeaderCache.setDefault(new HeaderCache());
+ * </pre>
+ *
+ * <p>The cached headers are shared between the parsed objects. The headers
+ * are immutable, but any custom parameter values which are JSON objects or
+ * arrays must not be modified. Headers with an encoding longer than
+ * {@link #MAX_HEADER_LENGTH} characters are not cached.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class HeaderCache {
+
+
+	/**
+	 * The default maximum number of cached headers.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 100;
+
+
+	/**
+	 * The maximum length of the Base64URL encoding of a cached header.
+	 */
+	public static final int MAX_HEADER_LENGTH = 2048;
+
+
+	/**
+	 * The default header cache, {@code null} if disabled.
+	 */
+	private static volatile HeaderCache defaultCache;
+
+
+	/**
+	 * The cached headers.
+	 */
+	private final ExpiringLRUCache<String,Header> cache;
+
+
+	/**
+	 * Creates a new header cache with the
+	 * {@link #DEFAULT_MAX_ENTRIES default maximum number} of entries.
+	 */
+	public HeaderCache() {
+
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+
+	/**
+	 * Creates a new header cache.
+	 *
+	 * @param maxEntries The maximum number of cached headers. Must be
+	 *                   positive.
+	 */
+	public HeaderCache(final int maxEntries) {
+
+		cache = new ExpiringLRUCache<>(maxEntries, -1L, null);
+	}
+
+
+	/**
+	 * Returns the default header cache, used by the parsers.
+	 *
+	 * @return The default header cache, {@code null} if disabled.
+	 */
+	public static HeaderCache getDefault() {
+
+		return defaultCache;
+	}
+
+
+	/**
+	 * Sets the default header cache, used by the parsers.
+	 *
+	 * @param headerCache The default header cache, {@code null} to
+	 *                    disable.
+	 */
+	public static void setDefault(final HeaderCache headerCache) {
+
+		defaultCache = headerCache;
+	}
+
+
+	/**
+	 * Returns the cached header for the specified Base64URL encoding.
+	 *
+	 * @param base64URL The Base64URL-encoded header. Must not be
+	 *                  {@code null}.
+	 *
+	 * @return The cached header, {@code null} if none.
+	 */
+	public Header get(final Base64URL base64URL) {
+
+		final String key = base64URL.toString();
+
+		if (key.length() > MAX_HEADER_LENGTH) {
+			return null;
+		}
+
+		return cache.get(key);
+	}
+
+
+	/**
+	 * Caches the specified parsed header under its
+	 * {@link Header#getParsedBase64URL() original Base64URL encoding}.
+	 * Unsecured headers, headers which weren't parsed and headers with an
+	 * encoding longer than {@link #MAX_HEADER_LENGTH} characters are
+	 * ignored.
+	 *
+	 * @param header The JWS or JWE header. Must not be {@code null}.
+	 */
+	public void put(final Header header) {
+
+		if (! (header instanceof JWSHeader || header instanceof JWEHeader) || header.getParsedBase64URL() == null) {
+			return;
+		}
+
+		final String key = header.getParsedBase64URL().toString();
+
+		if (key.length() > MAX_HEADER_LENGTH) {
+			return;
+		}
+
+		cache.put(key, header);
+	}
+
+
+	/**
+	 * Returns the maximum number of cached headers.
+	 *
+	 * @return The maximum number of cached headers.
+	 */
+	public int getMaxEntries() {
+
+		return cache.getMaxEntries();
+	}
+
+
+	/**
+	 * Returns the number of cached headers.
+	 *
+	 * @return The number of cached headers.
+	 */
+	public int size() {
+
+		return cache.size();
+	}
+
+
+	/**
+	 * Returns the number of cache hits.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHitCount() {
+
+		return cache.getHitCount();
+	}
+
+
+	/**
+	 * Returns the number of cache misses.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMissCount() {
+
+		return cache.getMissCount();
+	}
+
+
+	/**
+	 * Removes all cached headers.
+	 */
+	public void clear() {
+
+		cache.clear();
+	}
+}
@@ -2,10 +2,12 @@ package com.nimbusds.jose;
 
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 
 import net.minidev.json.JSONObject;
 
+import com.nimbusds.jose.util.Base64;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
 
@@ -15,7 +17,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  * Signature (JWS) secured and JSON Web Encryption (JWE) secured objects.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-06-10
+ * @version 2026-10-18
  */
 public abstract class JOSEObject implements Serializable {
 	
@@ -179,6 +181,113 @@ public abstract class JOSEObject implements Serializable {
 	public abstract String serialize();
 
 
+	/**
+	 * Finds the part delimiters of a compact serialised JOSE object,
+	 * without copying any of its characters.
+	 *
+	 * @param s The compact serialised JOSE object. Must not be
+	 *          {@code null}.
+	 *
+	 * @return The positions of the period ('.') delimiters, two for
+	 *         unsecured and JWS objects, four for JWE objects.
+	 *
+	 * @throws ParseException If the specified character sequence doesn't
+	 *                        have two or four part delimiters.
+	 */
+	public static int[] findPartDelimiters(final CharSequence s)
+		throws ParseException {
+
+		// We must have 2 (JWS) or 4 dots (JWE)
+		int[] dots = new int[4];
+		int count = 0;
+
+		for (int i=0; i < s.length(); i++) {
+
+			if (s.charAt(i) != '.') {
+				continue;
+			}
+
+			if (count == 4) {
+				throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Too many part delimiters", 0);
+			}
+
+			dots[count++] = i;
+		}
+
+		return checkPartDelimiters(dots, count);
+	}
+
+
+	/**
+	 * Finds the part delimiters of a compact serialised JOSE object
+	 * supplied as ASCII bytes, without copying or decoding them.
+	 *
+	 * @param bytes  The byte array holding the compact serialised JOSE
+	 *               object. Must not be {@code null}.
+	 * @param offset The offset of the JOSE object in the array.
+	 * @param length The length of the JOSE object in bytes.
+	 *
+	 * @return The positions of the period ('.') delimiters in the array,
+	 *         two for unsecured and JWS objects, four for JWE objects.
+	 *
+	 * @throws ParseException If the specified bytes don't have two or
+	 *                        four part delimiters.
+	 */
+	public static int[] findPartDelimiters(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		if (offset < 0 || length < 0 || offset + length > bytes.length) {
+			throw new IndexOutOfBoundsException("Invalid offset or length");
+		}
+
+		int[] dots = new int[4];
+		int count = 0;
+
+		for (int i=offset; i < offset + length; i++) {
+
+			if (bytes[i] != '.') {
+				continue;
+			}
+
+			if (count == 4) {
+				throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Too many part delimiters", 0);
+			}
+
+			dots[count++] = i;
+		}
+
+		return checkPartDelimiters(dots, count);
+	}
+
+
+	/**
+	 * Checks the number of found part delimiters.
+	 *
+	 * @param dots  The delimiter positions.
+	 * @param count The number of found delimiters.
+	 *
+	 * @return The delimiter positions, trimmed to their number.
+	 *
+	 * @throws ParseException If the number isn't two or four.
+	 */
+	private static int[] checkPartDelimiters(final int[] dots, final int count)
+		throws ParseException {
+
+		switch (count) {
+			case 0:
+				throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing part delimiters", 0);
+			case 1:
+				throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing second delimiter", 0);
+			case 2:
+				return new int[]{dots[0], dots[1]};
+			case 3:
+				throw new ParseException("Invalid serialized JWE object: Missing fourth delimiter", 0);
+			default:
+				return dots;
+		}
+	}
+
+
 	/**
 	 * Splits a compact serialised JOSE object into its Base64URL-encoded
 	 * parts.
@@ -195,53 +304,190 @@ public abstract class JOSEObject implements Serializable {
 	public static Base64URL[] split(final String s)
 		throws ParseException {
 
-		// We must have 2 (JWS) or 4 dots (JWE)
-
 		// String.split() cannot handle empty parts
-		final int dot1 = s.indexOf(".");
+		final int[] dots = findPartDelimiters(s);
 
-		if (dot1 == -1) {
-			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing part delimiters", 0);
-		}
+		Base64URL[] parts = new Base64URL[dots.length + 1];
 
-		final int dot2 = s.indexOf(".", dot1 + 1);
+		int start = 0;
 
-		if (dot2 == -1) {
-			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing second delimiter", 0);
+		for (int i=0; i < dots.length; i++) {
+			parts[i] = new Base64URL(s.substring(start, dots[i]));
+			start = dots[i] + 1;
 		}
 
-		// Third dot for JWE only
-		final int dot3 = s.indexOf(".", dot2 + 1);
+		parts[dots.length] = new Base64URL(s.substring(start));
+		return parts;
+	}
 
-		if (dot3 == -1) {
 
-			// Two dots only? -> We have a JWS
-			Base64URL[] parts = new Base64URL[3];
-			parts[0] = new Base64URL(s.substring(0, dot1));
-			parts[1] = new Base64URL(s.substring(dot1 + 1, dot2));
-			parts[2] = new Base64URL(s.substring(dot2 + 1));
-			return parts;
+	/**
+	 * Splits a compact serialised JOSE object supplied as bytes, for
+	 * example from an HTTP header, into its Base64URL-encoded parts. The
+	 * bytes of each part are decoded directly, without creating a string
+	 * for the entire JOSE object.
+	 *
+	 * @param bytes  The byte array holding the compact serialised JOSE
+	 *               object. Must not be {@code null}.
+	 * @param offset The offset of the JOSE object in the array.
+	 * @param length The length of the JOSE object in bytes.
+	 *
+	 * @return The JOSE Base64URL-encoded parts (three for unsecured and
+	 *         JWS objects, five for JWE objects).
+	 *
+	 * @throws ParseException If the specified bytes couldn't be split
+	 *                        into three or five Base64URL-encoded parts.
+	 */
+	public static Base64URL[] split(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		final int[] dots = findPartDelimiters(bytes, offset, length);
+
+		Base64URL[] parts = new Base64URL[dots.length + 1];
+
+		int start = offset;
+
+		for (int i=0; i < dots.length; i++) {
+			parts[i] = new Base64URL(new String(bytes, start, dots[i] - start, Base64.CHARSET));
+			start = dots[i] + 1;
 		}
 
-		// Fourth final dot for JWE
-		final int dot4 = s.indexOf(".", dot3 + 1);
+		parts[dots.length] = new Base64URL(new String(bytes, start, offset + length - start, Base64.CHARSET));
+		return parts;
+	}
+
+
+	/**
+	 * Splits a compact serialised JOSE object supplied as the remaining
+	 * bytes of a buffer into its Base64URL-encoded parts. The position of
+	 * the buffer is not changed.
+	 *
+	 * @param buffer The buffer holding the compact serialised JOSE object.
+	 *               Must not be {@code null}.
+	 *
+	 * @return The JOSE Base64URL-encoded parts (three for unsecured and
+	 *         JWS objects, five for JWE objects).
+	 *
+	 * @throws ParseException If the specified bytes couldn't be split
+	 *                        into three or five Base64URL-encoded parts.
+	 */
+	public static Base64URL[] split(final ByteBuffer buffer)
+		throws ParseException {
 
-		if (dot4 == -1) {
-			throw new ParseException("Invalid serialized JWE object: Missing fourth delimiter", 0);
+		if (buffer.hasArray()) {
+			return split(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
 		}
 
-		if (dot4 != -1 && s.indexOf(".", dot4 + 1) != -1) {
-			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Too many part delimiters", 0);
+		// Direct or read-only buffer
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return split(bytes, 0, bytes.length);
+	}
+
+
+	/**
+	 * Parses the header of the specified split JOSE object, and checks
+	 * the number of parts for a JWS or JWE header. A JWS or JWE header is
+	 * looked up in the {@link HeaderCache#getDefault default header
+	 * cache}, if set, and is put into it after parsing. Used by
+	 * {@link #parse(String)} and the JWT parser, which parse the header
+	 * only once and then pass it to the constructor of the specific object
+	 * class.
+	 *
+	 * @param parts The Base64URL-encoded parts. Must not be {@code null}.
+	 *
+	 * @return The {@link PlainHeader}, {@link JWSHeader} or
+	 *         {@link JWEHeader}.
+	 *
+	 * @throws ParseException If the header couldn't be parsed or the
+	 *                        number of parts doesn't match its type.
+	 */
+	public static Header parseHeader(final Base64URL[] parts)
+		throws ParseException {
+
+		// A cached JWS or JWE header skips the header parsing
+		final HeaderCache cache = HeaderCache.getDefault();
+		final Header cachedHeader = cache != null ? cache.get(parts[0]) : null;
+
+		JSONObject jsonObject = null;
+		Algorithm alg;
+
+		if (cachedHeader != null) {
+
+			alg = cachedHeader.getAlgorithm();
+
+		} else {
+
+			try {
+				jsonObject = JSONObjectUtils.parse(parts[0].decodeToString());
+
+			} catch (ParseException e) {
+
+				throw new ParseException("Invalid unsecured/JWS/JWE header: " + e.getMessage(), 0);
+			}
+
+			alg = Header.parseAlgorithm(jsonObject);
 		}
 
-		// Four dots -> five parts
-		Base64URL[] parts = new Base64URL[5];
-		parts[0] = new Base64URL(s.substring(0, dot1));
-		parts[1] = new Base64URL(s.substring(dot1 + 1, dot2));
-		parts[2] = new Base64URL(s.substring(dot2 + 1, dot3));
-		parts[3] = new Base64URL(s.substring(dot3 + 1, dot4));
-		parts[4] = new Base64URL(s.substring(dot4 + 1));
-		return parts;
+		if (alg.equals(Algorithm.NONE)) {
+
+			try {
+				return PlainHeader.parse(jsonObject, parts[0]);
+			} catch (ParseException e) {
+				throw new ParseException("Invalid unsecured header: " + e.getMessage(), 0);
+			}
+
+		} else if (alg instanceof JWSAlgorithm) {
+
+			if (parts.length != 3) {
+				throw new ParseException("Unexpected number of Base64URL parts, must be three", 0);
+			}
+
+			if (cachedHeader instanceof JWSHeader) {
+				return cachedHeader;
+			}
+
+			JWSHeader header;
+
+			try {
+				header = JWSHeader.parse(jsonObject, parts[0]);
+			} catch (ParseException e) {
+				throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
+			}
+
+			if (cache != null) {
+				cache.put(header);
+			}
+
+			return header;
+
+		} else if (alg instanceof JWEAlgorithm) {
+
+			if (parts.length != 5) {
+				throw new ParseException("Unexpected number of Base64URL parts, must be five", 0);
+			}
+
+			if (cachedHeader instanceof JWEHeader) {
+				return cachedHeader;
+			}
+
+			JWEHeader header;
+
+			try {
+				header = JWEHeader.parse(jsonObject, parts[0]);
+			} catch (ParseException e) {
+				throw new ParseException("Invalid JWE header: " + e.getMessage(), 0);
+			}
+
+			if (cache != null) {
+				cache.put(header);
+			}
+
+			return header;
+
+		} else {
+			throw new AssertionError("Unexpected algorithm type: " + alg);
+		}
 	}
 
 
@@ -261,26 +507,23 @@ public abstract class JOSEObject implements Serializable {
 
 		Base64URL[] parts = split(s);
 
-		JSONObject jsonObject;
+		Header header = parseHeader(parts);
 
-		try {
-			jsonObject = JSONObjectUtils.parse(parts[0].decodeToString());
+		if (header instanceof PlainHeader) {
 
-		} catch (ParseException e) {
+			if (! parts[2].toString().isEmpty()) {
+				throw new ParseException("Unexpected third Base64URL part", 0);
+			}
 
-			throw new ParseException("Invalid unsecured/JWS/JWE header: " + e.getMessage(), 0);
-		}
+			return new PlainObject((PlainHeader)header, parts[1]);
 
-		Algorithm alg = Header.parseAlgorithm(jsonObject);
+		} else if (header instanceof JWSHeader) {
+
+			return new JWSObject((JWSHeader)header, parts[1], parts[2]);
 
-		if (alg.equals(Algorithm.NONE)) {
-			return PlainObject.parse(s);
-		} else if (alg instanceof JWSAlgorithm) {
-			return JWSObject.parse(s);
-		} else if (alg instanceof JWEAlgorithm) {
-			return JWEObject.parse(s);
 		} else {
-			throw new AssertionError("Unexpected algorithm type: " + alg);
+
+			return new JWEObject((JWEHeader)header, parts[1], parts[2], parts[3], parts[4]);
 		}
 	}
 }
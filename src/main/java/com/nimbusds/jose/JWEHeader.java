@@ -59,7 +59,7 @@ import com.nimbusds.jose.util.X509CertChainUtils;
  * </pre>
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-04-15
+ * @version 2026-10-18
  */
 @Immutable
 public final class JWEHeader extends CommonSEHeader {
@@ -1251,7 +1251,8 @@ public final class JWEHeader extends CommonSEHeader {
 
 
 	/**
-	 * Parses a JWE header from the specified Base64URL.
+	 * Parses a JWE header from the specified Base64URL. Consults the
+	 * {@link HeaderCache#getDefault default header cache} if enabled.
 	 *
 	 * @param base64URL The Base64URL to parse. Must not be {@code null}.
 	 *
@@ -1263,6 +1264,23 @@ public final class JWEHeader extends CommonSEHeader {
 	public static JWEHeader parse(final Base64URL base64URL)
 		throws ParseException {
 
-		return parse(base64URL.decodeToString(), base64URL);
+		final HeaderCache cache = HeaderCache.getDefault();
+
+		if (cache != null) {
+
+			Header cached = cache.get(base64URL);
+
+			if (cached instanceof JWEHeader) {
+				return (JWEHeader)cached;
+			}
+		}
+
+		JWEHeader header = parse(base64URL.decodeToString(), base64URL);
+
+		if (cache != null) {
+			cache.put(header);
+		}
+
+		return header;
 	}
 }
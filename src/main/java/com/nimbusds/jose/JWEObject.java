@@ -12,7 +12,7 @@ import com.nimbusds.jose.util.Base64URL;
  * JSON Web Encryption (JWE) secured object. This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2016-04-13
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class JWEObject extends JOSEObject {
@@ -141,19 +141,42 @@ public class JWEObject extends JOSEObject {
 		         final Base64URL fifthPart)
 		throws ParseException {
 
-		if (firstPart == null) {
+		this(parseHeader(firstPart), secondPart, thirdPart, fourthPart, fifthPart);
+	}
 
-			throw new IllegalArgumentException("The first part must not be null");
-		}
 
-		try {
-			this.header = JWEHeader.parse(firstPart);
+	/**
+	 * Creates a new encrypted JSON Web Encryption (JWE) object with the
+	 * specified parsed header and remaining serialised parts. Enables
+	 * parsers which have already parsed the header to skip parsing it
+	 * again. The state will be {@link State#ENCRYPTED encrypted}.
+	 *
+	 * @param header     The JWE header, parsed from the first part, which
+	 *                   is taken from {@link JWEHeader#getParsedBase64URL}.
+	 *                   Must not be {@code null}.
+	 * @param secondPart The second part, corresponding to the encrypted
+	 *                   key. Empty or {@code null} if none.
+	 * @param thirdPart  The third part, corresponding to the
+	 *                   initialisation vector. Empty or {@code null} if
+	 *                   none.
+	 * @param fourthPart The fourth part, corresponding to the cipher text.
+	 *                   Must not be {@code null}.
+	 * @param fifthPart  The fifth part, corresponding to the
+	 *                   authentication tag. Empty of {@code null} if none.
+	 */
+	protected JWEObject(final JWEHeader header,
+			    final Base64URL secondPart,
+			    final Base64URL thirdPart,
+			    final Base64URL fourthPart,
+			    final Base64URL fifthPart) {
 
-		} catch (ParseException e) {
+		if (header == null || header.getParsedBase64URL() == null) {
 
-			throw new ParseException("Invalid JWE header: " + e.getMessage(), 0);
+			throw new IllegalArgumentException("The header must be parsed and not null");
 		}
 
+		this.header = header;
+
 		if (secondPart == null || secondPart.toString().isEmpty()) {
 
 			encryptedKey = null;
@@ -190,7 +213,35 @@ public class JWEObject extends JOSEObject {
 
 		state = State.ENCRYPTED; // but not decrypted yet!
 
-		setParsedParts(firstPart, secondPart, thirdPart, fourthPart, fifthPart);
+		setParsedParts(header.getParsedBase64URL(), secondPart, thirdPart, fourthPart, fifthPart);
+	}
+
+
+	/**
+	 * Parses the JWE header from the specified first part.
+	 *
+	 * @param firstPart The first part, corresponding to the JWE header.
+	 *                  Must not be {@code null}.
+	 *
+	 * @return The JWE header.
+	 *
+	 * @throws ParseException If parsing of the JWE header failed.
+	 */
+	private static JWEHeader parseHeader(final Base64URL firstPart)
+		throws ParseException {
+
+		if (firstPart == null) {
+
+			throw new IllegalArgumentException("The first part must not be null");
+		}
+
+		try {
+			return JWEHeader.parse(firstPart);
+
+		} catch (ParseException e) {
+
+			throw new ParseException("Invalid JWE header: " + e.getMessage(), 0);
+		}
 	}
 
 
@@ -49,7 +49,7 @@ import com.nimbusds.jose.util.X509CertChainUtils;
  * </pre>
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-04-15
+ * @version 2026-10-18
  */
 @Immutable
 public final class JWSHeader extends CommonSEHeader {
@@ -694,7 +694,8 @@ public final class JWSHeader extends CommonSEHeader {
 
 
 	/**
-	 * Parses a JWS header from the specified Base64URL.
+	 * Parses a JWS header from the specified Base64URL. Consults the
+	 * {@link HeaderCache#getDefault default header cache} if enabled.
 	 *
 	 * @param base64URL The Base64URL to parse. Must not be {@code null}.
 	 *
@@ -706,6 +707,23 @@ public final class JWSHeader extends CommonSEHeader {
 	public static JWSHeader parse(final Base64URL base64URL)
 		throws ParseException {
 
-		return parse(base64URL.decodeToString(), base64URL);
+		final HeaderCache cache = HeaderCache.getDefault();
+
+		if (cache != null) {
+
+			Header cached = cache.get(base64URL);
+
+			if (cached instanceof JWSHeader) {
+				return (JWSHeader)cached;
+			}
+		}
+
+		JWSHeader header = parse(base64URL.decodeToString(), base64URL);
+
+		if (cache != null) {
+			cache.put(header);
+		}
+
+		return header;
 	}
 }
@@ -1,6 +1,7 @@
 package com.nimbusds.jose;
 
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.text.ParseException;
 
@@ -13,7 +14,7 @@ import com.nimbusds.jose.util.Base64URL;
  * JSON Web Signature (JWS) secured object. This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2016-04-13
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class JWSObject extends JOSEObject {
@@ -101,7 +102,7 @@ public class JWSObject extends JOSEObject {
 
 		setPayload(payload);
 
-		signingInputString = composeSigningInput(header.toBase64URL(), payload.toBase64URL());
+		signingInputString = header.toBase64URL().toString() + '.' + payload.toBase64URL().toString();
 
 		signature = null;
 
@@ -126,19 +127,35 @@ public class JWSObject extends JOSEObject {
 	public JWSObject(final Base64URL firstPart, final Base64URL secondPart, final Base64URL thirdPart)	
 		throws ParseException {
 
-		if (firstPart == null) {
+		this(parseHeader(firstPart), secondPart, thirdPart);
+	}
 
-			throw new IllegalArgumentException("The first part must not be null");
-		}
 
-		try {
-			this.header = JWSHeader.parse(firstPart);
+	/**
+	 * Creates a new signed JSON Web Signature (JWS) object with the
+	 * specified parsed header and serialised payload and signature parts.
+	 * Enables parsers which have already parsed the header to skip
+	 * parsing it again. The state will be {@link State#SIGNED signed}.
+	 *
+	 * @param header     The JWS header, parsed from the first part, which
+	 *                   is taken from {@link JWSHeader#getParsedBase64URL}.
+	 *                   Must not be {@code null}.
+	 * @param secondPart The second part, corresponding to the payload. Must
+	 *                   not be {@code null}.
+	 * @param thirdPart  The third part, corresponding to the signature.
+	 *                   Must not be {@code null}.
+	 */
+	protected JWSObject(final JWSHeader header, final Base64URL secondPart, final Base64URL thirdPart) {
 
-		} catch (ParseException e) {
+		if (header == null || header.getParsedBase64URL() == null) {
 
-			throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
+			throw new IllegalArgumentException("The header must be parsed and not null");
 		}
 
+		this.header = header;
+
+		final Base64URL firstPart = header.getParsedBase64URL();
+
 		if (secondPart == null) {
 
 			throw new IllegalArgumentException("The second part must not be null");
@@ -146,7 +163,7 @@ public class JWSObject extends JOSEObject {
 
 		setPayload(new Payload(secondPart));
 
-		signingInputString = composeSigningInput(firstPart, secondPart);
+		signingInputString = firstPart.toString() + '.' + secondPart.toString();
 
 		if (thirdPart == null) {
 			throw new IllegalArgumentException("The third part must not be null");
@@ -160,6 +177,34 @@ public class JWSObject extends JOSEObject {
 	}
 
 
+	/**
+	 * Parses the JWS header from the specified first part.
+	 *
+	 * @param firstPart The first part, corresponding to the JWS header.
+	 *                  Must not be {@code null}.
+	 *
+	 * @return The JWS header.
+	 *
+	 * @throws ParseException If parsing of the JWS header failed.
+	 */
+	private static JWSHeader parseHeader(final Base64URL firstPart)
+		throws ParseException {
+
+		if (firstPart == null) {
+
+			throw new IllegalArgumentException("The first part must not be null");
+		}
+
+		try {
+			return JWSHeader.parse(firstPart);
+
+		} catch (ParseException e) {
+
+			throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
+		}
+	}
+
+
 	@Override
 	public JWSHeader getHeader() {
 
@@ -168,24 +213,28 @@ public class JWSObject extends JOSEObject {
 
 
 	/**
-	 * Composes the signing input for the specified JWS object parts.
+	 * Converts the specified signing input string to bytes.
 	 *
-	 * <p>Format:
+	 * @param signingInputString The signing input string. Must not be
+	 *                           {@code null}.
 	 *
-	 * <pre>
-	 * [header-base64url].[payload-base64url]
-	 * </pre>
-	 *
-	 * @param firstPart  The first part, corresponding to the JWS header.
-	 *                   Must not be {@code null}.
-	 * @param secondPart The second part, corresponding to the payload. 
-	 *                   Must not be {@code null}.
-	 *
-	 * @return The signing input string.
+	 * @return The signing input bytes.
 	 */
-	private static String composeSigningInput(final Base64URL firstPart, final Base64URL secondPart) {
+	private static byte[] toBytes(final String signingInputString) {
+
+		// Base64URL is ASCII, copy the chars straight into the byte
+		// array without a charset encoder
+		byte[] out = new byte[signingInputString.length()];
+
+		for (int i=0; i < out.length; i++) {
+			char c = signingInputString.charAt(i);
+			if (c > 0x7f) {
+				return signingInputString.getBytes(Charset.forName("UTF-8"));
+			}
+			out[i] = (byte)c;
+		}
 
-		return firstPart.toString() + '.' + secondPart.toString();
+		return out;
 	}
 
 
@@ -199,10 +248,11 @@ public class JWSObject extends JOSEObject {
 	 * </pre>
 	 *
 	 * @return The signing input, to be passed to a JWS signer or verifier.
+	 *         A new array on each call.
 	 */
 	public byte[] getSigningInput() {
 
-		return signingInputString.getBytes(Charset.forName("UTF-8"));
+		return toBytes(signingInputString);
 	}
 
 
@@ -395,7 +445,63 @@ public class JWSObject extends JOSEObject {
 	public static JWSObject parse(final String s)
 		throws ParseException {
 
-		Base64URL[] parts = JOSEObject.split(s);
+		return parse(JOSEObject.split(s));
+	}
+
+
+	/**
+	 * Parses a JWS object from the specified bytes in compact format, for
+	 * example from an HTTP header. The parsed JWS object will be given a
+	 * {@link State#SIGNED} state.
+	 *
+	 * @param bytes  The byte array holding the JWS object. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the JWS object in the array.
+	 * @param length The length of the JWS object in bytes.
+	 *
+	 * @return The JWS object.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        JWS object.
+	 */
+	public static JWSObject parse(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		return parse(JOSEObject.split(bytes, offset, length));
+	}
+
+
+	/**
+	 * Parses a JWS object from the remaining bytes of the specified buffer
+	 * in compact format. The position of the buffer is not changed. The
+	 * parsed JWS object will be given a {@link State#SIGNED} state.
+	 *
+	 * @param buffer The buffer holding the JWS object. Must not be
+	 *               {@code null}.
+	 *
+	 * @return The JWS object.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        JWS object.
+	 */
+	public static JWSObject parse(final ByteBuffer buffer)
+		throws ParseException {
+
+		return parse(JOSEObject.split(buffer));
+	}
+
+
+	/**
+	 * Creates a JWS object from the specified split parts.
+	 *
+	 * @param parts The Base64URL-encoded parts. Must not be {@code null}.
+	 *
+	 * @return The JWS object.
+	 *
+	 * @throws ParseException If the parts don't form a valid JWS object.
+	 */
+	private static JWSObject parse(final Base64URL[] parts)
+		throws ParseException {
 
 		if (parts.length != 3) {
 
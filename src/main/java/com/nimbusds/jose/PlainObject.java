@@ -12,7 +12,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Unsecured (plain / {@code alg=none}) JOSE object. This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2014-04-08
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class PlainObject extends JOSEObject {
@@ -84,19 +84,31 @@ public class PlainObject extends JOSEObject {
 	public PlainObject(final Base64URL firstPart, final Base64URL secondPart)
 		throws ParseException {
 
-		if (firstPart == null) {
+		this(parseHeader(firstPart), secondPart);
+	}
 
-			throw new IllegalArgumentException("The first part must not be null");
-		}
 
-		try {
-			header = PlainHeader.parse(firstPart);
+	/**
+	 * Creates a new unsecured JOSE object with the specified parsed
+	 * header and Base64URL-encoded payload part. Enables parsers which
+	 * have already parsed the header to skip parsing it again.
+	 *
+	 * @param header     The unsecured header, parsed from the first part,
+	 *                   which is taken from
+	 *                   {@link PlainHeader#getParsedBase64URL}. Must not be
+	 *                   {@code null}.
+	 * @param secondPart The second part, corresponding to the payload.
+	 *                   Must not be {@code null}.
+	 */
+	protected PlainObject(final PlainHeader header, final Base64URL secondPart) {
 
-		} catch (ParseException e) {
+		if (header == null || header.getParsedBase64URL() == null) {
 
-			throw new ParseException("Invalid unsecured header: " + e.getMessage(), 0);
+			throw new IllegalArgumentException("The header must be parsed and not null");
 		}
 
+		this.header = header;
+
 		if (secondPart == null) {
 
 			throw new IllegalArgumentException("The second part must not be null");
@@ -104,7 +116,35 @@ public class PlainObject extends JOSEObject {
 
 		setPayload(new Payload(secondPart));
 
-		setParsedParts(firstPart, secondPart, null);
+		setParsedParts(header.getParsedBase64URL(), secondPart, null);
+	}
+
+
+	/**
+	 * Parses the unsecured header from the specified first part.
+	 *
+	 * @param firstPart The first part, corresponding to the unsecured
+	 *                  header. Must not be {@code null}.
+	 *
+	 * @return The unsecured header.
+	 *
+	 * @throws ParseException If parsing of the unsecured header failed.
+	 */
+	private static PlainHeader parseHeader(final Base64URL firstPart)
+		throws ParseException {
+
+		if (firstPart == null) {
+
+			throw new IllegalArgumentException("The first part must not be null");
+		}
+
+		try {
+			return PlainHeader.parse(firstPart);
+
+		} catch (ParseException e) {
+
+			throw new ParseException("Invalid unsecured header: " + e.getMessage(), 0);
+		}
 	}
 
 
@@ -19,7 +19,7 @@ import com.nimbusds.jose.util.ByteUtils;
  *
  * @author Vladimir Dzhuvinov
  * @author Axel Nennker
- * @version 2015-11-15
+ * @version 2026-10-18
  */
 @ThreadSafe
 class AESGCM {
@@ -76,6 +76,8 @@ class AESGCM {
 		                                      final Provider provider)
 		throws JOSEException {
 
+		// Not pooled, some providers refuse to reinitialise a GCM
+		// encryption cipher with the previous key and IV
 		Cipher cipher;
 
 		try {
@@ -144,11 +146,7 @@ class AESGCM {
 		Cipher cipher;
 
 		try {
-			if (provider != null) {
-				cipher = Cipher.getInstance("AES/GCM/NoPadding", provider);
-			} else {
-				cipher = Cipher.getInstance("AES/GCM/NoPadding");
-			}
+			cipher = JCAEnginePool.getCipher("AES/GCM/NoPadding", provider);
 
 			GCMParameterSpec gcmSpec = new GCMParameterSpec(AUTH_TAG_BIT_LENGTH, iv);
 			cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmSpec);
@@ -22,7 +22,7 @@ import com.nimbusds.jose.JOSEException;
  *
  * @author Melisa Halsband
  * @author Vladimir Dzhuvinov
- * @version 2015-06-07
+ * @version 2026-10-18
  */
 @ThreadSafe
 class AESKW {
@@ -50,11 +50,7 @@ class AESKW {
 		try {
 			Cipher cipher;
 
-			if (provider != null) {
-				cipher = Cipher.getInstance("AESWrap", provider);
-			} else {
-				cipher = Cipher.getInstance("AESWrap");
-			}
+			cipher = JCAEnginePool.getCipher("AESWrap", provider);
 
 			cipher.init(Cipher.WRAP_MODE, kek);
 			return cipher.wrap(cek);
@@ -87,11 +83,7 @@ class AESKW {
 		try {
 			Cipher cipher;
 
-			if (provider != null) {
-				cipher = Cipher.getInstance("AESWrap", provider);
-			} else {
-				cipher = Cipher.getInstance("AESWrap");
-			}
+			cipher = JCAEnginePool.getCipher("AESWrap", provider);
 
 			cipher.init(Cipher.UNWRAP_MODE, kek);
 			return (SecretKey)cipher.unwrap(encryptedCEK, "AES", Cipher.SECRET_KEY);
@@ -13,14 +13,15 @@ import java.security.Provider;
  * Helper utilities for instantiating ciphers.
  *
  * @author Cedric Staub
- * @version 2014-01-22
+ * @version 2026-10-18
  */
 @ThreadSafe
 class CipherHelper {
 
 
 	/**
-	 * Instantiates a cipher with an (optional) JCA provider.
+	 * Returns a cipher with an (optional) JCA provider. The cipher is
+	 * pooled for the current thread, see {@link JCAEnginePool}.
 	 *
 	 * @param name     The name of the cipher. Must not be {@code null}.
 	 * @param provider The JCA provider, or {@code null} to use the default
@@ -29,10 +30,6 @@ class CipherHelper {
 	public static Cipher getInstance(String name, Provider provider)
 		throws NoSuchAlgorithmException, NoSuchPaddingException {
 
-		if (provider == null) {
-			return Cipher.getInstance(name);
-		} else {
-			return Cipher.getInstance(name, provider);
-		}
+		return JCAEnginePool.getCipher(name, provider);
 	}
 }
@@ -22,7 +22,7 @@ import com.nimbusds.jose.JWEHeader;
  * Elliptic Curve Diffie-Hellman key agreement functions and utilities.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-05-20
+ * @version 2026-10-18
  */
 class ECDH {
 
@@ -143,11 +143,7 @@ class ECDH {
 		KeyAgreement keyAgreement;
 
 		try {
-			if (provider != null) {
-				keyAgreement = KeyAgreement.getInstance("ECDH", provider);
-			} else {
-				keyAgreement = KeyAgreement.getInstance("ECDH");
-			}
+			keyAgreement = JCAEnginePool.getKeyAgreement("ECDH", provider);
 
 		} catch (NoSuchAlgorithmException e) {
 			throw new JOSEException("Couldn't get an ECDH key agreement instance: " + e.getMessage(), e);
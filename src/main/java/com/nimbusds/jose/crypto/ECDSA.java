@@ -16,7 +16,7 @@ import static com.nimbusds.jose.jwk.ECKey.Curve;
  * Elliptic Curve Digital Signature Algorithm (ECDSA) functions and utilities.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-06-07
+ * @version 2026-10-18
  */
 class ECDSA {
 
@@ -98,11 +98,7 @@ class ECDSA {
 		}
 
 		try {
-			if (jcaProvider != null) {
-				return Signature.getInstance(jcaAlg, jcaProvider);
-			} else {
-				return Signature.getInstance(jcaAlg);
-			}
+			return JCAEnginePool.getSignature(jcaAlg, jcaProvider);
 		} catch (NoSuchAlgorithmException e) {
 			throw new JOSEException("Unsupported ECDSA algorithm: " + e.getMessage(), e);
 		}
@@ -20,7 +20,7 @@ import com.nimbusds.jose.JOSEException;
  *
  * @author Axel Nennker
  * @author Vladimir Dzhuvinov
- * @version 2015-04-23
+ * @version 2026-10-18
  */
 @ThreadSafe
 class HMAC {
@@ -33,11 +33,7 @@ class HMAC {
 		Mac mac;
 
 		try {
-			if (provider != null) {
-				mac = Mac.getInstance(secretKey.getAlgorithm(), provider);
-			} else {
-				mac = Mac.getInstance(secretKey.getAlgorithm());
-			}
+			mac = JCAEnginePool.getMac(secretKey.getAlgorithm(), provider);
 
 			mac.init(secretKey);
 
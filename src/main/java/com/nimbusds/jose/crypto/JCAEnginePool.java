@@ -0,0 +1,340 @@
+package com.nimbusds.jose.crypto;
+
+
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Per-thread pool of Java Cryptography Architecture (JCA) engines
+ * ({@link Signature}, {@link Mac}, {@link Cipher}, {@link KeyAgreement}),
+ * keyed by algorithm and provider, for use by the JWS and JWE providers in
+ * this package. Saves the provider lookup and engine construction on each
+ * cryptographic operation.
+ *
+ * <p>The pool is disabled by default, in which case a new engine is
+ * obtained for each operation. It can be {@link #setEnabled enabled} for
+ * all threads or {@link #setEnabledForCurrentThread only for the current
+ * thread}. The engines retain the key of their last operation, so a thread
+ * with the pool enabled keeps references to the last used private and
+ * secret keys, and to the JCA providers, until it {@link #clear clears}
+ * its engines, performs an operation with the pool disabled, or ends. In
+ * application servers the engines of pooled threads should be cleared
+ * before an application is undeployed.
+ *
+ * <p>Usage rules for the returned engines:
+ *
+ * <ul>
+ *     <li>The engine must be initialised (with {@code initSign},
+ *         {@code initVerify} or {@code init}) before each use, which resets
+ *         any state left from a previous, possibly failed, use.
+ *     <li>The engine must not be used after the method which obtained it
+ *         returns and must not be passed to another thread.
+ *     <li>An engine for the same algorithm and provider must not be
+ *         obtained again while the first is still in use.
+ * </ul>
+ *
+ * <p>The engines retain their last key until the next use. The pooled
+ * engines for the default provider are bound to the provider which was
+ * preferred when they were created.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public final class JCAEnginePool {
+
+
+	/**
+	 * Engine pool key. Compares the provider by identity.
+	 */
+	private static final class EngineKey {
+
+
+		/**
+		 * The engine class.
+		 */
+		private final Class<?> engineClass;
+
+
+		/**
+		 * The JCA algorithm or transformation.
+		 */
+		private final String alg;
+
+
+		/**
+		 * The JCA provider, {@code null} for the default.
+		 */
+		private final Provider provider;
+
+
+		/**
+		 * Creates a new engine pool key.
+		 *
+		 * @param engineClass The engine class.
+		 * @param alg         The JCA algorithm or transformation.
+		 * @param provider    The JCA provider, {@code null} for the
+		 *                    default.
+		 */
+		private EngineKey(final Class<?> engineClass, final String alg, final Provider provider) {
+			this.engineClass = engineClass;
+			this.alg = alg;
+			this.provider = provider;
+		}
+
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * engineClass.hashCode() + alg.hashCode()) + System.identityHashCode(provider);
+		}
+
+
+		@Override
+		public boolean equals(final Object object) {
+
+			if (! (object instanceof EngineKey)) {
+				return false;
+			}
+
+			EngineKey other = (EngineKey)object;
+			return engineClass == other.engineClass && provider == other.provider && alg.equals(other.alg);
+		}
+	}
+
+
+	/**
+	 * Enables the pool.
+	 */
+	private static volatile boolean enabled = false;
+
+
+	/**
+	 * Enables the pool for individual threads, {@code null} if not
+	 * enabled for the thread.
+	 */
+	private static final ThreadLocal<Boolean> ENABLED_FOR_THREAD = new ThreadLocal<>();
+
+
+	/**
+	 * The engines of each thread.
+	 */
+	private static final ThreadLocal<Map<EngineKey,Object>> ENGINES = new ThreadLocal<Map<EngineKey,Object>>() {
+		@Override
+		protected Map<EngineKey,Object> initialValue() {
+			return new HashMap<>();
+		}
+	};
+
+
+	/**
+	 * Returns a pooled signature engine.
+	 *
+	 * @param alg      The JCA algorithm. Must not be {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *
+	 * @return The signature engine.
+	 *
+	 * @throws NoSuchAlgorithmException If the algorithm isn't supported.
+	 */
+	static Signature getSignature(final String alg, final Provider provider)
+		throws NoSuchAlgorithmException {
+
+		if (! isEnabledForCurrentThread()) {
+			ENGINES.remove();
+			return provider != null ? Signature.getInstance(alg, provider) : Signature.getInstance(alg);
+		}
+
+		EngineKey key = new EngineKey(Signature.class, alg, provider);
+		Map<EngineKey,Object> engines = ENGINES.get();
+		Signature signature = (Signature)engines.get(key);
+
+		if (signature == null) {
+			signature = provider != null ? Signature.getInstance(alg, provider) : Signature.getInstance(alg);
+			engines.put(key, signature);
+		}
+
+		return signature;
+	}
+
+
+	/**
+	 * Returns a pooled MAC engine.
+	 *
+	 * @param alg      The JCA algorithm. Must not be {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *
+	 * @return The MAC engine.
+	 *
+	 * @throws NoSuchAlgorithmException If the algorithm isn't supported.
+	 */
+	static Mac getMac(final String alg, final Provider provider)
+		throws NoSuchAlgorithmException {
+
+		if (! isEnabledForCurrentThread()) {
+			ENGINES.remove();
+			return provider != null ? Mac.getInstance(alg, provider) : Mac.getInstance(alg);
+		}
+
+		EngineKey key = new EngineKey(Mac.class, alg, provider);
+		Map<EngineKey,Object> engines = ENGINES.get();
+		Mac mac = (Mac)engines.get(key);
+
+		if (mac == null) {
+			mac = provider != null ? Mac.getInstance(alg, provider) : Mac.getInstance(alg);
+			engines.put(key, mac);
+		}
+
+		return mac;
+	}
+
+
+	/**
+	 * Returns a pooled cipher engine.
+	 *
+	 * @param transformation The JCA transformation. Must not be
+	 *                       {@code null}.
+	 * @param provider       The JCA provider, {@code null} for the
+	 *                       default.
+	 *
+	 * @return The cipher engine.
+	 *
+	 * @throws NoSuchAlgorithmException If the algorithm isn't supported.
+	 * @throws NoSuchPaddingException   If the padding isn't supported.
+	 */
+	static Cipher getCipher(final String transformation, final Provider provider)
+		throws NoSuchAlgorithmException, NoSuchPaddingException {
+
+		if (! isEnabledForCurrentThread()) {
+			ENGINES.remove();
+			return provider != null ? Cipher.getInstance(transformation, provider) : Cipher.getInstance(transformation);
+		}
+
+		EngineKey key = new EngineKey(Cipher.class, transformation, provider);
+		Map<EngineKey,Object> engines = ENGINES.get();
+		Cipher cipher = (Cipher)engines.get(key);
+
+		if (cipher == null) {
+			cipher = provider != null ? Cipher.getInstance(transformation, provider) : Cipher.getInstance(transformation);
+			engines.put(key, cipher);
+		}
+
+		return cipher;
+	}
+
+
+	/**
+	 * Returns a pooled key agreement engine.
+	 *
+	 * @param alg      The JCA algorithm. Must not be {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *
+	 * @return The key agreement engine.
+	 *
+	 * @throws NoSuchAlgorithmException If the algorithm isn't supported.
+	 */
+	static KeyAgreement getKeyAgreement(final String alg, final Provider provider)
+		throws NoSuchAlgorithmException {
+
+		if (! isEnabledForCurrentThread()) {
+			ENGINES.remove();
+			return provider != null ? KeyAgreement.getInstance(alg, provider) : KeyAgreement.getInstance(alg);
+		}
+
+		EngineKey key = new EngineKey(KeyAgreement.class, alg, provider);
+		Map<EngineKey,Object> engines = ENGINES.get();
+		KeyAgreement keyAgreement = (KeyAgreement)engines.get(key);
+
+		if (keyAgreement == null) {
+			keyAgreement = provider != null ? KeyAgreement.getInstance(alg, provider) : KeyAgreement.getInstance(alg);
+			engines.put(key, keyAgreement);
+		}
+
+		return keyAgreement;
+	}
+
+
+	/**
+	 * Returns {@code true} if the pool is enabled.
+	 *
+	 * @return {@code true} if enabled, {@code false} if a new engine is
+	 *         obtained for each operation (the default).
+	 */
+	public static boolean isEnabled() {
+
+		return enabled;
+	}
+
+
+	/**
+	 * Enables or disables the pool. When disabled, the engines pooled by
+	 * a thread are released on its next cryptographic operation.
+	 *
+	 * @param enabled {@code true} to enable the pool, {@code false} to
+	 *                obtain a new engine for each operation.
+	 */
+	public static void setEnabled(final boolean enabled) {
+
+		JCAEnginePool.enabled = enabled;
+	}
+
+
+	/**
+	 * Returns {@code true} if the pool is enabled for the current thread,
+	 * either {@link #setEnabled for all threads} or
+	 * {@link #setEnabledForCurrentThread specifically}.
+	 *
+	 * @return {@code true} if enabled for the current thread, else
+	 *         {@code false}.
+	 */
+	public static boolean isEnabledForCurrentThread() {
+
+		return enabled || ENABLED_FOR_THREAD.get() != null;
+	}
+
+
+	/**
+	 * Enables or disables the pool for the current thread, regardless of
+	 * the {@link #setEnabled setting for all threads}. When disabled, the
+	 * engines pooled by the thread are released on its next cryptographic
+	 * operation, unless the pool is enabled for all threads.
+	 *
+	 * @param enabled {@code true} to enable the pool for the current
+	 *                thread, {@code false} to revert to the setting for
+	 *                all threads.
+	 */
+	public static void setEnabledForCurrentThread(final boolean enabled) {
+
+		if (enabled) {
+			ENABLED_FOR_THREAD.set(Boolean.TRUE);
+		} else {
+			ENABLED_FOR_THREAD.remove();
+		}
+	}
+
+
+	/**
+	 * Removes the pooled engines of the current thread, together with
+	 * the keys they were last initialised with.
+	 */
+	public static void clear() {
+
+		ENGINES.remove();
+	}
+
+
+	/**
+	 * Prevents public instantiation.
+	 */
+	private JCAEnginePool() {
+	}
+}
@@ -2,10 +2,16 @@ package com.nimbusds.jose.crypto;
 
 
 import java.nio.charset.Charset;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -25,9 +31,14 @@ import com.nimbusds.jose.JWSAlgorithm;
  *     <li>{@link com.nimbusds.jose.JWSAlgorithm#HS384}
  *     <li>{@link com.nimbusds.jose.JWSAlgorithm#HS512}
  * </ul>
+ *
+ * <p>The MACs are computed with clones of a {@link Mac} prototype, keyed
+ * with the secret once for each algorithm, which saves the HMAC key set-up
+ * for each operation. Falls back to a keyed pooled {@code Mac} if the JCA
+ * provider doesn't support cloning.
  * 
  * @author Vladimir Dzhuvinov
- * @version 2015-06-29
+ * @version 2026-10-18
  */
 abstract class MACProvider extends BaseJWSProvider {
 
@@ -75,12 +86,52 @@ abstract class MACProvider extends BaseJWSProvider {
 	}
 
 
+	/**
+	 * Keyed {@link Mac} prototype for an algorithm and JCA provider.
+	 */
+	private static final class MACPrototype {
+
+
+		/**
+		 * The JCA provider, {@code null} for the default.
+		 */
+		private final Provider provider;
+
+
+		/**
+		 * The keyed MAC, {@code null} if the provider doesn't support
+		 * cloning.
+		 */
+		private final Mac mac;
+
+
+		/**
+		 * Creates a new MAC prototype.
+		 *
+		 * @param provider The JCA provider, {@code null} for the
+		 *                 default.
+		 * @param mac      The keyed MAC, {@code null} if the provider
+		 *                 doesn't support cloning.
+		 */
+		private MACPrototype(final Provider provider, final Mac mac) {
+			this.provider = provider;
+			this.mac = mac;
+		}
+	}
+
+
 	/**
 	 * The secret.
 	 */
 	private final byte[] secret;
 
 
+	/**
+	 * The MAC prototypes, keyed by JCA algorithm name.
+	 */
+	private final ConcurrentMap<String,MACPrototype> macPrototypes = new ConcurrentHashMap<>();
+
+
 	/**
 	 * Creates a new Message Authentication (MAC) provider.
 	 *
@@ -137,4 +188,94 @@ abstract class MACProvider extends BaseJWSProvider {
 
 		return new String(secret, Charset.forName("UTF-8"));
 	}
+
+
+	/**
+	 * Computes a Hash-based Message Authentication Code (HMAC) for the
+	 * specified message with the secret.
+	 *
+	 * @param jcaAlg  The JCA HMAC algorithm name. Must not be
+	 *                {@code null}.
+	 * @param message The message. Must not be {@code null}.
+	 *
+	 * @return The HMAC.
+	 *
+	 * @throws JOSEException If the algorithm is not supported or the
+	 *                       secret is invalid.
+	 */
+	byte[] computeHMAC(final String jcaAlg, final byte[] message)
+		throws JOSEException {
+
+		final Provider provider = getJCAContext().getProvider();
+
+		MACPrototype prototype = macPrototypes.get(jcaAlg);
+
+		if (prototype == null || prototype.provider != provider) {
+			prototype = createMACPrototype(jcaAlg, provider);
+			macPrototypes.put(jcaAlg, prototype);
+		}
+
+		if (prototype.mac == null) {
+			// Cloning not supported
+			return HMAC.compute(jcaAlg, secret, message, provider);
+		}
+
+		Mac mac;
+
+		try {
+			mac = (Mac)prototype.mac.clone();
+		} catch (CloneNotSupportedException e) {
+			return HMAC.compute(jcaAlg, secret, message, provider);
+		}
+
+		mac.update(message);
+		return mac.doFinal();
+	}
+
+
+	/**
+	 * Creates a new keyed MAC prototype.
+	 *
+	 * @param jcaAlg   The JCA HMAC algorithm name. Must not be
+	 *                 {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *
+	 * @return The MAC prototype, without a MAC if the provider doesn't
+	 *         support cloning.
+	 *
+	 * @throws JOSEException If the algorithm is not supported or the
+	 *                       secret is invalid.
+	 */
+	private MACPrototype createMACPrototype(final String jcaAlg, final Provider provider)
+		throws JOSEException {
+
+		// Not from the engine pool, the prototype is shared
+		Mac mac;
+
+		try {
+			if (provider != null) {
+				mac = Mac.getInstance(jcaAlg, provider);
+			} else {
+				mac = Mac.getInstance(jcaAlg);
+			}
+
+			mac.init(new SecretKeySpec(secret, jcaAlg));
+
+		} catch (NoSuchAlgorithmException e) {
+
+			throw new JOSEException("Unsupported HMAC algorithm: " + e.getMessage(), e);
+
+		} catch (InvalidKeyException e) {
+
+			throw new JOSEException("Invalid HMAC key: " + e.getMessage(), e);
+		}
+
+		try {
+			mac.clone();
+		} catch (CloneNotSupportedException e) {
+			return new MACPrototype(provider, null);
+		}
+
+		return new MACPrototype(provider, mac);
+	}
 }
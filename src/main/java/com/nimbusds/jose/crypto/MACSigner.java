@@ -30,7 +30,7 @@ import com.nimbusds.jose.util.ByteUtils;
  * </ul>
  * 
  * @author Vladimir Dzhuvinov
- * @version 2015-06-29
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class MACSigner extends MACProvider implements JWSSigner {
@@ -166,7 +166,7 @@ public class MACSigner extends MACProvider implements JWSSigner {
 		}
 
 		String jcaAlg = getJCAAlgorithmName(header.getAlgorithm());
-		byte[] hmac = HMAC.compute(jcaAlg, getSecret(), signingInput, getJCAContext().getProvider());
+		byte[] hmac = computeHMAC(jcaAlg, signingInput);
 		return Base64URL.encode(hmac);
 	}
 }
@@ -16,7 +16,7 @@ import com.nimbusds.jose.JWSAlgorithm;
  * RSA-SSA functions and utilities.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-05-31
+ * @version 2026-10-18
  */
 class RSASSA {
 
@@ -66,11 +66,7 @@ class RSASSA {
 
 		final Signature signature;
 		try {
-			if (provider != null) {
-				signature = Signature.getInstance(jcaAlg, provider);
-			} else {
-				signature = Signature.getInstance(jcaAlg);
-			}
+			signature = JCAEnginePool.getSignature(jcaAlg, provider);
 		} catch (NoSuchAlgorithmException e) {
 			throw new JOSEException("Unsupported RSASSA algorithm: " + e.getMessage(), e);
 		}
@@ -0,0 +1,226 @@
+package com.nimbusds.jose.crypto.factories;
+
+
+import java.security.Key;
+import java.security.Provider;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.util.ExpiringLRUCache;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Caching JSON Web Signature (JWS) verifier factory. Reuses the verifiers
+ * created by an underlying factory for the same key instance, JWS algorithm
+ * and JCA provider, so that verifying many tokens with a few keys doesn't
+ * repeat the verifier setup for each token.
+ *
+ * <p>The cache is bounded, with least-recently-used eviction, and its
+ * entries expire after a time-to-live, so that the verifiers for keys which
+ * were rotated out of the key source are released. Keys are compared by
+ * identity, which works best with key sources returning the same key
+ * instances for unchanged JWKs, such as
+ * {@link com.nimbusds.jose.jwk.source.RemoteJWKSet}.
+ *
+ * <p>The cached verifiers must be thread-safe. This is the case for the
+ * verifiers of the {@link DefaultJWSVerifierFactory default factory}.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class CachingJWSVerifierFactory implements JWSVerifierFactory {
+
+
+	/**
+	 * The default maximum number of cached verifiers.
+	 */
+	public static final int DEFAULT_MAX_VERIFIERS = 1000;
+
+
+	/**
+	 * The default time-to-live of cached verifiers (10 minutes).
+	 */
+	public static final long DEFAULT_VERIFIER_TTL_MINUTES = 10;
+
+
+	/**
+	 * Verifier cache key. Compares the key and JCA provider by identity.
+	 */
+	private static final class CacheKey {
+
+
+		/**
+		 * The key.
+		 */
+		private final Key key;
+
+
+		/**
+		 * The JWS algorithm.
+		 */
+		private final JWSAlgorithm alg;
+
+
+		/**
+		 * The JCA provider, {@code null} for the default.
+		 */
+		private final Provider provider;
+
+
+		/**
+		 * Creates a new verifier cache key.
+		 *
+		 * @param key      The key. Must not be {@code null}.
+		 * @param alg      The JWS algorithm. Must not be {@code null}.
+		 * @param provider The JCA provider, {@code null} for the
+		 *                 default.
+		 */
+		private CacheKey(final Key key, final JWSAlgorithm alg, final Provider provider) {
+			this.key = key;
+			this.alg = alg;
+			this.provider = provider;
+		}
+
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(key) + alg.hashCode();
+		}
+
+
+		@Override
+		public boolean equals(final Object object) {
+
+			if (! (object instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey other = (CacheKey)object;
+			return key == other.key && provider == other.provider && alg.equals(other.alg);
+		}
+	}
+
+
+	/**
+	 * The underlying verifier factory.
+	 */
+	private final JWSVerifierFactory factory;
+
+
+	/**
+	 * The cached verifiers.
+	 */
+	private final ExpiringLRUCache<CacheKey,JWSVerifier> cache;
+
+
+	/**
+	 * Creates a new caching JWS verifier factory for the
+	 * {@link DefaultJWSVerifierFactory default factory}, with the default
+	 * cache size and time-to-live.
+	 */
+	public CachingJWSVerifierFactory() {
+
+		this(new DefaultJWSVerifierFactory());
+	}
+
+
+	/**
+	 * Creates a new caching JWS verifier factory with the default cache
+	 * size and time-to-live.
+	 *
+	 * @param factory The underlying verifier factory, must create
+	 *                thread-safe verifiers. Must not be {@code null}.
+	 */
+	public CachingJWSVerifierFactory(final JWSVerifierFactory factory) {
+
+		this(factory, DEFAULT_MAX_VERIFIERS, DEFAULT_VERIFIER_TTL_MINUTES, TimeUnit.MINUTES);
+	}
+
+
+	/**
+	 * Creates a new caching JWS verifier factory.
+	 *
+	 * @param factory      The underlying verifier factory, must create
+	 *                     thread-safe verifiers. Must not be
+	 *                     {@code null}.
+	 * @param maxVerifiers The maximum number of cached verifiers. Must be
+	 *                     positive.
+	 * @param timeToLive   The time-to-live of cached verifiers, -1 if
+	 *                     none.
+	 * @param timeUnit     The time unit. Must not be {@code null}.
+	 */
+	public CachingJWSVerifierFactory(final JWSVerifierFactory factory,
+					 final int maxVerifiers,
+					 final long timeToLive,
+					 final TimeUnit timeUnit) {
+
+		if (factory == null) {
+			throw new IllegalArgumentException("The JWS verifier factory must not be null");
+		}
+
+		this.factory = factory;
+		cache = new ExpiringLRUCache<>(maxVerifiers, timeToLive, timeUnit);
+	}
+
+
+	/**
+	 * Returns the underlying verifier factory.
+	 *
+	 * @return The verifier factory.
+	 */
+	public JWSVerifierFactory getJWSVerifierFactory() {
+
+		return factory;
+	}
+
+
+	/**
+	 * Returns the verifier cache, for monitoring purposes.
+	 *
+	 * @return The verifier cache.
+	 */
+	public ExpiringLRUCache<?,JWSVerifier> getCache() {
+
+		return cache;
+	}
+
+
+	@Override
+	public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+
+		return factory.supportedJWSAlgorithms();
+	}
+
+
+	@Override
+	public JCAContext getJCAContext() {
+
+		return factory.getJCAContext();
+	}
+
+
+	@Override
+	public JWSVerifier createJWSVerifier(final JWSHeader header, final Key key)
+		throws JOSEException {
+
+		CacheKey cacheKey = new CacheKey(key, header.getAlgorithm(), factory.getJCAContext().getProvider());
+
+		JWSVerifier verifier = cache.get(cacheKey);
+
+		if (verifier != null) {
+			return verifier;
+		}
+
+		verifier = factory.createJWSVerifier(header, key);
+		cache.put(cacheKey, verifier);
+		return verifier;
+	}
+}
@@ -62,7 +62,7 @@ import com.nimbusds.jose.JOSEException;
  *
  * @author Vladimir Dzhuvinov
  * @author Justin Richer
- * @version 2016-07-03
+ * @version 2026-10-18
  */
 @Immutable
 public final class ECKey extends JWK implements AssymetricJWK {
@@ -689,6 +689,18 @@ public final class ECKey extends JWK implements AssymetricJWK {
 	private final Base64URL d;
 
 
+	/**
+	 * The memoized public EC key, {@code null} if not created yet.
+	 */
+	private transient volatile MemoizedKey<ECPublicKey> memoizedPublicKey;
+
+
+	/**
+	 * The memoized private EC key, {@code null} if not created yet.
+	 */
+	private transient volatile MemoizedKey<ECPrivateKey> memoizedPrivateKey;
+
+
 	/**
 	 * Creates a new public Elliptic Curve JSON Web Key (JWK) with the 
 	 * specified parameters.
@@ -938,7 +950,8 @@ public final class ECKey extends JWK implements AssymetricJWK {
 
 	/**
 	 * Returns a standard {@code java.security.interfaces.ECPublicKey}
-	 * representation of this Elliptic Curve JWK.
+	 * representation of this Elliptic Curve JWK. The key is created on
+	 * the first call and then reused for the same provider.
 	 *
 	 * @param provider The specific JCA provider to use, {@code null}
 	 *                 implies the default one.
@@ -952,6 +965,12 @@ public final class ECKey extends JWK implements AssymetricJWK {
 	public ECPublicKey toECPublicKey(final Provider provider)
 		throws JOSEException {
 
+		ECPublicKey publicKey = MemoizedKey.get(memoizedPublicKey, provider, null);
+
+		if (publicKey != null) {
+			return publicKey;
+		}
+
 		ECParameterSpec spec = crv.toECParameterSpec();
 
 		if (spec == null) {
@@ -971,7 +990,9 @@ public final class ECKey extends JWK implements AssymetricJWK {
 				keyFactory = KeyFactory.getInstance("EC", provider);
 			}
 
-			return (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
+			publicKey = (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
+			memoizedPublicKey = new MemoizedKey<>(provider, null, publicKey);
+			return publicKey;
 
 		} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
 
@@ -1001,7 +1022,8 @@ public final class ECKey extends JWK implements AssymetricJWK {
 
 	/**
 	 * Returns a standard {@code java.security.interfaces.ECPrivateKey}
-	 * representation of this Elliptic Curve JWK.
+	 * representation of this Elliptic Curve JWK. The key is created on
+	 * the first call and then reused for the same provider.
 	 *
 	 * @param provider The specific JCA provider to use, {@code null}
 	 *                 implies the default one.
@@ -1021,6 +1043,12 @@ public final class ECKey extends JWK implements AssymetricJWK {
 			return null;
 		}
 
+		ECPrivateKey privateKey = MemoizedKey.get(memoizedPrivateKey, provider, null);
+
+		if (privateKey != null) {
+			return privateKey;
+		}
+
 		ECParameterSpec spec = crv.toECParameterSpec();
 
 		if (spec == null) {
@@ -1038,7 +1066,9 @@ public final class ECKey extends JWK implements AssymetricJWK {
 				keyFactory = KeyFactory.getInstance("EC", provider);
 			}
 
-			return (ECPrivateKey) keyFactory.generatePrivate(privateKeySpec);
+			privateKey = (ECPrivateKey) keyFactory.generatePrivate(privateKeySpec);
+			memoizedPrivateKey = new MemoizedKey<>(provider, null, privateKey);
+			return privateKey;
 
 		} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
 
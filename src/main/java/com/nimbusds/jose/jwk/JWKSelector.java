@@ -10,7 +10,7 @@ import net.jcip.annotations.Immutable;
  * Selects (filters) one or more JSON Web Keys (JWKs) from a JWK set.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-04-15
+ * @version 2026-10-18
  */
 @Immutable
 public final class JWKSelector {
@@ -65,7 +65,8 @@ public final class JWKSelector {
 		if (jwkSet == null)
 			return selectedKeys;
 
-		for (JWK key: jwkSet.getKeys()) {
+		// Only the indexed candidates can match
+		for (JWK key: jwkSet.getIndex().getCandidates(matcher)) {
 
 			if (matcher.matches(key)) {
 				selectedKeys.add(key);
@@ -5,6 +5,8 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.text.ParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -48,8 +50,13 @@ import org.apache.commons.io.FileUtils;
  * }
  * </pre>
  *
+ * <p>The keys are indexed by ID, type, use and algorithm on the first
+ * lookup, to speed up {@link #getKeyByKeyId} and {@link JWKSelector key
+ * selection} in large sets. Changes to the key list are detected and cause
+ * the index to be rebuilt.
+ *
  * @author Vladimir Dzhuvinov
- * @version 2016-04-10
+ * @version 2026-10-18
  */
 public class JWKSet {
 
@@ -64,7 +71,13 @@ public class JWKSet {
 	/**
 	 * The JWK list.
 	 */
-	private final List<JWK> keys = new LinkedList<>();
+	private final KeyList keys = new KeyList();
+
+
+	/**
+	 * The key index, {@code null} if not built yet.
+	 */
+	private volatile JWKSetIndex index;
 
 
 	/**
@@ -73,6 +86,61 @@ public class JWKSet {
 	private final Map<String,Object> customMembers = new HashMap<>();
 
 
+	/**
+	 * Key list which counts its modifications, to detect when the index
+	 * must be rebuilt.
+	 */
+	private static final class KeyList extends AbstractList<JWK> {
+
+
+		/**
+		 * The keys.
+		 */
+		private final List<JWK> list = new ArrayList<>();
+
+
+		/**
+		 * The modification count.
+		 */
+		private int version;
+
+
+		@Override
+		public JWK get(final int i) {
+			return list.get(i);
+		}
+
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+
+		@Override
+		public JWK set(final int i, final JWK key) {
+			version++;
+			return list.set(i, key);
+		}
+
+
+		@Override
+		public void add(final int i, final JWK key) {
+			version++;
+			modCount++;
+			list.add(i, key);
+		}
+
+
+		@Override
+		public JWK remove(final int i) {
+			version++;
+			modCount++;
+			return list.remove(i);
+		}
+	}
+
+
 	/**
 	 * Creates a new empty JSON Web Key (JWK) set.
 	 */
@@ -156,16 +224,31 @@ public class JWKSet {
 	 *         exists.
 	 */
 	public JWK getKeyByKeyId(String kid) {
-		
-		for (JWK key : getKeys()) {
-	        
-	        	if (key.getKeyID() != null && key.getKeyID().equals(kid)) {
-	        		return key;
-	        	}
-        	}
-		
-		// no key found
-		return null;
+
+		if (kid == null) {
+			return null;
+		}
+
+		return getIndex().getKeyByKeyID(kid);
+	}
+
+
+	/**
+	 * Returns the index of the keys, building it if it doesn't exist or
+	 * the key list was modified.
+	 *
+	 * @return The key index.
+	 */
+	JWKSetIndex getIndex() {
+
+		JWKSetIndex current = index;
+
+		if (current == null || current.getVersion() != keys.version) {
+			current = new JWKSetIndex(keys, keys.version);
+			index = current;
+		}
+
+		return current;
 	}
 
 
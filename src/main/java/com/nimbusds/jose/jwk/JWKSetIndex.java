@@ -0,0 +1,266 @@
+package com.nimbusds.jose.jwk;
+
+
+import java.util.*;
+
+import com.nimbusds.jose.Algorithm;
+import net.jcip.annotations.Immutable;
+
+
+/**
+ * Immutable index of the keys in a JSON Web Key (JWK) set by key ID, type,
+ * use and algorithm. Enables lookups and selections which don't have to
+ * examine every key in the set.
+ *
+ * <p>The index stores the positions of the keys in each bucket in ascending
+ * order, so that selected keys retain their order in the JWK set.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@Immutable
+final class JWKSetIndex {
+
+
+	/**
+	 * The version of the key list the index was built from.
+	 */
+	private final int version;
+
+
+	/**
+	 * The indexed keys, in set order.
+	 */
+	private final JWK[] keys;
+
+
+	/**
+	 * The key positions by key ID.
+	 */
+	private final Map<String,int[]> byKeyID;
+
+
+	/**
+	 * The key positions by key type.
+	 */
+	private final Map<KeyType,int[]> byKeyType;
+
+
+	/**
+	 * The key positions by key use.
+	 */
+	private final Map<KeyUse,int[]> byKeyUse;
+
+
+	/**
+	 * The key positions by algorithm.
+	 */
+	private final Map<Algorithm,int[]> byAlgorithm;
+
+
+	/**
+	 * Creates a new JWK set index.
+	 *
+	 * @param keys    The keys to index. Must not be {@code null}.
+	 * @param version The version of the key list.
+	 */
+	JWKSetIndex(final List<JWK> keys, final int version) {
+
+		this.version = version;
+		this.keys = keys.toArray(new JWK[keys.size()]);
+
+		Map<String,List<Integer>> kids = new HashMap<>();
+		Map<KeyType,List<Integer>> types = new HashMap<>();
+		Map<KeyUse,List<Integer>> uses = new HashMap<>();
+		Map<Algorithm,List<Integer>> algs = new HashMap<>();
+
+		for (int i=0; i < this.keys.length; i++) {
+
+			JWK key = this.keys[i];
+			addPosition(kids, key.getKeyID(), i);
+			addPosition(types, key.getKeyType(), i);
+			addPosition(uses, key.getKeyUse(), i);
+			addPosition(algs, key.getAlgorithm(), i);
+		}
+
+		byKeyID = toPositionArrays(kids);
+		byKeyType = toPositionArrays(types);
+		byKeyUse = toPositionArrays(uses);
+		byAlgorithm = toPositionArrays(algs);
+	}
+
+
+	/**
+	 * Adds a key position to the specified bucket map.
+	 *
+	 * @param buckets  The bucket map.
+	 * @param value    The indexed value, {@code null} if not specified.
+	 * @param position The key position.
+	 */
+	private static <K> void addPosition(final Map<K,List<Integer>> buckets,
+					    final K value,
+					    final int position) {
+
+		List<Integer> bucket = buckets.get(value);
+
+		if (bucket == null) {
+			bucket = new ArrayList<>(1);
+			buckets.put(value, bucket);
+		}
+
+		bucket.add(position);
+	}
+
+
+	/**
+	 * Converts the specified bucket map to position arrays.
+	 *
+	 * @param buckets The bucket map.
+	 *
+	 * @return The bucket map with position arrays.
+	 */
+	private static <K> Map<K,int[]> toPositionArrays(final Map<K,List<Integer>> buckets) {
+
+		Map<K,int[]> out = new HashMap<>(buckets.size() * 2);
+
+		for (Map.Entry<K,List<Integer>> en: buckets.entrySet()) {
+
+			List<Integer> bucket = en.getValue();
+			int[] positions = new int[bucket.size()];
+
+			for (int i=0; i < positions.length; i++) {
+				positions[i] = bucket.get(i);
+			}
+
+			out.put(en.getKey(), positions);
+		}
+
+		return out;
+	}
+
+
+	/**
+	 * Returns the version of the key list the index was built from.
+	 *
+	 * @return The key list version.
+	 */
+	int getVersion() {
+
+		return version;
+	}
+
+
+	/**
+	 * Returns the first key with the specified ID.
+	 *
+	 * @param kid The key ID, {@code null} for the first key without an
+	 *            ID.
+	 *
+	 * @return The key, {@code null} if none.
+	 */
+	JWK getKeyByKeyID(final String kid) {
+
+		int[] positions = byKeyID.get(kid);
+		return positions != null ? keys[positions[0]] : null;
+	}
+
+
+	/**
+	 * Returns the candidate keys for the specified matcher, in set order.
+	 * The candidates are taken from the most selective of the indexed
+	 * matcher parameters and must still be checked with
+	 * {@link JWKMatcher#matches}.
+	 *
+	 * @param matcher The JWK matcher. Must not be {@code null}.
+	 *
+	 * @return The candidate keys, empty list if none.
+	 */
+	List<JWK> getCandidates(final JWKMatcher matcher) {
+
+		int[] candidates = null;
+
+		if (matcher.getKeyIDs() != null) {
+			candidates = selectMoreSelective(candidates, lookup(byKeyID, matcher.getKeyIDs()));
+		}
+
+		if (matcher.getAlgorithms() != null) {
+			candidates = selectMoreSelective(candidates, lookup(byAlgorithm, matcher.getAlgorithms()));
+		}
+
+		if (matcher.getKeyUses() != null) {
+			candidates = selectMoreSelective(candidates, lookup(byKeyUse, matcher.getKeyUses()));
+		}
+
+		if (matcher.getKeyTypes() != null) {
+			candidates = selectMoreSelective(candidates, lookup(byKeyType, matcher.getKeyTypes()));
+		}
+
+		if (candidates == null) {
+			// No indexed parameters
+			return Arrays.asList(keys);
+		}
+
+		List<JWK> out = new ArrayList<>(candidates.length);
+
+		for (int position: candidates) {
+			out.add(keys[position]);
+		}
+
+		return out;
+	}
+
+
+	/**
+	 * Returns the shorter of the specified candidate position arrays.
+	 *
+	 * @param current The current candidate positions, {@code null} if
+	 *                none.
+	 * @param other   The other candidate positions. Must not be
+	 *                {@code null}.
+	 *
+	 * @return The more selective candidate positions.
+	 */
+	private static int[] selectMoreSelective(final int[] current, final int[] other) {
+
+		return current == null || other.length < current.length ? other : current;
+	}
+
+
+	/**
+	 * Looks up the key positions for the specified values.
+	 *
+	 * @param buckets The bucket map.
+	 * @param values  The values, may contain {@code null}.
+	 *
+	 * @return The key positions in ascending order, empty array if none.
+	 */
+	private static <K> int[] lookup(final Map<K,int[]> buckets, final Set<? extends K> values) {
+
+		if (values.size() == 1) {
+			int[] positions = buckets.get(values.iterator().next());
+			return positions != null ? positions : new int[0];
+		}
+
+		int count = 0;
+		List<int[]> found = new ArrayList<>(values.size());
+
+		for (K value: values) {
+			int[] positions = buckets.get(value);
+			if (positions != null) {
+				found.add(positions);
+				count += positions.length;
+			}
+		}
+
+		// The buckets of an index are disjoint
+		int[] out = new int[count];
+		int i = 0;
+		for (int[] positions: found) {
+			System.arraycopy(positions, 0, out, i, positions.length);
+			i += positions.length;
+		}
+
+		Arrays.sort(out);
+		return out;
+	}
+}
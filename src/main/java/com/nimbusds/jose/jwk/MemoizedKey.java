@@ -0,0 +1,81 @@
+package com.nimbusds.jose.jwk;
+
+
+import java.security.Key;
+import java.security.Provider;
+
+import net.jcip.annotations.Immutable;
+
+
+/**
+ * Memoized Java Cryptography Architecture (JCA) key representation of a JSON
+ * Web Key (JWK), together with the JCA provider or algorithm it was created
+ * for.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@Immutable
+final class MemoizedKey<K extends Key> {
+
+
+	/**
+	 * The JCA provider, {@code null} for the default.
+	 */
+	private final Provider provider;
+
+
+	/**
+	 * The JCA algorithm name, {@code null} if not applicable.
+	 */
+	private final String jcaAlg;
+
+
+	/**
+	 * The key.
+	 */
+	private final K key;
+
+
+	/**
+	 * Creates a new memoized key.
+	 *
+	 * @param provider The JCA provider, {@code null} for the default.
+	 * @param jcaAlg   The JCA algorithm name, {@code null} if not
+	 *                 applicable.
+	 * @param key      The key. Must not be {@code null}.
+	 */
+	MemoizedKey(final Provider provider, final String jcaAlg, final K key) {
+
+		this.provider = provider;
+		this.jcaAlg = jcaAlg;
+		this.key = key;
+	}
+
+
+	/**
+	 * Returns the key if it was created for the specified JCA provider
+	 * and algorithm.
+	 *
+	 * @param memo     The memoized key, {@code null} if none.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *                 Compared by identity.
+	 * @param jcaAlg   The JCA algorithm name, {@code null} if not
+	 *                 applicable.
+	 *
+	 * @return The key, {@code null} if none or created for another
+	 *         provider or algorithm.
+	 */
+	static <K extends Key> K get(final MemoizedKey<K> memo, final Provider provider, final String jcaAlg) {
+
+		if (memo == null || memo.provider != provider) {
+			return null;
+		}
+
+		if (jcaAlg == null ? memo.jcaAlg != null : ! jcaAlg.equals(memo.jcaAlg)) {
+			return null;
+		}
+
+		return memo.key;
+	}
+}
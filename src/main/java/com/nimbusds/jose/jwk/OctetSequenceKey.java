@@ -42,7 +42,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  * 
  * @author Justin Richer
  * @author Vladimir Dzhuvinov
- * @version 2017-07-03
+ * @version 2026-10-18
  */
 @Immutable
 public final class OctetSequenceKey extends JWK implements SecretJWK {
@@ -57,6 +57,12 @@ public final class OctetSequenceKey extends JWK implements SecretJWK {
 	private final Base64URL k;
 
 
+	/**
+	 * The memoized secret key, {@code null} if not created yet.
+	 */
+	private transient volatile MemoizedKey<SecretKey> memoizedSecretKey;
+
+
 	/**
 	 * Builder for constructing octet sequence JWKs.
 	 *
@@ -412,7 +418,9 @@ public final class OctetSequenceKey extends JWK implements SecretJWK {
 
 	/**
 	 * Returns a secret key representation of this octet sequence key with
-	 * the specified Java Cryptography Architecture (JCA) algorithm.
+	 * the specified Java Cryptography Architecture (JCA) algorithm. The
+	 * key is created on the first call and then reused for the same
+	 * algorithm.
 	 *
 	 * @param jcaAlg The JCA algorithm. Must not be {@code null}.
 	 *
@@ -420,7 +428,15 @@ public final class OctetSequenceKey extends JWK implements SecretJWK {
 	 */
 	public SecretKey toSecretKey(final String jcaAlg) {
 
-		return new SecretKeySpec(toByteArray(), jcaAlg);
+		SecretKey secretKey = MemoizedKey.get(memoizedSecretKey, null, jcaAlg);
+
+		if (secretKey != null) {
+			return secretKey;
+		}
+
+		secretKey = new SecretKeySpec(toByteArray(), jcaAlg);
+		memoizedSecretKey = new MemoizedKey<>(null, jcaAlg, secretKey);
+		return secretKey;
 	}
 
 
@@ -111,7 +111,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  * @author Vladimir Dzhuvinov
  * @author Justin Richer
  * @author Cedric Staub
- * @version 2016-07-03
+ * @version 2026-10-18
  */
 @Immutable
 public final class RSAKey extends JWK implements AssymetricJWK {
@@ -887,6 +887,18 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 	private final List<OtherPrimesInfo> oth;
 
 
+	/**
+	 * The memoized public RSA key, {@code null} if not created yet.
+	 */
+	private transient volatile MemoizedKey<RSAPublicKey> memoizedPublicKey;
+
+
+	/**
+	 * The memoized private RSA key, {@code null} if not created yet.
+	 */
+	private transient volatile MemoizedKey<RSAPrivateKey> memoizedPrivateKey;
+
+
 	/**
 	 * Creates a new public RSA JSON Web Key (JWK) with the specified 
 	 * parameters.
@@ -1433,7 +1445,8 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 	
 	/**
 	 * Returns a standard {@code java.security.interfaces.RSAPublicKey} 
-	 * representation of this RSA JWK.
+	 * representation of this RSA JWK. The key is created on the first call
+	 * and then reused.
 	 * 
 	 * @return The public RSA key.
 	 * 
@@ -1444,6 +1457,12 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 	public RSAPublicKey toRSAPublicKey() 
 		throws JOSEException {
 
+		RSAPublicKey publicKey = MemoizedKey.get(memoizedPublicKey, null, null);
+
+		if (publicKey != null) {
+			return publicKey;
+		}
+
 		BigInteger modulus = n.decodeToBigInteger();
 		BigInteger exponent = e.decodeToBigInteger();
 				
@@ -1452,7 +1471,9 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 		try {
 			KeyFactory factory = KeyFactory.getInstance("RSA");
 
-			return (RSAPublicKey) factory.generatePublic(spec);
+			publicKey = (RSAPublicKey) factory.generatePublic(spec);
+			memoizedPublicKey = new MemoizedKey<>(null, null, publicKey);
+			return publicKey;
 
 		} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
 
@@ -1463,7 +1484,8 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 
 	/**
 	 * Returns a standard {@code java.security.interfaces.RSAPrivateKey} 
-	 * representation of this RSA JWK.
+	 * representation of this RSA JWK. The key is created on the first call
+	 * and then reused.
 	 * 
 	 * @return The private RSA key, {@code null} if not specified by this
 	 *         JWK.
@@ -1479,6 +1501,12 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 			// no private key
 			return null;
 		}
+
+		RSAPrivateKey privateKey = MemoizedKey.get(memoizedPrivateKey, null, null);
+
+		if (privateKey != null) {
+			return privateKey;
+		}
 		
 		BigInteger modulus = n.decodeToBigInteger();
 		BigInteger privateExponent = d.decodeToBigInteger();
@@ -1540,7 +1568,9 @@ public final class RSAKey extends JWK implements AssymetricJWK {
 		try {
 			KeyFactory factory = KeyFactory.getInstance("RSA");
 
-			return (RSAPrivateKey) factory.generatePrivate(spec);
+			privateKey = (RSAPrivateKey) factory.generatePrivate(spec);
+			memoizedPrivateKey = new MemoizedKey<>(null, null, privateKey);
+			return privateKey;
 
 		} catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
 
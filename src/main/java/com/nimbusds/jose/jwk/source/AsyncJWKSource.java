@@ -0,0 +1,40 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.AsyncCallback;
+
+
+/**
+ * Asynchronous JSON Web Key (JWK) source. The calling thread is not blocked
+ * while the JWKs are being sourced, e.g. from a remote URL. Implementations
+ * must be thread-safe.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface AsyncJWKSource <C extends SecurityContext> {
+
+
+	/**
+	 * Starts the retrieval of the JWKs matching the specified selector.
+	 *
+	 * @param jwkSelector A JWK selector. Must not be {@code null}.
+	 * @param context     Optional context, {@code null} if not required.
+	 * @param callback    Callback for the matching JWKs, empty list if no
+	 *                    matches were found, or the
+	 *                    {@link com.nimbusds.jose.KeySourceException} if
+	 *                    key sourcing failed, {@code null} if not
+	 *                    required.
+	 *
+	 * @return The future matching JWKs.
+	 */
+	Future<List<JWK>> get(final JWKSelector jwkSelector,
+			      final C context,
+			      final AsyncCallback<List<JWK>> callback);
+}
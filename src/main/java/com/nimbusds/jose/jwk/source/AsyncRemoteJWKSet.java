@@ -0,0 +1,141 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.AsyncCallback;
+import com.nimbusds.jose.util.CallbackFutureTask;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Asynchronous remote JSON Web Key (JWK) source specified by a JWK set URL.
+ * Wraps a {@link RemoteJWKSet} for use in event-loop and other non-blocking
+ * servers.
+ *
+ * <p>If the JWK set is cached, not due for a refresh and has matching keys
+ * the selection completes immediately in the calling thread. Otherwise the
+ * selection, including any retrieval of the JWK set, is run on the
+ * configured executor, so that the calling thread never waits for the JWK
+ * set URL. If the executor rejects the selection the future fails with the
+ * {@link RejectedExecutionException}.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class AsyncRemoteJWKSet<C extends SecurityContext> implements AsyncJWKSource<C> {
+
+
+	/**
+	 * The underlying remote JWK set.
+	 */
+	private final RemoteJWKSet<C> remoteJWKSet;
+
+
+	/**
+	 * The executor for selections which may block.
+	 */
+	private final Executor executor;
+
+
+	/**
+	 * Creates a new asynchronous remote JWK set.
+	 *
+	 * @param remoteJWKSet The underlying remote JWK set. Must not be
+	 *                     {@code null}.
+	 * @param executor     The executor for selections which may block on
+	 *                     the retrieval of the JWK set. Must not be
+	 *                     {@code null}.
+	 */
+	public AsyncRemoteJWKSet(final RemoteJWKSet<C> remoteJWKSet,
+				 final Executor executor) {
+
+		if (remoteJWKSet == null) {
+			throw new IllegalArgumentException("The remote JWK set must not be null");
+		}
+
+		if (executor == null) {
+			throw new IllegalArgumentException("The executor must not be null");
+		}
+
+		this.remoteJWKSet = remoteJWKSet;
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Returns the underlying remote JWK set.
+	 *
+	 * @return The remote JWK set.
+	 */
+	public RemoteJWKSet<C> getRemoteJWKSet() {
+
+		return remoteJWKSet;
+	}
+
+
+	/**
+	 * Returns the executor for selections which may block.
+	 *
+	 * @return The executor.
+	 */
+	public Executor getExecutor() {
+
+		return executor;
+	}
+
+
+	@Override
+	public Future<List<JWK>> get(final JWKSelector jwkSelector,
+				     final C context,
+				     final AsyncCallback<List<JWK>> callback) {
+
+		final JWKSetCache cache = remoteJWKSet.getJWKSetCache();
+		final JWKSet jwkSet = cache.get();
+
+		if (jwkSet != null && ! cache.requiresRefresh()) {
+
+			final List<JWK> matches = jwkSelector.select(jwkSet);
+
+			if (! matches.isEmpty()) {
+				// Complete in the calling thread
+				CallbackFutureTask<List<JWK>> task = new CallbackFutureTask<>(new Callable<List<JWK>>() {
+					@Override
+					public List<JWK> call() {
+						return matches;
+					}
+				}, callback);
+				task.run();
+				return task;
+			}
+		}
+
+		CallbackFutureTask<List<JWK>> task = new CallbackFutureTask<>(new Callable<List<JWK>>() {
+			@Override
+			public List<JWK> call()
+				throws Exception {
+
+				List<JWK> matches = remoteJWKSet.get(jwkSelector, context);
+				return matches != null ? matches : Collections.<JWK>emptyList();
+			}
+		}, callback);
+
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.fail(e);
+		}
+
+		return task;
+	}
+}
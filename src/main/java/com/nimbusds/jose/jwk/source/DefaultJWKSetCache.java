@@ -0,0 +1,288 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * JSON Web Key (JWK) set cache implementation with a configurable lifespan
+ * and refresh-ahead time.
+ *
+ * <p>The cached JWK set expires once its lifespan, counted from the time it
+ * was put into the cache, elapses. Within the refresh-ahead time before the
+ * expiration {@link #requiresRefresh()} returns {@code true}, so that the
+ * JWK set can be reloaded before it expires. A JWK set may also be put into
+ * the cache with a specific lifespan, in which case the refresh-ahead time is
+ * limited to half of it.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class DefaultJWKSetCache implements JWKSetCache {
+
+
+	/**
+	 * The default lifespan for cached JWK sets (5 minutes).
+	 */
+	public static final long DEFAULT_LIFESPAN_MINUTES = 5;
+
+
+	/**
+	 * The default refresh-ahead time for cached JWK sets (30 seconds).
+	 */
+	public static final long DEFAULT_REFRESH_AHEAD_SECONDS = 30;
+
+
+	/**
+	 * Cached JWK set entry.
+	 */
+	private static final class Entry {
+
+
+		/**
+		 * The cached JWK set.
+		 */
+		private final JWKSet jwkSet;
+
+
+		/**
+		 * The time the JWK set was put into the cache, in
+		 * milliseconds since the epoch.
+		 */
+		private final long putTimestamp;
+
+
+		/**
+		 * The lifespan, in milliseconds, negative means no
+		 * expiration.
+		 */
+		private final long lifespan;
+
+
+		/**
+		 * The refresh-ahead time, in milliseconds.
+		 */
+		private final long refreshAheadTime;
+
+
+		/**
+		 * Creates a new cache entry.
+		 *
+		 * @param jwkSet           The JWK set. Must not be
+		 *                         {@code null}.
+		 * @param putTimestamp     The put timestamp, in milliseconds
+		 *                         since the epoch.
+		 * @param lifespan         The lifespan, in milliseconds,
+		 *                         negative means no expiration.
+		 * @param refreshAheadTime The refresh-ahead time, in
+		 *                         milliseconds.
+		 */
+		private Entry(final JWKSet jwkSet,
+			      final long putTimestamp,
+			      final long lifespan,
+			      final long refreshAheadTime) {
+			this.jwkSet = jwkSet;
+			this.putTimestamp = putTimestamp;
+			this.lifespan = lifespan;
+			this.refreshAheadTime = refreshAheadTime;
+		}
+
+
+		/**
+		 * Returns {@code true} if the entry has expired.
+		 *
+		 * @param now The current time, in milliseconds since the
+		 *            epoch.
+		 *
+		 * @return {@code true} if expired, else {@code false}.
+		 */
+		private boolean isExpired(final long now) {
+			return lifespan > -1 && now > putTimestamp + lifespan;
+		}
+
+
+		/**
+		 * Returns {@code true} if the entry requires a refresh.
+		 *
+		 * @param now The current time, in milliseconds since the
+		 *            epoch.
+		 *
+		 * @return {@code true} if a refresh is required, else
+		 *         {@code false}.
+		 */
+		private boolean requiresRefresh(final long now) {
+			return lifespan > -1 && now >= putTimestamp + lifespan - refreshAheadTime;
+		}
+	}
+
+
+	/**
+	 * The current cache entry, {@code null} if none.
+	 */
+	private volatile Entry entry;
+
+
+	/**
+	 * The lifespan of the cached JWK set, in milliseconds, negative
+	 * means no expiration.
+	 */
+	private final long lifespan;
+
+
+	/**
+	 * The refresh-ahead time, in milliseconds, zero if none.
+	 */
+	private final long refreshAheadTime;
+
+
+	/**
+	 * Creates a new JWK set cache with the default lifespan of 5 minutes
+	 * and refresh-ahead time of 30 seconds.
+	 */
+	public DefaultJWKSetCache() {
+
+		this(DEFAULT_LIFESPAN_MINUTES * 60, DEFAULT_REFRESH_AHEAD_SECONDS, TimeUnit.SECONDS);
+	}
+
+
+	/**
+	 * Creates a new JWK set cache.
+	 *
+	 * @param lifespan         The lifespan of the cached JWK set, negative
+	 *                         means no expiration.
+	 * @param refreshAheadTime The time before the expiration of the
+	 *                         cached JWK set when it should be refreshed,
+	 *                         zero if none. Must not be negative or
+	 *                         exceed the lifespan.
+	 * @param timeUnit         The time unit, may be {@code null} if no
+	 *                         expiration is set.
+	 */
+	public DefaultJWKSetCache(final long lifespan,
+				  final long refreshAheadTime,
+				  final TimeUnit timeUnit) {
+
+		if (lifespan > -1 && timeUnit == null) {
+			throw new IllegalArgumentException("The time unit must not be null");
+		}
+
+		if (refreshAheadTime < 0) {
+			throw new IllegalArgumentException("The refresh-ahead time must not be negative");
+		}
+
+		if (lifespan > -1 && refreshAheadTime > lifespan) {
+			throw new IllegalArgumentException("The refresh-ahead time must not exceed the lifespan");
+		}
+
+		this.lifespan = lifespan > -1 ? timeUnit.toMillis(lifespan) : -1;
+		this.refreshAheadTime = lifespan > -1 ? timeUnit.toMillis(refreshAheadTime) : 0;
+	}
+
+
+	/**
+	 * Returns the current time. Overridden in tests to advance the time
+	 * without sleeping.
+	 *
+	 * @return The current time, in milliseconds since the epoch.
+	 */
+	long currentTimeMillis() {
+
+		return System.currentTimeMillis();
+	}
+
+
+	@Override
+	public void put(final JWKSet jwkSet) {
+
+		if (jwkSet != null) {
+			entry = new Entry(jwkSet, currentTimeMillis(), lifespan, refreshAheadTime);
+		} else {
+			entry = null;
+		}
+	}
+
+
+	@Override
+	public void put(final JWKSet jwkSet, final long lifespan, final TimeUnit timeUnit) {
+
+		if (jwkSet == null) {
+			throw new IllegalArgumentException("The JWK set must not be null");
+		}
+
+		if (lifespan < 0) {
+			throw new IllegalArgumentException("The lifespan must not be negative");
+		}
+
+		final long lifespanMs = timeUnit.toMillis(lifespan);
+
+		entry = new Entry(jwkSet, currentTimeMillis(), lifespanMs, Math.min(refreshAheadTime, lifespanMs / 2));
+	}
+
+
+	@Override
+	public JWKSet get() {
+
+		final Entry e = entry;
+
+		if (e == null || e.isExpired(currentTimeMillis())) {
+			return null;
+		}
+
+		return e.jwkSet;
+	}
+
+
+	@Override
+	public boolean requiresRefresh() {
+
+		final Entry e = entry;
+
+		return e == null || e.requiresRefresh(currentTimeMillis());
+	}
+
+
+	/**
+	 * Returns the time when the current JWK set was put into the cache.
+	 *
+	 * @return The put timestamp, in milliseconds since the epoch, -1 if
+	 *         the cache is empty.
+	 */
+	public long getPutTimestamp() {
+
+		final Entry e = entry;
+		return e != null ? e.putTimestamp : -1L;
+	}
+
+
+	/**
+	 * Returns the configured lifespan of cached JWK sets.
+	 *
+	 * @param timeUnit The time unit to use.
+	 *
+	 * @return The configured lifespan, negative means no expiration.
+	 */
+	public long getLifespan(final TimeUnit timeUnit) {
+
+		if (lifespan < 0) {
+			return lifespan;
+		}
+
+		return timeUnit.convert(lifespan, TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Returns the configured refresh-ahead time of cached JWK sets.
+	 *
+	 * @param timeUnit The time unit to use.
+	 *
+	 * @return The configured refresh-ahead time, zero if none.
+	 */
+	public long getRefreshAheadTime(final TimeUnit timeUnit) {
+
+		return timeUnit.convert(refreshAheadTime, TimeUnit.MILLISECONDS);
+	}
+}
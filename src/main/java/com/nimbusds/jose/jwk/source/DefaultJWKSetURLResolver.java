@@ -0,0 +1,135 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.proc.SecurityContext;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Default JSON Web Key (JWK) set URL resolver. Expects a context which is a
+ * map, such as {@link com.nimbusds.jose.proc.SimpleSecurityContext}, with one
+ * of the following parameters:
+ *
+ * <ul>
+ *     <li>{@link #JWK_SET_URL_PARAM jwks_uri} -- The JWK set URL, as
+ *         {@link URL} or string, set by the application.
+ *     <li>{@link #ISSUER_PARAM iss} -- The (unverified) issuer of the
+ *         processed JOSE object, which must be one of the trusted issuers
+ *         of the resolver.
+ * </ul>
+ *
+ * <p>Example context for a JWT with an unverified issuer claim:
+ *
+ * <pre>
+ * SimpleSecurityContext ctx = new SimpleSecurityContext();
+ * ctx.put(DefaultJWKSetURLResolver.ISSUER_PARAM, jwt.getJWTClaimsSet().getIssuer());
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class DefaultJWKSetURLResolver<C extends SecurityContext> implements JWKSetURLResolver<C> {
+
+
+	/**
+	 * The context parameter name for the JWK set URL.
+	 */
+	public static final String JWK_SET_URL_PARAM = "jwks_uri";
+
+
+	/**
+	 * The context parameter name for the issuer.
+	 */
+	public static final String ISSUER_PARAM = "iss";
+
+
+	/**
+	 * The JWK set URLs of the trusted issuers.
+	 */
+	private final Map<String,URL> issuerJWKSetURLs;
+
+
+	/**
+	 * Creates a new JWK set URL resolver with no trusted issuers. The JWK
+	 * set URL must be set in the context.
+	 */
+	public DefaultJWKSetURLResolver() {
+
+		this(null);
+	}
+
+
+	/**
+	 * Creates a new JWK set URL resolver.
+	 *
+	 * @param issuerJWKSetURLs The JWK set URLs of the trusted issuers,
+	 *                         {@code null} if none.
+	 */
+	public DefaultJWKSetURLResolver(final Map<String,URL> issuerJWKSetURLs) {
+
+		if (issuerJWKSetURLs != null) {
+			this.issuerJWKSetURLs = Collections.unmodifiableMap(new HashMap<>(issuerJWKSetURLs));
+		} else {
+			this.issuerJWKSetURLs = Collections.emptyMap();
+		}
+	}
+
+
+	/**
+	 * Returns the JWK set URLs of the trusted issuers.
+	 *
+	 * @return The JWK set URLs of the trusted issuers, empty map if none.
+	 */
+	public Map<String,URL> getIssuerJWKSetURLs() {
+
+		return issuerJWKSetURLs;
+	}
+
+
+	@Override
+	public URL resolveJWKSetURL(final C context)
+		throws KeySourceException {
+
+		if (! (context instanceof Map)) {
+			throw new KeySourceException("Couldn't resolve JWK set URL: Missing context parameters");
+		}
+
+		Map<?,?> params = (Map<?,?>)context;
+
+		Object jwkSetURL = params.get(JWK_SET_URL_PARAM);
+
+		if (jwkSetURL instanceof URL) {
+			return (URL)jwkSetURL;
+		}
+
+		if (jwkSetURL instanceof String) {
+			try {
+				return new URL((String)jwkSetURL);
+			} catch (MalformedURLException e) {
+				throw new KeySourceException("Couldn't resolve JWK set URL: " + e.getMessage(), e);
+			}
+		}
+
+		Object issuer = params.get(ISSUER_PARAM);
+
+		if (issuer == null) {
+			throw new KeySourceException("Couldn't resolve JWK set URL: Missing context parameters");
+		}
+
+		URL url = issuerJWKSetURLs.get(issuer.toString());
+
+		if (url == null) {
+			throw new KeySourceException("Couldn't resolve JWK set URL: Untrusted issuer " + issuer);
+		}
+
+		return url;
+	}
+}
@@ -0,0 +1,148 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Date;
+
+import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import net.jcip.annotations.ThreadSafe;
+import net.minidev.json.JSONObject;
+
+
+/**
+ * JSON Web Key (JWK) set snapshot store backed by files in a local
+ * directory, one file per JWK set URL. Snapshots are written to a temporary
+ * file first and then atomically moved in place, so that a crash never
+ * leaves a partially written snapshot behind.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class FileJWKSetSnapshotStore implements JWKSetSnapshotStore {
+
+
+	/**
+	 * The snapshot directory.
+	 */
+	private final File directory;
+
+
+	/**
+	 * Creates a new file based JWK set snapshot store.
+	 *
+	 * @param directory The directory for the snapshot files, created if
+	 *                  it doesn't exist. Must not be {@code null}.
+	 */
+	public FileJWKSetSnapshotStore(final File directory) {
+
+		if (directory == null) {
+			throw new IllegalArgumentException("The snapshot directory must not be null");
+		}
+
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Returns the snapshot directory.
+	 *
+	 * @return The snapshot directory.
+	 */
+	public File getDirectory() {
+
+		return directory;
+	}
+
+
+	/**
+	 * Returns the snapshot file for the specified JWK set URL. The file
+	 * name is derived from the SHA-256 hash of the URL.
+	 *
+	 * @param jwkSetURL The JWK set URL. Must not be {@code null}.
+	 *
+	 * @return The snapshot file.
+	 */
+	public File getSnapshotFile(final URL jwkSetURL) {
+
+		byte[] hash;
+		try {
+			hash = MessageDigest.getInstance("SHA-256").digest(jwkSetURL.toString().getBytes(Base64.CHARSET));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is mandatory for all JCA providers
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+
+		return new File(directory, "jwks-" + Base64URL.encode(hash) + ".json");
+	}
+
+
+	@Override
+	public void save(final URL jwkSetURL, final JWKSetSnapshot snapshot)
+		throws IOException {
+
+		JSONObject o = new JSONObject();
+		o.put("url", jwkSetURL.toString());
+		o.put("content", snapshot.getContent());
+		if (snapshot.getETag() != null) {
+			o.put("etag", snapshot.getETag());
+		}
+		if (snapshot.getLastModified() != null) {
+			o.put("last_modified", snapshot.getLastModified().getTime());
+		}
+		o.put("retrieved", snapshot.getRetrievalTime().getTime());
+
+		Files.createDirectories(directory.toPath());
+
+		Path target = getSnapshotFile(jwkSetURL).toPath();
+		Path tmp = Files.createTempFile(directory.toPath(), target.getFileName().toString(), ".tmp");
+
+		try {
+			Files.write(tmp, o.toJSONString().getBytes(Base64.CHARSET));
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+
+	@Override
+	public JWKSetSnapshot load(final URL jwkSetURL)
+		throws IOException {
+
+		File file = getSnapshotFile(jwkSetURL);
+
+		if (! file.exists()) {
+			return null;
+		}
+
+		String json = new String(Files.readAllBytes(file.toPath()), Base64.CHARSET);
+
+		try {
+			JSONObject o = JSONObjectUtils.parse(json);
+
+			if (! jwkSetURL.toString().equals(JSONObjectUtils.getString(o, "url"))) {
+				throw new IOException("Invalid JWK set snapshot " + file + ": URL mismatch");
+			}
+
+			return new JWKSetSnapshot(
+				JSONObjectUtils.getString(o, "content"),
+				o.containsKey("etag") ? JSONObjectUtils.getString(o, "etag") : null,
+				o.containsKey("last_modified") ? new Date(JSONObjectUtils.getLong(o, "last_modified")) : null,
+				new Date(JSONObjectUtils.getLong(o, "retrieved")));
+
+		} catch (ParseException e) {
+			throw new IOException("Invalid JWK set snapshot " + file + ": " + e.getMessage(), e);
+		}
+	}
+}
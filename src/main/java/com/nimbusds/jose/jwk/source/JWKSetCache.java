@@ -0,0 +1,56 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jose.jwk.JWKSet;
+
+
+/**
+ * JSON Web Key (JWK) set cache interface. Implementations must be
+ * thread-safe.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface JWKSetCache {
+
+
+	/**
+	 * Puts the specified JWK set into the cache.
+	 *
+	 * @param jwkSet The JWK set to cache, {@code null} to empty the
+	 *               cache.
+	 */
+	void put(final JWKSet jwkSet);
+
+
+	/**
+	 * Puts the specified JWK set into the cache, with a lifespan which
+	 * overrides the configured one, e.g. as set by the HTTP caching
+	 * headers of the JWK set URL.
+	 *
+	 * @param jwkSet   The JWK set to cache. Must not be {@code null}.
+	 * @param lifespan The lifespan of the JWK set. Must not be negative.
+	 * @param timeUnit The time unit. Must not be {@code null}.
+	 */
+	void put(final JWKSet jwkSet, final long lifespan, final TimeUnit timeUnit);
+
+
+	/**
+	 * Gets the cached JWK set.
+	 *
+	 * @return The cached JWK set, {@code null} if none or expired.
+	 */
+	JWKSet get();
+
+
+	/**
+	 * Returns {@code true} if the cached JWK set is due for a refresh.
+	 * A refresh may be required before the cached JWK set expires, to
+	 * allow its retrieval ahead of time.
+	 *
+	 * @return {@code true} if a refresh is required, else {@code false}.
+	 */
+	boolean requiresRefresh();
+}
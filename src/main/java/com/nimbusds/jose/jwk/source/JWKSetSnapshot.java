@@ -0,0 +1,119 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.Date;
+
+import net.jcip.annotations.Immutable;
+
+
+/**
+ * Snapshot of a retrieved JSON Web Key (JWK) set, with the metadata required
+ * to revalidate it.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@Immutable
+public final class JWKSetSnapshot {
+
+
+	/**
+	 * The JWK set content, as retrieved.
+	 */
+	private final String content;
+
+
+	/**
+	 * The entity tag, {@code null} if none.
+	 */
+	private final String eTag;
+
+
+	/**
+	 * The last modification date, {@code null} if none.
+	 */
+	private final Date lastModified;
+
+
+	/**
+	 * The retrieval time.
+	 */
+	private final Date retrievalTime;
+
+
+	/**
+	 * Creates a new JWK set snapshot.
+	 *
+	 * @param content       The JWK set content, as retrieved. Must not
+	 *                      be {@code null}.
+	 * @param eTag          The entity tag (ETag), {@code null} if none.
+	 * @param lastModified  The last modification date (Last-Modified),
+	 *                      {@code null} if none.
+	 * @param retrievalTime The time of the retrieval, or the last
+	 *                      successful revalidation. Must not be
+	 *                      {@code null}.
+	 */
+	public JWKSetSnapshot(final String content,
+			      final String eTag,
+			      final Date lastModified,
+			      final Date retrievalTime) {
+
+		if (content == null) {
+			throw new IllegalArgumentException("The JWK set content must not be null");
+		}
+
+		if (retrievalTime == null) {
+			throw new IllegalArgumentException("The retrieval time must not be null");
+		}
+
+		this.content = content;
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+		this.retrievalTime = retrievalTime;
+	}
+
+
+	/**
+	 * Returns the JWK set content.
+	 *
+	 * @return The JWK set content, as retrieved.
+	 */
+	public String getContent() {
+
+		return content;
+	}
+
+
+	/**
+	 * Returns the entity tag (ETag).
+	 *
+	 * @return The entity tag, {@code null} if none.
+	 */
+	public String getETag() {
+
+		return eTag;
+	}
+
+
+	/**
+	 * Returns the last modification date (Last-Modified).
+	 *
+	 * @return The last modification date, {@code null} if none.
+	 */
+	public Date getLastModified() {
+
+		return lastModified;
+	}
+
+
+	/**
+	 * Returns the time of the retrieval, or the last successful
+	 * revalidation.
+	 *
+	 * @return The retrieval time.
+	 */
+	public Date getRetrievalTime() {
+
+		return retrievalTime;
+	}
+}
@@ -0,0 +1,43 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.IOException;
+import java.net.URL;
+
+
+/**
+ * Persistent store of JSON Web Key (JWK) set snapshots, keyed by JWK set
+ * URL. Enables a {@link RemoteJWKSet} to start with the last retrieved JWK set
+ * instead of an empty cache. Implementations must be thread-safe.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface JWKSetSnapshotStore {
+
+
+	/**
+	 * Saves the specified JWK set snapshot, replacing any previous one
+	 * for the URL.
+	 *
+	 * @param jwkSetURL The JWK set URL. Must not be {@code null}.
+	 * @param snapshot  The JWK set snapshot. Must not be {@code null}.
+	 *
+	 * @throws IOException If the snapshot couldn't be saved.
+	 */
+	void save(final URL jwkSetURL, final JWKSetSnapshot snapshot)
+		throws IOException;
+
+
+	/**
+	 * Loads the JWK set snapshot for the specified URL.
+	 *
+	 * @param jwkSetURL The JWK set URL. Must not be {@code null}.
+	 *
+	 * @return The JWK set snapshot, {@code null} if none.
+	 *
+	 * @throws IOException If the snapshot couldn't be loaded.
+	 */
+	JWKSetSnapshot load(final URL jwkSetURL)
+		throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.proc.SecurityContext;
+
+
+/**
+ * Resolver of the JSON Web Key (JWK) set URL for a request, used by
+ * {@link MultiIssuerJWKSource}. Implementations must be thread-safe.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface JWKSetURLResolver <C extends SecurityContext> {
+
+
+	/**
+	 * Resolves the JWK set URL for the specified context.
+	 *
+	 * @param context The context, {@code null} if not specified.
+	 *
+	 * @return The JWK set URL.
+	 *
+	 * @throws KeySourceException If the JWK set URL couldn't be resolved,
+	 *                            e.g. due to an untrusted issuer.
+	 */
+	URL resolveJWKSetURL(final C context)
+		throws KeySourceException;
+}
@@ -0,0 +1,400 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ExpiringLRUCache;
+import com.nimbusds.jose.util.ResourceRetriever;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * JSON Web Key (JWK) source for multiple issuers, such as the tenants of a
+ * gateway. The JWK set URL is resolved for each request from the
+ * {@link SecurityContext context}, by default from a
+ * {@link DefaultJWKSetURLResolver#JWK_SET_URL_PARAM JWK set URL} or a
+ * trusted {@link DefaultJWKSetURLResolver#ISSUER_PARAM issuer} parameter.
+ *
+ * <p>A {@link RemoteJWKSet} is created on demand for each JWK set URL. The
+ * remote JWK sets are kept in a size-bounded map with least-recently-used
+ * eviction and an optional idle time-to-live, so that the JWK sets of
+ * issuers which keep receiving requests aren't evicted. They share a
+ * single HTTP resource retriever and a small pool of refresh threads, so
+ * that the memory and thread use remain flat as the number of issuers
+ * grows.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class MultiIssuerJWKSource<C extends SecurityContext> implements JWKSource<C> {
+
+
+	/**
+	 * The default maximum number of remote JWK sets.
+	 */
+	public static final int DEFAULT_MAX_JWK_SETS = 1000;
+
+
+	/**
+	 * The default idle time-to-live of remote JWK sets (60 minutes).
+	 */
+	public static final long DEFAULT_JWK_SET_TTL_MINUTES = 60;
+
+
+	/**
+	 * The number of threads in the default refresh executor.
+	 */
+	public static final int DEFAULT_REFRESH_THREADS = 4;
+
+
+	/**
+	 * The default executor for refreshing JWK sets in the background,
+	 * shared by all multi-issuer JWK sources.
+	 */
+	private static final ExecutorService DEFAULT_REFRESH_EXECUTOR = Executors.newFixedThreadPool(DEFAULT_REFRESH_THREADS, new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable r) {
+			Thread thread = new Thread(r, "MultiIssuerJWKSource-refresh");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+
+	/**
+	 * Builder for constructing multi-issuer JWK sources.
+	 */
+	public static class Builder<C extends SecurityContext> {
+
+
+		/**
+		 * The JWK set URL resolver.
+		 */
+		private final JWKSetURLResolver<C> jwkSetURLResolver;
+
+
+		/**
+		 * The shared HTTP resource retriever, {@code null} for the
+		 * default.
+		 */
+		private ResourceRetriever resourceRetriever;
+
+
+		/**
+		 * The shared background refresh executor, {@code null} for
+		 * the default.
+		 */
+		private Executor refreshExecutor;
+
+
+		/**
+		 * The shared JWK set snapshot store, {@code null} if none.
+		 */
+		private JWKSetSnapshotStore snapshotStore;
+
+
+		/**
+		 * The maximum number of remote JWK sets.
+		 */
+		private int maxJWKSets = DEFAULT_MAX_JWK_SETS;
+
+
+		/**
+		 * The idle time-to-live of remote JWK sets, in milliseconds,
+		 * -1 if none.
+		 */
+		private long jwkSetTTL = DEFAULT_JWK_SET_TTL_MINUTES * 60 * 1000L;
+
+
+		/**
+		 * Creates a new multi-issuer JWK source builder.
+		 *
+		 * @param jwkSetURLResolver The JWK set URL resolver. Must not
+		 *                          be {@code null}.
+		 */
+		public Builder(final JWKSetURLResolver<C> jwkSetURLResolver) {
+
+			if (jwkSetURLResolver == null) {
+				throw new IllegalArgumentException("The JWK set URL resolver must not be null");
+			}
+
+			this.jwkSetURLResolver = jwkSetURLResolver;
+		}
+
+
+		/**
+		 * Sets the HTTP resource retriever, shared by all remote JWK
+		 * sets.
+		 *
+		 * @param resourceRetriever The HTTP resource retriever,
+		 *                          {@code null} to use the
+		 *                          {@link DefaultResourceRetriever
+		 *                          default one}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> resourceRetriever(final ResourceRetriever resourceRetriever) {
+
+			this.resourceRetriever = resourceRetriever;
+			return this;
+		}
+
+
+		/**
+		 * Sets the executor for refreshing the JWK sets in the
+		 * background, shared by all remote JWK sets.
+		 *
+		 * @param refreshExecutor The executor, {@code null} to use a
+		 *                        default shared pool of
+		 *                        {@link #DEFAULT_REFRESH_THREADS}
+		 *                        daemon threads.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> refreshExecutor(final Executor refreshExecutor) {
+
+			this.refreshExecutor = refreshExecutor;
+			return this;
+		}
+
+
+		/**
+		 * Sets the store for JWK set snapshots, shared by all remote
+		 * JWK sets.
+		 *
+		 * @param snapshotStore The JWK set snapshot store, {@code null}
+		 *                      if none (the default).
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> snapshotStore(final JWKSetSnapshotStore snapshotStore) {
+
+			this.snapshotStore = snapshotStore;
+			return this;
+		}
+
+
+		/**
+		 * Sets the maximum number of remote JWK sets. The least
+		 * recently used remote JWK set is evicted when the maximum is
+		 * exceeded.
+		 *
+		 * @param maxJWKSets The maximum number of remote JWK sets.
+		 *                   Must be positive.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> maxJWKSets(final int maxJWKSets) {
+
+			if (maxJWKSets < 1) {
+				throw new IllegalArgumentException("The maximum number of JWK sets must be positive");
+			}
+
+			this.maxJWKSets = maxJWKSets;
+			return this;
+		}
+
+
+		/**
+		 * Sets the idle time-to-live of remote JWK sets. A remote JWK
+		 * set which hasn't been used for that long is evicted and
+		 * created anew on the next request. Each use restarts the
+		 * time-to-live.
+		 *
+		 * @param ttl      The idle time-to-live, -1 if none.
+		 * @param timeUnit The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> jwkSetTTL(final long ttl, final TimeUnit timeUnit) {
+
+			if (timeUnit == null) {
+				throw new IllegalArgumentException("The time unit must not be null");
+			}
+
+			this.jwkSetTTL = ttl > -1L ? timeUnit.toMillis(ttl) : -1L;
+			return this;
+		}
+
+
+		/**
+		 * Builds a new multi-issuer JWK source.
+		 *
+		 * @return The multi-issuer JWK source.
+		 */
+		public MultiIssuerJWKSource<C> build() {
+
+			return new MultiIssuerJWKSource<>(this);
+		}
+	}
+
+
+	/**
+	 * The JWK set URL resolver.
+	 */
+	private final JWKSetURLResolver<C> jwkSetURLResolver;
+
+
+	/**
+	 * The shared HTTP resource retriever.
+	 */
+	private final ResourceRetriever resourceRetriever;
+
+
+	/**
+	 * The shared background refresh executor.
+	 */
+	private final Executor refreshExecutor;
+
+
+	/**
+	 * The shared JWK set snapshot store, {@code null} if none.
+	 */
+	private final JWKSetSnapshotStore snapshotStore;
+
+
+	/**
+	 * The remote JWK sets, keyed by JWK set URL string (to prevent name
+	 * resolution by {@link URL#equals}).
+	 */
+	private final ExpiringLRUCache<String,RemoteJWKSet<C>> jwkSets;
+
+
+	/**
+	 * Lock for the creation of remote JWK sets.
+	 */
+	private final Object creationLock = new Object();
+
+
+	/**
+	 * Creates a new multi-issuer JWK source.
+	 *
+	 * @param builder The builder. Must not be {@code null}.
+	 */
+	private MultiIssuerJWKSource(final Builder<C> builder) {
+
+		jwkSetURLResolver = builder.jwkSetURLResolver;
+
+		if (builder.resourceRetriever != null) {
+			resourceRetriever = builder.resourceRetriever;
+		} else {
+			resourceRetriever = new DefaultResourceRetriever(
+				RemoteJWKSet.DEFAULT_HTTP_CONNECT_TIMEOUT,
+				RemoteJWKSet.DEFAULT_HTTP_READ_TIMEOUT,
+				RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT);
+		}
+
+		if (builder.refreshExecutor != null) {
+			refreshExecutor = builder.refreshExecutor;
+		} else {
+			refreshExecutor = DEFAULT_REFRESH_EXECUTOR;
+		}
+
+		snapshotStore = builder.snapshotStore;
+
+		jwkSets = new ExpiringLRUCache<>(builder.maxJWKSets, builder.jwkSetTTL, TimeUnit.MILLISECONDS, true);
+	}
+
+
+	/**
+	 * Returns the JWK set URL resolver.
+	 *
+	 * @return The JWK set URL resolver.
+	 */
+	public JWKSetURLResolver<C> getJWKSetURLResolver() {
+
+		return jwkSetURLResolver;
+	}
+
+
+	/**
+	 * Returns the shared HTTP resource retriever.
+	 *
+	 * @return The HTTP resource retriever.
+	 */
+	public ResourceRetriever getResourceRetriever() {
+
+		return resourceRetriever;
+	}
+
+
+	/**
+	 * Returns the maximum number of remote JWK sets.
+	 *
+	 * @return The maximum number of remote JWK sets.
+	 */
+	public int getMaxJWKSets() {
+
+		return jwkSets.getMaxEntries();
+	}
+
+
+	/**
+	 * Returns the current number of remote JWK sets, including any
+	 * expired which are yet to be evicted.
+	 *
+	 * @return The number of remote JWK sets.
+	 */
+	public int getJWKSetCount() {
+
+		return jwkSets.size();
+	}
+
+
+	/**
+	 * Returns the remote JWK set for the specified URL, creating it if
+	 * it doesn't exist.
+	 *
+	 * @param jwkSetURL The JWK set URL. Must not be {@code null}.
+	 *
+	 * @return The remote JWK set.
+	 */
+	public RemoteJWKSet<C> getRemoteJWKSet(final URL jwkSetURL) {
+
+		final String key = jwkSetURL.toString();
+
+		RemoteJWKSet<C> jwkSet = jwkSets.get(key);
+
+		if (jwkSet != null) {
+			return jwkSet;
+		}
+
+		synchronized (creationLock) {
+
+			jwkSet = jwkSets.get(key);
+
+			if (jwkSet == null) {
+				jwkSet = new RemoteJWKSet.Builder<C>(jwkSetURL)
+					.resourceRetriever(resourceRetriever)
+					.refreshExecutor(refreshExecutor)
+					.snapshotStore(snapshotStore)
+					.build();
+				jwkSets.put(key, jwkSet);
+			}
+
+			return jwkSet;
+		}
+	}
+
+
+	@Override
+	public List<JWK> get(final JWKSelector jwkSelector, final C context)
+		throws KeySourceException {
+
+		URL jwkSetURL = jwkSetURLResolver.resolveJWKSetURL(context);
+
+		return getRemoteJWKSet(jwkSetURL).get(jwkSelector, context);
+	}
+}
@@ -4,8 +4,20 @@ package com.nimbusds.jose.jwk.source;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.nimbusds.jose.RemoteKeySourceException;
@@ -14,7 +26,9 @@ import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ConditionalResourceRetriever;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ExpiringLRUCache;
 import com.nimbusds.jose.util.Resource;
 import com.nimbusds.jose.util.ResourceRetriever;
 import net.jcip.annotations.ThreadSafe;
@@ -23,10 +37,58 @@ import net.jcip.annotations.ThreadSafe;
 /**
  * Remote JSON Web Key (JWK) source specified by a JWK set URL. The retrieved
  * JWK set is cached to minimise network calls. The cache is updated whenever
- * the key selector tries to get a key with an unknown ID.
+ * the key selector tries to get a key with an unknown ID, or when the cached
+ * JWK set expires.
+ *
+ * <p>The cached JWK set is refreshed ahead of its expiration in a background
+ * task, so that in steady state key selection doesn't block on network I/O.
+ * Concurrent retrievals of the JWK set are coalesced, callers which need the
+ * JWK set while a retrieval is in progress wait for its outcome instead of
+ * making their own HTTP request. The cache lifespan and refresh-ahead time
+ * are set by the {@link JWKSetCache}, see {@link DefaultJWKSetCache} for the
+ * defaults.
+ *
+ * <p>Refreshes forced by key IDs not found in the cached JWK set are limited
+ * to one per {@link #DEFAULT_MIN_FORCED_REFRESH_INTERVAL_SECONDS configured
+ * interval}. Key IDs which remain unknown are kept in a bounded, expiring
+ * cache, so that repeated lookups of them are answered without network I/O
+ * until the next JWK set update. This prevents tokens with random key IDs
+ * from triggering a flood of requests to the JWK set URL.
+ *
+ * <p>If the resource retriever is a {@link ConditionalResourceRetriever},
+ * such as the default one, the JWK set is revalidated with a conditional
+ * HTTP GET (If-None-Match, If-Modified-Since) and isn't parsed again when it
+ * isn't modified. The lifespan of the cached JWK set follows the HTTP caching
+ * headers (Cache-Control max-age, Expires) of the JWK set URL when present,
+ * within {@link #DEFAULT_MIN_CACHE_HEADER_LIFESPAN_SECONDS configured
+ * bounds}.
+ *
+ * <p>Optional outage tolerance: with a {@link Builder#maxStaleness maximum
+ * staleness} set, an expired JWK set keeps being served while it's
+ * revalidated in the background, for as long as the JWK set URL can't be
+ * reached. With a {@link Builder#retryBackoff retry backoff} set, failed
+ * retrievals are retried after exponentially growing intervals, in between
+ * retrievals fail immediately with the last exception, without network I/O.
+ * The state of the retrievals can be queried with {@link #getCircuitState}.
+ *
+ * <p>Optional warm startup: with a {@link JWKSetSnapshotStore} set, every
+ * retrieved JWK set which changed is saved together with its HTTP
+ * validators, in the background on the refresh executor. On creation
+ * the remote JWK set loads the saved snapshot into its cache and revalidates
+ * it in the background, so that key selection after a restart doesn't have
+ * to wait for the JWK set URL. The snapshot is only trusted for the
+ * remainder of its cache lifespan, or up to the maximum staleness if set.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * RemoteJWKSet&lt;SecurityContext&gt; jwkSource = new RemoteJWKSet.Builder&lt;&gt;(jwkSetURL)
+ *     .cache(new DefaultJWKSetCache(15, 1, TimeUnit.MINUTES))
+ *     .build();
+ * </pre>
  *
  * @author Vladimir Dzhuvinov
- * @version 2016-05-28
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
@@ -53,6 +115,456 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	public static final int DEFAULT_HTTP_SIZE_LIMIT = 50 * 1024;
 
 
+	/**
+	 * The default minimum interval between refreshes of the JWK set
+	 * forced by unknown key IDs, in seconds. Set to 30 seconds.
+	 */
+	public static final long DEFAULT_MIN_FORCED_REFRESH_INTERVAL_SECONDS = 30;
+
+
+	/**
+	 * The default maximum number of cached unknown key IDs. Set to 1000.
+	 */
+	public static final int DEFAULT_UNKNOWN_KEY_ID_CACHE_SIZE = 1000;
+
+
+	/**
+	 * The default time-to-live of cached unknown key IDs, in seconds. Set
+	 * to 60 seconds.
+	 */
+	public static final long DEFAULT_UNKNOWN_KEY_ID_CACHE_TTL_SECONDS = 60;
+
+
+	/**
+	 * The default minimum lifespan of the cached JWK set when set by the
+	 * HTTP caching headers, in seconds. Set to 30 seconds.
+	 */
+	public static final long DEFAULT_MIN_CACHE_HEADER_LIFESPAN_SECONDS = 30;
+
+
+	/**
+	 * The default maximum lifespan of the cached JWK set when set by the
+	 * HTTP caching headers, in seconds. Set to 24 hours.
+	 */
+	public static final long DEFAULT_MAX_CACHE_HEADER_LIFESPAN_SECONDS = 24 * 60 * 60;
+
+
+	/**
+	 * The state of the JWK set retrievals, modelled after a circuit
+	 * breaker.
+	 */
+	public enum CircuitState {
+
+
+		/**
+		 * The last JWK set retrieval succeeded, or none was made yet.
+		 */
+		CLOSED,
+
+
+		/**
+		 * The last JWK set retrieval failed, further retrievals are
+		 * suppressed until the retry backoff interval elapses.
+		 */
+		OPEN,
+
+
+		/**
+		 * The last JWK set retrieval failed, the retry backoff
+		 * interval has elapsed and the next retrieval is a trial.
+		 */
+		HALF_OPEN
+	}
+
+
+	/**
+	 * Retrieved JWK set with its originating resource.
+	 */
+	private static final class RetrievedJWKSet {
+
+
+		/**
+		 * The resource, holds the content and the HTTP validators.
+		 */
+		private final Resource resource;
+
+
+		/**
+		 * The parsed JWK set.
+		 */
+		private final JWKSet jwkSet;
+
+
+		/**
+		 * The time of the retrieval, or the last successful
+		 * revalidation, in milliseconds since the epoch.
+		 */
+		private final long retrievalTime;
+
+
+		/**
+		 * Creates a new retrieved JWK set.
+		 *
+		 * @param resource      The resource. Must not be
+		 *                      {@code null}.
+		 * @param jwkSet        The parsed JWK set. Must not be
+		 *                      {@code null}.
+		 * @param retrievalTime The retrieval time, in milliseconds
+		 *                      since the epoch.
+		 */
+		private RetrievedJWKSet(final Resource resource, final JWKSet jwkSet, final long retrievalTime) {
+			this.resource = resource;
+			this.jwkSet = jwkSet;
+			this.retrievalTime = retrievalTime;
+		}
+	}
+
+
+	/**
+	 * The default executor for background JWK set refreshes, shared
+	 * between all remote JWK sets. Uses daemon threads.
+	 */
+	private static final ExecutorService DEFAULT_REFRESH_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable r) {
+			Thread thread = new Thread(r, "RemoteJWKSet-refresh");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+
+	/**
+	 * Builder for constructing remote JWK sets.
+	 */
+	public static class Builder<C extends SecurityContext> {
+
+
+		/**
+		 * The JWK set URL.
+		 */
+		private final URL jwkSetURL;
+
+
+		/**
+		 * The JWK set retriever, {@code null} for the default.
+		 */
+		private ResourceRetriever resourceRetriever;
+
+
+		/**
+		 * The JWK set cache, {@code null} for the default.
+		 */
+		private JWKSetCache jwkSetCache;
+
+
+		/**
+		 * The background refresh executor, {@code null} for the
+		 * default.
+		 */
+		private Executor refreshExecutor;
+
+
+		/**
+		 * The minimum interval between forced refreshes, in
+		 * milliseconds.
+		 */
+		private long minForcedRefreshInterval = DEFAULT_MIN_FORCED_REFRESH_INTERVAL_SECONDS * 1000L;
+
+
+		/**
+		 * The maximum number of cached unknown key IDs.
+		 */
+		private int unknownKeyIDCacheSize = DEFAULT_UNKNOWN_KEY_ID_CACHE_SIZE;
+
+
+		/**
+		 * The time-to-live of cached unknown key IDs, in milliseconds.
+		 */
+		private long unknownKeyIDCacheTTL = DEFAULT_UNKNOWN_KEY_ID_CACHE_TTL_SECONDS * 1000L;
+
+
+		/**
+		 * Controls honouring of the HTTP caching headers.
+		 */
+		private boolean honourCacheHeaders = true;
+
+
+		/**
+		 * The minimum lifespan set by the HTTP caching headers, in
+		 * milliseconds.
+		 */
+		private long minCacheHeaderLifespan = DEFAULT_MIN_CACHE_HEADER_LIFESPAN_SECONDS * 1000L;
+
+
+		/**
+		 * The maximum lifespan set by the HTTP caching headers, in
+		 * milliseconds.
+		 */
+		private long maxCacheHeaderLifespan = DEFAULT_MAX_CACHE_HEADER_LIFESPAN_SECONDS * 1000L;
+
+
+		/**
+		 * The maximum staleness, in milliseconds, -1 if stale JWK sets
+		 * are not served.
+		 */
+		private long maxStaleness = -1L;
+
+
+		/**
+		 * The initial retry backoff, in milliseconds, zero if none.
+		 */
+		private long initialRetryBackoff = 0L;
+
+
+		/**
+		 * The maximum retry backoff, in milliseconds.
+		 */
+		private long maxRetryBackoff = 0L;
+
+
+		/**
+		 * The JWK set snapshot store, {@code null} if none.
+		 */
+		private JWKSetSnapshotStore snapshotStore;
+
+
+		/**
+		 * Creates a new remote JWK set builder.
+		 *
+		 * @param jwkSetURL The JWK set URL. Must not be {@code null}.
+		 */
+		public Builder(final URL jwkSetURL) {
+
+			if (jwkSetURL == null) {
+				throw new IllegalArgumentException("The JWK set URL must not be null");
+			}
+
+			this.jwkSetURL = jwkSetURL;
+		}
+
+
+		/**
+		 * Sets the HTTP resource retriever.
+		 *
+		 * @param resourceRetriever The HTTP resource retriever,
+		 *                          {@code null} to use the
+		 *                          {@link DefaultResourceRetriever
+		 *                          default one}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> resourceRetriever(final ResourceRetriever resourceRetriever) {
+
+			this.resourceRetriever = resourceRetriever;
+			return this;
+		}
+
+
+		/**
+		 * Sets the JWK set cache, which determines the lifespan and
+		 * the refresh-ahead time of the retrieved JWK set.
+		 *
+		 * @param jwkSetCache The JWK set cache, {@code null} to use a
+		 *                    {@link DefaultJWKSetCache} with the
+		 *                    default settings.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> cache(final JWKSetCache jwkSetCache) {
+
+			this.jwkSetCache = jwkSetCache;
+			return this;
+		}
+
+
+		/**
+		 * Sets the executor for refreshing the cached JWK set in the
+		 * background.
+		 *
+		 * @param refreshExecutor The executor, {@code null} to use a
+		 *                        default executor with daemon threads,
+		 *                        shared between all remote JWK sets.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> refreshExecutor(final Executor refreshExecutor) {
+
+			this.refreshExecutor = refreshExecutor;
+			return this;
+		}
+
+
+		/**
+		 * Sets the minimum interval between refreshes of the JWK set
+		 * forced by unknown key IDs. Within the interval lookups of
+		 * unknown key IDs return no matches.
+		 *
+		 * @param interval The minimum interval, zero to refresh on
+		 *                 every unknown key ID. Must not be negative.
+		 * @param timeUnit The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> minForcedRefreshInterval(final long interval, final TimeUnit timeUnit) {
+
+			if (interval < 0) {
+				throw new IllegalArgumentException("The minimum forced refresh interval must not be negative");
+			}
+
+			this.minForcedRefreshInterval = timeUnit.toMillis(interval);
+			return this;
+		}
+
+
+		/**
+		 * Sets the size and time-to-live of the cache of unknown key
+		 * IDs. The cache is cleared on every JWK set update.
+		 *
+		 * @param maxEntries The maximum number of cached key IDs. Must
+		 *                   be positive.
+		 * @param timeToLive The time-to-live of the cached key IDs.
+		 *                   Must not be negative.
+		 * @param timeUnit   The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> unknownKeyIDCache(final int maxEntries, final long timeToLive, final TimeUnit timeUnit) {
+
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("The maximum number of cached unknown key IDs must be positive");
+			}
+
+			if (timeToLive < 0) {
+				throw new IllegalArgumentException("The unknown key ID time-to-live must not be negative");
+			}
+
+			this.unknownKeyIDCacheSize = maxEntries;
+			this.unknownKeyIDCacheTTL = timeUnit.toMillis(timeToLive);
+			return this;
+		}
+
+
+		/**
+		 * Controls honouring of the HTTP caching headers (Cache-Control
+		 * max-age, Expires) of the JWK set URL. If enabled (the
+		 * default) they override the lifespan of the JWK set cache.
+		 *
+		 * @param honourCacheHeaders {@code true} to honour the HTTP
+		 *                           caching headers, {@code false} to
+		 *                           ignore them.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> honourCacheHeaders(final boolean honourCacheHeaders) {
+
+			this.honourCacheHeaders = honourCacheHeaders;
+			return this;
+		}
+
+
+		/**
+		 * Sets the bounds for the lifespan of the cached JWK set when
+		 * set by the HTTP caching headers.
+		 *
+		 * @param min      The minimum lifespan. Must not be negative.
+		 * @param max      The maximum lifespan. Must not be less than
+		 *                 the minimum.
+		 * @param timeUnit The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> cacheHeaderLifespanBounds(final long min, final long max, final TimeUnit timeUnit) {
+
+			if (min < 0 || max < min) {
+				throw new IllegalArgumentException("Invalid cache header lifespan bounds");
+			}
+
+			this.minCacheHeaderLifespan = timeUnit.toMillis(min);
+			this.maxCacheHeaderLifespan = timeUnit.toMillis(max);
+			return this;
+		}
+
+
+		/**
+		 * Enables serving of the last retrieved JWK set after its
+		 * expiration, while it's revalidated in the background. This
+		 * keeps key selection working during outages of the JWK set
+		 * URL.
+		 *
+		 * @param maxStaleness The maximum time since the last
+		 *                     successful retrieval or revalidation of
+		 *                     the JWK set until which it can be served,
+		 *                     -1 to disable (the default).
+		 * @param timeUnit     The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> maxStaleness(final long maxStaleness, final TimeUnit timeUnit) {
+
+			this.maxStaleness = maxStaleness > -1L ? timeUnit.toMillis(maxStaleness) : -1L;
+			return this;
+		}
+
+
+		/**
+		 * Enables exponential backoff of JWK set retrievals after a
+		 * failure. Each consecutive failure doubles the backoff
+		 * interval, up to the specified maximum. Within the interval
+		 * retrievals fail immediately with the last exception.
+		 *
+		 * @param initial  The initial backoff interval, zero to disable
+		 *                 (the default). Must not be negative.
+		 * @param max      The maximum backoff interval. Must not be
+		 *                 less than the initial.
+		 * @param timeUnit The time unit. Must not be {@code null}.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> retryBackoff(final long initial, final long max, final TimeUnit timeUnit) {
+
+			if (initial < 0 || max < initial) {
+				throw new IllegalArgumentException("Invalid retry backoff");
+			}
+
+			this.initialRetryBackoff = timeUnit.toMillis(initial);
+			this.maxRetryBackoff = timeUnit.toMillis(max);
+			return this;
+		}
+
+
+		/**
+		 * Sets a store for saving snapshots of the retrieved JWK set,
+		 * to be loaded on creation of the remote JWK set. A snapshot
+		 * is saved on the refresh executor when the retrieved JWK set
+		 * changes. Snapshots older than the maximum staleness if set,
+		 * else older than the lifespan of the JWK set cache, are
+		 * ignored.
+		 *
+		 * @param snapshotStore The JWK set snapshot store, {@code null}
+		 *                      if none (the default).
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> snapshotStore(final JWKSetSnapshotStore snapshotStore) {
+
+			this.snapshotStore = snapshotStore;
+			return this;
+		}
+
+
+		/**
+		 * Builds a new remote JWK set.
+		 *
+		 * @return The remote JWK set.
+		 */
+		public RemoteJWKSet<C> build() {
+
+			return new RemoteJWKSet<>(this);
+		}
+	}
+
+
 	/**
 	 * The JWK set URL.
 	 */
@@ -60,9 +572,9 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	
 
 	/**
-	 * The cached JWK set.
+	 * The JWK set cache.
 	 */
-	private final AtomicReference<JWKSet> cachedJWKSet = new AtomicReference<>();
+	private final JWKSetCache jwkSetCache;
 
 
 	/**
@@ -71,6 +583,120 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	private final ResourceRetriever jwkSetRetriever;
 
 
+	/**
+	 * The background refresh executor.
+	 */
+	private final Executor refreshExecutor;
+
+
+	/**
+	 * Indicates a background JWK set refresh in progress.
+	 */
+	private final AtomicBoolean backgroundRefreshInProgress = new AtomicBoolean(false);
+
+
+	/**
+	 * The JWK set retrieval in progress, {@code null} if none. Shared by
+	 * all concurrent callers.
+	 */
+	private final AtomicReference<FutureTask<JWKSet>> retrievalInProgress = new AtomicReference<>();
+
+
+	/**
+	 * The minimum interval between forced refreshes, in milliseconds.
+	 */
+	private final long minForcedRefreshInterval;
+
+
+	/**
+	 * The time of the last forced refresh, in milliseconds since the
+	 * epoch, zero if none.
+	 */
+	private final AtomicLong lastForcedRefreshTime = new AtomicLong(0L);
+
+
+	/**
+	 * The key IDs not found in the current JWK set.
+	 */
+	private final ExpiringLRUCache<String,Boolean> unknownKeyIDs;
+
+
+	/**
+	 * The last retrieved JWK set, {@code null} if none.
+	 */
+	private final AtomicReference<RetrievedJWKSet> lastRetrieved = new AtomicReference<>();
+
+
+	/**
+	 * Controls honouring of the HTTP caching headers.
+	 */
+	private final boolean honourCacheHeaders;
+
+
+	/**
+	 * The minimum lifespan set by the HTTP caching headers, in
+	 * milliseconds.
+	 */
+	private final long minCacheHeaderLifespan;
+
+
+	/**
+	 * The maximum lifespan set by the HTTP caching headers, in
+	 * milliseconds.
+	 */
+	private final long maxCacheHeaderLifespan;
+
+
+	/**
+	 * The maximum staleness, in milliseconds, -1 if stale JWK sets are not
+	 * served.
+	 */
+	private final long maxStaleness;
+
+
+	/**
+	 * The initial retry backoff, in milliseconds, zero if none.
+	 */
+	private final long initialRetryBackoff;
+
+
+	/**
+	 * The maximum retry backoff, in milliseconds.
+	 */
+	private final long maxRetryBackoff;
+
+
+	/**
+	 * The JWK set snapshot store, {@code null} if none.
+	 */
+	private final JWKSetSnapshotStore snapshotStore;
+
+
+	/**
+	 * Lock for the retrieval failure state.
+	 */
+	private final Object failureLock = new Object();
+
+
+	/**
+	 * The number of consecutive failed retrievals.
+	 */
+	private volatile int consecutiveFailures = 0;
+
+
+	/**
+	 * The earliest time of the next retrieval after a failure, in
+	 * milliseconds since the epoch.
+	 */
+	private volatile long nextRetrievalTime = 0L;
+
+
+	/**
+	 * The exception of the last failed retrieval, {@code null} if none.
+	 */
+	private volatile RemoteKeySourceException lastRetrievalException;
+
+
 	/**
 	 * Creates a new remote JWK set using the
 	 * {@link DefaultResourceRetriever default HTTP resource retriever},
@@ -95,21 +721,223 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	 */
 	public RemoteJWKSet(final URL jwkSetURL,
 			    final ResourceRetriever resourceRetriever) {
-		if (jwkSetURL == null) {
-			throw new IllegalArgumentException("The JWK set URL must not be null");
-		}
-		this.jwkSetURL = jwkSetURL;
 
-		if (resourceRetriever != null) {
-			jwkSetRetriever = resourceRetriever;
+		this(new Builder<C>(jwkSetURL).resourceRetriever(resourceRetriever));
+	}
+
+
+	/**
+	 * Creates a new remote JWK set from the specified builder.
+	 *
+	 * @param builder The builder. Must not be {@code null}.
+	 */
+	RemoteJWKSet(final Builder<C> builder) {
+
+		jwkSetURL = builder.jwkSetURL;
+
+		if (builder.resourceRetriever != null) {
+			jwkSetRetriever = builder.resourceRetriever;
 		} else {
 			jwkSetRetriever = new DefaultResourceRetriever(DEFAULT_HTTP_CONNECT_TIMEOUT, DEFAULT_HTTP_READ_TIMEOUT, DEFAULT_HTTP_SIZE_LIMIT);
 		}
+
+		if (builder.jwkSetCache != null) {
+			jwkSetCache = builder.jwkSetCache;
+		} else {
+			jwkSetCache = new DefaultJWKSetCache() {
+				@Override
+				long currentTimeMillis() {
+					return RemoteJWKSet.this.currentTimeMillis();
+				}
+			};
+		}
+
+		if (builder.refreshExecutor != null) {
+			refreshExecutor = builder.refreshExecutor;
+		} else {
+			refreshExecutor = DEFAULT_REFRESH_EXECUTOR;
+		}
+
+		minForcedRefreshInterval = builder.minForcedRefreshInterval;
+
+		unknownKeyIDs = new ExpiringLRUCache<String,Boolean>(
+			builder.unknownKeyIDCacheSize,
+			builder.unknownKeyIDCacheTTL,
+			TimeUnit.MILLISECONDS) {
+			@Override
+			protected long currentTimeMillis() {
+				return RemoteJWKSet.this.currentTimeMillis();
+			}
+		};
+
+		honourCacheHeaders = builder.honourCacheHeaders;
+		minCacheHeaderLifespan = builder.minCacheHeaderLifespan;
+		maxCacheHeaderLifespan = builder.maxCacheHeaderLifespan;
+
+		maxStaleness = builder.maxStaleness;
+		initialRetryBackoff = builder.initialRetryBackoff;
+		maxRetryBackoff = builder.maxRetryBackoff;
+
+		snapshotStore = builder.snapshotStore;
+
+		if (snapshotStore != null && loadSnapshot()) {
+			// Revalidate snapshot
+			refreshInBackground();
+		}
+	}
+
+
+	/**
+	 * Returns the current time, used for the retrieval times, the
+	 * staleness, the rate limit and the retry backoff, and by the default
+	 * JWK set cache and the unknown key ID cache. Overridden in tests to
+	 * advance the time without sleeping.
+	 *
+	 * @return The current time, in milliseconds since the epoch.
+	 */
+	long currentTimeMillis() {
+
+		return System.currentTimeMillis();
+	}
+
+
+	/**
+	 * Returns the lifespan of the JWK set cache, or the
+	 * {@link DefaultJWKSetCache#DEFAULT_LIFESPAN_MINUTES default lifespan}
+	 * if the cache doesn't expire or its lifespan isn't known.
+	 *
+	 * @return The lifespan, in milliseconds.
+	 */
+	private long getSnapshotLifespan() {
+
+		if (jwkSetCache instanceof DefaultJWKSetCache) {
+
+			long lifespan = ((DefaultJWKSetCache) jwkSetCache).getLifespan(TimeUnit.MILLISECONDS);
+
+			if (lifespan > -1L) {
+				return lifespan;
+			}
+		}
+
+		return TimeUnit.MINUTES.toMillis(DefaultJWKSetCache.DEFAULT_LIFESPAN_MINUTES);
+	}
+
+
+	/**
+	 * Loads the JWK set snapshot, if any. Snapshots which can't be loaded
+	 * or parsed are ignored, as are snapshots older than the maximum
+	 * staleness if set, else older than the cache lifespan. A snapshot
+	 * is cached for the remainder of its lifespan only, beyond that it
+	 * can only be served as a stale JWK set.
+	 *
+	 * @return {@code true} if a snapshot was loaded, else {@code false}.
+	 */
+	private boolean loadSnapshot() {
+
+		JWKSetSnapshot snapshot;
+		try {
+			snapshot = snapshotStore.load(jwkSetURL);
+		} catch (IOException e) {
+			return false;
+		}
+
+		if (snapshot == null) {
+			return false;
+		}
+
+		final long retrievalTime = snapshot.getRetrievalTime().getTime();
+		final long age = currentTimeMillis() - retrievalTime;
+		final long lifespan = getSnapshotLifespan();
+
+		if (age > (maxStaleness > -1L ? maxStaleness : lifespan)) {
+			return false;
+		}
+
+		JWKSet jwkSet;
+		try {
+			jwkSet = JWKSet.parse(snapshot.getContent());
+		} catch (java.text.ParseException e) {
+			return false;
+		}
+
+		Resource res = new Resource(
+			snapshot.getContent(),
+			null,
+			snapshot.getETag(),
+			snapshot.getLastModified(),
+			-1L,
+			null,
+			false);
+
+		lastRetrieved.set(new RetrievedJWKSet(res, jwkSet, retrievalTime));
+
+		if (age < lifespan) {
+			jwkSetCache.put(jwkSet, lifespan - Math.max(age, 0L), TimeUnit.MILLISECONDS);
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * Schedules saving a snapshot of the last retrieved JWK set on the
+	 * refresh executor, if a snapshot store is configured. The task saves
+	 * the JWK set retrieved last at the time it runs, so that a delayed
+	 * task can't overwrite a newer snapshot. Rejected tasks and errors are
+	 * ignored.
+	 */
+	private void saveSnapshotInBackground() {
+
+		if (snapshotStore == null) {
+			return;
+		}
+
+		try {
+			refreshExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					synchronized (snapshotStore) {
+						saveSnapshot(lastRetrieved.get());
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Ignore, the snapshot is an optimisation only
+		}
 	}
 
 
 	/**
-	 * Updates the cached JWK set from the configured URL.
+	 * Saves a snapshot of the specified retrieved JWK set. Errors are
+	 * ignored.
+	 *
+	 * @param retrieved The retrieved JWK set, {@code null} if none.
+	 */
+	private void saveSnapshot(final RetrievedJWKSet retrieved) {
+
+		if (retrieved == null) {
+			return;
+		}
+
+		JWKSetSnapshot snapshot = new JWKSetSnapshot(
+			retrieved.resource.getContent(),
+			retrieved.resource.getETag(),
+			retrieved.resource.getLastModified(),
+			new Date(retrieved.retrievalTime));
+
+		try {
+			snapshotStore.save(jwkSetURL, snapshot);
+		} catch (IOException e) {
+			// Ignore, the snapshot is an optimisation only
+		}
+	}
+
+
+	/**
+	 * Updates the cached JWK set from the configured URL. If a retrieval
+	 * is already in progress the method waits for its outcome instead of
+	 * making a new HTTP request. Within the retry backoff interval after
+	 * a failure the method throws the last exception.
 	 *
 	 * @return The updated JWK set.
 	 *
@@ -117,23 +945,291 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	 */
 	private JWKSet updateJWKSetFromURL()
 		throws RemoteKeySourceException {
+
+		FutureTask<JWKSet> retrieval = retrievalInProgress.get();
+
+		while (retrieval == null) {
+
+			final RemoteKeySourceException lastException = lastRetrievalException;
+
+			if (lastException != null && currentTimeMillis() < nextRetrievalTime) {
+				// Backing off
+				throw lastException;
+			}
+
+			FutureTask<JWKSet> newRetrieval = new FutureTask<>(new Callable<JWKSet>() {
+				@Override
+				public JWKSet call()
+					throws RemoteKeySourceException {
+					try {
+						JWKSet jwkSet = retrieveJWKSet();
+						recordRetrievalSuccess();
+						return jwkSet;
+					} catch (RemoteKeySourceException e) {
+						recordRetrievalFailure(e);
+						throw e;
+					} catch (RuntimeException e) {
+						RemoteKeySourceException rkse = new RemoteKeySourceException("Couldn't retrieve remote JWK set: " + e.getMessage(), e);
+						recordRetrievalFailure(rkse);
+						throw rkse;
+					}
+				}
+			});
+
+			if (retrievalInProgress.compareAndSet(null, newRetrieval)) {
+				// Run in this thread, other callers wait on it
+				try {
+					newRetrieval.run();
+				} finally {
+					retrievalInProgress.compareAndSet(newRetrieval, null);
+				}
+				retrieval = newRetrieval;
+			} else {
+				retrieval = retrievalInProgress.get();
+			}
+		}
+
+		try {
+			return retrieval.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RemoteKeySourceException("Interrupted while waiting for remote JWK set", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RemoteKeySourceException) {
+				throw (RemoteKeySourceException)e.getCause();
+			}
+			throw new RemoteKeySourceException("Couldn't retrieve remote JWK set: " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+
+	/**
+	 * Retrieves the JWK set from the configured URL and puts it into the
+	 * cache. If a JWK set was previously retrieved and the resource
+	 * retriever supports conditional requests, the JWK set is
+	 * revalidated. An unchanged JWK set isn't parsed again.
+	 *
+	 * @return The retrieved JWK set.
+	 *
+	 * @throws RemoteKeySourceException If JWK retrieval failed.
+	 */
+	private JWKSet retrieveJWKSet()
+		throws RemoteKeySourceException {
+
+		final RetrievedJWKSet last = lastRetrieved.get();
+
 		Resource res;
 		try {
-			res = jwkSetRetriever.retrieveResource(jwkSetURL);
+			if (last != null && jwkSetRetriever instanceof ConditionalResourceRetriever) {
+				res = ((ConditionalResourceRetriever)jwkSetRetriever).retrieveResource(
+					jwkSetURL,
+					last.resource.getETag(),
+					last.resource.getLastModified());
+			} else {
+				res = jwkSetRetriever.retrieveResource(jwkSetURL);
+			}
 		} catch (IOException e) {
 			throw new RemoteKeySourceException("Couldn't retrieve remote JWK set: " + e.getMessage(), e);
 		}
+
 		JWKSet jwkSet;
-		try {
-			jwkSet = JWKSet.parse(res.getContent());
-		} catch (java.text.ParseException e) {
-			throw new RemoteKeySourceException("Couldn't parse remote JWK set: " + e.getMessage(), e);
+
+		if (res.isNotModified()) {
+
+			if (last == null) {
+				throw new RemoteKeySourceException("Couldn't retrieve remote JWK set: Unexpected not modified response", null);
+			}
+
+			// Keep the content, update the validators and the caching
+			// directives
+			res = new Resource(
+				last.resource.getContent(),
+				last.resource.getContentType(),
+				res.getETag() != null ? res.getETag() : last.resource.getETag(),
+				res.getLastModified() != null ? res.getLastModified() : last.resource.getLastModified(),
+				res.getMaxAge(),
+				res.getExpires(),
+				false);
+			jwkSet = last.jwkSet;
+
+		} else if (last != null && res.getContent().equals(last.resource.getContent())) {
+			// Unchanged
+			jwkSet = last.jwkSet;
+
+		} else {
+			try {
+				jwkSet = JWKSet.parse(res.getContent());
+			} catch (java.text.ParseException e) {
+				throw new RemoteKeySourceException("Couldn't parse remote JWK set: " + e.getMessage(), e);
+			}
 		}
-		cachedJWKSet.set(jwkSet);
+
+		lastRetrieved.set(new RetrievedJWKSet(res, jwkSet, currentTimeMillis()));
+
+		final long lifespan = getCacheHeaderLifespan(res);
+
+		if (lifespan > -1L) {
+			jwkSetCache.put(jwkSet, lifespan, TimeUnit.MILLISECONDS);
+		} else {
+			jwkSetCache.put(jwkSet);
+		}
+
+		if (last == null || jwkSet != last.jwkSet) {
+			// Unknown key IDs may appear in the new JWK set
+			unknownKeyIDs.clear();
+			saveSnapshotInBackground();
+		}
+
 		return jwkSet;
 	}
 
 
+	/**
+	 * Records a successful JWK set retrieval.
+	 */
+	private void recordRetrievalSuccess() {
+
+		synchronized (failureLock) {
+			consecutiveFailures = 0;
+			nextRetrievalTime = 0L;
+			lastRetrievalException = null;
+		}
+	}
+
+
+	/**
+	 * Records a failed JWK set retrieval and sets the next retrieval time
+	 * according to the retry backoff.
+	 *
+	 * @param e The retrieval exception. Must not be {@code null}.
+	 */
+	private void recordRetrievalFailure(final RemoteKeySourceException e) {
+
+		synchronized (failureLock) {
+
+			final int failures = consecutiveFailures + 1;
+
+			long backoff = 0L;
+
+			if (initialRetryBackoff > 0L) {
+				// Double on each consecutive failure, guard against
+				// overflow
+				backoff = maxRetryBackoff;
+				if (failures < 63 && initialRetryBackoff <= (maxRetryBackoff >> (failures - 1))) {
+					backoff = initialRetryBackoff << (failures - 1);
+				}
+			}
+
+			consecutiveFailures = failures;
+			nextRetrievalTime = currentTimeMillis() + backoff;
+			lastRetrievalException = e;
+		}
+	}
+
+
+	/**
+	 * Returns the last retrieved JWK set if it may be served after its
+	 * expiration.
+	 *
+	 * @return The stale JWK set, {@code null} if none, serving of stale
+	 *         JWK sets isn't enabled, or the maximum staleness is
+	 *         exceeded.
+	 */
+	private JWKSet getStaleJWKSet() {
+
+		if (maxStaleness < 0L) {
+			return null;
+		}
+
+		final RetrievedJWKSet last = lastRetrieved.get();
+
+		if (last == null || currentTimeMillis() - last.retrievalTime > maxStaleness) {
+			return null;
+		}
+
+		return last.jwkSet;
+	}
+
+
+	/**
+	 * Returns the lifespan of the specified JWK set resource as set by its
+	 * HTTP caching headers.
+	 *
+	 * @param res The JWK set resource. Must not be {@code null}.
+	 *
+	 * @return The lifespan, in milliseconds, -1 if not set or the HTTP
+	 *         caching headers are not honoured.
+	 */
+	private long getCacheHeaderLifespan(final Resource res) {
+
+		if (! honourCacheHeaders) {
+			return -1L;
+		}
+
+		long lifespan;
+
+		if (res.getMaxAge() > -1L) {
+			lifespan = TimeUnit.SECONDS.toMillis(res.getMaxAge());
+		} else if (res.getExpires() != null) {
+			lifespan = res.getExpires().getTime() - currentTimeMillis();
+		} else {
+			return -1L;
+		}
+
+		return Math.min(Math.max(lifespan, minCacheHeaderLifespan), maxCacheHeaderLifespan);
+	}
+
+
+	/**
+	 * Claims a forced JWK set refresh, unless the minimum interval since
+	 * the last forced refresh hasn't elapsed yet.
+	 *
+	 * @return {@code true} if the refresh may proceed, {@code false} if
+	 *         it's rate limited.
+	 */
+	private boolean claimForcedRefresh() {
+
+		final long now = currentTimeMillis();
+		final long last = lastForcedRefreshTime.get();
+
+		if (last > 0L && now - last < minForcedRefreshInterval) {
+			return false;
+		}
+
+		return lastForcedRefreshTime.compareAndSet(last, now);
+	}
+
+
+	/**
+	 * Schedules a background refresh of the cached JWK set, unless one is
+	 * already in progress. Retrieval errors are only recorded, the cached
+	 * JWK set remains in use until it expires.
+	 */
+	private void refreshInBackground() {
+
+		if (! backgroundRefreshInProgress.compareAndSet(false, true)) {
+			return; // Already scheduled
+		}
+
+		try {
+			refreshExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						updateJWKSetFromURL();
+					} catch (RemoteKeySourceException e) {
+						// Ignore, retry on next call
+					} finally {
+						backgroundRefreshInProgress.set(false);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			backgroundRefreshInProgress.set(false);
+		}
+	}
+
+
 	/**
 	 * Returns the JWK set URL.
 	 *
@@ -155,13 +1251,64 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 	}
 
 
+	/**
+	 * Returns the JWK set cache.
+	 *
+	 * @return The JWK set cache.
+	 */
+	public JWKSetCache getJWKSetCache() {
+
+		return jwkSetCache;
+	}
+
+
 	/**
 	 * Returns the cached JWK set.
 	 *
-	 * @return The cached JWK set, {@code null} if none.
+	 * @return The cached JWK set, {@code null} if none or expired.
 	 */
 	public JWKSet getCachedJWKSet() {
-		return cachedJWKSet.get();
+		return jwkSetCache.get();
+	}
+
+
+	/**
+	 * Returns the state of the JWK set retrievals.
+	 *
+	 * @return The circuit state.
+	 */
+	public CircuitState getCircuitState() {
+
+		if (lastRetrievalException == null) {
+			return CircuitState.CLOSED;
+		}
+
+		return currentTimeMillis() < nextRetrievalTime ? CircuitState.OPEN : CircuitState.HALF_OPEN;
+	}
+
+
+	/**
+	 * Returns the number of consecutive failed JWK set retrievals.
+	 *
+	 * @return The number of consecutive failures, zero if the last
+	 *         retrieval succeeded or none was made yet.
+	 */
+	public int getConsecutiveRetrievalFailures() {
+
+		return consecutiveFailures;
+	}
+
+
+	/**
+	 * Returns the exception of the last failed JWK set retrieval. Intended
+	 * for logging and debugging purposes.
+	 *
+	 * @return The exception, {@code null} if the last retrieval succeeded
+	 *         or none was made yet.
+	 */
+	public RemoteKeySourceException getLastRetrievalException() {
+
+		return lastRetrievalException;
 	}
 
 
@@ -197,9 +1344,18 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 		throws RemoteKeySourceException {
 
 		// Get the JWK set, may necessitate a cache update
-		JWKSet jwkSet = cachedJWKSet.get();
+		JWKSet jwkSet = jwkSetCache.get();
 		if (jwkSet == null) {
-			jwkSet = updateJWKSetFromURL();
+			jwkSet = getStaleJWKSet();
+			if (jwkSet != null) {
+				// Serve stale set while revalidating
+				refreshInBackground();
+			} else {
+				jwkSet = updateJWKSetFromURL();
+			}
+		} else if (jwkSetCache.requiresRefresh()) {
+			// Reload ahead of expiration, serve cached set meanwhile
+			refreshInBackground();
 		}
 
 		// Run the selector on the JWK set
@@ -225,6 +1381,18 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 			return Collections.emptyList();
 		}
 
+		if (unknownKeyIDs.get(soughtKeyID) != null) {
+			// Known to be missing since the last JWK set update
+			return Collections.emptyList();
+		}
+
+		if (! claimForcedRefresh()) {
+			// Refreshed recently, don't hit the JWK set URL again
+			// until the interval elapses
+			unknownKeyIDs.put(soughtKeyID, Boolean.TRUE, lastForcedRefreshTime.get() + minForcedRefreshInterval);
+			return Collections.emptyList();
+		}
+
 		// Make new HTTP GET to the JWK set URL
 		jwkSet = updateJWKSetFromURL();
 		if (jwkSet == null) {
@@ -232,6 +1400,10 @@ public class RemoteJWKSet<C extends SecurityContext> implements JWKSource<C> {
 			return Collections.emptyList();
 		}
 
+		if (jwkSet.getKeyByKeyId(soughtKeyID) == null) {
+			unknownKeyIDs.put(soughtKeyID, Boolean.TRUE);
+		}
+
 		// Repeat select, return final result (success or no matches)
 		return jwkSelector.select(jwkSet);
 	}
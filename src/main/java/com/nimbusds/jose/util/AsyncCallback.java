@@ -0,0 +1,31 @@
+package com.nimbusds.jose.util;
+
+
+/**
+ * Callback for the completion of an asynchronous operation.
+ *
+ * @param <T> The result type.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface AsyncCallback<T> {
+
+
+	/**
+	 * Called when the operation completed successfully.
+	 *
+	 * @param result The result, may be {@code null}.
+	 */
+	void completed(final T result);
+
+
+	/**
+	 * Called when the operation failed or was cancelled.
+	 *
+	 * @param exception The exception. A
+	 *                  {@link java.util.concurrent.CancellationException}
+	 *                  if the operation was cancelled.
+	 */
+	void failed(final Exception exception);
+}
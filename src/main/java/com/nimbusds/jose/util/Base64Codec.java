@@ -282,6 +282,60 @@ final class Base64Codec {
 	}
 
 
+	/**
+	 * Encodes a byte array range into the specified byte array as
+	 * base 64 URL-safe ASCII characters, without padding.
+	 *
+	 * @param src       The bytes to encode. Must not be {@code null}.
+	 * @param srcOffset The offset of the first byte to encode.
+	 * @param length    The number of bytes to encode.
+	 * @param dest      The destination byte array, with space for
+	 *                  {@link #computeEncodedLength} characters after
+	 *                  the destination offset. Must not be
+	 *                  {@code null}.
+	 * @param destOffset The offset of the first encoded character.
+	 *
+	 * @return The offset after the last encoded character.
+	 */
+	public static int encodeURLSafe(final byte[] src,
+					final int srcOffset,
+					final int length,
+					final byte[] dest,
+					final int destOffset) {
+
+		int s = srcOffset;
+		int d = destOffset;
+		final int eEnd = srcOffset + (length / 3) * 3; // End of even 24-bits
+
+		// Encode even 24-bits
+		while (s < eEnd) {
+
+			int i = (src[s++] & 0xff) << 16 | (src[s++] & 0xff) << 8 | (src[s++] & 0xff);
+
+			dest[d++] = (byte)CA_URL_SAFE[(i >>> 18) & 0x3f];
+			dest[d++] = (byte)CA_URL_SAFE[(i >>> 12) & 0x3f];
+			dest[d++] = (byte)CA_URL_SAFE[(i >>> 6) & 0x3f];
+			dest[d++] = (byte)CA_URL_SAFE[i & 0x3f];
+		}
+
+		// Encode last bits if source isn't even 24 bits
+		int left = length - (eEnd - srcOffset); // 0 - 2.
+		if (left > 0) {
+
+			int i = ((src[eEnd] & 0xff) << 10) | (left == 2 ? ((src[eEnd + 1] & 0xff) << 2) : 0);
+
+			dest[d++] = (byte)CA_URL_SAFE[i >> 12];
+			dest[d++] = (byte)CA_URL_SAFE[(i >>> 6) & 0x3f];
+
+			if (left == 2) {
+				dest[d++] = (byte)CA_URL_SAFE[i & 0x3f];
+			}
+		}
+
+		return d;
+	}
+
+
 	/**
 	 * Decodes a base 64 or base 64 URL-safe encoded string. May contain
 	 * line separators. Any illegal characters are ignored.
@@ -16,7 +16,7 @@ import net.jcip.annotations.Immutable;
  * </ul>
  *
  * @author Vladimir Dzhuvinov
- * @version 2013-05-16
+ * @version 2026-10-18
  */
 @Immutable
 public class Base64URL extends Base64 {
@@ -90,4 +90,48 @@ public class Base64URL extends Base64 {
 
 		return encode(text.getBytes(CHARSET));
 	}
+
+
+	/**
+	 * Returns the Base64URL-encoded length of the specified number of
+	 * bytes.
+	 *
+	 * @param length The number of bytes.
+	 *
+	 * @return The number of Base64URL characters.
+	 */
+	public static int computeEncodedLength(final int length) {
+
+		return Base64Codec.computeEncodedLength(length, true);
+	}
+
+
+	/**
+	 * Base64URL-encodes the specified byte array range into a byte array
+	 * of ASCII characters, without creating an intermediate string.
+	 *
+	 * @param src        The byte array to encode. Must not be
+	 *                   {@code null}.
+	 * @param srcOffset  The offset of the first byte to encode.
+	 * @param length     The number of bytes to encode.
+	 * @param dest       The destination byte array, with space for
+	 *                   {@link #computeEncodedLength} characters after the
+	 *                   destination offset. Must not be {@code null}.
+	 * @param destOffset The offset of the first encoded character.
+	 *
+	 * @return The offset after the last encoded character.
+	 */
+	public static int encode(final byte[] src,
+				 final int srcOffset,
+				 final int length,
+				 final byte[] dest,
+				 final int destOffset) {
+
+		if (srcOffset < 0 || length < 0 || srcOffset + length > src.length ||
+		    destOffset < 0 || destOffset + computeEncodedLength(length) > dest.length) {
+			throw new IndexOutOfBoundsException("Invalid offset or length");
+		}
+
+		return Base64Codec.encodeURLSafe(src, srcOffset, length, dest, destOffset);
+	}
 }
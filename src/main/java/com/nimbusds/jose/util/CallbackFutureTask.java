@@ -0,0 +1,84 @@
+package com.nimbusds.jose.util;
+
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Future task which notifies an optional callback on completion. The
+ * callback is called by the thread which completed the task.
+ *
+ * @param <V> The result type.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class CallbackFutureTask<V> extends FutureTask<V> {
+
+
+	/**
+	 * The callback, {@code null} if none.
+	 */
+	private final AsyncCallback<V> callback;
+
+
+	/**
+	 * Creates a new future task with a completion callback.
+	 *
+	 * @param callable The callable to run. Must not be {@code null}.
+	 * @param callback The callback, {@code null} if none.
+	 */
+	public CallbackFutureTask(final Callable<V> callable, final AsyncCallback<V> callback) {
+
+		super(callable);
+		this.callback = callback;
+	}
+
+
+	/**
+	 * Fails the task with the specified exception, unless it has already
+	 * completed. Intended for tasks which couldn't be run, for example
+	 * because the executor rejected them.
+	 *
+	 * @param exception The exception. Must not be {@code null}.
+	 */
+	public void fail(final Exception exception) {
+
+		setException(exception);
+	}
+
+
+	@Override
+	protected void done() {
+
+		if (callback == null) {
+			return;
+		}
+
+		V result;
+
+		try {
+			result = get();
+		} catch (CancellationException e) {
+			callback.failed(e);
+			return;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			callback.failed(cause instanceof Exception ? (Exception)cause : e);
+			return;
+		} catch (InterruptedException e) {
+			// Not expected, the task is done
+			Thread.currentThread().interrupt();
+			callback.failed(e);
+			return;
+		}
+
+		callback.completed(result);
+	}
+}
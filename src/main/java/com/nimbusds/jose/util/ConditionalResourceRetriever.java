@@ -0,0 +1,37 @@
+package com.nimbusds.jose.util;
+
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Date;
+
+
+/**
+ * Retriever of resources specified by URL which supports conditional
+ * retrieval with HTTP validators (If-None-Match, If-Modified-Since).
+ */
+public interface ConditionalResourceRetriever extends ResourceRetriever {
+
+
+	/**
+	 * Retrieves the resource from the specified HTTP(S) URL, unless it
+	 * wasn't modified since the previous retrieval as indicated by the
+	 * specified validators.
+	 *
+	 * @param url          The URL of the resource. Its scheme must be
+	 *                     HTTP or HTTPS. Must not be {@code null}.
+	 * @param eTag         The entity tag of the previously retrieved
+	 *                     resource, {@code null} if none.
+	 * @param lastModified The last modification date of the previously
+	 *                     retrieved resource, {@code null} if none.
+	 *
+	 * @return The retrieved resource. If the resource wasn't modified
+	 *         {@link Resource#isNotModified()} returns {@code true} and
+	 *         the content is empty.
+	 *
+	 * @throws IOException If the HTTP connection to the specified URL
+	 *                     failed or the resource couldn't be retrieved.
+	 */
+	Resource retrieveResource(final URL url, final String eTag, final Date lastModified)
+		throws IOException;
+}
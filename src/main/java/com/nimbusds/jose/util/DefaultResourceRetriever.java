@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Date;
 
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.io.IOUtils;
@@ -14,10 +15,12 @@ import org.apache.commons.io.input.BoundedInputStream;
 /**
  * The default retriever of resources specified by URL. Provides setting of
  * HTTP connect and read timeouts as well as a size limit of the retrieved
- * entity. Caching header directives are not honoured.
+ * entity. Supports conditional retrieval with the ETag and Last-Modified
+ * validators. The caching headers (Cache-Control max-age, Expires) are
+ * returned with the resource, but not otherwise honoured.
  */
 @ThreadSafe
-public class DefaultResourceRetriever extends AbstractRestrictedResourceRetriever implements RestrictedResourceRetriever {
+public class DefaultResourceRetriever extends AbstractRestrictedResourceRetriever implements RestrictedResourceRetriever, ConditionalResourceRetriever {
 	
 	
 	/**
@@ -64,6 +67,14 @@ public class DefaultResourceRetriever extends AbstractRestrictedResourceRetrieve
 	@Override
 	public Resource retrieveResource(final URL url)
 		throws IOException {
+
+		return retrieveResource(url, null, null);
+	}
+
+
+	@Override
+	public Resource retrieveResource(final URL url, final String eTag, final Date lastModified)
+		throws IOException {
 		
 		HttpURLConnection con;
 		try {
@@ -75,6 +86,25 @@ public class DefaultResourceRetriever extends AbstractRestrictedResourceRetrieve
 		con.setConnectTimeout(getConnectTimeout());
 		con.setReadTimeout(getReadTimeout());
 
+		if (eTag != null) {
+			con.setRequestProperty("If-None-Match", eTag);
+		}
+
+		if (lastModified != null) {
+			con.setIfModifiedSince(lastModified.getTime());
+		}
+
+		if ((eTag != null || lastModified != null) && con.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			return new Resource(
+				"",
+				null,
+				con.getHeaderField("ETag"),
+				getDateHeader(con.getLastModified()),
+				parseMaxAge(con.getHeaderField("Cache-Control")),
+				getDateHeader(con.getExpiration()),
+				true);
+		}
+
 		InputStream inputStream = con.getInputStream();
 
 		if (getSizeLimit() > 0) {
@@ -92,6 +122,73 @@ public class DefaultResourceRetriever extends AbstractRestrictedResourceRetrieve
 			throw new IOException("HTTP " + statusCode + ": " + statusMessage);
 		}
 
-		return new Resource(content, con.getContentType());
+		return new Resource(
+			content,
+			con.getContentType(),
+			con.getHeaderField("ETag"),
+			getDateHeader(con.getLastModified()),
+			parseMaxAge(con.getHeaderField("Cache-Control")),
+			getDateHeader(con.getExpiration()),
+			false);
+	}
+
+
+	/**
+	 * Returns the date for the specified HTTP date header value.
+	 *
+	 * @param time The header value, in milliseconds since the epoch, zero
+	 *             if not specified.
+	 *
+	 * @return The date, {@code null} if not specified.
+	 */
+	private static Date getDateHeader(final long time) {
+
+		return time > 0L ? new Date(time) : null;
+	}
+
+
+	/**
+	 * Parses the maximum age from the specified Cache-Control header
+	 * value. The no-cache and no-store directives result in a zero
+	 * maximum age.
+	 *
+	 * @param cacheControl The Cache-Control header value, {@code null} if
+	 *                     not specified.
+	 *
+	 * @return The maximum age in seconds, -1 if not specified or invalid.
+	 */
+	static long parseMaxAge(final String cacheControl) {
+
+		if (cacheControl == null) {
+			return -1L;
+		}
+
+		long maxAge = -1L;
+
+		for (String directive: cacheControl.split(",")) {
+
+			directive = directive.trim().toLowerCase();
+
+			if (directive.equals("no-cache") || directive.equals("no-store")) {
+				return 0L;
+			}
+
+			if (directive.startsWith("max-age=")) {
+				String value = directive.substring("max-age=".length()).trim();
+				if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
+					value = value.substring(1, value.length() - 1);
+				}
+				try {
+					maxAge = Long.parseLong(value);
+				} catch (NumberFormatException e) {
+					return -1L;
+				}
+				if (maxAge < 0L) {
+					return -1L;
+				}
+			}
+		}
+
+		return maxAge;
 	}
 }
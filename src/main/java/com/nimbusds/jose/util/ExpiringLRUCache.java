@@ -0,0 +1,410 @@
+package com.nimbusds.jose.util;
+
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Size-bounded cache with least-recently-used (LRU) eviction and optional
+ * entry expiration, counted from the put or, if so configured, from the
+ * last access of an entry. Keeps hit and miss counters for monitoring
+ * purposes.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class ExpiringLRUCache<K,V> {
+
+
+	/**
+	 * Cache entry.
+	 */
+	private static final class Entry<V> {
+
+
+		/**
+		 * The cached value.
+		 */
+		private final V value;
+
+
+		/**
+		 * The expiration time, in milliseconds since the epoch, -1 if
+		 * none. Guarded by the entries lock.
+		 */
+		private long expirationTime;
+
+
+		/**
+		 * The latest expiration time specified on put, in milliseconds
+		 * since the epoch, -1 if none.
+		 */
+		private final long maxExpirationTime;
+
+
+		/**
+		 * Creates a new cache entry.
+		 *
+		 * @param value             The value. Must not be {@code null}.
+		 * @param expirationTime    The expiration time, in milliseconds
+		 *                          since the epoch, -1 if none.
+		 * @param maxExpirationTime The latest expiration time specified
+		 *                          on put, in milliseconds since the
+		 *                          epoch, -1 if none.
+		 */
+		private Entry(final V value, final long expirationTime, final long maxExpirationTime) {
+			this.value = value;
+			this.expirationTime = expirationTime;
+			this.maxExpirationTime = maxExpirationTime;
+		}
+
+
+		/**
+		 * Returns {@code true} if the entry has expired.
+		 *
+		 * @param now The current time, in milliseconds since the
+		 *            epoch.
+		 *
+		 * @return {@code true} if expired, else {@code false}.
+		 */
+		private boolean isExpired(final long now) {
+			return expirationTime > -1 && now >= expirationTime;
+		}
+	}
+
+
+	/**
+	 * The maximum number of entries.
+	 */
+	private final int maxEntries;
+
+
+	/**
+	 * The time-to-live of the entries, in milliseconds, -1 if they don't
+	 * expire.
+	 */
+	private final long timeToLive;
+
+
+	/**
+	 * {@code true} if the time-to-live is counted from the last access,
+	 * {@code false} if from the put.
+	 */
+	private final boolean expireAfterAccess;
+
+
+	/**
+	 * The entries, in access order. Also serves as lock.
+	 */
+	private final LinkedHashMap<K,Entry<V>> entries;
+
+
+	/**
+	 * The cache hit counter.
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+
+	/**
+	 * The cache miss counter.
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maxEntries The maximum number of entries, the least recently
+	 *                   used entries are evicted when it's exceeded. Must
+	 *                   be positive.
+	 * @param timeToLive The time-to-live of the entries, -1 if they don't
+	 *                   expire.
+	 * @param timeUnit   The time unit, may be {@code null} if the entries
+	 *                   don't expire.
+	 */
+	public ExpiringLRUCache(final int maxEntries,
+				final long timeToLive,
+				final TimeUnit timeUnit) {
+
+		this(maxEntries, timeToLive, timeUnit, false);
+	}
+
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maxEntries        The maximum number of entries, the least
+	 *                          recently used entries are evicted when
+	 *                          it's exceeded. Must be positive.
+	 * @param timeToLive        The time-to-live of the entries, -1 if
+	 *                          they don't expire.
+	 * @param timeUnit          The time unit, may be {@code null} if the
+	 *                          entries don't expire.
+	 * @param expireAfterAccess {@code true} to count the time-to-live
+	 *                          from the last access of an entry,
+	 *                          {@code false} from its put.
+	 */
+	public ExpiringLRUCache(final int maxEntries,
+				final long timeToLive,
+				final TimeUnit timeUnit,
+				final boolean expireAfterAccess) {
+
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("The maximum number of entries must be positive");
+		}
+
+		if (timeToLive > -1 && timeUnit == null) {
+			throw new IllegalArgumentException("The time unit must not be null");
+		}
+
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive > -1 ? timeUnit.toMillis(timeToLive) : -1L;
+		this.expireAfterAccess = expireAfterAccess;
+
+		entries = new LinkedHashMap<K,Entry<V>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K,Entry<V>> eldest) {
+				return size() > ExpiringLRUCache.this.maxEntries;
+			}
+		};
+	}
+
+
+	/**
+	 * Returns the maximum number of entries.
+	 *
+	 * @return The maximum number of entries.
+	 */
+	public int getMaxEntries() {
+
+		return maxEntries;
+	}
+
+
+	/**
+	 * Returns the time-to-live of the entries.
+	 *
+	 * @param timeUnit The time unit to use. Must not be {@code null}.
+	 *
+	 * @return The time-to-live, -1 if the entries don't expire.
+	 */
+	public long getTimeToLive(final TimeUnit timeUnit) {
+
+		if (timeToLive < 0) {
+			return timeToLive;
+		}
+
+		return timeUnit.convert(timeToLive, TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Returns {@code true} if the time-to-live is counted from the last
+	 * access of an entry.
+	 *
+	 * @return {@code true} if counted from the last access,
+	 *         {@code false} if from the put.
+	 */
+	public boolean isExpireAfterAccess() {
+
+		return expireAfterAccess;
+	}
+
+
+	/**
+	 * Gets the cached value for the specified key.
+	 *
+	 * @param key The key. Must not be {@code null}.
+	 *
+	 * @return The cached value, {@code null} if none or expired.
+	 */
+	public V get(final K key) {
+
+		final long now = currentTimeMillis();
+
+		synchronized (entries) {
+
+			Entry<V> entry = entries.get(key);
+
+			if (entry == null) {
+				missCount.incrementAndGet();
+				return null;
+			}
+
+			if (entry.isExpired(now)) {
+				entries.remove(key);
+				missCount.incrementAndGet();
+				return null;
+			}
+
+			if (expireAfterAccess && timeToLive > -1) {
+				entry.expirationTime = computeExpirationTime(now, entry.maxExpirationTime);
+			}
+
+			hitCount.incrementAndGet();
+			return entry.value;
+		}
+	}
+
+
+	/**
+	 * Puts the specified value into the cache, expiring after the
+	 * configured time-to-live.
+	 *
+	 * @param key   The key. Must not be {@code null}.
+	 * @param value The value. Must not be {@code null}.
+	 */
+	public void put(final K key, final V value) {
+
+		put(key, value, -1L);
+	}
+
+
+	/**
+	 * Puts the specified value into the cache, expiring after the
+	 * configured time-to-live or at the specified time, whichever occurs
+	 * first.
+	 *
+	 * @param key            The key. Must not be {@code null}.
+	 * @param value          The value. Must not be {@code null}.
+	 * @param expirationTime The latest expiration time of the entry, in
+	 *                       milliseconds since the epoch, -1 if not
+	 *                       specified.
+	 */
+	public void put(final K key, final V value, final long expirationTime) {
+
+		if (value == null) {
+			throw new IllegalArgumentException("The value must not be null");
+		}
+
+		final long exp = computeExpirationTime(currentTimeMillis(), expirationTime);
+
+		synchronized (entries) {
+			entries.put(key, new Entry<>(value, exp, expirationTime));
+		}
+	}
+
+
+	/**
+	 * Returns the current time. Overridden in tests to advance the time
+	 * without sleeping.
+	 *
+	 * @return The current time, in milliseconds since the epoch.
+	 */
+	protected long currentTimeMillis() {
+
+		return System.currentTimeMillis();
+	}
+
+
+	/**
+	 * Computes the expiration time of an entry put or accessed at the
+	 * specified time.
+	 *
+	 * @param now               The current time, in milliseconds since
+	 *                          the epoch.
+	 * @param maxExpirationTime The latest expiration time, in
+	 *                          milliseconds since the epoch, -1 if not
+	 *                          specified.
+	 *
+	 * @return The expiration time, in milliseconds since the epoch, -1 if
+	 *         none.
+	 */
+	private long computeExpirationTime(final long now, final long maxExpirationTime) {
+
+		long exp = -1L;
+
+		if (timeToLive > -1) {
+			exp = now + timeToLive;
+		}
+
+		if (maxExpirationTime > -1 && (exp < 0 || maxExpirationTime < exp)) {
+			exp = maxExpirationTime;
+		}
+
+		return exp;
+	}
+
+
+	/**
+	 * Removes the entry for the specified key.
+	 *
+	 * @param key The key. Must not be {@code null}.
+	 *
+	 * @return The removed value, {@code null} if none or expired.
+	 */
+	public V remove(final K key) {
+
+		final long now = currentTimeMillis();
+
+		synchronized (entries) {
+
+			Entry<V> entry = entries.remove(key);
+
+			if (entry == null || entry.isExpired(now)) {
+				return null;
+			}
+
+			return entry.value;
+		}
+	}
+
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+
+	/**
+	 * Returns the number of entries, including those which have expired
+	 * but haven't been removed yet.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+
+	/**
+	 * Returns the number of cache hits since the cache was created.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHitCount() {
+
+		return hitCount.get();
+	}
+
+
+	/**
+	 * Returns the number of cache misses since the cache was created.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMissCount() {
+
+		return missCount.get();
+	}
+}
@@ -1,11 +1,17 @@
 package com.nimbusds.jose.util;
 
 
+import java.util.Date;
+
 import net.jcip.annotations.Immutable;
 
 
 /**
- * Resource with optional associated content type.
+ * Resource with optional associated content type and HTTP caching metadata.
+ *
+ * <p>The caching metadata consists of the validators (ETag, Last-Modified),
+ * which enable conditional retrieval of the resource, and the directives
+ * (Cache-Control max-age, Expires) which set its lifetime.
  */
 @Immutable
 public class Resource {
@@ -23,22 +29,88 @@ public class Resource {
 	private final String contentType;
 
 
+	/**
+	 * The entity tag.
+	 */
+	private final String eTag;
+
+
+	/**
+	 * The last modification date.
+	 */
+	private final Date lastModified;
+
+
+	/**
+	 * The maximum age, in seconds.
+	 */
+	private final long maxAge;
+
+
+	/**
+	 * The expiration date.
+	 */
+	private final Date expires;
+
+
+	/**
+	 * Indicates a resource that wasn't modified since the last retrieval.
+	 */
+	private final boolean notModified;
+
+
 	/**
 	 * Creates a new resource with optional associated content type.
 	 *
-	 * @param content     The resource content, empty string if none. Must 
+	 * @param content     The resource content, empty string if none. Must
 	 *                    not be {@code null}.
 	 * @param contentType The resource content type, {@code null} if not
 	 *                    specified.
 	 */
 	public Resource(final String content, final String contentType) {
 
+		this(content, contentType, null, null, -1L, null, false);
+	}
+
+
+	/**
+	 * Creates a new resource with optional associated content type and
+	 * HTTP caching metadata.
+	 *
+	 * @param content      The resource content, empty string if none, or
+	 *                     if not modified. Must not be {@code null}.
+	 * @param contentType  The resource content type, {@code null} if not
+	 *                     specified.
+	 * @param eTag         The entity tag (ETag), {@code null} if not
+	 *                     specified.
+	 * @param lastModified The last modification date (Last-Modified),
+	 *                     {@code null} if not specified.
+	 * @param maxAge       The maximum age in seconds (Cache-Control
+	 *                     max-age), -1 if not specified.
+	 * @param expires      The expiration date (Expires), {@code null} if
+	 *                     not specified.
+	 * @param notModified  {@code true} if the resource wasn't modified
+	 *                     since the last retrieval and has no content.
+	 */
+	public Resource(final String content,
+			final String contentType,
+			final String eTag,
+			final Date lastModified,
+			final long maxAge,
+			final Date expires,
+			final boolean notModified) {
+
 		if (content == null) {
 			throw new IllegalArgumentException("The resource content must not be null");
 		}
 
 		this.content = content;
 		this.contentType = contentType;
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+		this.maxAge = maxAge;
+		this.expires = expires;
+		this.notModified = notModified;
 	}
 
 
@@ -62,4 +134,60 @@ public class Resource {
 
 		return contentType;
 	}
+
+
+	/**
+	 * Gets the entity tag (ETag) of this resource.
+	 *
+	 * @return The entity tag, {@code null} if not specified.
+	 */
+	public String getETag() {
+
+		return eTag;
+	}
+
+
+	/**
+	 * Gets the last modification date (Last-Modified) of this resource.
+	 *
+	 * @return The last modification date, {@code null} if not specified.
+	 */
+	public Date getLastModified() {
+
+		return lastModified;
+	}
+
+
+	/**
+	 * Gets the maximum age (Cache-Control max-age) of this resource.
+	 *
+	 * @return The maximum age in seconds, -1 if not specified.
+	 */
+	public long getMaxAge() {
+
+		return maxAge;
+	}
+
+
+	/**
+	 * Gets the expiration date (Expires) of this resource.
+	 *
+	 * @return The expiration date, {@code null} if not specified.
+	 */
+	public Date getExpires() {
+
+		return expires;
+	}
+
+
+	/**
+	 * Returns {@code true} if the resource wasn't modified since the
+	 * last retrieval (HTTP 304). The content is empty in that case.
+	 *
+	 * @return {@code true} if not modified, else {@code false}.
+	 */
+	public boolean isNotModified() {
+
+		return notModified;
+	}
 }
@@ -18,7 +18,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Encrypted JSON Web Token (JWT). This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-08-19
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class EncryptedJWT extends JWEObject implements JWT {
@@ -70,6 +70,33 @@ public class EncryptedJWT extends JWEObject implements JWT {
 	}
 
 
+	/**
+	 * Creates a new encrypted JSON Web Token (JWT) with the specified
+	 * parsed header and remaining serialised parts. The state will be
+	 * {@link com.nimbusds.jose.JWEObject.State#ENCRYPTED encrypted}.
+	 *
+	 * @param header     The JWE header, parsed from the first part. Must
+	 *                   not be {@code null}.
+	 * @param secondPart The second part, corresponding to the encrypted
+	 *                   key. Empty or {@code null} if none.
+	 * @param thirdPart  The third part, corresponding to the
+	 *                   initialisation vector. Empty or {@code null} if
+	 *                   none.
+	 * @param fourthPart The fourth part, corresponding to the cipher text.
+	 *                   Must not be {@code null}.
+	 * @param fifthPart  The fifth part, corresponding to the
+	 *                   authentication tag. Empty of {@code null} if none.
+	 */
+	EncryptedJWT(final JWEHeader header,
+		     final Base64URL secondPart,
+		     final Base64URL thirdPart,
+		     final Base64URL fourthPart,
+		     final Base64URL fifthPart) {
+
+		super(header, secondPart, thirdPart, fourthPart, fifthPart);
+	}
+
+
 	@Override
 	public JWTClaimsSet getJWTClaimsSet()
 		throws ParseException {
@@ -1,24 +1,20 @@
 package com.nimbusds.jwt;
 
 
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 
-import net.minidev.json.JSONObject;
-
-import com.nimbusds.jose.Algorithm;
-import com.nimbusds.jose.Header;
-import com.nimbusds.jose.JWEAlgorithm;
-import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.*;
 import com.nimbusds.jose.util.Base64URL;
-import com.nimbusds.jose.util.JSONObjectUtils;
 
 
 /**
  * Parser for unsecured (plain), signed and encrypted JSON Web Tokens (JWTs).
+ * The JWT is split and its header parsed only once.
  *
  * @author Vladimir Dzhuvinov
  * @author Junya Hayashi
- * @version 2015-06-14
+ * @version 2026-10-18
  */
 public final class JWTParser {
 
@@ -42,29 +38,117 @@ public final class JWTParser {
 		
 		if (firstDotPos == -1)
 			throw new ParseException("Invalid JWT serialization: Missing dot delimiter(s)", 0);
-			
-		Base64URL header = new Base64URL(s.substring(0, firstDotPos));
-		
-		JSONObject jsonObject;
 
-		try {
-			jsonObject = JSONObjectUtils.parse(header.decodeToString());
+		return parse(JOSEObject.split(s));
+	}
+
+
+	/**
+	 * Parses an unsecured (plain), signed or encrypted JSON Web Token
+	 * (JWT) from the specified bytes in compact format, for example from
+	 * an HTTP header. No string is created for the entire JWT.
+	 *
+	 * @param bytes  The byte array holding the JWT. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the JWT in the array.
+	 * @param length The length of the JWT in bytes.
+	 *
+	 * @return The corresponding {@link PlainJWT}, {@link SignedJWT} or
+	 *         {@link EncryptedJWT} instance.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        unsecured, signed or encrypted JWT.
+	 */
+	public static JWT parse(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		ensureDot(bytes, offset, length);
+
+		return parse(JOSEObject.split(bytes, offset, length));
+	}
 
-		} catch (ParseException e) {
 
-			throw new ParseException("Invalid unsecured/JWS/JWE header: " + e.getMessage(), 0);
+	/**
+	 * Parses an unsecured (plain), signed or encrypted JSON Web Token
+	 * (JWT) from the remaining bytes of the specified buffer in compact
+	 * format. The position of the buffer is not changed.
+	 *
+	 * @param buffer The buffer holding the JWT. Must not be {@code null}.
+	 *
+	 * @return The corresponding {@link PlainJWT}, {@link SignedJWT} or
+	 *         {@link EncryptedJWT} instance.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        unsecured, signed or encrypted JWT.
+	 */
+	public static JWT parse(final ByteBuffer buffer)
+		throws ParseException {
+
+		if (buffer.hasArray()) {
+			return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
 		}
 
-		Algorithm alg = Header.parseAlgorithm(jsonObject);
+		// Direct or read-only buffer
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return parse(bytes, 0, bytes.length);
+	}
+
+
+	/**
+	 * Ensures the specified bytes contain at least one dot delimiter.
+	 *
+	 * @param bytes  The byte array holding the JWT.
+	 * @param offset The offset of the JWT in the array.
+	 * @param length The length of the JWT in bytes.
+	 *
+	 * @throws ParseException If no dot delimiter was found.
+	 */
+	private static void ensureDot(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		for (int i=offset; i < offset + length && i < bytes.length; i++) {
+			if (bytes[i] == '.') {
+				return;
+			}
+		}
+
+		throw new ParseException("Invalid JWT serialization: Missing dot delimiter(s)", 0);
+	}
+
+
+	/**
+	 * Parses the header of the specified split JWT once, then passes it
+	 * to the constructor of the specific JWT class.
+	 *
+	 * @param parts The Base64URL-encoded parts. Must not be {@code null}.
+	 *
+	 * @return The corresponding {@link PlainJWT}, {@link SignedJWT} or
+	 *         {@link EncryptedJWT} instance.
+	 *
+	 * @throws ParseException If the parts couldn't be parsed to a valid
+	 *                        unsecured, signed or encrypted JWT.
+	 */
+	private static JWT parse(final Base64URL[] parts)
+		throws ParseException {
+
+		Header header = JOSEObject.parseHeader(parts);
+
+		if (header instanceof PlainHeader) {
+
+			if (! parts[2].toString().isEmpty()) {
+				throw new ParseException("Unexpected third Base64URL part in the unsecured JWT object", 0);
+			}
+
+			return new PlainJWT((PlainHeader)header, parts[1]);
+
+		} else if (header instanceof JWSHeader) {
+
+			return new SignedJWT((JWSHeader)header, parts[1], parts[2]);
 
-		if (alg.equals(Algorithm.NONE)) {
-			return PlainJWT.parse(s);
-		} else if (alg instanceof JWSAlgorithm) {
-			return SignedJWT.parse(s);
-		} else if (alg instanceof JWEAlgorithm) {
-			return EncryptedJWT.parse(s);
 		} else {
-			throw new AssertionError("Unexpected algorithm type: " + alg);
+
+			return new EncryptedJWT((JWEHeader)header, parts[1], parts[2], parts[3], parts[4]);
 		}
 	}
 
@@ -18,7 +18,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Unsecured (plain) JSON Web Token (JWT).
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-08-19
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class PlainJWT extends PlainObject implements JWT {
@@ -71,6 +71,21 @@ public class PlainJWT extends PlainObject implements JWT {
 	}
 
 
+	/**
+	 * Creates a new unsecured (plain) JSON Web Token (JWT) with the
+	 * specified parsed header and Base64URL-encoded claims set part.
+	 *
+	 * @param header     The unsecured header, parsed from the first part.
+	 *                   Must not be {@code null}.
+	 * @param secondPart The second part, corresponding to the claims set
+	 *                   (payload). Must not be {@code null}.
+	 */
+	PlainJWT(final PlainHeader header, final Base64URL secondPart) {
+
+		super(header, secondPart);
+	}
+
+
 	@Override
 	public JWTClaimsSet getJWTClaimsSet()
 		throws ParseException {
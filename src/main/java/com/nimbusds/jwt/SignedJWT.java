@@ -1,6 +1,7 @@
 package com.nimbusds.jwt;
 
 
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 
 import net.jcip.annotations.ThreadSafe;
@@ -18,7 +19,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Signed JSON Web Token (JWT).
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-08-19
+ * @version 2026-10-18
  */
 @ThreadSafe
 public class SignedJWT extends JWSObject implements JWT {
@@ -27,6 +28,13 @@ public class SignedJWT extends JWSObject implements JWT {
 	private static final long serialVersionUID = 1L;
 
 
+	/**
+	 * The claims set parsed from the payload, {@code null} if not parsed
+	 * yet.
+	 */
+	private transient volatile JWTClaimsSet claimsSet;
+
+
 	/**
 	 * Creates a new to-be-signed JSON Web Token (JWT) with the specified
 	 * header and claims set. The initial state will be 
@@ -62,17 +70,42 @@ public class SignedJWT extends JWSObject implements JWT {
 	}
 
 
+	/**
+	 * Creates a new signed JSON Web Token (JWT) with the specified parsed
+	 * header and serialised claims set and signature parts. The state
+	 * will be {@link com.nimbusds.jose.JWSObject.State#SIGNED signed}.
+	 *
+	 * @param header     The JWS header, parsed from the first part. Must
+	 *                   not be {@code null}.
+	 * @param secondPart The second part, corresponding to the claims set
+	 *                   (payload). Must not be {@code null}.
+	 * @param thirdPart  The third part, corresponding to the signature.
+	 *                   Must not be {@code null}.
+	 */
+	SignedJWT(final JWSHeader header, final Base64URL secondPart, final Base64URL thirdPart) {
+
+		super(header, secondPart, thirdPart);
+	}
+
+
 	@Override
 	public JWTClaimsSet getJWTClaimsSet()
 		throws ParseException {
 
+		// The payload doesn't change, parse once
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+
 		JSONObject json = getPayload().toJSONObject();
 
 		if (json == null) {
 			throw new ParseException("Payload of JWS object is not a valid JSON object", 0);
 		}
 
-		return JWTClaimsSet.parse(json);
+		claimsSet = JWTClaimsSet.parse(json);
+
+		return claimsSet;
 	}
 
 
@@ -90,7 +123,63 @@ public class SignedJWT extends JWSObject implements JWT {
 	public static SignedJWT parse(final String s)
 		throws ParseException {
 
-		Base64URL[] parts = JOSEObject.split(s);
+		return parse(JOSEObject.split(s));
+	}
+
+
+	/**
+	 * Parses a signed JSON Web Token (JWT) from the specified bytes in
+	 * compact format, for example from an HTTP header.
+	 *
+	 * @param bytes  The byte array holding the signed JWT. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the signed JWT in the array.
+	 * @param length The length of the signed JWT in bytes.
+	 *
+	 * @return The signed JWT.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        signed JWT.
+	 */
+	public static SignedJWT parse(final byte[] bytes, final int offset, final int length)
+		throws ParseException {
+
+		return parse(JOSEObject.split(bytes, offset, length));
+	}
+
+
+	/**
+	 * Parses a signed JSON Web Token (JWT) from the remaining bytes of the
+	 * specified buffer in compact format. The position of the buffer is
+	 * not changed.
+	 *
+	 * @param buffer The buffer holding the signed JWT. Must not be
+	 *               {@code null}.
+	 *
+	 * @return The signed JWT.
+	 *
+	 * @throws ParseException If the bytes couldn't be parsed to a valid
+	 *                        signed JWT.
+	 */
+	public static SignedJWT parse(final ByteBuffer buffer)
+		throws ParseException {
+
+		return parse(JOSEObject.split(buffer));
+	}
+
+
+	/**
+	 * Creates a signed JSON Web Token (JWT) from the specified split
+	 * parts.
+	 *
+	 * @param parts The Base64URL-encoded parts. Must not be {@code null}.
+	 *
+	 * @return The signed JWT.
+	 *
+	 * @throws ParseException If the parts don't form a valid signed JWT.
+	 */
+	private static SignedJWT parse(final Base64URL[] parts)
+		throws ParseException {
 
 		if (parts.length != 3) {
 			throw new ParseException("Unexpected number of Base64URL parts, must be three", 0);
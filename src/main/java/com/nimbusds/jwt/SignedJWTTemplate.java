@@ -0,0 +1,346 @@
+package com.nimbusds.jwt;
+
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.JCAEnginePool;
+import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Template for issuing signed JSON Web Tokens (JWTs) with the same JWS
+ * header and signer. Intended for token services which mint many JWTs
+ * with one key.
+ *
+ * <p>The header is serialised and Base64URL-encoded once, when the template
+ * is created. The claims of each JWT are serialised and encoded into
+ * per-thread buffers which are reused between calls, and the signing input
+ * is composed directly as bytes, without intermediate strings.
+ *
+ * <p>While signing, the template {@link JCAEnginePool#setEnabledForCurrentThread
+ * enables the JCA engine pool} for the calling thread, so that the library
+ * signers reuse their JCA signature and MAC engines for the JWTs signed on
+ * the same thread, also when the pool isn't enabled for all threads. The
+ * pooled engines, with the signing key, are retained by the thread until
+ * its next cryptographic operation outside a template, a call to
+ * {@link JCAEnginePool#clear} or the end of the thread.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * SignedJWTTemplate template = new SignedJWTTemplate(
+ *         new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("1").build(),
+ *         new RSASSASigner(privateKey));
+ *
+ * String jwt = template.sign(claimsSet);
+ * </pre>
+ *
+ * <p>This class is thread-safe if the JWS signer is.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class SignedJWTTemplate {
+
+
+	/**
+	 * The maximum size of the buffers retained by each thread, in bytes
+	 * or characters.
+	 */
+	static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+
+	/**
+	 * Per-thread reusable buffers.
+	 */
+	private static final class Buffers {
+
+
+		/**
+		 * The buffer for the serialised claims set.
+		 */
+		private StringBuilder json = new StringBuilder(512);
+
+
+		/**
+		 * The buffer for the UTF-8 encoded claims set.
+		 */
+		private byte[] bytes = new byte[512];
+
+
+		/**
+		 * The buffer for the compact serialisation.
+		 */
+		private char[] chars = new char[1024];
+
+
+		/**
+		 * Returns a byte buffer of the specified minimum length.
+		 *
+		 * @param minLength The minimum length.
+		 *
+		 * @return The byte buffer.
+		 */
+		private byte[] getBytes(final int minLength) {
+
+			if (bytes.length >= minLength) {
+				return bytes;
+			}
+
+			byte[] newBytes = new byte[minLength];
+
+			if (minLength <= MAX_RETAINED_BUFFER_SIZE) {
+				bytes = newBytes;
+			}
+
+			return newBytes;
+		}
+
+
+		/**
+		 * Returns a character buffer of the specified minimum length.
+		 *
+		 * @param minLength The minimum length.
+		 *
+		 * @return The character buffer.
+		 */
+		private char[] getChars(final int minLength) {
+
+			if (chars.length >= minLength) {
+				return chars;
+			}
+
+			char[] newChars = new char[minLength];
+
+			if (minLength <= MAX_RETAINED_BUFFER_SIZE) {
+				chars = newChars;
+			}
+
+			return newChars;
+		}
+
+
+		/**
+		 * Releases the claims set buffer if it grew too large.
+		 */
+		private void trim() {
+
+			if (json.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+				json = new StringBuilder(512);
+			}
+		}
+	}
+
+
+	/**
+	 * The buffers of each thread.
+	 */
+	private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+		@Override
+		protected Buffers initialValue() {
+			return new Buffers();
+		}
+	};
+
+
+	/**
+	 * The JWS header.
+	 */
+	private final JWSHeader header;
+
+
+	/**
+	 * The JWS signer.
+	 */
+	private final JWSSigner signer;
+
+
+	/**
+	 * The Base64URL-encoded header followed by the '.' delimiter, as
+	 * ASCII bytes.
+	 */
+	private final byte[] encodedHeader;
+
+
+	/**
+	 * Creates a new signed JWT template.
+	 *
+	 * @param header The JWS header. Must not be {@code null}.
+	 * @param signer The JWS signer. Must not be {@code null}.
+	 *
+	 * @throws JOSEException If the JWS algorithm of the header isn't
+	 *                       supported by the signer.
+	 */
+	public SignedJWTTemplate(final JWSHeader header, final JWSSigner signer)
+		throws JOSEException {
+
+		if (header == null) {
+			throw new IllegalArgumentException("The JWS header must not be null");
+		}
+
+		if (signer == null) {
+			throw new IllegalArgumentException("The JWS signer must not be null");
+		}
+
+		if (! signer.supportedJWSAlgorithms().contains(header.getAlgorithm())) {
+
+			throw new JOSEException("The \"" + header.getAlgorithm() +
+			                        "\" algorithm is not allowed or supported by the JWS signer: Supported algorithms: " + signer.supportedJWSAlgorithms());
+		}
+
+		this.header = header;
+		this.signer = signer;
+
+		String encoded = header.toBase64URL().toString() + '.';
+		encodedHeader = encoded.getBytes(Base64.CHARSET);
+	}
+
+
+	/**
+	 * Returns the JWS header.
+	 *
+	 * @return The JWS header.
+	 */
+	public JWSHeader getHeader() {
+
+		return header;
+	}
+
+
+	/**
+	 * Returns the JWS signer.
+	 *
+	 * @return The JWS signer.
+	 */
+	public JWSSigner getSigner() {
+
+		return signer;
+	}
+
+
+	/**
+	 * Creates a signed JWT with the specified claims set.
+	 *
+	 * @param claimsSet The JWT claims set. Must not be {@code null}.
+	 *
+	 * @return The compact serialisation of the signed JWT.
+	 *
+	 * @throws JOSEException If the JWT couldn't be signed.
+	 */
+	public String sign(final JWTClaimsSet claimsSet)
+		throws JOSEException {
+
+		Buffers buffers = BUFFERS.get();
+
+		// Serialise the claims set
+		StringBuilder json = buffers.json;
+		json.setLength(0);
+
+		try {
+			claimsSet.toJSONObject().writeJSONString(json);
+		} catch (IOException e) {
+			// Not thrown by StringBuilder
+			throw new JOSEException(e.getMessage(), e);
+		}
+
+		// Encode the claims set to UTF-8, copying ASCII chars directly
+		final int jsonLength = json.length();
+		byte[] payload = buffers.getBytes(jsonLength);
+		int payloadLength = jsonLength;
+
+		for (int i = 0; i < jsonLength; i++) {
+
+			char c = json.charAt(i);
+
+			if (c >= 0x80) {
+				payload = json.toString().getBytes(Base64.CHARSET);
+				payloadLength = payload.length;
+				break;
+			}
+
+			payload[i] = (byte)c;
+		}
+
+		buffers.trim();
+
+		// Compose the signing input
+		byte[] signingInput = new byte[encodedHeader.length + Base64URL.computeEncodedLength(payloadLength)];
+		System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+		Base64URL.encode(payload, 0, payloadLength, signingInput, encodedHeader.length);
+
+		final String signature;
+
+		final boolean enablePool = ! JCAEnginePool.isEnabledForCurrentThread();
+
+		if (enablePool) {
+			JCAEnginePool.setEnabledForCurrentThread(true);
+		}
+
+		try {
+			signature = signer.sign(header, signingInput).toString();
+
+		} catch (JOSEException e) {
+
+			throw e;
+
+		} catch (Exception e) {
+
+			// Prevent throwing unchecked exceptions at this point,
+			// see issue #20
+			throw new JOSEException(e.getMessage(), e);
+
+		} finally {
+
+			if (enablePool) {
+				JCAEnginePool.setEnabledForCurrentThread(false);
+			}
+		}
+
+		// Compose the compact serialisation
+		final int length = signingInput.length + 1 + signature.length();
+		char[] chars = buffers.getChars(length);
+
+		for (int i = 0; i < signingInput.length; i++) {
+			chars[i] = (char)signingInput[i];
+		}
+
+		chars[signingInput.length] = '.';
+		signature.getChars(0, signature.length(), chars, signingInput.length + 1);
+
+		return new String(chars, 0, length);
+	}
+
+
+	/**
+	 * Creates signed JWTs with the specified claims sets, on the calling
+	 * thread. Batches can be signed in parallel by calling this method
+	 * from multiple threads.
+	 *
+	 * @param claimsSets The JWT claims sets. Must not be {@code null}.
+	 *
+	 * @return The compact serialisations of the signed JWTs, in the order
+	 *         of the claims sets.
+	 *
+	 * @throws JOSEException If a JWT couldn't be signed.
+	 */
+	public List<String> signAll(final List<JWTClaimsSet> claimsSets)
+		throws JOSEException {
+
+		List<String> jwts = new ArrayList<>(claimsSets.size());
+
+		for (JWTClaimsSet claimsSet: claimsSets) {
+			jwts.add(sign(claimsSet));
+		}
+
+		return jwts;
+	}
+}
@@ -42,7 +42,7 @@ public class DefaultJWTClaimsVerifier implements JWTClaimsVerifier, ClockSkewAwa
 	/**
 	 * Expired JWT.
 	 */
-	private static final BadJWTException EXPIRED_JWT_EXCEPTION = new BadJWTException("Expired JWT");
+	static final BadJWTException EXPIRED_JWT_EXCEPTION = new BadJWTException("Expired JWT");
 
 
 	/**
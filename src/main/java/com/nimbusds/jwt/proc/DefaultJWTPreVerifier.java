@@ -0,0 +1,285 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.util.DateUtils;
+
+
+/**
+ * Default pre-verifier of signed JWTs. This class is thread-safe.
+ *
+ * <p>Performs the following checks on the unverified JWT:
+ *
+ * <ol>
+ *     <li>If accepted JWS algorithms are set, makes sure the JWS algorithm
+ *         is one of them, else the JWT is rejected.
+ *     <li>If a maximum token length is set, makes sure the compact
+ *         serialisation of a parsed JWT doesn't exceed it, else the JWT is
+ *         rejected. When the pre-verifier is set in a
+ *         {@link DefaultJWTProcessor} JWTs passed to it as strings or bytes
+ *         are checked before they are parsed.
+ *     <li>If an expiration time (exp) claim is present, makes sure it is
+ *         ahead of the current time, else the JWT is rejected.
+ *     <li>If a not-before-time (nbf) claim is present, makes sure it is
+ *         before the current time, else the JWT is rejected.
+ *     <li>If accepted issuers are set, makes sure the issuer (iss) claim
+ *         is one of them, else the JWT is rejected.
+ * </ol>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class DefaultJWTPreVerifier implements JWTPreVerifier, ClockSkewAware {
+
+
+	// Cache exceptions
+
+
+	/**
+	 * JWS algorithm not accepted.
+	 */
+	static final BadJOSEException ALGORITHM_NOT_ACCEPTED_EXCEPTION =
+		new BadJWSException("Signed JWT rejected: JWS algorithm not accepted");
+
+
+	/**
+	 * JWT too long.
+	 */
+	private static final BadJOSEException TOO_LONG_EXCEPTION =
+		new BadJOSEException("Signed JWT rejected: Maximum length exceeded");
+
+
+	/**
+	 * Unparsed JWT too long.
+	 */
+	private static final BadJOSEException UNPARSED_TOO_LONG_EXCEPTION =
+		new BadJOSEException("JWT rejected: Maximum length exceeded");
+
+
+	/**
+	 * Expired JWT.
+	 */
+	static final BadJWTException EXPIRED_JWT_EXCEPTION = new BadJWTException("Expired JWT");
+
+
+	/**
+	 * JWT before use time.
+	 */
+	private static final BadJWTException JWT_BEFORE_USE_EXCEPTION = new BadJWTException("JWT before use time");
+
+
+	/**
+	 * JWT issuer not accepted.
+	 */
+	private static final BadJWTException ISSUER_NOT_ACCEPTED_EXCEPTION = new BadJWTException("JWT issuer not accepted");
+
+
+	/**
+	 * The maximum acceptable clock skew, in seconds.
+	 */
+	private int maxClockSkew = DefaultJWTClaimsVerifier.DEFAULT_MAX_CLOCK_SKEW_SECONDS;
+
+
+	/**
+	 * The accepted JWS algorithms, {@code null} if not checked.
+	 */
+	private Set<JWSAlgorithm> acceptedAlgs;
+
+
+	/**
+	 * The maximum length of the compact serialisation, -1 if not
+	 * checked.
+	 */
+	private int maxTokenLength = -1;
+
+
+	/**
+	 * The accepted issuers, {@code null} if not checked.
+	 */
+	private Set<String> acceptedIssuers;
+
+
+	@Override
+	public int getMaxClockSkew() {
+		return maxClockSkew;
+	}
+
+
+	@Override
+	public void setMaxClockSkew(int maxClockSkewSeconds) {
+		maxClockSkew = maxClockSkewSeconds;
+	}
+
+
+	/**
+	 * Gets the accepted JWS algorithms.
+	 *
+	 * @return The accepted JWS algorithms, as an unmodifiable set,
+	 *         {@code null} if not checked.
+	 */
+	public Set<JWSAlgorithm> getAcceptedAlgorithms() {
+		return acceptedAlgs;
+	}
+
+
+	/**
+	 * Sets the accepted JWS algorithms.
+	 *
+	 * @param algs The accepted JWS algorithms, {@code null} if not
+	 *             checked.
+	 */
+	public void setAcceptedAlgorithms(final Set<JWSAlgorithm> algs) {
+		acceptedAlgs = algs != null ? Collections.unmodifiableSet(new HashSet<>(algs)) : null;
+	}
+
+
+	/**
+	 * Gets the maximum length of the compact serialisation of a JWT.
+	 *
+	 * @return The maximum length in characters, -1 if not checked.
+	 */
+	public int getMaxTokenLength() {
+		return maxTokenLength;
+	}
+
+
+	/**
+	 * Sets the maximum length of the compact serialisation of a JWT.
+	 *
+	 * @param maxTokenLength The maximum length in characters, -1 if not
+	 *                       checked.
+	 */
+	public void setMaxTokenLength(final int maxTokenLength) {
+		this.maxTokenLength = maxTokenLength;
+	}
+
+
+	/**
+	 * Gets the accepted issuers.
+	 *
+	 * @return The accepted issuers, as an unmodifiable set, {@code null}
+	 *         if not checked.
+	 */
+	public Set<String> getAcceptedIssuers() {
+		return acceptedIssuers;
+	}
+
+
+	/**
+	 * Sets the accepted issuers.
+	 *
+	 * @param issuers The accepted issuers, {@code null} if not checked.
+	 */
+	public void setAcceptedIssuers(final Set<String> issuers) {
+		acceptedIssuers = issuers != null ? Collections.unmodifiableSet(new HashSet<>(issuers)) : null;
+	}
+
+
+	/**
+	 * Checks the length of the compact serialisation of a JWT before it's
+	 * parsed. Intended for the {@link DefaultJWTProcessor}.
+	 *
+	 * @param length The length in characters or bytes.
+	 *
+	 * @throws BadJOSEException If the maximum token length is set and
+	 *                          exceeded.
+	 */
+	void checkLength(final int length)
+		throws BadJOSEException {
+
+		if (maxTokenLength > -1 && length > maxTokenLength) {
+			throw UNPARSED_TOO_LONG_EXCEPTION;
+		}
+	}
+
+
+	/**
+	 * Returns the length of the compact serialisation of the specified
+	 * parsed JWT.
+	 *
+	 * @param signedJWT The signed JWT.
+	 *
+	 * @return The length, -1 if the JWT wasn't parsed.
+	 */
+	private static int getParsedLength(final SignedJWT signedJWT) {
+
+		Base64URL[] parts = signedJWT.getParsedParts();
+
+		if (parts == null) {
+			return -1;
+		}
+
+		int length = parts.length - 1;
+
+		for (Base64URL part: parts) {
+			if (part != null) {
+				length += part.toString().length();
+			}
+		}
+
+		return length;
+	}
+
+
+	@Override
+	public void preVerify(final SignedJWT signedJWT)
+		throws BadJOSEException {
+
+		if (acceptedAlgs != null && ! acceptedAlgs.contains(signedJWT.getHeader().getAlgorithm())) {
+			throw ALGORITHM_NOT_ACCEPTED_EXCEPTION;
+		}
+
+		// Fallback for JWTs passed to the processor already parsed
+		if (maxTokenLength > -1 && getParsedLength(signedJWT) > maxTokenLength) {
+			throw TOO_LONG_EXCEPTION;
+		}
+
+		JWTClaimsSet claimsSet;
+
+		try {
+			claimsSet = signedJWT.getJWTClaimsSet();
+
+		} catch (ParseException e) {
+			// Payload not a JSON object
+			throw new BadJWTException(e.getMessage(), e);
+		}
+
+		final Date now = new Date();
+
+		final Date exp = claimsSet.getExpirationTime();
+
+		if (exp != null) {
+
+			if (! DateUtils.isAfter(exp, now, maxClockSkew)) {
+				throw EXPIRED_JWT_EXCEPTION;
+			}
+		}
+
+		final Date nbf = claimsSet.getNotBeforeTime();
+
+		if (nbf != null) {
+
+			if (! DateUtils.isBefore(nbf, now, maxClockSkew)) {
+				throw JWT_BEFORE_USE_EXCEPTION;
+			}
+		}
+
+		if (acceptedIssuers != null && ! acceptedIssuers.contains(claimsSet.getIssuer())) {
+			throw ISSUER_NOT_ACCEPTED_EXCEPTION;
+		}
+	}
+}
@@ -2,13 +2,23 @@ package com.nimbusds.jwt.proc;
 
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEDecrypter;
+import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.factories.DefaultJWEDecrypterFactory;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
@@ -60,11 +70,25 @@ import com.nimbusds.jwt.*;
  * verifier may be extended to perform additional checks, such as issuer and
  * subject acceptance.
  *
+ * <p>An optional {@link JWTPreVerifier pre-verifier} can be set to reject
+ * signed JWTs by cheap checks, such as the algorithm and expiration, before
+ * their signature is verified.
+ *
+ * <p>An optional {@link VerifiedJWTCache verified JWT cache} can be set to
+ * skip the parsing and signature verification of signed JWTs which were
+ * already successfully processed, when they are passed to the processor as
+ * strings or bytes. Likewise, an optional {@link RejectedJWTCache rejected
+ * JWT cache} can be set to reject recently rejected JWTs again without
+ * processing them.
+ *
+ * <p>Large batches of JWTs can be processed in parallel with
+ * {@link #processAll(Collection, SecurityContext)}.
+ *
  * <p>To process generic JOSE objects (with arbitrary payloads) use the
  * {@link com.nimbusds.jose.proc.DefaultJOSEProcessor} class.
  *
  * @author Vladimir Dzhuvinov
- * @version 2016-06-21
+ * @version 2026-10-18
  */
 public class DefaultJWTProcessor<C extends SecurityContext>
 	implements ConfigurableJWTProcessor<C> {
@@ -123,6 +147,338 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 	private JWTClaimsVerifier claimsVerifier = new DefaultJWTClaimsVerifier();
 
 
+	/**
+	 * The verified JWT cache, {@code null} if disabled.
+	 */
+	private VerifiedJWTCache verifiedJWTCache;
+
+
+	/**
+	 * The rejected JWT cache, {@code null} if disabled.
+	 */
+	private RejectedJWTCache rejectedJWTCache;
+
+
+	/**
+	 * The pre-verifier of signed JWTs, {@code null} if disabled.
+	 */
+	private JWTPreVerifier preVerifier;
+
+
+	/**
+	 * The fork-join pool for batch processing, {@code null} to use the
+	 * default shared pool.
+	 */
+	private ForkJoinPool forkJoinPool;
+
+
+	/**
+	 * The verifying key record of the signed JWT currently put through
+	 * the verified JWT cache by this thread, {@code null} if none.
+	 */
+	private final ThreadLocal<VerifiedKeyRecord> verifiedKeyRecord = new ThreadLocal<>();
+
+
+	/**
+	 * The verification groups of the batch currently processed by this
+	 * thread, {@code null} if none.
+	 */
+	private final ThreadLocal<ConcurrentMap<String,VerificationGroup>> batchVerificationGroups = new ThreadLocal<>();
+
+
+	/**
+	 * Record of the key which verified a signed JWT, reported by
+	 * {@link #process(SignedJWT, SecurityContext)} to the verified JWT
+	 * cache.
+	 */
+	private static final class VerifiedKeyRecord {
+
+
+		/**
+		 * The signed JWT to record the key for.
+		 */
+		private final SignedJWT signedJWT;
+
+
+		/**
+		 * The key which verified the signed JWT, {@code null} if not
+		 * reported.
+		 */
+		private Key key;
+
+
+		/**
+		 * Creates a new verified key record.
+		 *
+		 * @param signedJWT The signed JWT to record the key for.
+		 */
+		private VerifiedKeyRecord(final SignedJWT signedJWT) {
+			this.signedJWT = signedJWT;
+		}
+	}
+
+
+	/**
+	 * Holds the default shared fork-join pool for batch processing,
+	 * created on first use.
+	 */
+	private static final class DefaultForkJoinPoolHolder {
+
+
+		/**
+		 * The default shared fork-join pool, with a parallelism equal
+		 * to the number of available processors.
+		 */
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+
+
+	/**
+	 * Work on the element at an index.
+	 */
+	private interface IndexedWork {
+
+
+		/**
+		 * Performs the work on the element at the specified index.
+		 *
+		 * @param index The index.
+		 */
+		void run(final int index);
+	}
+
+
+	/**
+	 * Fork-join task performing work on a range of indices, split into
+	 * halves until the range is small enough.
+	 */
+	private static final class IndexRangeTask extends RecursiveAction {
+
+
+		private static final long serialVersionUID = 1L;
+
+
+		/**
+		 * The maximum range size to process without splitting.
+		 */
+		private static final int THRESHOLD = 4;
+
+
+		/**
+		 * The work.
+		 */
+		private final IndexedWork work;
+
+
+		/**
+		 * The start index, inclusive.
+		 */
+		private final int from;
+
+
+		/**
+		 * The end index, exclusive.
+		 */
+		private final int to;
+
+
+		/**
+		 * Creates a new index range task.
+		 *
+		 * @param work The work.
+		 * @param from The start index, inclusive.
+		 * @param to   The end index, exclusive.
+		 */
+		private IndexRangeTask(final IndexedWork work, final int from, final int to) {
+			this.work = work;
+			this.from = from;
+			this.to = to;
+		}
+
+
+		@Override
+		protected void compute() {
+
+			if (to - from <= THRESHOLD) {
+				for (int i=from; i < to; i++) {
+					work.run(i);
+				}
+				return;
+			}
+
+			final int mid = (from + to) >>> 1;
+			invokeAll(new IndexRangeTask(work, from, mid), new IndexRangeTask(work, mid, to));
+		}
+	}
+
+
+	/**
+	 * Group of signed JWTs with an identical header in a batch, for which
+	 * the keys are selected and the verifiers created once.
+	 */
+	private final class VerificationGroup {
+
+
+		/**
+		 * The JWS header of the group.
+		 */
+		private final JWSHeader header;
+
+
+		/**
+		 * {@code true} if the key candidates were selected.
+		 */
+		private boolean prepared;
+
+
+		/**
+		 * The key candidates.
+		 */
+		private List<? extends Key> keys;
+
+
+		/**
+		 * The verifiers for the key candidates, in the order of the
+		 * candidates, {@code null} for keys without a verifier.
+		 */
+		private List<JWSVerifier> verifiers;
+
+
+		/**
+		 * The JWT rejection from the key selection, {@code null} if
+		 * none.
+		 */
+		private BadJOSEException badJOSEException;
+
+
+		/**
+		 * The processing exception from the key selection,
+		 * {@code null} if none.
+		 */
+		private JOSEException joseException;
+
+
+		/**
+		 * The unchecked exception from the key selection, {@code null}
+		 * if none.
+		 */
+		private RuntimeException runtimeException;
+
+
+		/**
+		 * Creates a new verification group.
+		 *
+		 * @param header The JWS header of the group.
+		 */
+		private VerificationGroup(final JWSHeader header) {
+			this.header = header;
+		}
+
+
+		/**
+		 * Selects the key candidates and creates the verifiers for
+		 * them, on the first call.
+		 *
+		 * @param context Optional context, {@code null} if not
+		 *                required.
+		 */
+		private synchronized void prepare(final C context) {
+
+			if (prepared) {
+				return;
+			}
+
+			prepared = true;
+
+			try {
+				if (getJWSKeySelector() == null) {
+					throw NO_JWS_KEY_SELECTOR_EXCEPTION;
+				}
+
+				if (getJWSVerifierFactory() == null) {
+					throw NO_JWS_VERIFIER_FACTORY_EXCEPTION;
+				}
+
+				List<? extends Key> keyCandidates = getJWSKeySelector().selectJWSKeys(header, context);
+
+				if (keyCandidates == null || keyCandidates.isEmpty()) {
+					throw NO_JWS_KEY_CANDIDATES_EXCEPTION;
+				}
+
+				List<JWSVerifier> list = new ArrayList<>(keyCandidates.size());
+
+				for (Key key: keyCandidates) {
+					list.add(getJWSVerifierFactory().createJWSVerifier(header, key));
+				}
+
+				keys = keyCandidates;
+				verifiers = list;
+
+			} catch (BadJOSEException e) {
+				badJOSEException = e;
+			} catch (JOSEException e) {
+				joseException = e;
+			} catch (RuntimeException e) {
+				runtimeException = e;
+			}
+		}
+
+
+		/**
+		 * Verifies the signature of the specified signed JWT of the
+		 * group.
+		 *
+		 * @param signedJWT The signed JWT.
+		 * @param context   Optional context, {@code null} if not
+		 *                  required.
+		 *
+		 * @return The key which verified the signature.
+		 *
+		 * @throws BadJOSEException If the signature is invalid or no
+		 *                          matching key was found.
+		 * @throws JOSEException    If an internal processing exception
+		 *                          is encountered.
+		 */
+		private Key verify(final SignedJWT signedJWT, final C context)
+			throws BadJOSEException, JOSEException {
+
+			prepare(context);
+
+			if (badJOSEException != null) {
+				throw badJOSEException;
+			}
+
+			if (joseException != null) {
+				throw joseException;
+			}
+
+			if (runtimeException != null) {
+				throw runtimeException;
+			}
+
+			for (int i=0; i < verifiers.size(); i++) {
+
+				JWSVerifier verifier = verifiers.get(i);
+
+				if (verifier == null) {
+					continue;
+				}
+
+				if (signedJWT.verify(verifier)) {
+					return keys.get(i);
+				}
+
+				if (i == verifiers.size() - 1) {
+					// No more keys to try out
+					throw INVALID_SIGNATURE;
+				}
+			}
+
+			throw NO_MATCHING_VERIFIERS_EXCEPTION;
+		}
+	}
+
+
 	@Override
 	public JWSKeySelector<C> getJWSKeySelector() {
 
@@ -193,6 +549,157 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 	}
 
 
+	/**
+	 * Gets the pre-verifier of signed JWTs.
+	 *
+	 * @return The JWT pre-verifier, {@code null} if disabled.
+	 */
+	public JWTPreVerifier getJWTPreVerifier() {
+
+		return preVerifier;
+	}
+
+
+	/**
+	 * Sets the pre-verifier of signed JWTs. It is called before the key
+	 * selection and signature verification, to reject JWTs by cheap
+	 * checks. JWTs which pass it are verified as usual. The maximum token
+	 * length of a {@link DefaultJWTPreVerifier} is checked before JWTs
+	 * passed as strings or bytes are parsed.
+	 *
+	 * @param preVerifier The JWT pre-verifier, {@code null} to disable.
+	 */
+	public void setJWTPreVerifier(final JWTPreVerifier preVerifier) {
+
+		this.preVerifier = preVerifier;
+	}
+
+
+	/**
+	 * Gets the fork-join pool for batch processing.
+	 *
+	 * @return The fork-join pool, {@code null} if the default shared pool
+	 *         is used.
+	 */
+	public ForkJoinPool getForkJoinPool() {
+
+		return forkJoinPool;
+	}
+
+
+	/**
+	 * Sets the fork-join pool for batch processing.
+	 *
+	 * @param forkJoinPool The fork-join pool, {@code null} to use the
+	 *                     default shared pool.
+	 */
+	public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+
+		this.forkJoinPool = forkJoinPool;
+	}
+
+
+	/**
+	 * Gets the cache of verified signed JWTs.
+	 *
+	 * @return The verified JWT cache, {@code null} if disabled.
+	 */
+	public VerifiedJWTCache getVerifiedJWTCache() {
+
+		return verifiedJWTCache;
+	}
+
+
+	/**
+	 * Sets the cache of verified signed JWTs. The cache is used by the
+	 * process methods which accept a JWT string or bytes. When a cached
+	 * JWT is encountered the claims verifier is run again and the
+	 * {@link #getJWSKeySelector() JWS key selector} is called to check
+	 * that the key which verified the JWT is still a candidate. JWTs
+	 * which aren't cached yet are processed with
+	 * {@link #process(JWT, SecurityContext)} as usual, including any
+	 * overrides. A signed JWT is cached only if
+	 * {@link #process(SignedJWT, SecurityContext)} reports the key which
+	 * {@link #verifySignature} returned for it, an override which doesn't
+	 * call the super method thus disables the caching.
+	 *
+	 * @param verifiedJWTCache The verified JWT cache, {@code null} to
+	 *                         disable.
+	 */
+	public void setVerifiedJWTCache(final VerifiedJWTCache verifiedJWTCache) {
+
+		this.verifiedJWTCache = verifiedJWTCache;
+	}
+
+
+	/**
+	 * Gets the cache of rejected JWTs.
+	 *
+	 * @return The rejected JWT cache, {@code null} if disabled.
+	 */
+	public RejectedJWTCache getRejectedJWTCache() {
+
+		return rejectedJWTCache;
+	}
+
+
+	/**
+	 * Sets the cache of rejected JWTs. The cache is used by the process
+	 * methods which accept a JWT string or bytes. A JWT which was
+	 * definitively rejected, because of an invalid signature, expiration
+	 * or a JWS algorithm not accepted by the
+	 * {@link DefaultJWTPreVerifier}, is rejected again with the same
+	 * exception until its cache entry expires. Rejections which depend on
+	 * the context or time, such as no matching key or a JWT before its
+	 * use time, aren't cached.
+	 *
+	 * @param rejectedJWTCache The rejected JWT cache, {@code null} to
+	 *                         disable.
+	 */
+	public void setRejectedJWTCache(final RejectedJWTCache rejectedJWTCache) {
+
+		this.rejectedJWTCache = rejectedJWTCache;
+	}
+
+
+	/**
+	 * Checks the length of a JWT before it's parsed, if the
+	 * {@link #getJWTPreVerifier() pre-verifier} is a
+	 * {@link DefaultJWTPreVerifier} with a maximum token length.
+	 *
+	 * @param length The length of the JWT in characters or bytes.
+	 *
+	 * @throws BadJOSEException If the maximum token length is exceeded.
+	 */
+	private void checkLength(final int length)
+		throws BadJOSEException {
+
+		final JWTPreVerifier pv = getJWTPreVerifier();
+
+		if (pv instanceof DefaultJWTPreVerifier) {
+			((DefaultJWTPreVerifier)pv).checkLength(length);
+		}
+	}
+
+
+	/**
+	 * Returns {@code true} if the specified rejection of a JWT doesn't
+	 * depend on the context or time of processing and may thus be cached.
+	 *
+	 * @param e The rejection.
+	 *
+	 * @return {@code true} for an invalid signature, expired JWT or JWS
+	 *         algorithm not accepted, else {@code false}.
+	 */
+	private static boolean isDefinitiveRejection(final BadJOSEException e) {
+
+		return e == INVALID_SIGNATURE ||
+			e == DefaultJWTClaimsVerifier.EXPIRED_JWT_EXCEPTION ||
+			e == DefaultJWTPreVerifier.EXPIRED_JWT_EXCEPTION ||
+			e == DefaultJWTPreVerifier.ALGORITHM_NOT_ACCEPTED_EXCEPTION;
+	}
+
+
 	/**
 	 * Verifies the claims of the specified JWT.
 	 *
@@ -228,7 +735,300 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 	public JWTClaimsSet process(final String jwtString, final C context)
 		throws ParseException, BadJOSEException, JOSEException {
 
-		return process(JWTParser.parse(jwtString), context);
+		checkLength(jwtString.length());
+
+		if (verifiedJWTCache == null && rejectedJWTCache == null) {
+			return process(JWTParser.parse(jwtString), context);
+		}
+
+		final String cacheKey = VerifiedJWTCache.computeKey(jwtString);
+
+		JWTClaimsSet claimsSet = processCached(cacheKey, context);
+
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+
+		return processAndCache(JWTParser.parse(jwtString), cacheKey, context);
+	}
+
+
+	/**
+	 * Parses and processes the specified JWT (unsecured, signed or
+	 * encrypted) supplied as bytes, for example from an HTTP header,
+	 * without creating a string for the entire JWT.
+	 *
+	 * @param bytes   The byte array holding the JWT in compact format.
+	 *                Must not be {@code null}.
+	 * @param offset  The offset of the JWT in the array.
+	 * @param length  The length of the JWT in bytes.
+	 * @param context Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set on success.
+	 *
+	 * @throws ParseException   If the bytes couldn't be parsed to a valid
+	 *                          JWT.
+	 * @throws BadJOSEException If the JWT is rejected.
+	 * @throws JOSEException    If an internal processing exception is
+	 *                          encountered.
+	 */
+	public JWTClaimsSet process(final byte[] bytes, final int offset, final int length, final C context)
+		throws ParseException, BadJOSEException, JOSEException {
+
+		checkLength(length);
+
+		if (verifiedJWTCache == null && rejectedJWTCache == null) {
+			return process(JWTParser.parse(bytes, offset, length), context);
+		}
+
+		final String cacheKey = VerifiedJWTCache.computeKey(bytes, offset, length);
+
+		JWTClaimsSet claimsSet = processCached(cacheKey, context);
+
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+
+		return processAndCache(JWTParser.parse(bytes, offset, length), cacheKey, context);
+	}
+
+
+	/**
+	 * Parses and processes the specified JWT (unsecured, signed or
+	 * encrypted) supplied as the remaining bytes of a buffer. The position
+	 * of the buffer is not changed.
+	 *
+	 * @param buffer  The buffer holding the JWT in compact format. Must
+	 *                not be {@code null}.
+	 * @param context Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set on success.
+	 *
+	 * @throws ParseException   If the bytes couldn't be parsed to a valid
+	 *                          JWT.
+	 * @throws BadJOSEException If the JWT is rejected.
+	 * @throws JOSEException    If an internal processing exception is
+	 *                          encountered.
+	 */
+	public JWTClaimsSet process(final ByteBuffer buffer, final C context)
+		throws ParseException, BadJOSEException, JOSEException {
+
+		checkLength(buffer.remaining());
+
+		if (verifiedJWTCache == null && rejectedJWTCache == null) {
+			return process(JWTParser.parse(buffer), context);
+		}
+
+		final String cacheKey = VerifiedJWTCache.computeKey(buffer);
+
+		JWTClaimsSet claimsSet = processCached(cacheKey, context);
+
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+
+		return processAndCache(JWTParser.parse(buffer), cacheKey, context);
+	}
+
+
+	/**
+	 * Looks up the specified JWT in the rejected and verified JWT caches.
+	 * A cached verified JWT is returned after re-running the claims
+	 * verifier and checking that the key which verified the JWT is still
+	 * selected. Stale entries are removed.
+	 *
+	 * @param cacheKey The cache key of the JWT.
+	 * @param context  Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set, {@code null} if not cached or the key
+	 *         is no longer selected.
+	 *
+	 * @throws BadJOSEException If the JWT was recently rejected or the
+	 *                          cached JWT claims are rejected.
+	 * @throws JOSEException    If an internal processing exception is
+	 *                          encountered.
+	 */
+	private JWTClaimsSet processCached(final String cacheKey, final C context)
+		throws BadJOSEException, JOSEException {
+
+		final RejectedJWTCache rejectedCache = rejectedJWTCache;
+
+		if (rejectedCache != null) {
+
+			BadJOSEException rejection = rejectedCache.get(cacheKey);
+
+			if (rejection != null) {
+				throw rejection;
+			}
+		}
+
+		final VerifiedJWTCache cache = verifiedJWTCache;
+
+		if (cache == null) {
+			return null;
+		}
+
+		final VerifiedJWTCache.Entry entry = cache.get(cacheKey);
+
+		if (entry == null) {
+			return null;
+		}
+
+		if (getJWSKeySelector() == null) {
+			cache.remove(cacheKey);
+			return null;
+		}
+
+		List<? extends Key> keyCandidates = getJWSKeySelector().selectJWSKeys(entry.header, context);
+
+		if (keyCandidates == null || ! keyCandidates.contains(entry.key)) {
+			// Key removed or rotated
+			cache.remove(cacheKey);
+			return null;
+		}
+
+		if (getJWTClaimsVerifier() != null) {
+
+			try {
+				getJWTClaimsVerifier().verify(entry.claimsSet);
+
+			} catch (BadJWTException e) {
+				cache.remove(cacheKey);
+
+				if (rejectedCache != null && isDefinitiveRejection(e)) {
+					rejectedCache.put(cacheKey, e);
+				}
+
+				throw e;
+			}
+		}
+
+		return entry.claimsSet;
+	}
+
+
+	/**
+	 * Processes the specified JWT with {@link #process(JWT,
+	 * SecurityContext)}. Caches the claims if it's a signed JWT, the
+	 * verified JWT cache is enabled and the key which verified it was
+	 * reported by {@link #process(SignedJWT, SecurityContext)}. Caches
+	 * the exception if the JWT is definitively rejected and the rejected
+	 * JWT cache is enabled.
+	 *
+	 * @param jwt      The JWT. Must not be {@code null}.
+	 * @param cacheKey The cache key of the JWT.
+	 * @param context  Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set on success.
+	 *
+	 * @throws BadJOSEException If the JWT is rejected.
+	 * @throws JOSEException    If an internal processing exception is
+	 *                          encountered.
+	 */
+	private JWTClaimsSet processAndCache(final JWT jwt,
+					     final String cacheKey,
+					     final C context)
+		throws BadJOSEException, JOSEException {
+
+		final VerifiedJWTCache cache = verifiedJWTCache;
+
+		try {
+			if (cache == null || ! (jwt instanceof SignedJWT)) {
+				return process(jwt, context);
+			}
+
+			final VerifiedKeyRecord record = new VerifiedKeyRecord((SignedJWT)jwt);
+			final VerifiedKeyRecord outerRecord = verifiedKeyRecord.get();
+
+			verifiedKeyRecord.set(record);
+
+			JWTClaimsSet claimsSet;
+
+			try {
+				claimsSet = process(jwt, context);
+
+			} finally {
+				if (outerRecord != null) {
+					verifiedKeyRecord.set(outerRecord);
+				} else {
+					verifiedKeyRecord.remove();
+				}
+			}
+
+			if (record.key != null) {
+				cache.put(cacheKey, new VerifiedJWTCache.Entry(claimsSet, record.signedJWT.getHeader(), record.key));
+			}
+
+			return claimsSet;
+
+		} catch (BadJOSEException e) {
+
+			final RejectedJWTCache rejectedCache = rejectedJWTCache;
+
+			if (rejectedCache != null && isDefinitiveRejection(e)) {
+				rejectedCache.put(cacheKey, e);
+			}
+
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Parses and processes the specified JWTs (unsecured, signed or
+	 * encrypted) in parallel, in the {@link #getForkJoinPool configured
+	 * fork-join pool}. Intended for large batches, such as the offline
+	 * re-verification of archived JWTs.
+	 *
+	 * <p>Each JWT is processed with
+	 * {@link #process(String, SecurityContext)}, the results are thus the
+	 * same as for individual processing, including any overrides and the
+	 * verified and rejected JWT caches if set. Within the batch
+	 * {@link #verifySignature} selects the key candidates and creates the
+	 * verifiers once per distinct JWS header, which for JWTs from the same
+	 * issuer typically includes the same algorithm and key ID. The
+	 * verifiers must therefore be thread-safe, as are the verifiers of the
+	 * {@link DefaultJWSVerifierFactory default factory}.
+	 *
+	 * <p>The exceptions of a JWT, including unchecked exceptions from the
+	 * key selector, verifiers or claims verifier, are returned in its
+	 * result and don't affect the processing of the other JWTs.
+	 *
+	 * @param jwtStrings The JWTs in compact format. Must not be
+	 *                   {@code null} or contain {@code null} elements.
+	 * @param context    Optional context, {@code null} if not required.
+	 *                   Shared by the worker threads.
+	 *
+	 * @return The processing results, with the claims set or exception
+	 *         for each JWT, in the order of the input JWTs.
+	 */
+	public List<JWTProcessingResult> processAll(final Collection<String> jwtStrings, final C context) {
+
+		final String[] tokens = jwtStrings.toArray(new String[jwtStrings.size()]);
+		final JWTProcessingResult[] results = new JWTProcessingResult[tokens.length];
+
+		// The signed JWTs in the batch, grouped by encoded header
+		final ConcurrentMap<String,VerificationGroup> groups = new ConcurrentHashMap<>();
+
+		final ForkJoinPool pool = getForkJoinPool() != null ? getForkJoinPool() : DefaultForkJoinPoolHolder.POOL;
+
+		pool.invoke(new IndexRangeTask(new IndexedWork() {
+			@Override
+			public void run(final int index) {
+
+				batchVerificationGroups.set(groups);
+
+				try {
+					results[index] = new JWTProcessingResult(process(tokens[index], context));
+				} catch (ParseException | BadJOSEException | JOSEException | RuntimeException e) {
+					results[index] = new JWTProcessingResult(e);
+				} finally {
+					batchVerificationGroups.remove();
+				}
+			}
+		}, 0, tokens.length));
+
+		return Collections.unmodifiableList(Arrays.asList(results));
 	}
 
 
@@ -267,6 +1067,69 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 	public JWTClaimsSet process(final SignedJWT signedJWT, final C context)
 		throws BadJOSEException, JOSEException {
 
+		Key key = verifySignature(signedJWT, context);
+
+		JWTClaimsSet claimsSet = verifyAndReturnClaims(signedJWT);
+
+		// Report the key if the JWT is to be put in the verified JWT
+		// cache
+		VerifiedKeyRecord record = verifiedKeyRecord.get();
+
+		if (record != null && record.signedJWT == signedJWT) {
+			record.key = key;
+		}
+
+		return claimsSet;
+	}
+
+
+	/**
+	 * Pre-verifies the specified signed JWT if a pre-verifier is set, then
+	 * verifies its signature with the key candidates from the JWS key
+	 * selector. Called by {@link #process(SignedJWT, SecurityContext)},
+	 * which reports the returned key to the
+	 * {@link #getVerifiedJWTCache() verified JWT cache}. May be
+	 * overridden to perform additional checks.
+	 *
+	 * @param signedJWT The signed JWT. Must not be {@code null}.
+	 * @param context   Optional context, {@code null} if not required.
+	 *
+	 * @return The key which verified the signature.
+	 *
+	 * @throws BadJOSEException If the JWT is rejected by the pre-verifier,
+	 *                          the signature is invalid or no matching
+	 *                          key was found.
+	 * @throws JOSEException    If an internal processing exception is
+	 *                          encountered.
+	 */
+	protected Key verifySignature(final SignedJWT signedJWT, final C context)
+		throws BadJOSEException, JOSEException {
+
+		if (getJWTPreVerifier() != null) {
+			// Reject early, before the key selection and signature
+			// verification
+			getJWTPreVerifier().preVerify(signedJWT);
+		}
+
+		final ConcurrentMap<String,VerificationGroup> groups = batchVerificationGroups.get();
+
+		if (groups != null) {
+			// Batch, select the keys once per distinct header
+			String encodedHeader = signedJWT.getHeader().toBase64URL().toString();
+
+			VerificationGroup group = groups.get(encodedHeader);
+
+			if (group == null) {
+				group = new VerificationGroup(signedJWT.getHeader());
+				VerificationGroup existing = groups.putIfAbsent(encodedHeader, group);
+				if (existing != null) {
+					group = existing;
+				}
+			}
+
+			return group.verify(signedJWT, context);
+		}
+
 		if (getJWSKeySelector() == null) {
 			// JWS key selector may have been deliberately omitted
 			throw NO_JWS_KEY_SELECTOR_EXCEPTION;
@@ -286,7 +1149,9 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 
 		while (it.hasNext()) {
 
-			JWSVerifier verifier = getJWSVerifierFactory().createJWSVerifier(signedJWT.getHeader(), it.next());
+			final Key key = it.next();
+
+			JWSVerifier verifier = getJWSVerifierFactory().createJWSVerifier(signedJWT.getHeader(), key);
 
 			if (verifier == null) {
 				continue;
@@ -295,7 +1160,7 @@ public class DefaultJWTProcessor<C extends SecurityContext>
 			final boolean validSignature = signedJWT.verify(verifier);
 
 			if (validSignature) {
-				return verifyAndReturnClaims(signedJWT);
+				return key;
 			}
 
 			if (! it.hasNext()) {
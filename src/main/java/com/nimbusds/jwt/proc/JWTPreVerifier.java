@@ -0,0 +1,33 @@
+package com.nimbusds.jwt.proc;
+
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jwt.SignedJWT;
+
+
+/**
+ * Pre-verifier of signed JWTs. Intended to reject tokens by cheap checks,
+ * such as the algorithm, size and expiration, before the expensive
+ * signature verification during {@link JWTProcessor JWT processing}.
+ *
+ * <p>The checks are performed on the unverified JWT and must only be used
+ * to reject it. The signature of a JWT which passes the pre-verification
+ * is verified as usual.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public interface JWTPreVerifier {
+
+
+	/**
+	 * Performs cheap checks on the specified unverified signed JWT.
+	 *
+	 * @param signedJWT The signed JWT, with the signature not verified
+	 *                  yet. Not {@code null}.
+	 *
+	 * @throws BadJOSEException If the JWT is rejected.
+	 */
+	void preVerify(final SignedJWT signedJWT)
+		throws BadJOSEException;
+}
@@ -0,0 +1,101 @@
+package com.nimbusds.jwt.proc;
+
+
+import net.jcip.annotations.Immutable;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * The result of processing a JSON Web Token (JWT) in a batch: the claims
+ * set on success or the exception on failure.
+ *
+ * @see DefaultJWTProcessor#processAll
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@Immutable
+public final class JWTProcessingResult {
+
+
+	/**
+	 * The claims set, {@code null} on failure.
+	 */
+	private final JWTClaimsSet claimsSet;
+
+
+	/**
+	 * The exception, {@code null} on success.
+	 */
+	private final Exception exception;
+
+
+	/**
+	 * Creates a new successful JWT processing result.
+	 *
+	 * @param claimsSet The JWT claims set. Must not be {@code null}.
+	 */
+	public JWTProcessingResult(final JWTClaimsSet claimsSet) {
+
+		if (claimsSet == null) {
+			throw new IllegalArgumentException("The claims set must not be null");
+		}
+
+		this.claimsSet = claimsSet;
+		exception = null;
+	}
+
+
+	/**
+	 * Creates a new failed JWT processing result.
+	 *
+	 * @param exception The exception, typically a
+	 *                  {@link java.text.ParseException},
+	 *                  {@link com.nimbusds.jose.proc.BadJOSEException} or
+	 *                  {@link com.nimbusds.jose.JOSEException}, else an
+	 *                  unchecked exception. Must not be {@code null}.
+	 */
+	public JWTProcessingResult(final Exception exception) {
+
+		if (exception == null) {
+			throw new IllegalArgumentException("The exception must not be null");
+		}
+
+		claimsSet = null;
+		this.exception = exception;
+	}
+
+
+	/**
+	 * Returns {@code true} if the JWT was successfully processed.
+	 *
+	 * @return {@code true} on success, else {@code false}.
+	 */
+	public boolean isSuccess() {
+
+		return claimsSet != null;
+	}
+
+
+	/**
+	 * Returns the claims set of the successfully processed JWT.
+	 *
+	 * @return The JWT claims set, {@code null} on failure.
+	 */
+	public JWTClaimsSet getClaimsSet() {
+
+		return claimsSet;
+	}
+
+
+	/**
+	 * Returns the exception of the failed JWT processing.
+	 *
+	 * @return The exception, {@code null} on success.
+	 */
+	public Exception getException() {
+
+		return exception;
+	}
+}
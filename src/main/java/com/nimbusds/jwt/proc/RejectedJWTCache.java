@@ -0,0 +1,176 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.util.concurrent.TimeUnit;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.util.ExpiringLRUCache;
+
+
+/**
+ * Small, size-bounded cache of rejected JSON Web Tokens (JWTs), for use by
+ * the {@link DefaultJWTProcessor}. A token which is submitted again within
+ * the time-to-live is rejected with the cached exception, without being
+ * parsed and verified again, which blunts clients repeatedly sending the
+ * same expired or badly signed token.
+ *
+ * <p>The entries are keyed by the SHA-256 hash of the exact token string.
+ * The processor caches only rejections which don't depend on the context
+ * or the time of processing: an invalid signature, an expired token and a
+ * JWS algorithm which isn't accepted. Rejections which can become
+ * acceptances later, such as for a key not yet published by the key source
+ * or a token which isn't valid yet, are not cached. Nor are parse errors
+ * and internal processing exceptions.
+ *
+ * <p>The {@link #getHitCount() hit count} is the number of repeated
+ * rejected tokens and can be monitored for signs of an attack.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class RejectedJWTCache {
+
+
+	/**
+	 * The default maximum number of cached rejected tokens.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+
+	/**
+	 * The default time-to-live of cached rejected tokens (30 seconds).
+	 */
+	public static final long DEFAULT_TTL_SECONDS = 30;
+
+
+	/**
+	 * The cached exceptions.
+	 */
+	private final ExpiringLRUCache<String,BadJOSEException> cache;
+
+
+	/**
+	 * Creates a new rejected JWT cache with the
+	 * {@link #DEFAULT_MAX_ENTRIES default maximum number} of entries and
+	 * the {@link #DEFAULT_TTL_SECONDS default time-to-live}.
+	 */
+	public RejectedJWTCache() {
+
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+	}
+
+
+	/**
+	 * Creates a new rejected JWT cache.
+	 *
+	 * @param maxEntries The maximum number of cached rejected tokens.
+	 *                   Must be positive.
+	 * @param timeToLive The time-to-live of the cached rejected tokens.
+	 *                   Must be positive.
+	 * @param timeUnit   The time unit. Must not be {@code null}.
+	 */
+	public RejectedJWTCache(final int maxEntries,
+				final long timeToLive,
+				final TimeUnit timeUnit) {
+
+		if (timeToLive <= 0) {
+			throw new IllegalArgumentException("The time-to-live must be positive");
+		}
+
+		cache = new ExpiringLRUCache<>(maxEntries, timeToLive, timeUnit);
+	}
+
+
+	/**
+	 * Returns the cached exception for the specified key.
+	 *
+	 * @param key The cache key.
+	 *
+	 * @return The exception, {@code null} if none or expired.
+	 */
+	BadJOSEException get(final String key) {
+
+		return cache.get(key);
+	}
+
+
+	/**
+	 * Caches the specified exception.
+	 *
+	 * @param key       The cache key.
+	 * @param exception The exception.
+	 */
+	void put(final String key, final BadJOSEException exception) {
+
+		cache.put(key, exception);
+	}
+
+
+	/**
+	 * Returns the maximum number of cached rejected tokens.
+	 *
+	 * @return The maximum number of cached rejected tokens.
+	 */
+	public int getMaxEntries() {
+
+		return cache.getMaxEntries();
+	}
+
+
+	/**
+	 * Returns the time-to-live of the cached rejected tokens.
+	 *
+	 * @param timeUnit The time unit. Must not be {@code null}.
+	 *
+	 * @return The time-to-live.
+	 */
+	public long getTimeToLive(final TimeUnit timeUnit) {
+
+		return cache.getTimeToLive(timeUnit);
+	}
+
+
+	/**
+	 * Returns the number of cached rejected tokens.
+	 *
+	 * @return The number of cached rejected tokens.
+	 */
+	public int size() {
+
+		return cache.size();
+	}
+
+
+	/**
+	 * Returns the number of cache hits, i.e. of repeated rejected tokens.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHitCount() {
+
+		return cache.getHitCount();
+	}
+
+
+	/**
+	 * Returns the number of cache misses.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMissCount() {
+
+		return cache.getMissCount();
+	}
+
+
+	/**
+	 * Removes all cached rejected tokens.
+	 */
+	public void clear() {
+
+		cache.clear();
+	}
+}
@@ -0,0 +1,307 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.nio.ByteBuffer;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.ExpiringLRUCache;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * Size-bounded cache of the claims of successfully processed signed JSON
+ * Web Tokens (JWTs), for use by the {@link DefaultJWTProcessor}. Saves the
+ * parsing and signature verification of tokens which clients resend with
+ * each request.
+ *
+ * <p>The entries are keyed by the SHA-256 hash of the exact token string,
+ * so that the tokens themselves aren't retained. The entries expire after
+ * the configured time-to-live, but no later than the token expiration
+ * time. On each hit the processor re-runs its {@link JWTClaimsVerifier
+ * claims verifier} (for the expiration and not-before checks) and checks
+ * that the key which verified the token is still selected for its header,
+ * so that entries for keys removed from the key source are invalidated.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+@ThreadSafe
+public class VerifiedJWTCache {
+
+
+	/**
+	 * The default maximum number of cached tokens.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+
+	/**
+	 * The default time-to-live of cached tokens (5 minutes).
+	 */
+	public static final long DEFAULT_TTL_MINUTES = 5;
+
+
+	/**
+	 * Cache entry.
+	 */
+	static final class Entry {
+
+
+		/**
+		 * The verified claims set.
+		 */
+		final JWTClaimsSet claimsSet;
+
+
+		/**
+		 * The JWS header.
+		 */
+		final JWSHeader header;
+
+
+		/**
+		 * The key which verified the signature.
+		 */
+		final Key key;
+
+
+		/**
+		 * Creates a new cache entry.
+		 *
+		 * @param claimsSet The verified claims set.
+		 * @param header    The JWS header.
+		 * @param key       The key which verified the signature.
+		 */
+		Entry(final JWTClaimsSet claimsSet, final JWSHeader header, final Key key) {
+			this.claimsSet = claimsSet;
+			this.header = header;
+			this.key = key;
+		}
+	}
+
+
+	/**
+	 * The SHA-256 message digest of each thread.
+	 */
+	private static final ThreadLocal<MessageDigest> SHA256 = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}
+	};
+
+
+	/**
+	 * The cached entries.
+	 */
+	private final ExpiringLRUCache<String,Entry> cache;
+
+
+	/**
+	 * Creates a new verified JWT cache with the
+	 * {@link #DEFAULT_MAX_ENTRIES default maximum number} of entries and
+	 * the {@link #DEFAULT_TTL_MINUTES default time-to-live}.
+	 */
+	public VerifiedJWTCache() {
+
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MINUTES, TimeUnit.MINUTES);
+	}
+
+
+	/**
+	 * Creates a new verified JWT cache.
+	 *
+	 * @param maxEntries The maximum number of cached tokens. Must be
+	 *                   positive.
+	 * @param timeToLive The time-to-live of the cached tokens, -1 to
+	 *                   expire them at their expiration time only.
+	 * @param timeUnit   The time unit, may be {@code null} if the
+	 *                   time-to-live is -1.
+	 */
+	public VerifiedJWTCache(final int maxEntries,
+				final long timeToLive,
+				final TimeUnit timeUnit) {
+
+		cache = new ExpiringLRUCache<>(maxEntries, timeToLive, timeUnit);
+	}
+
+
+	/**
+	 * Computes the cache key for the specified token string.
+	 *
+	 * @param jwtString The token string. Must not be {@code null}.
+	 *
+	 * @return The cache key.
+	 */
+	static String computeKey(final String jwtString) {
+
+		return computeKey(jwtString.getBytes(Base64.CHARSET));
+	}
+
+
+	/**
+	 * Computes the cache key for the specified token bytes.
+	 *
+	 * @param bytes The token bytes. Must not be {@code null}.
+	 *
+	 * @return The cache key.
+	 */
+	static String computeKey(final byte[] bytes) {
+
+		return computeKey(bytes, 0, bytes.length);
+	}
+
+
+	/**
+	 * Computes the cache key for the specified token bytes.
+	 *
+	 * @param bytes  The byte array holding the token. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the token in the array.
+	 * @param length The length of the token in bytes.
+	 *
+	 * @return The cache key.
+	 */
+	static String computeKey(final byte[] bytes, final int offset, final int length) {
+
+		MessageDigest sha256 = SHA256.get();
+		sha256.update(bytes, offset, length);
+		return Base64URL.encode(sha256.digest()).toString();
+	}
+
+
+	/**
+	 * Computes the cache key for the remaining bytes of the specified
+	 * buffer. The position of the buffer is not changed.
+	 *
+	 * @param buffer The buffer holding the token. Must not be
+	 *               {@code null}.
+	 *
+	 * @return The cache key.
+	 */
+	static String computeKey(final ByteBuffer buffer) {
+
+		MessageDigest sha256 = SHA256.get();
+		sha256.update(buffer.duplicate());
+		return Base64URL.encode(sha256.digest()).toString();
+	}
+
+
+	/**
+	 * Returns the cached entry for the specified key.
+	 *
+	 * @param key The cache key.
+	 *
+	 * @return The entry, {@code null} if none or expired.
+	 */
+	Entry get(final String key) {
+
+		return cache.get(key);
+	}
+
+
+	/**
+	 * Caches the specified entry. The entry expires no later than the
+	 * token expiration time.
+	 *
+	 * @param key   The cache key.
+	 * @param entry The entry.
+	 */
+	void put(final String key, final Entry entry) {
+
+		final long exp = entry.claimsSet.getExpirationTime() != null ?
+			entry.claimsSet.getExpirationTime().getTime() : -1L;
+
+		cache.put(key, entry, exp);
+	}
+
+
+	/**
+	 * Removes the entry for the specified key.
+	 *
+	 * @param key The cache key.
+	 */
+	void remove(final String key) {
+
+		cache.remove(key);
+	}
+
+
+	/**
+	 * Returns the maximum number of cached tokens.
+	 *
+	 * @return The maximum number of cached tokens.
+	 */
+	public int getMaxEntries() {
+
+		return cache.getMaxEntries();
+	}
+
+
+	/**
+	 * Returns the time-to-live of the cached tokens.
+	 *
+	 * @param timeUnit The time unit. Must not be {@code null}.
+	 *
+	 * @return The time-to-live, -1 if none.
+	 */
+	public long getTimeToLive(final TimeUnit timeUnit) {
+
+		return cache.getTimeToLive(timeUnit);
+	}
+
+
+	/**
+	 * Returns the number of cached tokens.
+	 *
+	 * @return The number of cached tokens.
+	 */
+	public int size() {
+
+		return cache.size();
+	}
+
+
+	/**
+	 * Returns the number of cache hits.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHitCount() {
+
+		return cache.getHitCount();
+	}
+
+
+	/**
+	 * Returns the number of cache misses.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMissCount() {
+
+		return cache.getMissCount();
+	}
+
+
+	/**
+	 * Removes all cached tokens, for example after a known key
+	 * compromise.
+	 */
+	public void clear() {
+
+		cache.clear();
+	}
+}
@@ -0,0 +1,202 @@
+package com.nimbusds.jose;
+
+
+import java.text.ParseException;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+
+
+/**
+ * Tests the header cache.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class HeaderCacheTest extends TestCase {
+
+
+	private static final String SECRET = "12345678901234567890123456789012";
+
+
+	@Override
+	public void tearDown() {
+
+		HeaderCache.setDefault(null);
+	}
+
+
+	private static String createSignedJWT(final String subject)
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(
+			new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(),
+			new JWTClaimsSet.Builder().subject(subject).build());
+		jwt.sign(new MACSigner(SECRET));
+		return jwt.serialize();
+	}
+
+
+	public void testDisabledByDefault()
+		throws Exception {
+
+		assertNull(HeaderCache.getDefault());
+
+		String s = createSignedJWT("alice");
+
+		assertNotSame(JWTParser.parse(s).getHeader(), JWTParser.parse(s).getHeader());
+	}
+
+
+	public void testConstructors() {
+
+		HeaderCache cache = new HeaderCache();
+		assertEquals(HeaderCache.DEFAULT_MAX_ENTRIES, cache.getMaxEntries());
+		assertEquals(0, cache.size());
+
+		assertEquals(10, new HeaderCache(10).getMaxEntries());
+	}
+
+
+	public void testJWTParserReusesHeader()
+		throws Exception {
+
+		HeaderCache cache = new HeaderCache();
+		HeaderCache.setDefault(cache);
+
+		SignedJWT alice = (SignedJWT)JWTParser.parse(createSignedJWT("alice"));
+		SignedJWT bob = (SignedJWT)JWTParser.parse(createSignedJWT("bob"));
+
+		assertSame(alice.getHeader(), bob.getHeader());
+		assertEquals("1", bob.getHeader().getKeyID());
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// The parsed objects are intact
+		assertEquals("bob", bob.getJWTClaimsSet().getSubject());
+		assertTrue(bob.verify(new MACVerifier(SECRET)));
+		assertTrue(alice.verify(new MACVerifier(SECRET)));
+	}
+
+
+	public void testAllParsersShareCache()
+		throws Exception {
+
+		HeaderCache.setDefault(new HeaderCache());
+
+		String s = createSignedJWT("alice");
+
+		JWSHeader header = JWSHeader.parse(JOSEObject.split(s)[0]);
+
+		assertSame(header, JWTParser.parse(s).getHeader());
+		assertSame(header, JOSEObject.parse(s).getHeader());
+		assertSame(header, SignedJWT.parse(s).getHeader());
+		assertSame(header, JWSObject.parse(s).getHeader());
+	}
+
+
+	public void testJWEHeader()
+		throws Exception {
+
+		HeaderCache.setDefault(new HeaderCache());
+
+		String s = "eyJhbGciOiJSU0ExXzUiLCJlbmMiOiJBMTI4Q0JDLUhTMjU2In0.abc.def.ghi.jkl";
+
+		EncryptedJWT jwt = (EncryptedJWT)JWTParser.parse(s);
+
+		assertSame(jwt.getHeader(), JWTParser.parse(s).getHeader());
+		assertSame(jwt.getHeader(), JOSEObject.parse(s).getHeader());
+		assertSame(jwt.getHeader(), JWEHeader.parse(new Base64URL("eyJhbGciOiJSU0ExXzUiLCJlbmMiOiJBMTI4Q0JDLUhTMjU2In0")));
+		assertEquals(s, JWTParser.parse(s).getParsedString());
+	}
+
+
+	public void testPlainHeaderNotCached()
+		throws Exception {
+
+		HeaderCache cache = new HeaderCache();
+		HeaderCache.setDefault(cache);
+
+		String s = new PlainJWT(new JWTClaimsSet.Builder().subject("alice").build()).serialize();
+
+		assertTrue(JWTParser.parse(s) instanceof PlainJWT);
+		assertTrue(JWTParser.parse(s) instanceof PlainJWT);
+
+		assertEquals(0, cache.size());
+
+		cache.put(PlainHeader.parse(JOSEObject.split(s)[0]));
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testHeaderNotFromParseNotCached() {
+
+		HeaderCache cache = new HeaderCache();
+		cache.put(new JWSHeader(JWSAlgorithm.HS256));
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testLongHeaderNotCached()
+		throws Exception {
+
+		HeaderCache cache = new HeaderCache();
+		HeaderCache.setDefault(cache);
+
+		StringBuilder sb = new StringBuilder();
+		for (int i=0; i < HeaderCache.MAX_HEADER_LENGTH; i++) {
+			sb.append('x');
+		}
+
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(sb.toString()).build();
+		JWSObject jwsObject = new JWSObject(header, new Payload("Hello world!"));
+		jwsObject.sign(new MACSigner(SECRET));
+		String s = jwsObject.serialize();
+
+		assertNotSame(JWSObject.parse(s).getHeader(), JWSObject.parse(s).getHeader());
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testBounded()
+		throws Exception {
+
+		HeaderCache cache = new HeaderCache(2);
+		HeaderCache.setDefault(cache);
+
+		for (int i=0; i < 5; i++) {
+			JWSHeader.parse(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("" + i).build().toBase64URL());
+		}
+
+		assertEquals(2, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testInvalidHeaderNotCached()
+		throws Exception {
+
+		HeaderCache cache = new HeaderCache();
+		HeaderCache.setDefault(cache);
+
+		try {
+			JWTParser.parse(Base64URL.encode("{\"alg\":\"HS256\",\"crit\":\"x\"}") + ".abc.def");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getMessage().startsWith("Invalid JWS header: "));
+		}
+
+		assertEquals(0, cache.size());
+	}
+}
@@ -2,6 +2,7 @@ package com.nimbusds.jose;
 
 
 import java.text.ParseException;
+import java.util.Arrays;
 
 import junit.framework.TestCase;
 
@@ -12,7 +13,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Tests JOSE object methods.
  *
  * @author Vladimir Dzhuvinov
- * @version 2014-02-04
+ * @version 2026-10-18
  */
 public class JOSEObjectTest extends TestCase {
 	
@@ -155,9 +156,121 @@ public class JOSEObjectTest extends TestCase {
 	}
 
 
+	public void testFindPartDelimiters()
+		throws Exception {
+
+		assertTrue(Arrays.equals(new int[]{3, 7}, JOSEObject.findPartDelimiters("abc.def.ghi")));
+		assertTrue(Arrays.equals(new int[]{0, 1}, JOSEObject.findPartDelimiters("..")));
+		assertTrue(Arrays.equals(new int[]{1, 3, 5, 7}, JOSEObject.findPartDelimiters(new StringBuilder("a.b.c.d.e"))));
+	}
+
+
+	public void testFindPartDelimitersInBytes()
+		throws Exception {
+
+		byte[] bytes = "Bearer abc.def.ghi".getBytes("US-ASCII");
+
+		assertTrue(Arrays.equals(new int[]{10, 14}, JOSEObject.findPartDelimiters(bytes, 7, bytes.length - 7)));
+
+		// Delimiters outside the range are ignored
+		bytes = "a.b.c.d.e.f".getBytes("US-ASCII");
+		assertTrue(Arrays.equals(new int[]{3, 5, 7, 9}, JOSEObject.findPartDelimiters(bytes, 2, 9)));
+	}
+
+
+	public void testFindPartDelimitersErrors() {
+
+		String[] invalid = { "abc", "abc.def", "a.b.c.d", "a.b.c.d.e.f" };
+		String[] messages = {
+			"Invalid serialized unsecured/JWS/JWE object: Missing part delimiters",
+			"Invalid serialized unsecured/JWS/JWE object: Missing second delimiter",
+			"Invalid serialized JWE object: Missing fourth delimiter",
+			"Invalid serialized unsecured/JWS/JWE object: Too many part delimiters"
+		};
+
+		for (int i=0; i < invalid.length; i++) {
+
+			try {
+				JOSEObject.findPartDelimiters(invalid[i]);
+				fail();
+			} catch (ParseException e) {
+				assertEquals(messages[i], e.getMessage());
+			}
+
+			try {
+				byte[] bytes = invalid[i].getBytes();
+				JOSEObject.findPartDelimiters(bytes, 0, bytes.length);
+				fail();
+			} catch (ParseException e) {
+				assertEquals(messages[i], e.getMessage());
+			}
+		}
+	}
+
+
 	public void testMIMETypes() {
 
 		assertEquals("application/jose; charset=UTF-8", JOSEObject.MIME_TYPE_COMPACT);
 		assertEquals("application/jose+json; charset=UTF-8", JOSEObject.MIME_TYPE_JS);
 	}
+
+
+	public void testParseDispatchesWithParsedHeader()
+		throws Exception {
+
+		String jwsHeader = Base64URL.encode("{\"alg\":\"HS256\"}").toString();
+		JOSEObject jwsObject = JOSEObject.parse(jwsHeader + ".YWJj.ZGVm");
+		assertTrue(jwsObject instanceof JWSObject);
+		assertEquals(jwsHeader, jwsObject.getHeader().getParsedBase64URL().toString());
+		assertEquals(JWSObject.State.SIGNED, ((JWSObject)jwsObject).getState());
+		assertEquals(jwsHeader + ".YWJj", new String(((JWSObject)jwsObject).getSigningInput(), "UTF-8"));
+
+		String jweHeader = Base64URL.encode("{\"alg\":\"dir\",\"enc\":\"A128GCM\"}").toString();
+		JOSEObject jweObject = JOSEObject.parse(jweHeader + "..aXY.Y2lwaGVy.dGFn");
+		assertTrue(jweObject instanceof JWEObject);
+		assertEquals(jweHeader, jweObject.getHeader().getParsedBase64URL().toString());
+		assertNull(((JWEObject)jweObject).getEncryptedKey());
+		assertEquals(JWEObject.State.ENCRYPTED, ((JWEObject)jweObject).getState());
+
+		String plainHeader = Base64URL.encode("{\"alg\":\"none\"}").toString();
+		JOSEObject plainObject = JOSEObject.parse(plainHeader + ".YWJj.");
+		assertTrue(plainObject instanceof PlainObject);
+		assertEquals(plainHeader, plainObject.getHeader().getParsedBase64URL().toString());
+		assertEquals("abc", plainObject.getPayload().toString());
+	}
+
+
+	public void testParseInvalidJWEHeader() {
+
+		String jweHeader = Base64URL.encode("{\"alg\":\"dir\",\"enc\":\"A128GCM\",\"zip\":1}").toString();
+
+		try {
+			JOSEObject.parse(jweHeader + "..aXY.Y2lwaGVy.dGFn");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getMessage().startsWith("Invalid JWE header: "));
+		}
+	}
+
+
+	public void testParseHeader()
+		throws Exception {
+
+		String jwsHeader = Base64URL.encode("{\"alg\":\"HS256\"}").toString();
+		Base64URL[] parts = JOSEObject.split(jwsHeader + ".YWJj.c2ln");
+		Header header = JOSEObject.parseHeader(parts);
+		assertTrue(header instanceof JWSHeader);
+		assertEquals(JWSAlgorithm.HS256, header.getAlgorithm());
+		assertEquals(jwsHeader, header.getParsedBase64URL().toString());
+
+		String plainHeader = Base64URL.encode("{\"alg\":\"none\"}").toString();
+		assertTrue(JOSEObject.parseHeader(JOSEObject.split(plainHeader + ".YWJj.")) instanceof PlainHeader);
+
+		try {
+			JOSEObject.parseHeader(JOSEObject.split(jwsHeader + "..aXY.Y2lwaGVy.dGFn"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be three", e.getMessage());
+		}
+	}
 }
@@ -1,9 +1,14 @@
 package com.nimbusds.jose;
 
 
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 
 import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jose.util.Base64URL;
 
 
@@ -11,7 +16,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Tests JWS object methods.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-01-15
+ * @version 2026-10-18
  */
 public class JWSObjectTest extends TestCase {
 
@@ -55,4 +60,72 @@ public class JWSObjectTest extends TestCase {
 
 		assertEquals(output, jwsObject.serialize());
 	}
-}
\ No newline at end of file
+
+
+	public void testSigningInputCopy()
+		throws Exception {
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+
+		JWSObject jwsObject = new JWSObject(header, new Payload("Hello world!"));
+
+		byte[] signingInput = jwsObject.getSigningInput();
+
+		assertNotSame(signingInput, jwsObject.getSigningInput());
+		assertEquals(header.toBase64URL() + "." + Base64URL.encode("Hello world!"), new String(signingInput, "UTF-8"));
+
+		// Modifying the returned copy doesn't affect the JWS object
+		Arrays.fill(signingInput, (byte)'x');
+
+		jwsObject.sign(new MACSigner("12345678901234567890123456789012"));
+
+		JWSObject parsed = JWSObject.parse(jwsObject.serialize());
+
+		assertEquals(header.toBase64URL() + "." + Base64URL.encode("Hello world!"), new String(parsed.getSigningInput(), "UTF-8"));
+		Arrays.fill(parsed.getSigningInput(), (byte)'x');
+		assertEquals(jwsObject.serialize(), parsed.serialize());
+
+		// A verifier modifying the passed signing input doesn't affect
+		// the JWS object
+		MACVerifier modifyingVerifier = new MACVerifier("12345678901234567890123456789012") {
+			@Override
+			public boolean verify(final JWSHeader header, final byte[] signingInput, final Base64URL signature)
+				throws JOSEException {
+				boolean verified = super.verify(header, signingInput, signature);
+				Arrays.fill(signingInput, (byte)'x');
+				return verified;
+			}
+		};
+		assertTrue(parsed.verify(modifyingVerifier));
+		assertTrue(parsed.verify(modifyingVerifier));
+		assertEquals(jwsObject.serialize(), parsed.serialize());
+	}
+
+
+	public void testParseFromBytes()
+		throws Exception {
+
+		JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload("Hello world!"));
+		jwsObject.sign(new MACSigner("12345678901234567890123456789012"));
+		String s = jwsObject.serialize();
+
+		byte[] bytes = ("xx" + s + "yy").getBytes("US-ASCII");
+
+		JWSObject parsed = JWSObject.parse(bytes, 2, s.length());
+		assertEquals(s, parsed.serialize());
+		assertEquals("Hello world!", parsed.getPayload().toString());
+		assertTrue(parsed.verify(new MACVerifier("12345678901234567890123456789012")));
+
+		parsed = JWSObject.parse(ByteBuffer.wrap(bytes, 2, s.length()).slice());
+		assertEquals(s, parsed.serialize());
+
+		byte[] jwe = "a.b.c.d.e".getBytes("US-ASCII");
+
+		try {
+			JWSObject.parse(jwe, 0, jwe.length);
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be three", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,258 @@
+package com.nimbusds.jose.crypto;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import junit.framework.TestCase;
+import org.spongycastle.jce.provider.BouncyCastleProvider;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+
+
+/**
+ * Tests the JCA engine pool.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class JCAEnginePoolTest extends TestCase {
+
+
+	@Override
+	public void setUp() {
+
+		JCAEnginePool.setEnabled(true);
+	}
+
+
+	@Override
+	public void tearDown() {
+
+		JCAEnginePool.setEnabled(false);
+		JCAEnginePool.setEnabledForCurrentThread(false);
+		JCAEnginePool.clear();
+	}
+
+
+	public void testDisabled()
+		throws Exception {
+
+		JCAEnginePool.setEnabled(false);
+		assertFalse(JCAEnginePool.isEnabled());
+
+		Mac mac = JCAEnginePool.getMac("HmacSHA256", null);
+		assertNotSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+		assertNotSame(JCAEnginePool.getSignature("SHA256withRSA", null), JCAEnginePool.getSignature("SHA256withRSA", null));
+		assertNotSame(JCAEnginePool.getCipher("AESWrap", null), JCAEnginePool.getCipher("AESWrap", null));
+		assertNotSame(JCAEnginePool.getKeyAgreement("ECDH", null), JCAEnginePool.getKeyAgreement("ECDH", null));
+		assertEquals("HmacSHA256", mac.getAlgorithm());
+	}
+
+
+	public void testDisableReleasesPooledEngines()
+		throws Exception {
+
+		assertTrue(JCAEnginePool.isEnabled());
+
+		Mac mac = JCAEnginePool.getMac("HmacSHA256", null);
+		assertSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+
+		JCAEnginePool.setEnabled(false);
+		assertNotSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+
+		// Not pooled any longer
+		JCAEnginePool.setEnabled(true);
+		assertNotSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+	}
+
+
+	public void testEnabledForCurrentThread()
+		throws Exception {
+
+		JCAEnginePool.setEnabled(false);
+		assertFalse(JCAEnginePool.isEnabledForCurrentThread());
+
+		JCAEnginePool.setEnabledForCurrentThread(true);
+		assertTrue(JCAEnginePool.isEnabledForCurrentThread());
+		assertFalse(JCAEnginePool.isEnabled());
+
+		final Mac mac = JCAEnginePool.getMac("HmacSHA256", null);
+		assertSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+
+		// Not enabled for other threads
+		final AtomicReference<Boolean> otherThreadPooled = new AtomicReference<>();
+
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					otherThreadPooled.set(JCAEnginePool.isEnabledForCurrentThread() ||
+						JCAEnginePool.getMac("HmacSHA256", null) == JCAEnginePool.getMac("HmacSHA256", null));
+				} catch (Exception e) {
+					otherThreadPooled.set(Boolean.TRUE);
+				}
+			}
+		};
+		thread.start();
+		thread.join();
+		assertFalse(otherThreadPooled.get());
+
+		JCAEnginePool.setEnabledForCurrentThread(false);
+		assertFalse(JCAEnginePool.isEnabledForCurrentThread());
+		assertNotSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+
+		// Enabled for all threads
+		JCAEnginePool.setEnabled(true);
+		assertTrue(JCAEnginePool.isEnabledForCurrentThread());
+	}
+
+
+	public void testSameEnginesInSameThread()
+		throws Exception {
+
+		assertSame(JCAEnginePool.getSignature("SHA256withRSA", null), JCAEnginePool.getSignature("SHA256withRSA", null));
+		assertSame(JCAEnginePool.getMac("HmacSHA256", null), JCAEnginePool.getMac("HmacSHA256", null));
+		assertSame(JCAEnginePool.getCipher("AESWrap", null), JCAEnginePool.getCipher("AESWrap", null));
+		assertSame(JCAEnginePool.getKeyAgreement("ECDH", null), JCAEnginePool.getKeyAgreement("ECDH", null));
+	}
+
+
+	public void testEnginesPerAlgorithm()
+		throws Exception {
+
+		Signature rs256 = JCAEnginePool.getSignature("SHA256withRSA", null);
+		Signature rs512 = JCAEnginePool.getSignature("SHA512withRSA", null);
+		assertNotSame(rs256, rs512);
+		assertEquals("SHA256withRSA", rs256.getAlgorithm());
+		assertEquals("SHA512withRSA", rs512.getAlgorithm());
+
+		Mac hs256 = JCAEnginePool.getMac("HmacSHA256", null);
+		Mac hs512 = JCAEnginePool.getMac("HmacSHA512", null);
+		assertNotSame(hs256, hs512);
+	}
+
+
+	public void testEnginesPerProvider()
+		throws Exception {
+
+		Provider bc = new BouncyCastleProvider();
+
+		Cipher defaultCipher = JCAEnginePool.getCipher("AES/CBC/PKCS5Padding", null);
+		Cipher bcCipher = JCAEnginePool.getCipher("AES/CBC/PKCS5Padding", bc);
+		assertNotSame(defaultCipher, bcCipher);
+		assertSame(bc, bcCipher.getProvider());
+		assertSame(bcCipher, JCAEnginePool.getCipher("AES/CBC/PKCS5Padding", bc));
+
+		// Providers are compared by identity
+		assertNotSame(bcCipher, JCAEnginePool.getCipher("AES/CBC/PKCS5Padding", new BouncyCastleProvider()));
+	}
+
+
+	public void testEnginesPerThread()
+		throws Exception {
+
+		final Mac mac = JCAEnginePool.getMac("HmacSHA256", null);
+
+		final AtomicReference<Mac> otherMac = new AtomicReference<>();
+
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					otherMac.set(JCAEnginePool.getMac("HmacSHA256", null));
+				} catch (Exception e) {
+					fail(e.getMessage());
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+
+		assertNotNull(otherMac.get());
+		assertNotSame(mac, otherMac.get());
+	}
+
+
+	public void testClear()
+		throws Exception {
+
+		Mac mac = JCAEnginePool.getMac("HmacSHA256", null);
+		JCAEnginePool.clear();
+		assertNotSame(mac, JCAEnginePool.getMac("HmacSHA256", null));
+	}
+
+
+	public void testMacStateResetAfterInterruptedUse()
+		throws Exception {
+
+		byte[] key = "01234567890123456789012345678901".getBytes("UTF-8");
+		byte[] msg = "Hello, world!".getBytes("UTF-8");
+
+		byte[] expected = HMAC.compute("HmacSHA256", key, msg, null);
+
+		// Leave the pooled MAC with pending input
+		Mac mac = HMAC.getInitMac(new SecretKeySpec(key, "HmacSHA256"), null);
+		mac.update("garbage".getBytes("UTF-8"));
+
+		assertTrue(Arrays.equals(expected, HMAC.compute("HmacSHA256", key, msg, null)));
+	}
+
+
+	public void testSignatureRoundTripsWithPooledEngines()
+		throws Exception {
+
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		KeyPair keyPair1 = keyGen.generateKeyPair();
+		KeyPair keyPair2 = keyGen.generateKeyPair();
+
+		RSASSASigner signer1 = new RSASSASigner(keyPair1.getPrivate());
+		RSASSASigner signer2 = new RSASSASigner(keyPair2.getPrivate());
+		RSASSAVerifier verifier1 = new RSASSAVerifier((RSAPublicKey)keyPair1.getPublic());
+		RSASSAVerifier verifier2 = new RSASSAVerifier((RSAPublicKey)keyPair2.getPublic());
+
+		for (int i=0; i < 3; i++) {
+
+			JWSObject jws1 = new JWSObject(new JWSHeader(JWSAlgorithm.RS256), new Payload("one-" + i));
+			jws1.sign(signer1);
+			JWSObject jws2 = new JWSObject(new JWSHeader(JWSAlgorithm.RS256), new Payload("two-" + i));
+			jws2.sign(signer2);
+
+			assertTrue(jws1.verify(verifier1));
+			assertTrue(jws2.verify(verifier2));
+			assertFalse(jws1.verify(verifier2));
+			assertFalse(jws2.verify(verifier1));
+		}
+	}
+
+
+	public void testKeyAgreementWithPooledEngine()
+		throws Exception {
+
+		assertEquals("ECDH", JCAEnginePool.getKeyAgreement("ECDH", null).getAlgorithm());
+
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+		keyGen.initialize(256);
+		KeyPair keyPair1 = keyGen.generateKeyPair();
+		KeyPair keyPair2 = keyGen.generateKeyPair();
+
+		SecretKey z1 = ECDH.deriveSharedSecret((ECPublicKey)keyPair2.getPublic(), (ECPrivateKey)keyPair1.getPrivate(), null);
+		SecretKey z2 = ECDH.deriveSharedSecret((ECPublicKey)keyPair1.getPublic(), (ECPrivateKey)keyPair2.getPrivate(), null);
+		assertTrue(Arrays.equals(z1.getEncoded(), z2.getEncoded()));
+	}
+}
@@ -1,12 +1,23 @@
 package com.nimbusds.jose.crypto;
 
 
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
 import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import javax.crypto.Mac;
+import javax.crypto.MacSpi;
+
 import junit.framework.TestCase;
 
 import com.nimbusds.jose.*;
@@ -18,11 +29,83 @@ import com.nimbusds.jose.util.Base64URL;
  * Tests HMAC JWS signing and verification. Uses test vectors from JWS spec.
  *
  * @author Vladimir Dzhuvinov
- * @version 2016-04-13
+ * @version 2026-10-18
  */
 public class MACTest extends TestCase {
 
 
+	/**
+	 * HMAC SHA-256 implementation which doesn't support cloning.
+	 */
+	public static class UncloneableHmacSHA256 extends MacSpi {
+
+
+		private final Mac mac;
+
+
+		public UncloneableHmacSHA256()
+			throws NoSuchAlgorithmException {
+
+			mac = Mac.getInstance("HmacSHA256");
+		}
+
+
+		@Override
+		protected int engineGetMacLength() {
+			return mac.getMacLength();
+		}
+
+
+		@Override
+		protected void engineInit(final Key key, final AlgorithmParameterSpec params)
+			throws InvalidKeyException, InvalidAlgorithmParameterException {
+			mac.init(key, params);
+		}
+
+
+		@Override
+		protected void engineUpdate(final byte input) {
+			mac.update(input);
+		}
+
+
+		@Override
+		protected void engineUpdate(final byte[] input, final int offset, final int len) {
+			mac.update(input, offset, len);
+		}
+
+
+		@Override
+		protected byte[] engineDoFinal() {
+			return mac.doFinal();
+		}
+
+
+		@Override
+		protected void engineReset() {
+			mac.reset();
+		}
+	}
+
+
+	/**
+	 * Provider of the uncloneable HMAC SHA-256 implementation.
+	 */
+	private static class UncloneableMACProvider extends Provider {
+
+
+		private static final long serialVersionUID = 1L;
+
+
+		// The String version constructor isn't available before Java 9
+		@SuppressWarnings("deprecation")
+		private UncloneableMACProvider() {
+			super("UncloneableMAC", 1.0, "Uncloneable HMAC for tests");
+			put("Mac.HMACSHA256", UncloneableHmacSHA256.class.getName());
+		}
+	}
+
+
 	private static final byte[] sharedSecret = 
 
 		{ (byte)   3, (byte)  35, (byte)  53, (byte)  75, (byte)  43, (byte)  15, (byte) 165, (byte) 188, 
@@ -436,4 +519,98 @@ public class MACTest extends TestCase {
 		JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS384), new Payload("Hello world!"));
 		jwsObject.sign(signer);
 	}
+
+
+	public void testRepeatedSignAndVerifyWithMACPrototype()
+		throws Exception {
+
+		byte[] secret = new byte[64];
+		new SecureRandom().nextBytes(secret);
+
+		MACSigner signer = new MACSigner(secret);
+		MACVerifier verifier = new MACVerifier(secret);
+
+		for (JWSAlgorithm alg: MACProvider.SUPPORTED_ALGORITHMS) {
+
+			for (int i=0; i < 3; i++) {
+
+				byte[] signingInput = ("message-" + i).getBytes("UTF-8");
+
+				Base64URL sig = signer.sign(new JWSHeader(alg), signingInput);
+
+				byte[] expected = HMAC.compute(MACProvider.getJCAAlgorithmName(alg), secret, signingInput, null);
+				assertTrue(Arrays.equals(expected, sig.decode()));
+
+				assertTrue(verifier.verify(new JWSHeader(alg), signingInput, sig));
+				assertFalse(verifier.verify(new JWSHeader(alg), "other".getBytes("UTF-8"), sig));
+			}
+		}
+	}
+
+
+	public void testMACPrototypeWithChangedProvider()
+		throws Exception {
+
+		MACSigner signer = new MACSigner(sharedSecret);
+
+		assertEquals(b64sig, signer.sign(new JWSHeader(JWSAlgorithm.HS256), signable));
+
+		signer.getJCAContext().setProvider(new UncloneableMACProvider());
+
+		assertEquals(b64sig, signer.sign(new JWSHeader(JWSAlgorithm.HS256), signable));
+	}
+
+
+	public void testUncloneableMACFallback()
+		throws Exception {
+
+		Provider provider = new UncloneableMACProvider();
+
+		MACSigner signer = new MACSigner(sharedSecret);
+		signer.getJCAContext().setProvider(provider);
+		MACVerifier verifier = new MACVerifier(sharedSecret);
+		verifier.getJCAContext().setProvider(provider);
+
+		for (int i=0; i < 3; i++) {
+			Base64URL sig = signer.sign(new JWSHeader(JWSAlgorithm.HS256), signable);
+			assertEquals(b64sig, sig);
+			assertTrue(verifier.verify(new JWSHeader(JWSAlgorithm.HS256), signable, sig));
+		}
+	}
+
+
+	public void testConcurrentSignWithMACPrototype()
+		throws Exception {
+
+		final MACSigner signer = new MACSigner(sharedSecret);
+
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i=0; i < 8; i++) {
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j=0; j < 100; j++) {
+							assertEquals(b64sig, signer.sign(new JWSHeader(JWSAlgorithm.HS256), signable));
+						}
+					} catch (Throwable t) {
+						errors.add(t);
+					}
+				}
+			}));
+		}
+
+		for (Thread thread: threads) {
+			thread.start();
+		}
+
+		for (Thread thread: threads) {
+			thread.join();
+		}
+
+		assertTrue(errors.isEmpty());
+	}
 }
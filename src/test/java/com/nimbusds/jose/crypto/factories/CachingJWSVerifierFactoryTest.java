@@ -0,0 +1,166 @@
+package com.nimbusds.jose.crypto.factories;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import junit.framework.TestCase;
+
+
+/**
+ * Tests the caching JWS verifier factory.
+ */
+public class CachingJWSVerifierFactoryTest extends TestCase {
+
+
+	private static SecretKey generateSecretKey() {
+
+		byte[] keyBytes = new byte[64];
+		new SecureRandom().nextBytes(keyBytes);
+		return new SecretKeySpec(keyBytes, "HMACSHA256");
+	}
+
+
+	public void testConstants() {
+
+		assertEquals(1000, CachingJWSVerifierFactory.DEFAULT_MAX_VERIFIERS);
+		assertEquals(10L, CachingJWSVerifierFactory.DEFAULT_VERIFIER_TTL_MINUTES);
+	}
+
+
+	public void testDefaultConstructor() {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+
+		assertTrue(factory.getJWSVerifierFactory() instanceof DefaultJWSVerifierFactory);
+		assertEquals(DefaultJWSVerifierFactory.SUPPORTED_ALGORITHMS, factory.supportedJWSAlgorithms());
+		assertSame(factory.getJWSVerifierFactory().getJCAContext(), factory.getJCAContext());
+		assertEquals(1000, factory.getCache().getMaxEntries());
+		assertEquals(10L, factory.getCache().getTimeToLive(TimeUnit.MINUTES));
+	}
+
+
+	public void testReuseVerifier()
+		throws Exception {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+
+		SecretKey key = generateSecretKey();
+
+		JWSHeader hs256 = new JWSHeader(JWSAlgorithm.HS256);
+		JWSVerifier verifier = factory.createJWSVerifier(hs256, key);
+		assertSame(verifier, factory.createJWSVerifier(hs256, key));
+		assertSame(verifier, factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.HS256), key));
+
+		// Verify with cached verifier
+		JWSObject jwsObject = new JWSObject(hs256, new Payload("Hello, world!"));
+		jwsObject.sign(new MACSigner(key));
+		assertTrue(jwsObject.verify(factory.createJWSVerifier(hs256, key)));
+
+		// Other alg
+		assertNotSame(verifier, factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.HS512), key));
+
+		// Equal key, other instance
+		SecretKey keyCopy = new SecretKeySpec(key.getEncoded(), "HMACSHA256");
+		assertEquals(key, keyCopy);
+		assertNotSame(verifier, factory.createJWSVerifier(hs256, keyCopy));
+
+		assertEquals(3, factory.getCache().size());
+		assertEquals(3L, factory.getCache().getHitCount());
+	}
+
+
+	public void testProviderChange()
+		throws Exception {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+		RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.RS256);
+		JWSVerifier verifier = factory.createJWSVerifier(header, publicKey);
+		assertNull(verifier.getJCAContext().getProvider());
+
+		factory.getJCAContext().setProvider(BouncyCastleProviderSingleton.getInstance());
+
+		JWSVerifier bcVerifier = factory.createJWSVerifier(header, publicKey);
+		assertNotSame(verifier, bcVerifier);
+		assertEquals(BouncyCastleProviderSingleton.getInstance(), bcVerifier.getJCAContext().getProvider());
+		assertSame(bcVerifier, factory.createJWSVerifier(header, publicKey));
+	}
+
+
+	public void testBoundedSize()
+		throws Exception {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory(new DefaultJWSVerifierFactory(), 2, -1L, TimeUnit.SECONDS);
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+
+		SecretKey key1 = generateSecretKey();
+		JWSVerifier verifier1 = factory.createJWSVerifier(header, key1);
+
+		for (int i=0; i < 2; i++) {
+			factory.createJWSVerifier(header, generateSecretKey());
+		}
+
+		assertEquals(2, factory.getCache().size());
+		assertNotSame(verifier1, factory.createJWSVerifier(header, key1));
+	}
+
+
+	public void testExpiration()
+		throws Exception {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory(new DefaultJWSVerifierFactory(), 10, 100L, TimeUnit.MILLISECONDS);
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+		SecretKey key = generateSecretKey();
+
+		JWSVerifier verifier = factory.createJWSVerifier(header, key);
+		assertSame(verifier, factory.createJWSVerifier(header, key));
+
+		Thread.sleep(150L);
+
+		assertNotSame(verifier, factory.createJWSVerifier(header, key));
+	}
+
+
+	public void testErrorNotCached()
+		throws Exception {
+
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+
+		try {
+			factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.RS256), generateSecretKey());
+			fail();
+		} catch (KeyTypeException e) {
+			// ok
+		}
+
+		assertEquals(0, factory.getCache().size());
+	}
+
+
+	public void testRejectNullFactory() {
+
+		try {
+			new CachingJWSVerifierFactory((JWSVerifierFactory) null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The JWS verifier factory must not be null", e.getMessage());
+		}
+	}
+}
@@ -668,4 +668,31 @@ public class ECKeyTest extends TestCase {
 
 		assertEquals("rz4Ohmpxg-UOWIWqWKHlOe0bHSjNUFlHW5vwG_M7qYg", ecKey.computeThumbprint().toString());
 	}
-}
\ No newline at end of file
+
+
+	public void testMemoizedKeysPerProvider()
+		throws Exception {
+
+		ECKey key = new ECKey.Builder(ExampleKeyP256.CRV, ExampleKeyP256.X, ExampleKeyP256.Y)
+			.d(ExampleKeyP256.D)
+			.build();
+
+		ECPublicKey publicKey = key.toECPublicKey();
+		assertSame(publicKey, key.toECPublicKey());
+		assertSame(publicKey, key.toPublicKey());
+
+		ECPrivateKey privateKey = key.toECPrivateKey();
+		assertSame(privateKey, key.toECPrivateKey());
+		assertSame(privateKey, key.toPrivateKey());
+
+		// Other provider
+		ECPublicKey bcPublicKey = key.toECPublicKey(BouncyCastleProviderSingleton.getInstance());
+		assertNotSame(publicKey, bcPublicKey);
+		assertSame(bcPublicKey, key.toECPublicKey(BouncyCastleProviderSingleton.getInstance()));
+		assertEquals(publicKey.getW(), bcPublicKey.getW());
+
+		KeyPair bcKeyPair = key.toKeyPair(BouncyCastleProviderSingleton.getInstance());
+		assertSame(bcPublicKey, bcKeyPair.getPublic());
+		assertSame(bcKeyPair.getPrivate(), key.toECPrivateKey(BouncyCastleProviderSingleton.getInstance()));
+	}
+}
@@ -306,4 +306,83 @@ public class JWKSelectorTest extends TestCase {
 
 		assertEquals(1, matches.size());
 	}
+
+
+	public void testSelectByMultipleIDsPreservesOrder() {
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyIDs("3", "1").build());
+
+		List<JWK> keyList = new ArrayList<>();
+		for (int i=0; i < 5; i++) {
+			keyList.add(new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID(i + "").build());
+		}
+
+		List<JWK> matches = selector.select(new JWKSet(keyList));
+
+		assertEquals("1", matches.get(0).getKeyID());
+		assertEquals("3", matches.get(1).getKeyID());
+		assertEquals(2, matches.size());
+	}
+
+
+	public void testSelectFromLargeSet() {
+
+		List<JWK> keyList = new ArrayList<>();
+		for (int i=0; i < 500; i++) {
+			keyList.add(new RSAKey.Builder(new Base64URL("n"), new Base64URL("e"))
+				.keyID(i + "")
+				.keyUse(i % 2 == 0 ? KeyUse.SIGNATURE : KeyUse.ENCRYPTION)
+				.algorithm(i % 2 == 0 ? JWSAlgorithm.RS256 : null)
+				.build());
+		}
+		keyList.add(new OctetSequenceKey.Builder(new Base64URL("k")).keyID("oct").build());
+
+		JWKSet jwkSet = new JWKSet(keyList);
+
+		List<JWK> matches = new JWKSelector(new JWKMatcher.Builder().keyID("250").keyUse(KeyUse.SIGNATURE).build()).select(jwkSet);
+		assertEquals(1, matches.size());
+		assertEquals("250", matches.get(0).getKeyID());
+
+		matches = new JWKSelector(new JWKMatcher.Builder().keyID("251").keyUse(KeyUse.SIGNATURE).build()).select(jwkSet);
+		assertTrue(matches.isEmpty());
+
+		matches = new JWKSelector(new JWKMatcher.Builder().keyID("none").build()).select(jwkSet);
+		assertTrue(matches.isEmpty());
+
+		// Lookup with the base algorithm class
+		matches = new JWKSelector(new JWKMatcher.Builder().algorithm(new com.nimbusds.jose.Algorithm("RS256")).build()).select(jwkSet);
+		assertEquals(250, matches.size());
+		assertEquals("0", matches.get(0).getKeyID());
+		assertEquals("498", matches.get(249).getKeyID());
+
+		matches = new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.OCT).build()).select(jwkSet);
+		assertEquals(1, matches.size());
+		assertEquals("oct", matches.get(0).getKeyID());
+
+		matches = new JWKSelector(new JWKMatcher.Builder().keyUses(KeyUse.ENCRYPTION, null).build()).select(jwkSet);
+		assertEquals(251, matches.size());
+		assertEquals("1", matches.get(0).getKeyID());
+		assertEquals("oct", matches.get(250).getKeyID());
+	}
+
+
+	public void testSelectAfterKeyListModified() {
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("2").build());
+
+		JWKSet jwkSet = new JWKSet((JWK) new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("1").build());
+		assertTrue(selector.select(jwkSet).isEmpty());
+
+		jwkSet.getKeys().add(new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("2").build());
+		assertEquals(1, selector.select(jwkSet).size());
+
+		jwkSet.getKeys().set(1, new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("3").build());
+		assertTrue(selector.select(jwkSet).isEmpty());
+
+		jwkSet.getKeys().set(0, new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("2").build());
+		assertEquals(1, selector.select(jwkSet).size());
+
+		jwkSet.getKeys().clear();
+		assertTrue(selector.select(jwkSet).isEmpty());
+	}
 }
@@ -7,6 +7,7 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -717,4 +718,25 @@ public class JWKSetTest extends TestCase {
 
 		closeJadler();
 	}
+
+
+	public void testGetKeyByKeyIdAfterModification() {
+
+		RSAKey rsaKey1 = new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("1").build();
+		RSAKey rsaKey2 = new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).keyID("2").build();
+		RSAKey rsaKeyNoID = new RSAKey.Builder(new Base64URL("n"), new Base64URL("e")).build();
+
+		JWKSet jwkSet = new JWKSet(Arrays.asList((JWK) rsaKeyNoID, rsaKey1));
+		assertSame(rsaKey1, jwkSet.getKeyByKeyId("1"));
+		assertNull(jwkSet.getKeyByKeyId("2"));
+		assertNull(jwkSet.getKeyByKeyId(null));
+
+		jwkSet.getKeys().add(rsaKey2);
+		assertSame(rsaKey2, jwkSet.getKeyByKeyId("2"));
+
+		jwkSet.getKeys().remove(rsaKey1);
+		assertNull(jwkSet.getKeyByKeyId("1"));
+		assertSame(rsaKey2, jwkSet.getKeyByKeyId("2"));
+		assertEquals(2, jwkSet.getKeys().size());
+	}
 }
@@ -98,4 +98,29 @@ public class KeyConverterTest extends TestCase {
 
 		assertEquals(5, outList.size());
 	}
+
+
+	public void testConvertReturnsMemoizedKeys()
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		RSAKey rsaJWK = new RSAKey.Builder((RSAPublicKey)keyPair.getPublic()).build();
+
+		byte[] random = new byte[32];
+		new SecureRandom().nextBytes(random);
+
+		OctetSequenceKey octJWK = new OctetSequenceKey.Builder(random).build();
+
+		List<JWK> jwkList = Arrays.asList(rsaJWK, octJWK);
+
+		List<Key> outList1 = KeyConverter.toJavaKeys(jwkList);
+		List<Key> outList2 = KeyConverter.toJavaKeys(jwkList);
+
+		assertSame(outList1.get(0), outList2.get(0));
+		assertSame(outList1.get(1), outList2.get(1));
+		assertEquals(2, outList2.size());
+	}
 }
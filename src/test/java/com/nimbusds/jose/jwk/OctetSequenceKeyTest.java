@@ -422,4 +422,27 @@ public class OctetSequenceKeyTest extends TestCase {
 		new SecureRandom().nextBytes(keyMaterial);
 		assertEquals(24 * 8, new OctetSequenceKey.Builder(keyMaterial).build().size());
 	}
-}
\ No newline at end of file
+
+
+	public void testMemoizedSecretKey() {
+
+		byte[] keyBytes = new byte[32];
+		new SecureRandom().nextBytes(keyBytes);
+
+		OctetSequenceKey octJWK = new OctetSequenceKey.Builder(keyBytes).build();
+
+		SecretKey secretKey = octJWK.toSecretKey();
+		assertEquals("NONE", secretKey.getAlgorithm());
+		assertSame(secretKey, octJWK.toSecretKey());
+		assertSame(secretKey, octJWK.toSecretKey("NONE"));
+
+		SecretKey aesKey = octJWK.toSecretKey("AES");
+		assertEquals("AES", aesKey.getAlgorithm());
+		assertSame(aesKey, octJWK.toSecretKey("AES"));
+		assertTrue(Arrays.equals(keyBytes, aesKey.getEncoded()));
+
+		// Key value copy not affected
+		octJWK.toByteArray()[0] ^= 1;
+		assertTrue(Arrays.equals(keyBytes, octJWK.toSecretKey("AES").getEncoded()));
+	}
+}
@@ -976,4 +976,55 @@ public class RSAKeyTest extends TestCase {
 
 		assertEquals(2048, new RSAKey.Builder(new Base64URL(n), new Base64URL(e)).build().size());
 	}
+
+
+	public void testMemoizedKeys()
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		RSAKey rsaJWK = new RSAKey.Builder((RSAPublicKey)keyPair.getPublic())
+			.privateKey((RSAPrivateKey)keyPair.getPrivate())
+			.build();
+
+		RSAPublicKey publicKey = rsaJWK.toRSAPublicKey();
+		assertSame(publicKey, rsaJWK.toRSAPublicKey());
+		assertSame(publicKey, rsaJWK.toPublicKey());
+		assertSame(publicKey, rsaJWK.toKeyPair().getPublic());
+
+		RSAPrivateKey privateKey = rsaJWK.toRSAPrivateKey();
+		assertSame(privateKey, rsaJWK.toRSAPrivateKey());
+		assertSame(privateKey, rsaJWK.toPrivateKey());
+		assertSame(privateKey, rsaJWK.toKeyPair().getPrivate());
+
+		// Not memoized for the public JWK copy
+		RSAKey publicJWK = rsaJWK.toPublicJWK();
+		assertNotSame(publicKey, publicJWK.toRSAPublicKey());
+		assertEquals(publicKey, publicJWK.toRSAPublicKey());
+		assertNull(publicJWK.toRSAPrivateKey());
+	}
+
+
+	public void testMemoizedKeyNotSerialized()
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		RSAKey rsaJWK = new RSAKey.Builder((RSAPublicKey)keyPair.getPublic()).build();
+		RSAPublicKey publicKey = rsaJWK.toRSAPublicKey();
+
+		java.io.ByteArrayOutputStream bos = new java.io.ByteArrayOutputStream();
+		java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bos);
+		out.writeObject(rsaJWK);
+		out.close();
+
+		RSAKey deserialized = (RSAKey) new java.io.ObjectInputStream(new java.io.ByteArrayInputStream(bos.toByteArray())).readObject();
+
+		assertEquals(publicKey, deserialized.toRSAPublicKey());
+		assertSame(deserialized.toRSAPublicKey(), deserialized.toRSAPublicKey());
+	}
 }
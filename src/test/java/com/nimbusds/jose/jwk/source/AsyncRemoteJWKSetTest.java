@@ -0,0 +1,275 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.jadler.Jadler.*;
+import static org.junit.Assert.*;
+
+import com.nimbusds.jose.RemoteKeySourceException;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.AsyncCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class AsyncRemoteJWKSetTest {
+
+
+	private ExecutorService executor;
+
+
+	@Before
+	public void setUp() {
+		initJadler();
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+
+	@After
+	public void tearDown() {
+		closeJadler();
+		executor.shutdownNow();
+	}
+
+
+	private static RSAKey generateRSAKey(final String kid)
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		return new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+			.keyID(kid)
+			.build();
+	}
+
+
+	/**
+	 * Executor recording the tasks for running them later.
+	 */
+	private static class RecordingExecutor implements Executor {
+
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+
+		@Override
+		public void execute(final Runnable command) {
+			tasks.add(command);
+		}
+	}
+
+
+	@Test
+	public void testRetrieveFromStub()
+		throws Exception {
+
+		RSAKey rsaJWK1 = generateRSAKey("1");
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "application/json")
+			.withBody(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString());
+
+		RemoteJWKSet<SecurityContext> remoteJWKSet = new RemoteJWKSet<>(new URL("http://localhost:" + port() + "/jwks.json"));
+
+		AsyncRemoteJWKSet<SecurityContext> jwkSource = new AsyncRemoteJWKSet<>(remoteJWKSet, executor);
+		assertSame(remoteJWKSet, jwkSource.getRemoteJWKSet());
+		assertSame(executor, jwkSource.getExecutor());
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		final CountDownLatch done = new CountDownLatch(1);
+		final AtomicReference<List<JWK>> result = new AtomicReference<>();
+
+		Future<List<JWK>> future = jwkSource.get(selector, null, new AsyncCallback<List<JWK>>() {
+			@Override
+			public void completed(final List<JWK> matches) {
+				result.set(matches);
+				done.countDown();
+			}
+
+
+			@Override
+			public void failed(final Exception exception) {
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(5L, TimeUnit.SECONDS));
+		assertEquals(1, result.get().size());
+		assertEquals("1", result.get().get(0).getKeyID());
+		assertSame(result.get(), future.get());
+
+		// Cached JWK set, completes immediately
+		future = jwkSource.get(selector, null, null);
+		assertTrue(future.isDone());
+		assertEquals("1", future.get().get(0).getKeyID());
+	}
+
+
+	@Test
+	public void testCallingThreadNotBlocked()
+		throws Exception {
+
+		RSAKey rsaJWK1 = generateRSAKey("1");
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withBody(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString());
+
+		RemoteJWKSet<SecurityContext> remoteJWKSet = new RemoteJWKSet<>(new URL("http://localhost:" + port() + "/jwks.json"));
+
+		RecordingExecutor recordingExecutor = new RecordingExecutor();
+		AsyncRemoteJWKSet<SecurityContext> jwkSource = new AsyncRemoteJWKSet<>(remoteJWKSet, recordingExecutor);
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		// Retrieval deferred to executor
+		Future<List<JWK>> future = jwkSource.get(selector, null, null);
+		assertFalse(future.isDone());
+		assertNull(remoteJWKSet.getCachedJWKSet());
+		assertEquals(1, recordingExecutor.tasks.size());
+
+		recordingExecutor.tasks.get(0).run();
+		assertTrue(future.isDone());
+		assertEquals(1, future.get().size());
+
+		// Unknown key ID may force a refresh, deferred to executor
+		future = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("2").build()), null, null);
+		assertFalse(future.isDone());
+		assertEquals(2, recordingExecutor.tasks.size());
+
+		recordingExecutor.tasks.get(1).run();
+		assertTrue(future.get().isEmpty());
+	}
+
+
+	@Test
+	public void testRetrievalFailure()
+		throws Exception {
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/jwks.json")
+			.respond()
+			.withStatus(404);
+
+		RemoteJWKSet<SecurityContext> remoteJWKSet = new RemoteJWKSet<>(new URL("http://localhost:" + port() + "/jwks.json"));
+		AsyncRemoteJWKSet<SecurityContext> jwkSource = new AsyncRemoteJWKSet<>(remoteJWKSet, executor);
+
+		final CountDownLatch done = new CountDownLatch(1);
+		final AtomicReference<Exception> exception = new AtomicReference<>();
+
+		Future<List<JWK>> future = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("1").build()), null, new AsyncCallback<List<JWK>>() {
+			@Override
+			public void completed(final List<JWK> matches) {
+				done.countDown();
+			}
+
+
+			@Override
+			public void failed(final Exception e) {
+				exception.set(e);
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(5L, TimeUnit.SECONDS));
+		assertTrue(exception.get() instanceof RemoteKeySourceException);
+
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertSame(exception.get(), e.getCause());
+		}
+	}
+
+
+	@Test
+	public void testExecutorRejection()
+		throws Exception {
+
+		RemoteJWKSet<SecurityContext> remoteJWKSet = new RemoteJWKSet<>(new URL("http://localhost:" + port() + "/jwks.json"));
+
+		final RejectedExecutionException rejection = new RejectedExecutionException("Queue full");
+
+		AsyncRemoteJWKSet<SecurityContext> jwkSource = new AsyncRemoteJWKSet<>(remoteJWKSet, new Executor() {
+			@Override
+			public void execute(final Runnable command) {
+				throw rejection;
+			}
+		});
+
+		final AtomicReference<Exception> exception = new AtomicReference<>();
+
+		Future<List<JWK>> future = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("1").build()), null, new AsyncCallback<List<JWK>>() {
+			@Override
+			public void completed(final List<JWK> matches) {
+				fail();
+			}
+
+
+			@Override
+			public void failed(final Exception e) {
+				exception.set(e);
+			}
+		});
+
+		assertTrue(future.isDone());
+		assertFalse(future.isCancelled());
+		assertSame(rejection, exception.get());
+
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertSame(rejection, e.getCause());
+		}
+	}
+
+
+	@Test
+	public void testRejectNullArgs()
+		throws Exception {
+
+		try {
+			new AsyncRemoteJWKSet<>(null, executor);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The remote JWK set must not be null", e.getMessage());
+		}
+
+		try {
+			new AsyncRemoteJWKSet<>(new RemoteJWKSet<>(new URL("http://localhost/jwks.json")), null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The executor must not be null", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import junit.framework.TestCase;
+
+
+public class DefaultJWKSetCacheTest extends TestCase {
+
+
+	/**
+	 * The simulated current time, in milliseconds since the epoch.
+	 */
+	private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+
+	/**
+	 * Creates a new cache reading the simulated current time.
+	 */
+	private DefaultJWKSetCache createCache(final long lifespan,
+					       final long refreshAheadTime,
+					       final TimeUnit timeUnit) {
+
+		return new DefaultJWKSetCache(lifespan, refreshAheadTime, timeUnit) {
+			@Override
+			long currentTimeMillis() {
+				return now.get();
+			}
+		};
+	}
+
+
+	public void testDefaultConstants() {
+
+		assertEquals(5L, DefaultJWKSetCache.DEFAULT_LIFESPAN_MINUTES);
+		assertEquals(30L, DefaultJWKSetCache.DEFAULT_REFRESH_AHEAD_SECONDS);
+	}
+
+
+	public void testDefaultConstructor() {
+
+		DefaultJWKSetCache cache = new DefaultJWKSetCache();
+		assertEquals(5L, cache.getLifespan(TimeUnit.MINUTES));
+		assertEquals(30L, cache.getRefreshAheadTime(TimeUnit.SECONDS));
+		assertNull(cache.get());
+		assertEquals(-1L, cache.getPutTimestamp());
+		assertTrue(cache.requiresRefresh());
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet);
+		assertEquals(jwkSet, cache.get());
+		assertTrue(cache.getPutTimestamp() > 0L);
+		assertFalse(cache.requiresRefresh());
+
+		cache.put(null);
+		assertNull(cache.get());
+		assertEquals(-1L, cache.getPutTimestamp());
+	}
+
+
+	public void testNoExpiration() {
+
+		DefaultJWKSetCache cache = new DefaultJWKSetCache(-1L, 0L, null);
+		assertEquals(-1L, cache.getLifespan(TimeUnit.MILLISECONDS));
+		assertEquals(0L, cache.getRefreshAheadTime(TimeUnit.MILLISECONDS));
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet);
+		assertEquals(jwkSet, cache.get());
+		assertFalse(cache.requiresRefresh());
+	}
+
+
+	public void testExpiration()
+		throws Exception {
+
+		DefaultJWKSetCache cache = createCache(200L, 0L, TimeUnit.MILLISECONDS);
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet);
+		assertEquals(jwkSet, cache.get());
+		assertFalse(cache.requiresRefresh());
+
+		now.addAndGet(201L);
+
+		assertNull(cache.get());
+		assertTrue(cache.requiresRefresh());
+	}
+
+
+	public void testRefreshAhead()
+		throws Exception {
+
+		DefaultJWKSetCache cache = createCache(500L, 400L, TimeUnit.MILLISECONDS);
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet);
+		assertFalse(cache.requiresRefresh());
+
+		now.addAndGet(150L);
+
+		// Within refresh-ahead window, not expired yet
+		assertEquals(jwkSet, cache.get());
+		assertTrue(cache.requiresRefresh());
+	}
+
+
+	public void testRejectRefreshAheadExceedingLifespan() {
+
+		try {
+			new DefaultJWKSetCache(1L, 2L, TimeUnit.MINUTES);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The refresh-ahead time must not exceed the lifespan", e.getMessage());
+		}
+	}
+
+
+	public void testRejectNegativeRefreshAhead() {
+
+		try {
+			new DefaultJWKSetCache(1L, -1L, TimeUnit.MINUTES);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The refresh-ahead time must not be negative", e.getMessage());
+		}
+	}
+
+
+	public void testRejectMissingTimeUnit() {
+
+		try {
+			new DefaultJWKSetCache(1L, 0L, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The time unit must not be null", e.getMessage());
+		}
+	}
+
+
+	public void testPutWithLifespan()
+		throws Exception {
+
+		DefaultJWKSetCache cache = createCache(2L, 1L, TimeUnit.HOURS);
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet, 400L, TimeUnit.MILLISECONDS);
+		assertEquals(jwkSet, cache.get());
+		assertFalse(cache.requiresRefresh());
+
+		// Refresh-ahead time limited to half the lifespan
+		now.addAndGet(250L);
+		assertEquals(jwkSet, cache.get());
+		assertTrue(cache.requiresRefresh());
+
+		now.addAndGet(200L);
+		assertNull(cache.get());
+
+		// Configured lifespan restored
+		cache.put(jwkSet);
+		assertFalse(cache.requiresRefresh());
+		assertEquals(jwkSet, cache.get());
+	}
+
+
+	public void testPutWithLifespanOverridesNoExpiration()
+		throws Exception {
+
+		DefaultJWKSetCache cache = createCache(-1L, 0L, null);
+
+		JWKSet jwkSet = new JWKSet();
+		cache.put(jwkSet, 100L, TimeUnit.MILLISECONDS);
+		assertEquals(jwkSet, cache.get());
+
+		now.addAndGet(101L);
+		assertNull(cache.get());
+	}
+}
@@ -0,0 +1,89 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+import java.util.Collections;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.proc.SimpleSecurityContext;
+import junit.framework.TestCase;
+
+
+public class DefaultJWKSetURLResolverTest extends TestCase {
+
+
+	public void testConstants() {
+
+		assertEquals("jwks_uri", DefaultJWKSetURLResolver.JWK_SET_URL_PARAM);
+		assertEquals("iss", DefaultJWKSetURLResolver.ISSUER_PARAM);
+	}
+
+
+	public void testResolveFromJWKSetURLParam()
+		throws Exception {
+
+		DefaultJWKSetURLResolver<SimpleSecurityContext> resolver = new DefaultJWKSetURLResolver<>();
+		assertTrue(resolver.getIssuerJWKSetURLs().isEmpty());
+
+		URL url = new URL("https://c2id.com/jwks.json");
+
+		SimpleSecurityContext ctx = new SimpleSecurityContext();
+		ctx.put(DefaultJWKSetURLResolver.JWK_SET_URL_PARAM, url);
+		assertEquals(url, resolver.resolveJWKSetURL(ctx));
+
+		ctx.put(DefaultJWKSetURLResolver.JWK_SET_URL_PARAM, url.toString());
+		assertEquals(url, resolver.resolveJWKSetURL(ctx));
+
+		ctx.put(DefaultJWKSetURLResolver.JWK_SET_URL_PARAM, "invalid");
+		try {
+			resolver.resolveJWKSetURL(ctx);
+			fail();
+		} catch (KeySourceException e) {
+			assertTrue(e.getMessage().startsWith("Couldn't resolve JWK set URL: "));
+		}
+	}
+
+
+	public void testResolveFromTrustedIssuer()
+		throws Exception {
+
+		URL url = new URL("https://c2id.com/jwks.json");
+
+		DefaultJWKSetURLResolver<SimpleSecurityContext> resolver = new DefaultJWKSetURLResolver<>(
+			Collections.singletonMap("https://c2id.com", url));
+		assertEquals(url, resolver.getIssuerJWKSetURLs().get("https://c2id.com"));
+
+		SimpleSecurityContext ctx = new SimpleSecurityContext();
+		ctx.put(DefaultJWKSetURLResolver.ISSUER_PARAM, "https://c2id.com");
+		assertEquals(url, resolver.resolveJWKSetURL(ctx));
+
+		ctx.put(DefaultJWKSetURLResolver.ISSUER_PARAM, "https://evil.com");
+		try {
+			resolver.resolveJWKSetURL(ctx);
+			fail();
+		} catch (KeySourceException e) {
+			assertEquals("Couldn't resolve JWK set URL: Untrusted issuer https://evil.com", e.getMessage());
+		}
+	}
+
+
+	public void testMissingParams() {
+
+		DefaultJWKSetURLResolver<SecurityContext> resolver = new DefaultJWKSetURLResolver<>();
+
+		try {
+			resolver.resolveJWKSetURL(null);
+			fail();
+		} catch (KeySourceException e) {
+			assertEquals("Couldn't resolve JWK set URL: Missing context parameters", e.getMessage());
+		}
+
+		try {
+			resolver.resolveJWKSetURL(new SimpleSecurityContext());
+			fail();
+		} catch (KeySourceException e) {
+			assertEquals("Couldn't resolve JWK set URL: Missing context parameters", e.getMessage());
+		}
+	}
+}
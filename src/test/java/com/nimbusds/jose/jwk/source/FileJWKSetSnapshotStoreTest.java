@@ -0,0 +1,154 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+
+public class FileJWKSetSnapshotStoreTest extends TestCase {
+
+
+	private File dir;
+
+
+	@Override
+	public void setUp()
+		throws Exception {
+
+		dir = Files.createTempDirectory("jwks-snapshots").toFile();
+	}
+
+
+	@Override
+	public void tearDown() {
+
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File f: files) {
+				f.delete();
+			}
+		}
+		dir.delete();
+	}
+
+
+	public void testSaveAndLoad()
+		throws Exception {
+
+		FileJWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+		assertEquals(dir, store.getDirectory());
+
+		URL url = new URL("https://c2id.com/jwks.json");
+
+		assertNull(store.load(url));
+
+		Date lastModified = new Date(1000000000000L);
+		Date retrievalTime = new Date(1500000000000L);
+
+		store.save(url, new JWKSetSnapshot("{\"keys\":[]}", "\"abc\"", lastModified, retrievalTime));
+
+		assertTrue(store.getSnapshotFile(url).exists());
+		assertEquals(1, dir.listFiles().length);
+
+		JWKSetSnapshot snapshot = store.load(url);
+		assertEquals("{\"keys\":[]}", snapshot.getContent());
+		assertEquals("\"abc\"", snapshot.getETag());
+		assertEquals(lastModified, snapshot.getLastModified());
+		assertEquals(retrievalTime, snapshot.getRetrievalTime());
+
+		// Overwrite
+		store.save(url, new JWKSetSnapshot("{\"keys\":[{}]}", null, null, retrievalTime));
+		assertEquals(1, dir.listFiles().length);
+
+		snapshot = store.load(url);
+		assertEquals("{\"keys\":[{}]}", snapshot.getContent());
+		assertNull(snapshot.getETag());
+		assertNull(snapshot.getLastModified());
+		assertEquals(retrievalTime, snapshot.getRetrievalTime());
+	}
+
+
+	public void testCreateDirectory()
+		throws Exception {
+
+		File subDir = new File(dir, "sub");
+		FileJWKSetSnapshotStore store = new FileJWKSetSnapshotStore(subDir);
+
+		URL url = new URL("https://c2id.com/jwks.json");
+		store.save(url, new JWKSetSnapshot("{\"keys\":[]}", null, null, new Date()));
+		assertEquals("{\"keys\":[]}", store.load(url).getContent());
+
+		store.getSnapshotFile(url).delete();
+		subDir.delete();
+	}
+
+
+	public void testSnapshotFilePerURL()
+		throws Exception {
+
+		FileJWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url1 = new URL("https://c2id.com/jwks.json");
+		URL url2 = new URL("https://example.com/jwks.json");
+
+		assertFalse(store.getSnapshotFile(url1).equals(store.getSnapshotFile(url2)));
+
+		store.save(url1, new JWKSetSnapshot("{\"keys\":[]}", null, null, new Date()));
+		assertNull(store.load(url2));
+	}
+
+
+	public void testURLMismatch()
+		throws Exception {
+
+		FileJWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url1 = new URL("https://c2id.com/jwks.json");
+		URL url2 = new URL("https://example.com/jwks.json");
+
+		store.save(url1, new JWKSetSnapshot("{\"keys\":[]}", null, null, new Date()));
+
+		Files.move(store.getSnapshotFile(url1).toPath(), store.getSnapshotFile(url2).toPath());
+
+		try {
+			store.load(url2);
+			fail();
+		} catch (IOException e) {
+			assertTrue(e.getMessage().endsWith("URL mismatch"));
+		}
+	}
+
+
+	public void testInvalidSnapshot()
+		throws Exception {
+
+		FileJWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("https://c2id.com/jwks.json");
+
+		Files.write(store.getSnapshotFile(url).toPath(), "invalid".getBytes("UTF-8"));
+
+		try {
+			store.load(url);
+			fail();
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Invalid JWK set snapshot"));
+		}
+	}
+
+
+	public void testRejectNullDirectory() {
+
+		try {
+			new FileJWKSetSnapshotStore(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The snapshot directory must not be null", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.proc.SimpleSecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import junit.framework.TestCase;
+
+
+public class MultiIssuerJWKSourceTest extends TestCase {
+
+
+	/**
+	 * Resource retriever returning the JWK set for a URL and counting
+	 * the retrievals.
+	 */
+	private static class MapRetriever implements ResourceRetriever {
+
+
+		final Map<String,JWKSet> jwkSets = new ConcurrentHashMap<>();
+
+
+		final AtomicInteger count = new AtomicInteger();
+
+
+		@Override
+		public Resource retrieveResource(final URL url) {
+			count.incrementAndGet();
+			return new Resource(jwkSets.get(url.toString()).toJSONObject().toJSONString(), "application/json");
+		}
+	}
+
+
+	private static RSAKey generateRSAKey(final String kid)
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		return new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+			.keyID(kid)
+			.build();
+	}
+
+
+	private static SimpleSecurityContext issuerContext(final String iss) {
+
+		SimpleSecurityContext ctx = new SimpleSecurityContext();
+		ctx.put(DefaultJWKSetURLResolver.ISSUER_PARAM, iss);
+		return ctx;
+	}
+
+
+	public void testConstants() {
+
+		assertEquals(1000, MultiIssuerJWKSource.DEFAULT_MAX_JWK_SETS);
+		assertEquals(60L, MultiIssuerJWKSource.DEFAULT_JWK_SET_TTL_MINUTES);
+		assertEquals(4, MultiIssuerJWKSource.DEFAULT_REFRESH_THREADS);
+	}
+
+
+	public void testSelectByIssuer()
+		throws Exception {
+
+		RSAKey rsaJWK1 = generateRSAKey("1");
+		RSAKey rsaJWK2 = generateRSAKey("2");
+
+		URL url1 = new URL("https://one.example.com/jwks.json");
+		URL url2 = new URL("https://two.example.com/jwks.json");
+
+		MapRetriever retriever = new MapRetriever();
+		retriever.jwkSets.put(url1.toString(), new JWKSet((JWK) rsaJWK1));
+		retriever.jwkSets.put(url2.toString(), new JWKSet((JWK) rsaJWK2));
+
+		Map<String,URL> issuers = new HashMap<>();
+		issuers.put("https://one.example.com", url1);
+		issuers.put("https://two.example.com", url2);
+
+		DefaultJWKSetURLResolver<SimpleSecurityContext> resolver = new DefaultJWKSetURLResolver<>(issuers);
+
+		MultiIssuerJWKSource<SimpleSecurityContext> jwkSource = new MultiIssuerJWKSource.Builder<>(resolver)
+			.resourceRetriever(retriever)
+			.build();
+
+		assertEquals(resolver, jwkSource.getJWKSetURLResolver());
+		assertEquals(retriever, jwkSource.getResourceRetriever());
+		assertEquals(MultiIssuerJWKSource.DEFAULT_MAX_JWK_SETS, jwkSource.getMaxJWKSets());
+		assertEquals(0, jwkSource.getJWKSetCount());
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.RSA).build());
+
+		List<JWK> matches = jwkSource.get(selector, issuerContext("https://one.example.com"));
+		assertEquals(1, matches.size());
+		assertEquals("1", matches.get(0).getKeyID());
+
+		matches = jwkSource.get(selector, issuerContext("https://two.example.com"));
+		assertEquals(1, matches.size());
+		assertEquals("2", matches.get(0).getKeyID());
+
+		assertEquals(2, jwkSource.getJWKSetCount());
+		assertEquals(2, retriever.count.get());
+
+		// Cached
+		jwkSource.get(selector, issuerContext("https://one.example.com"));
+		assertEquals(2, retriever.count.get());
+		assertSame(jwkSource.getRemoteJWKSet(url1), jwkSource.getRemoteJWKSet(url1));
+		assertSame(retriever, jwkSource.getRemoteJWKSet(url1).getResourceRetriever());
+
+		try {
+			jwkSource.get(selector, issuerContext("https://evil.com"));
+			fail();
+		} catch (KeySourceException e) {
+			assertEquals("Couldn't resolve JWK set URL: Untrusted issuer https://evil.com", e.getMessage());
+		}
+	}
+
+
+	public void testLRUEviction()
+		throws Exception {
+
+		MapRetriever retriever = new MapRetriever();
+
+		MultiIssuerJWKSource<SimpleSecurityContext> jwkSource = new MultiIssuerJWKSource.Builder<>(new DefaultJWKSetURLResolver<SimpleSecurityContext>())
+			.resourceRetriever(retriever)
+			.maxJWKSets(2)
+			.build();
+
+		assertEquals(2, jwkSource.getMaxJWKSets());
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.RSA).build());
+
+		for (int i=0; i < 3; i++) {
+			URL url = new URL("https://" + i + ".example.com/jwks.json");
+			retriever.jwkSets.put(url.toString(), new JWKSet((JWK) generateRSAKey(i + "")));
+			SimpleSecurityContext ctx = new SimpleSecurityContext();
+			ctx.put(DefaultJWKSetURLResolver.JWK_SET_URL_PARAM, url);
+			assertEquals(1, jwkSource.get(selector, ctx).size());
+		}
+
+		assertEquals(2, jwkSource.getJWKSetCount());
+		assertEquals(3, retriever.count.get());
+
+		// Evicted JWK set retrieved again
+		SimpleSecurityContext ctx = new SimpleSecurityContext();
+		ctx.put(DefaultJWKSetURLResolver.JWK_SET_URL_PARAM, "https://0.example.com/jwks.json");
+		assertEquals(1, jwkSource.get(selector, ctx).size());
+		assertEquals(4, retriever.count.get());
+		assertEquals(2, jwkSource.getJWKSetCount());
+	}
+
+
+	public void testIdleTTLEviction()
+		throws Exception {
+
+		URL url = new URL("https://c2id.com/jwks.json");
+
+		MapRetriever retriever = new MapRetriever();
+		retriever.jwkSets.put(url.toString(), new JWKSet((JWK) generateRSAKey("1")));
+
+		MultiIssuerJWKSource<SimpleSecurityContext> jwkSource = new MultiIssuerJWKSource.Builder<>(new DefaultJWKSetURLResolver<SimpleSecurityContext>())
+			.resourceRetriever(retriever)
+			.jwkSetTTL(100L, TimeUnit.MILLISECONDS)
+			.build();
+
+		RemoteJWKSet<SimpleSecurityContext> remoteJWKSet = jwkSource.getRemoteJWKSet(url);
+		assertSame(remoteJWKSet, jwkSource.getRemoteJWKSet(url));
+
+		// Kept while in use
+		for (int i = 0; i < 4; i++) {
+			Thread.sleep(50L);
+			assertSame(remoteJWKSet, jwkSource.getRemoteJWKSet(url));
+		}
+
+		// Evicted when idle
+		Thread.sleep(150L);
+
+		assertNotSame(remoteJWKSet, jwkSource.getRemoteJWKSet(url));
+	}
+
+
+	public void testRejectNullResolver() {
+
+		try {
+			new MultiIssuerJWKSource.Builder<>(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The JWK set URL resolver must not be null", e.getMessage());
+		}
+	}
+
+
+	public void testRejectInvalidMaxJWKSets() {
+
+		try {
+			new MultiIssuerJWKSource.Builder<>(new DefaultJWKSetURLResolver<SimpleSecurityContext>()).maxJWKSets(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The maximum number of JWK sets must be positive", e.getMessage());
+		}
+	}
+}
@@ -1,25 +1,37 @@
 package com.nimbusds.jose.jwk.source;
 
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static net.jadler.Jadler.*;
 import static org.junit.Assert.*;
 
 import com.nimbusds.jose.RemoteKeySourceException;
 import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ConditionalResourceRetriever;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
 import net.jadler.Request;
 import net.jadler.stubbing.Responder;
 import net.jadler.stubbing.StubResponse;
@@ -31,6 +43,41 @@ import org.junit.Test;
 public class RemoteJWKSetTest {
 
 
+	/**
+	 * The simulated current time, in milliseconds since the epoch.
+	 */
+	private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+
+	/**
+	 * Builds a new remote JWK set reading the simulated current time.
+	 */
+	private <C extends SecurityContext> RemoteJWKSet<C> build(final RemoteJWKSet.Builder<C> builder) {
+
+		return new RemoteJWKSet<C>(builder) {
+			@Override
+			long currentTimeMillis() {
+				return now.get();
+			}
+		};
+	}
+
+
+	/**
+	 * Creates a new JWK set cache reading the simulated current time.
+	 */
+	private DefaultJWKSetCache createCache(final long lifespan,
+					       final long refreshAheadTime,
+					       final TimeUnit timeUnit) {
+
+		return new DefaultJWKSetCache(lifespan, refreshAheadTime, timeUnit) {
+			@Override
+			long currentTimeMillis() {
+				return now.get();
+			}
+		};
+	}
+
 
 	@Before
 	public void setUp() {
@@ -49,6 +96,9 @@ public class RemoteJWKSetTest {
 		assertEquals(250, RemoteJWKSet.DEFAULT_HTTP_CONNECT_TIMEOUT);
 		assertEquals(250, RemoteJWKSet.DEFAULT_HTTP_READ_TIMEOUT);
 		assertEquals(50 * 1024, RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT);
+		assertEquals(30L, RemoteJWKSet.DEFAULT_MIN_FORCED_REFRESH_INTERVAL_SECONDS);
+		assertEquals(1000, RemoteJWKSet.DEFAULT_UNKNOWN_KEY_ID_CACHE_SIZE);
+		assertEquals(60L, RemoteJWKSet.DEFAULT_UNKNOWN_KEY_ID_CACHE_TTL_SECONDS);
 	}
 
 
@@ -328,4 +378,1022 @@ public class RemoteJWKSetTest {
 			assertEquals("Read timed out", e.getCause().getMessage());
 		}
 	}
+
+
+	/**
+	 * Resource retriever returning a preset JWK set and counting the
+	 * retrievals.
+	 */
+	private static class CountingRetriever implements ResourceRetriever {
+
+
+		final AtomicInteger count = new AtomicInteger();
+
+
+		volatile JWKSet jwkSet;
+
+
+		CountingRetriever(final JWKSet jwkSet) {
+			this.jwkSet = jwkSet;
+		}
+
+
+		@Override
+		public Resource retrieveResource(final URL url) {
+			count.incrementAndGet();
+			return new Resource(jwkSet.toJSONObject().toJSONString(), "application/json");
+		}
+	}
+
+
+	/**
+	 * Executor running the tasks in the calling thread.
+	 */
+	private static final Executor SAME_THREAD_EXECUTOR = new Executor() {
+		@Override
+		public void execute(final Runnable command) {
+			command.run();
+		}
+	};
+
+
+	private static RSAKey generateRSAKey(final String kid)
+		throws Exception {
+
+		KeyPairGenerator pairGen = KeyPairGenerator.getInstance("RSA");
+		pairGen.initialize(1024);
+		KeyPair keyPair = pairGen.generateKeyPair();
+
+		return new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+			.keyID(kid)
+			.build();
+	}
+
+
+	@Test
+	public void testBuilderDefaults()
+		throws Exception {
+
+		URL jwkSetURL = new URL("http://localhost:" + port() + "/jwks.json");
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(jwkSetURL).build();
+
+		assertEquals(jwkSetURL, jwkSetSource.getJWKSetURL());
+		assertTrue(jwkSetSource.getResourceRetriever() instanceof DefaultResourceRetriever);
+		assertTrue(jwkSetSource.getJWKSetCache() instanceof DefaultJWKSetCache);
+		assertNull(jwkSetSource.getCachedJWKSet());
+	}
+
+
+	@Test
+	public void testRefetchAfterExpiration()
+		throws Exception {
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cache(createCache(200L, 0L, TimeUnit.MILLISECONDS)));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, retriever.count.get());
+
+		// Served from cache
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, retriever.count.get());
+
+		// Key revoked at the remote end
+		retriever.jwkSet = new JWKSet((JWK) generateRSAKey("2"));
+
+		now.addAndGet(250L);
+
+		assertNull(jwkSetSource.getCachedJWKSet());
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		// Expired set reloaded, then once more for the unknown key ID
+		assertEquals(3, retriever.count.get());
+		assertEquals("2", jwkSetSource.getCachedJWKSet().getKeys().get(0).getKeyID());
+	}
+
+
+	@Test
+	public void testRefreshAheadInBackground()
+		throws Exception {
+
+		RSAKey rsaJWK1 = generateRSAKey("1");
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) rsaJWK1));
+
+		final AtomicInteger backgroundTasks = new AtomicInteger();
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cache(createCache(10L, 9L, TimeUnit.SECONDS))
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					backgroundTasks.incrementAndGet();
+					SAME_THREAD_EXECUTOR.execute(command);
+				}
+			}));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, retriever.count.get());
+		assertEquals(0, backgroundTasks.get());
+
+		now.addAndGet(1100L);
+
+		// Within refresh-ahead window, cached set served, refresh in background
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, retriever.count.get());
+		assertEquals(1, backgroundTasks.get());
+
+		// Refreshed, no further background task required
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, retriever.count.get());
+		assertEquals(1, backgroundTasks.get());
+	}
+
+
+	@Test
+	public void testBackgroundRefreshErrorIgnored()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final AtomicInteger count = new AtomicInteger();
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(new ResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url)
+					throws IOException {
+					if (count.incrementAndGet() > 1) {
+						throw new IOException("Connection refused");
+					}
+					return new Resource(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString(), "application/json");
+				}
+			})
+			.cache(new DefaultJWKSetCache(10L, 10L, TimeUnit.SECONDS))
+			.refreshExecutor(SAME_THREAD_EXECUTOR)
+			.build();
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, count.get());
+	}
+
+
+	@Test
+	public void testConcurrentRetrievalsCoalesced()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final AtomicInteger count = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(new ResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url)
+					throws IOException {
+					count.incrementAndGet();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+					return new Resource(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString(), "application/json");
+				}
+			})
+			.build();
+
+		final JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		final int numThreads = 50;
+		final CountDownLatch started = new CountDownLatch(numThreads);
+		final AtomicInteger matches = new AtomicInteger();
+		Thread[] threads = new Thread[numThreads];
+
+		for (int i=0; i < numThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					started.countDown();
+					try {
+						matches.addAndGet(jwkSetSource.get(selector, null).size());
+					} catch (RemoteKeySourceException e) {
+						// Counted as no match
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		started.await();
+		Thread.sleep(200L);
+		release.countDown();
+
+		for (Thread t: threads) {
+			t.join();
+		}
+
+		assertEquals(1, count.get());
+		assertEquals(numThreads, matches.get());
+	}
+
+
+	@Test
+	public void testConcurrentRetrievalFailureShared()
+		throws Exception {
+
+		final AtomicInteger count = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(new ResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url)
+					throws IOException {
+					count.incrementAndGet();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+					throw new IOException("Connection refused");
+				}
+			})
+			.build();
+
+		final JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		final int numThreads = 10;
+		final CountDownLatch started = new CountDownLatch(numThreads);
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[numThreads];
+
+		for (int i=0; i < numThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					started.countDown();
+					try {
+						jwkSetSource.get(selector, null);
+					} catch (RemoteKeySourceException e) {
+						if ("Couldn't retrieve remote JWK set: Connection refused".equals(e.getMessage())) {
+							failures.incrementAndGet();
+						}
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		started.await();
+		Thread.sleep(200L);
+		release.countDown();
+
+		for (Thread t: threads) {
+			t.join();
+		}
+
+		assertEquals(1, count.get());
+		assertEquals(numThreads, failures.get());
+
+		// Next call makes a new attempt
+		try {
+			jwkSetSource.get(selector, null);
+			fail();
+		} catch (RemoteKeySourceException e) {
+			assertEquals(2, count.get());
+		}
+	}
+
+
+	@Test
+	public void testForcedRefreshRateLimited()
+		throws Exception {
+
+		RSAKey rsaJWK1 = generateRSAKey("1");
+		RSAKey rsaJWK2 = generateRSAKey("2");
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) rsaJWK1));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.minForcedRefreshInterval(300L, TimeUnit.MILLISECONDS));
+
+		// Initial retrieval + forced refresh for unknown key ID
+		assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("x").build()), null).isEmpty());
+		assertEquals(2, retriever.count.get());
+
+		// Rate limited
+		for (int i=0; i < 100; i++) {
+			assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("y" + i).build()), null).isEmpty());
+			assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("x").build()), null).isEmpty());
+		}
+		assertEquals(2, retriever.count.get());
+
+		// Known key still served from cache
+		assertEquals(1, jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("1").build()), null).size());
+		assertEquals(2, retriever.count.get());
+
+		// Key rotated in
+		retriever.jwkSet = new JWKSet(Arrays.asList((JWK) rsaJWK1, (JWK) rsaJWK2));
+
+		assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("2").build()), null).isEmpty());
+		assertEquals(2, retriever.count.get());
+
+		now.addAndGet(350L);
+
+		// Interval elapsed
+		assertEquals(1, jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("2").build()), null).size());
+		assertEquals(3, retriever.count.get());
+	}
+
+
+	@Test
+	public void testUnknownKeyIDCached()
+		throws Exception {
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.minForcedRefreshInterval(0L, TimeUnit.MILLISECONDS)
+			.unknownKeyIDCache(10, 200L, TimeUnit.MILLISECONDS));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("x").build());
+
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(2, retriever.count.get());
+
+		// Unknown key ID cached
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(2, retriever.count.get());
+
+		// Another unknown key ID, no rate limit, JWK set unchanged
+		assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("y").build()), null).isEmpty());
+		assertEquals(3, retriever.count.get());
+
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(3, retriever.count.get());
+
+		now.addAndGet(250L);
+
+		// Expired
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(4, retriever.count.get());
+
+		// Changed JWK set clears the cache
+		retriever.jwkSet = new JWKSet((JWK) generateRSAKey("2"));
+		assertTrue(jwkSetSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("y").build()), null).isEmpty());
+		assertEquals(5, retriever.count.get());
+
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(6, retriever.count.get());
+	}
+
+
+	@Test
+	public void testConditionalRetrieval()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final String jwkSetString = new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString();
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger notModifiedCount = new AtomicInteger();
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(new ConditionalResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url, final String eTag, final Date lastModified) {
+					count.incrementAndGet();
+					if ("\"v1\"".equals(eTag)) {
+						notModifiedCount.incrementAndGet();
+						return new Resource("", null, null, null, -1L, null, true);
+					}
+					return new Resource(jwkSetString, "application/json", "\"v1\"", null, -1L, null, false);
+				}
+
+				@Override
+				public Resource retrieveResource(final URL url) {
+					return retrieveResource(url, null, null);
+				}
+			})
+			.cache(createCache(100L, 0L, TimeUnit.MILLISECONDS)));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		JWKSet jwkSet = jwkSetSource.getCachedJWKSet();
+		assertEquals(1, count.get());
+		assertEquals(0, notModifiedCount.get());
+
+		now.addAndGet(150L);
+
+		// Revalidated, not parsed again
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, count.get());
+		assertEquals(1, notModifiedCount.get());
+		assertSame(jwkSet, jwkSetSource.getCachedJWKSet());
+
+		now.addAndGet(150L);
+
+		// ETag retained after not modified response
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(3, count.get());
+		assertEquals(2, notModifiedCount.get());
+		assertSame(jwkSet, jwkSetSource.getCachedJWKSet());
+	}
+
+
+	@Test
+	public void testUnchangedContentNotParsedAgain()
+		throws Exception {
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cache(createCache(100L, 0L, TimeUnit.MILLISECONDS)));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		JWKSet jwkSet = jwkSetSource.getCachedJWKSet();
+
+		now.addAndGet(150L);
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, retriever.count.get());
+		assertSame(jwkSet, jwkSetSource.getCachedJWKSet());
+	}
+
+
+	@Test
+	public void testCacheHeaderLifespan()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final AtomicInteger count = new AtomicInteger();
+
+		ResourceRetriever retriever = new ResourceRetriever() {
+			@Override
+			public Resource retrieveResource(final URL url) {
+				count.incrementAndGet();
+				return new Resource(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString(), "application/json", null, null, 0L, null, false);
+			}
+		};
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		// Lifespan set by max-age, raised to the minimum bound
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cacheHeaderLifespanBounds(100L, 1000L, TimeUnit.MILLISECONDS));
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, count.get());
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+
+		now.addAndGet(150L);
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		// Cache headers ignored, default lifespan of 5 minutes applies
+		count.set(0);
+		jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.honourCacheHeaders(false)
+			.cacheHeaderLifespanBounds(100L, 1000L, TimeUnit.MILLISECONDS));
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+
+		now.addAndGet(150L);
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, count.get());
+	}
+
+
+	@Test
+	public void testConditionalRetrievalWithDefaultRetriever()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final String jwkSetString = new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString();
+		final AtomicInteger notModifiedCount = new AtomicInteger();
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/jwks.json")
+			.respondUsing(new Responder() {
+				@Override
+				public StubResponse nextResponse(final Request request) {
+
+					if ("\"v1\"".equals(request.getHeaders().getValue("If-None-Match"))) {
+						notModifiedCount.incrementAndGet();
+						return StubResponse.builder()
+							.status(304)
+							.header("Cache-Control", "max-age=0")
+							.build();
+					}
+
+					return StubResponse.builder()
+						.status(200)
+						.header("Content-Type", "application/json")
+						.header("ETag", "\"v1\"")
+						.header("Cache-Control", "max-age=0")
+						.body(jwkSetString, Charset.forName("UTF-8"))
+						.build();
+				}
+			});
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost:" + port() + "/jwks.json"))
+			.resourceRetriever(new DefaultResourceRetriever(1000, 1000))
+			.cacheHeaderLifespanBounds(0L, 1L, TimeUnit.HOURS));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		List<JWK> matches = jwkSetSource.get(selector, null);
+		assertEquals(1, matches.size());
+		now.addAndGet(10L);
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, notModifiedCount.get());
+		now.addAndGet(10L);
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, notModifiedCount.get());
+
+		// Expired immediately, but not parsed again
+		now.addAndGet(10L);
+		assertNull(jwkSetSource.getCachedJWKSet());
+		assertEquals(rsaJWK1.getModulus(), ((RSAKey) matches.get(0)).getModulus());
+	}
+
+
+	/**
+	 * Resource retriever returning a preset JWK set, or failing when
+	 * set so.
+	 */
+	private static class FailingRetriever extends CountingRetriever {
+
+
+		volatile boolean fail = false;
+
+
+		FailingRetriever(final JWKSet jwkSet) {
+			super(jwkSet);
+		}
+
+
+		@Override
+		public Resource retrieveResource(final URL url) {
+			if (fail) {
+				count.incrementAndGet();
+				throw new IllegalStateException("Unexpected");
+			}
+			return super.retrieveResource(url);
+		}
+	}
+
+
+	@Test
+	public void testServeStaleWhileRevalidating()
+		throws Exception {
+
+		final RSAKey rsaJWK1 = generateRSAKey("1");
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger failAfter = new AtomicInteger(1);
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(new ResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url)
+					throws IOException {
+					if (count.incrementAndGet() > failAfter.get()) {
+						throw new IOException("Connection refused");
+					}
+					return new Resource(new JWKSet((JWK) rsaJWK1).toJSONObject().toJSONString(), "application/json");
+				}
+			})
+			.cache(createCache(100L, 0L, TimeUnit.MILLISECONDS))
+			.maxStaleness(1L, TimeUnit.HOURS)
+			.refreshExecutor(SAME_THREAD_EXECUTOR));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(RemoteJWKSet.CircuitState.CLOSED, jwkSetSource.getCircuitState());
+		assertEquals(0, jwkSetSource.getConsecutiveRetrievalFailures());
+		assertNull(jwkSetSource.getLastRetrievalException());
+
+		now.addAndGet(150L);
+
+		// Expired, outage, stale set served
+		assertNull(jwkSetSource.getCachedJWKSet());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, count.get());
+		assertEquals(RemoteJWKSet.CircuitState.HALF_OPEN, jwkSetSource.getCircuitState());
+		assertEquals(1, jwkSetSource.getConsecutiveRetrievalFailures());
+		assertEquals("Couldn't retrieve remote JWK set: Connection refused", jwkSetSource.getLastRetrievalException().getMessage());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(3, count.get());
+		assertEquals(2, jwkSetSource.getConsecutiveRetrievalFailures());
+
+		// Recovered
+		failAfter.set(Integer.MAX_VALUE);
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(4, count.get());
+		assertEquals(RemoteJWKSet.CircuitState.CLOSED, jwkSetSource.getCircuitState());
+		assertEquals(0, jwkSetSource.getConsecutiveRetrievalFailures());
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+	}
+
+
+	@Test
+	public void testMaxStalenessExceeded()
+		throws Exception {
+
+		FailingRetriever retriever = new FailingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cache(createCache(50L, 0L, TimeUnit.MILLISECONDS))
+			.maxStaleness(150L, TimeUnit.MILLISECONDS)
+			.refreshExecutor(SAME_THREAD_EXECUTOR));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+
+		retriever.fail = true;
+
+		now.addAndGet(100L);
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+
+		now.addAndGet(100L);
+
+		try {
+			jwkSetSource.get(selector, null);
+			fail();
+		} catch (RemoteKeySourceException e) {
+			assertEquals("Couldn't retrieve remote JWK set: Unexpected", e.getMessage());
+		}
+	}
+
+
+	@Test
+	public void testRetryBackoff()
+		throws Exception {
+
+		FailingRetriever retriever = new FailingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+		retriever.fail = true;
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.retryBackoff(200L, 300L, TimeUnit.MILLISECONDS));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		RemoteKeySourceException firstException = null;
+
+		try {
+			jwkSetSource.get(selector, null);
+			fail();
+		} catch (RemoteKeySourceException e) {
+			firstException = e;
+		}
+		assertEquals(1, retriever.count.get());
+		assertEquals(RemoteJWKSet.CircuitState.OPEN, jwkSetSource.getCircuitState());
+
+		// Fails fast within backoff
+		for (int i=0; i < 100; i++) {
+			try {
+				jwkSetSource.get(selector, null);
+				fail();
+			} catch (RemoteKeySourceException e) {
+				assertSame(firstException, e);
+			}
+		}
+		assertEquals(1, retriever.count.get());
+
+		now.addAndGet(250L);
+		assertEquals(RemoteJWKSet.CircuitState.HALF_OPEN, jwkSetSource.getCircuitState());
+
+		try {
+			jwkSetSource.get(selector, null);
+			fail();
+		} catch (RemoteKeySourceException e) {
+			assertNotSame(firstException, e);
+		}
+		assertEquals(2, retriever.count.get());
+		assertEquals(2, jwkSetSource.getConsecutiveRetrievalFailures());
+
+		// Doubled backoff capped at 300 ms
+		now.addAndGet(250L);
+		assertEquals(RemoteJWKSet.CircuitState.OPEN, jwkSetSource.getCircuitState());
+		now.addAndGet(100L);
+		assertEquals(RemoteJWKSet.CircuitState.HALF_OPEN, jwkSetSource.getCircuitState());
+
+		retriever.fail = false;
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(RemoteJWKSet.CircuitState.CLOSED, jwkSetSource.getCircuitState());
+		assertEquals(0, jwkSetSource.getConsecutiveRetrievalFailures());
+	}
+
+
+	@Test
+	public void testWarmStartFromSnapshot()
+		throws Exception {
+
+		File dir = Files.createTempDirectory("jwks-snapshots").toFile();
+		JWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("http://localhost/jwks.json");
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(retriever)
+			.refreshExecutor(SAME_THREAD_EXECUTOR)
+			.snapshotStore(store)
+			.build();
+
+		assertNull(jwkSetSource.getCachedJWKSet());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(1, retriever.count.get());
+
+		// Snapshot saved after retrieval
+		assertNotNull(store.load(url));
+
+		// Restart with unreachable JWK set URL
+		FailingRetriever failingRetriever = new FailingRetriever(new JWKSet());
+		failingRetriever.fail = true;
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+		jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(failingRetriever)
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					tasks.add(command);
+				}
+			})
+			.snapshotStore(store)
+			.build();
+
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(0, failingRetriever.count.get());
+
+		// Revalidation scheduled in background
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+		assertEquals(1, failingRetriever.count.get());
+
+		// Snapshot still served
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+
+		store.save(url, new JWKSetSnapshot("invalid", null, null, new Date()));
+
+		// Invalid snapshot ignored
+		jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(retriever)
+			.snapshotStore(store)
+			.build();
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		((FileJWKSetSnapshotStore) store).getSnapshotFile(url).delete();
+		dir.delete();
+	}
+
+
+	@Test
+	public void testSnapshotSavedInBackgroundOnlyWhenChanged()
+		throws Exception {
+
+		final List<JWKSetSnapshot> saved = new ArrayList<>();
+
+		JWKSetSnapshotStore store = new JWKSetSnapshotStore() {
+			@Override
+			public JWKSetSnapshot load(final URL url) {
+				return null;
+			}
+
+			@Override
+			public void save(final URL url, final JWKSetSnapshot snapshot) {
+				saved.add(snapshot);
+			}
+		};
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet((JWK) generateRSAKey("1")));
+
+		RemoteJWKSet<?> jwkSetSource = build(new RemoteJWKSet.Builder<>(new URL("http://localhost/jwks.json"))
+			.resourceRetriever(retriever)
+			.cache(createCache(100L, 0L, TimeUnit.MILLISECONDS))
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					tasks.add(command);
+				}
+			})
+			.snapshotStore(store));
+
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+
+		// Saved on the refresh executor, not on the calling thread
+		assertTrue(saved.isEmpty());
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+		assertEquals(1, saved.size());
+
+		// Unchanged JWK set not saved again
+		now.addAndGet(101L);
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(2, retriever.count.get());
+		assertEquals(1, tasks.size());
+
+		// Changed JWK set saved
+		retriever.jwkSet = new JWKSet((JWK) generateRSAKey("2"));
+		now.addAndGet(101L);
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertEquals(2, tasks.size());
+		tasks.get(1).run();
+		assertEquals(2, saved.size());
+		assertEquals(jwkSetSource.getCachedJWKSet().toJSONObject().toJSONString(), saved.get(1).getContent());
+	}
+
+
+	@Test
+	public void testSnapshotExceedingMaxStalenessIgnored()
+		throws Exception {
+
+		File dir = Files.createTempDirectory("jwks-snapshots").toFile();
+		JWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("http://localhost/jwks.json");
+		String content = new JWKSet((JWK) generateRSAKey("1")).toJSONObject().toJSONString();
+
+		store.save(url, new JWKSetSnapshot(content, null, null, new Date(System.currentTimeMillis() - 60000L)));
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(new CountingRetriever(new JWKSet()))
+			.maxStaleness(120L, TimeUnit.SECONDS)
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					// Skip revalidation
+				}
+			})
+			.snapshotStore(store)
+			.build();
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+
+		jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(new CountingRetriever(new JWKSet()))
+			.maxStaleness(30L, TimeUnit.SECONDS)
+			.snapshotStore(store)
+			.build();
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		((FileJWKSetSnapshotStore) store).getSnapshotFile(url).delete();
+		dir.delete();
+	}
+
+
+	@Test
+	public void testSnapshotOlderThanCacheLifespanIgnored()
+		throws Exception {
+
+		File dir = Files.createTempDirectory("jwks-snapshots").toFile();
+		JWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("http://localhost/jwks.json");
+		String content = new JWKSet((JWK) generateRSAKey("1")).toJSONObject().toJSONString();
+
+		// Older than the default cache lifespan
+		store.save(url, new JWKSetSnapshot(content, null, null, new Date(System.currentTimeMillis() - 10 * 60000L)));
+
+		CountingRetriever retriever = new CountingRetriever(new JWKSet());
+
+		// No expiration set by the cache, the default lifespan applies
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(retriever)
+			.cache(new DefaultJWKSetCache(-1L, 0L, null))
+			.snapshotStore(store)
+			.build();
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(retriever)
+			.snapshotStore(store)
+			.build();
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		// Not served, the JWK set is retrieved
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+		assertTrue(jwkSetSource.get(selector, null).isEmpty());
+		assertTrue(retriever.count.get() > 0);
+
+		((FileJWKSetSnapshotStore) store).getSnapshotFile(url).delete();
+		dir.delete();
+	}
+
+
+	@Test
+	public void testSnapshotCachedForRemainingLifespan()
+		throws Exception {
+
+		File dir = Files.createTempDirectory("jwks-snapshots").toFile();
+		JWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("http://localhost/jwks.json");
+		String content = new JWKSet((JWK) generateRSAKey("1")).toJSONObject().toJSONString();
+
+		store.save(url, new JWKSetSnapshot(content, null, null, new Date(System.currentTimeMillis() - 60000L)));
+
+		final List<Long> lifespans = new ArrayList<>();
+
+		JWKSetCache cache = new DefaultJWKSetCache() {
+			@Override
+			public void put(final JWKSet jwkSet, final long lifespan, final TimeUnit timeUnit) {
+				lifespans.add(timeUnit.toMillis(lifespan));
+				super.put(jwkSet, lifespan, timeUnit);
+			}
+		};
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(new CountingRetriever(new JWKSet()))
+			.cache(cache)
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					// Skip revalidation
+				}
+			})
+			.snapshotStore(store)
+			.build();
+		assertNotNull(jwkSetSource.getCachedJWKSet());
+
+		assertEquals(1, lifespans.size());
+		long expected = TimeUnit.MINUTES.toMillis(DefaultJWKSetCache.DEFAULT_LIFESPAN_MINUTES) - 60000L;
+		assertTrue(lifespans.get(0) <= expected);
+		assertTrue(lifespans.get(0) > expected - 10000L);
+
+		((FileJWKSetSnapshotStore) store).getSnapshotFile(url).delete();
+		dir.delete();
+	}
+
+
+	@Test
+	public void testSnapshotBeyondCacheLifespanServedAsStale()
+		throws Exception {
+
+		File dir = Files.createTempDirectory("jwks-snapshots").toFile();
+		JWKSetSnapshotStore store = new FileJWKSetSnapshotStore(dir);
+
+		URL url = new URL("http://localhost/jwks.json");
+		String content = new JWKSet((JWK) generateRSAKey("1")).toJSONObject().toJSONString();
+
+		store.save(url, new JWKSetSnapshot(content, null, null, new Date(System.currentTimeMillis() - 10 * 60000L)));
+
+		FailingRetriever failingRetriever = new FailingRetriever(new JWKSet());
+		failingRetriever.fail = true;
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+		RemoteJWKSet<?> jwkSetSource = new RemoteJWKSet.Builder<>(url)
+			.resourceRetriever(failingRetriever)
+			.maxStaleness(1L, TimeUnit.HOURS)
+			.refreshExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					tasks.add(command);
+				}
+			})
+			.snapshotStore(store)
+			.build();
+
+		// Not cached as current
+		assertNull(jwkSetSource.getCachedJWKSet());
+
+		// Served as stale while revalidated
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+		assertEquals(1, jwkSetSource.get(selector, null).size());
+		assertEquals(0, failingRetriever.count.get());
+		assertFalse(tasks.isEmpty());
+
+		((FileJWKSetSnapshotStore) store).getSnapshotFile(url).delete();
+		dir.delete();
+	}
 }
@@ -71,5 +71,49 @@ public class Base64URLTest extends TestCase {
 
 		assertEquals(BIGINT, b64url.decodeToBigInteger());
 	}
-}
 
+
+	public void testEncodeRangeIntoByteArray() {
+
+		for (int length = 0; length < 10; length++) {
+
+			byte[] src = new byte[length + 2];
+			for (int i = 0; i < src.length; i++) {
+				src[i] = (byte)(i * 97 + 250);
+			}
+
+			byte[] range = new byte[length];
+			System.arraycopy(src, 1, range, 0, length);
+			String expected = Base64URL.encode(range).toString();
+
+			assertEquals(expected.length(), Base64URL.computeEncodedLength(length));
+
+			byte[] dest = new byte[expected.length() + 3];
+			int end = Base64URL.encode(src, 1, length, dest, 2);
+
+			assertEquals(2 + expected.length(), end);
+			assertEquals(expected, new String(dest, 2, expected.length(), Charset.forName("US-ASCII")));
+			assertEquals(0, dest[0]);
+			assertEquals(0, dest[1]);
+			assertEquals(0, dest[dest.length - 1]);
+		}
+	}
+
+
+	public void testEncodeRangeIntoByteArrayInvalidRange() {
+
+		try {
+			Base64URL.encode(BYTES, 3, BYTES.length, new byte[100], 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals("Invalid offset or length", e.getMessage());
+		}
+
+		try {
+			Base64URL.encode(BYTES, 0, BYTES.length, new byte[6], 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals("Invalid offset or length", e.getMessage());
+		}
+	}
+}
@@ -5,6 +5,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.URL;
+import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 import static net.jadler.Jadler.*;
@@ -14,6 +15,9 @@ import com.nimbusds.jose.util.DefaultResourceRetriever;
 import com.nimbusds.jose.util.JSONObjectUtils;
 import com.nimbusds.jose.util.Resource;
 import com.nimbusds.jose.util.RestrictedResourceRetriever;
+import net.jadler.Request;
+import net.jadler.stubbing.Responder;
+import net.jadler.stubbing.StubResponse;
 import net.minidev.json.JSONObject;
 import org.junit.After;
 import org.junit.Before;
@@ -257,4 +261,119 @@ public class DefaultResourceRetrieverTest {
 			assertEquals(url.toString(), e.getMessage());
 		}
 	}
+
+
+	@Test
+	public void testRetrieveCachingHeaders()
+		throws Exception {
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "application/json")
+			.withHeader("ETag", "\"v1\"")
+			.withHeader("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT")
+			.withHeader("Expires", "Sun, 06 Nov 1994 09:49:37 GMT")
+			.withHeader("Cache-Control", "public, max-age=3600")
+			.withBody("{}");
+
+		DefaultResourceRetriever resourceRetriever = new DefaultResourceRetriever();
+		Resource resource = resourceRetriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+		assertEquals("{}", resource.getContent());
+		assertEquals("\"v1\"", resource.getETag());
+		assertEquals(784111777000L, resource.getLastModified().getTime());
+		assertEquals(784115377000L, resource.getExpires().getTime());
+		assertEquals(3600L, resource.getMaxAge());
+		assertFalse(resource.isNotModified());
+	}
+
+
+	@Test
+	public void testRetrieveWithoutCachingHeaders()
+		throws Exception {
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withBody("{}");
+
+		DefaultResourceRetriever resourceRetriever = new DefaultResourceRetriever();
+		Resource resource = resourceRetriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+		assertNull(resource.getETag());
+		assertNull(resource.getLastModified());
+		assertNull(resource.getExpires());
+		assertEquals(-1L, resource.getMaxAge());
+		assertFalse(resource.isNotModified());
+	}
+
+
+	@Test
+	public void testConditionalRetrieve()
+		throws Exception {
+
+		final Date lastModified = new Date(784111777000L);
+
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respondUsing(new Responder() {
+				@Override
+				public StubResponse nextResponse(final Request request) {
+
+					if ("\"v1\"".equals(request.getHeaders().getValue("If-None-Match"))) {
+						return StubResponse.builder()
+							.status(304)
+							.header("ETag", "\"v1\"")
+							.header("Cache-Control", "max-age=60")
+							.build();
+					}
+
+					return StubResponse.builder()
+						.status(200)
+						.header("ETag", "\"v1\"")
+						.header("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT")
+						.body("{}", java.nio.charset.Charset.forName("UTF-8"))
+						.build();
+				}
+			});
+
+		DefaultResourceRetriever resourceRetriever = new DefaultResourceRetriever();
+		URL url = new URL("http://localhost:" + port() + "/c2id/jwks.json");
+
+		Resource resource = resourceRetriever.retrieveResource(url, null, null);
+		assertFalse(resource.isNotModified());
+		assertEquals("{}", resource.getContent());
+		assertEquals("\"v1\"", resource.getETag());
+		assertEquals(lastModified, resource.getLastModified());
+
+		resource = resourceRetriever.retrieveResource(url, "\"v1\"", lastModified);
+		assertTrue(resource.isNotModified());
+		assertEquals("", resource.getContent());
+		assertEquals("\"v1\"", resource.getETag());
+		assertEquals(60L, resource.getMaxAge());
+
+		resource = resourceRetriever.retrieveResource(url, "\"v0\"", null);
+		assertFalse(resource.isNotModified());
+		assertEquals("{}", resource.getContent());
+	}
+
+
+	@Test
+	public void testParseMaxAge() {
+
+		assertEquals(-1L, DefaultResourceRetriever.parseMaxAge(null));
+		assertEquals(-1L, DefaultResourceRetriever.parseMaxAge(""));
+		assertEquals(-1L, DefaultResourceRetriever.parseMaxAge("public"));
+		assertEquals(60L, DefaultResourceRetriever.parseMaxAge("max-age=60"));
+		assertEquals(60L, DefaultResourceRetriever.parseMaxAge("public, Max-Age=60, must-revalidate"));
+		assertEquals(60L, DefaultResourceRetriever.parseMaxAge("max-age=\"60\""));
+		assertEquals(0L, DefaultResourceRetriever.parseMaxAge("no-cache"));
+		assertEquals(0L, DefaultResourceRetriever.parseMaxAge("max-age=60, no-store"));
+		assertEquals(-1L, DefaultResourceRetriever.parseMaxAge("max-age=abc"));
+		assertEquals(-1L, DefaultResourceRetriever.parseMaxAge("max-age=-10"));
+	}
 }
@@ -0,0 +1,198 @@
+package com.nimbusds.jose.util;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests the expiring LRU cache.
+ */
+public class ExpiringLRUCacheTest extends TestCase {
+
+
+	/**
+	 * The simulated current time, in milliseconds since the epoch.
+	 */
+	private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+
+	/**
+	 * Creates a new cache reading the simulated current time.
+	 */
+	private <K,V> ExpiringLRUCache<K,V> createCache(final long timeToLive,
+							final TimeUnit timeUnit,
+							final boolean expireAfterAccess) {
+
+		return new ExpiringLRUCache<K,V>(10, timeToLive, timeUnit, expireAfterAccess) {
+			@Override
+			protected long currentTimeMillis() {
+				return now.get();
+			}
+		};
+	}
+
+
+	public void testBasic() {
+
+		ExpiringLRUCache<String,Integer> cache = new ExpiringLRUCache<>(10, -1L, null);
+
+		assertEquals(10, cache.getMaxEntries());
+		assertEquals(-1L, cache.getTimeToLive(TimeUnit.SECONDS));
+		assertEquals(0, cache.size());
+
+		assertNull(cache.get("a"));
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+
+		cache.put("a", 1);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.get("a").intValue());
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+
+		assertEquals(1, cache.remove("a").intValue());
+		assertNull(cache.remove("a"));
+		assertEquals(0, cache.size());
+
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testLRUEviction() {
+
+		ExpiringLRUCache<String,Integer> cache = new ExpiringLRUCache<>(2, -1L, null);
+
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		// Access makes "a" the most recently used
+		assertEquals(1, cache.get("a").intValue());
+
+		cache.put("c", 3);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.get("a").intValue());
+		assertNull(cache.get("b"));
+		assertEquals(3, cache.get("c").intValue());
+	}
+
+
+	public void testTimeToLive()
+		throws Exception {
+
+		ExpiringLRUCache<String,Integer> cache = createCache(100L, TimeUnit.MILLISECONDS, false);
+		assertEquals(100L, cache.getTimeToLive(TimeUnit.MILLISECONDS));
+
+		cache.put("a", 1);
+		assertEquals(1, cache.get("a").intValue());
+
+		now.addAndGet(99L);
+		assertEquals(1, cache.get("a").intValue());
+
+		now.addAndGet(2L);
+
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+
+	public void testTimeToLiveAfterAccess()
+		throws Exception {
+
+		ExpiringLRUCache<String,Integer> cache = createCache(200L, TimeUnit.MILLISECONDS, true);
+		assertTrue(cache.isExpireAfterAccess());
+		assertFalse(new ExpiringLRUCache<>(10, 200L, TimeUnit.MILLISECONDS).isExpireAfterAccess());
+
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		// Each access restarts the time-to-live of "a"
+		for (int i = 0; i < 4; i++) {
+			now.addAndGet(100L);
+			assertEquals(1, cache.get("a").intValue());
+		}
+
+		assertNull(cache.get("b"));
+
+		now.addAndGet(201L);
+
+		assertNull(cache.get("a"));
+	}
+
+
+	public void testExplicitExpirationAfterAccess()
+		throws Exception {
+
+		ExpiringLRUCache<String,Integer> cache = createCache(1L, TimeUnit.HOURS, true);
+
+		cache.put("a", 1, now.get() + 100L);
+		assertEquals(1, cache.get("a").intValue());
+
+		now.addAndGet(101L);
+
+		// Not extended beyond the explicit expiration
+		assertNull(cache.get("a"));
+	}
+
+
+	public void testExplicitExpiration()
+		throws Exception {
+
+		ExpiringLRUCache<String,Integer> cache = createCache(1L, TimeUnit.HOURS, false);
+
+		cache.put("a", 1, now.get() + 100L);
+		cache.put("b", 2, now.get() + 10 * 3600 * 1000L); // capped by TTL
+
+		now.addAndGet(101L);
+		assertNull(cache.get("a"));
+		assertEquals(2, cache.get("b").intValue());
+
+		// Time-to-live elapsed
+		now.addAndGet(3600 * 1000L);
+		assertNull(cache.get("b"));
+	}
+
+
+	public void testExplicitExpirationWithoutTimeToLive()
+		throws Exception {
+
+		ExpiringLRUCache<String,Integer> cache = createCache(-1L, null, false);
+
+		cache.put("a", 1, now.get() + 100L);
+		assertEquals(1, cache.get("a").intValue());
+
+		now.addAndGet(101L);
+
+		assertNull(cache.get("a"));
+	}
+
+
+	public void testRejectNullValue() {
+
+		ExpiringLRUCache<String,Integer> cache = new ExpiringLRUCache<>(10, -1L, null);
+
+		try {
+			cache.put("a", null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The value must not be null", e.getMessage());
+		}
+	}
+
+
+	public void testRejectInvalidMaxEntries() {
+
+		try {
+			new ExpiringLRUCache<String,Integer>(0, -1L, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The maximum number of entries must be positive", e.getMessage());
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.nimbusds.jose.util;
 
 
+import java.util.Date;
+
 import com.nimbusds.jose.util.Resource;
 import junit.framework.TestCase;
 
@@ -13,6 +15,36 @@ public class ResourceTest extends TestCase {
 		Resource resource = new Resource("content", "text/plain");
 		assertEquals("content", resource.getContent());
 		assertEquals("text/plain", resource.getContentType());
+		assertNull(resource.getETag());
+		assertNull(resource.getLastModified());
+		assertEquals(-1L, resource.getMaxAge());
+		assertNull(resource.getExpires());
+		assertFalse(resource.isNotModified());
+	}
+
+
+	public void testWithCachingMetadata() {
+
+		Date lastModified = new Date(1000L);
+		Date expires = new Date(2000L);
+
+		Resource resource = new Resource("content", "text/plain", "\"abc\"", lastModified, 60L, expires, false);
+		assertEquals("content", resource.getContent());
+		assertEquals("text/plain", resource.getContentType());
+		assertEquals("\"abc\"", resource.getETag());
+		assertEquals(lastModified, resource.getLastModified());
+		assertEquals(60L, resource.getMaxAge());
+		assertEquals(expires, resource.getExpires());
+		assertFalse(resource.isNotModified());
+	}
+
+
+	public void testNotModified() {
+
+		Resource resource = new Resource("", null, "\"abc\"", null, -1L, null, true);
+		assertEquals("", resource.getContent());
+		assertEquals("\"abc\"", resource.getETag());
+		assertTrue(resource.isNotModified());
 	}
 
 
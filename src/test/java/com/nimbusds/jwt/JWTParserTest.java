@@ -1,21 +1,24 @@
 package com.nimbusds.jwt;
 
 
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.text.ParseException;
 import java.util.Date;
 
 import junit.framework.TestCase;
 
-import com.nimbusds.jose.Algorithm;
-import com.nimbusds.jose.EncryptionMethod;
-import com.nimbusds.jose.JWEAlgorithm;
-import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.util.Base64URL;
 
 
 /**
  * Tests the JWT parser. Uses test vectors from JWT spec.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-08-19
+ * @version 2026-10-18
  */
 public class JWTParserTest extends TestCase {
 
@@ -79,4 +82,158 @@ public class JWTParserTest extends TestCase {
 		assertNull(encryptedJWT.getHeader().getType());
 		assertNull(encryptedJWT.getHeader().getContentType());
 	}
+
+
+	public void testParseSignedJWT()
+		throws Exception {
+
+		byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+
+		SignedJWT jwt = new SignedJWT(
+			new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(),
+			new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(secret));
+
+		String s = jwt.serialize();
+
+		JWT parsed = JWTParser.parse(s);
+
+		assertTrue(parsed instanceof SignedJWT);
+		SignedJWT signedJWT = (SignedJWT)parsed;
+		assertEquals(JWSAlgorithm.HS256, signedJWT.getHeader().getAlgorithm());
+		assertEquals("1", signedJWT.getHeader().getKeyID());
+		assertEquals(s.substring(0, s.indexOf('.')), signedJWT.getHeader().getParsedBase64URL().toString());
+		assertEquals(JWSObject.State.SIGNED, signedJWT.getState());
+		assertEquals(s, signedJWT.serialize());
+		assertEquals("alice", signedJWT.getJWTClaimsSet().getSubject());
+		assertTrue(signedJWT.verify(new MACVerifier(secret)));
+	}
+
+
+	public void testParseMissingDot() {
+
+		try {
+			JWTParser.parse("abc");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Invalid JWT serialization: Missing dot delimiter(s)", e.getMessage());
+		}
+	}
+
+
+	public void testParseInvalidHeaderJSON() {
+
+		try {
+			JWTParser.parse(Base64URL.encode("{").toString() + ".abc.def");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getMessage().startsWith("Invalid unsecured/JWS/JWE header: "));
+		}
+	}
+
+
+	public void testParseInvalidJWSHeader() {
+
+		try {
+			JWTParser.parse(Base64URL.encode("{\"alg\":\"HS256\",\"kid\":123}").toString() + ".abc.def");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getMessage().startsWith("Invalid JWS header: "));
+		}
+	}
+
+
+	public void testParseUnexpectedPartCount() {
+
+		String jwsHeader = Base64URL.encode("{\"alg\":\"HS256\"}").toString();
+
+		try {
+			JWTParser.parse(jwsHeader + ".a.b.c.d");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be three", e.getMessage());
+		}
+
+		String jweHeader = Base64URL.encode("{\"alg\":\"dir\",\"enc\":\"A128GCM\"}").toString();
+
+		try {
+			JWTParser.parse(jweHeader + ".a.b");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be five", e.getMessage());
+		}
+
+		String plainHeader = Base64URL.encode("{\"alg\":\"none\"}").toString();
+
+		try {
+			JWTParser.parse(plainHeader + ".a.b");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected third Base64URL part in the unsecured JWT object", e.getMessage());
+		}
+	}
+
+
+	public void testParseSignedJWTFromBytes()
+		throws Exception {
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().subject("alice").build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claimsSet);
+		jwt.sign(new MACSigner("12345678901234567890123456789012"));
+		String s = jwt.serialize();
+
+		byte[] header = ("Bearer " + s + "\r\n").getBytes("US-ASCII");
+
+		JWT parsed = JWTParser.parse(header, 7, s.length());
+		assertTrue(parsed instanceof SignedJWT);
+		assertEquals(s, parsed.getParsedString());
+		assertEquals("alice", parsed.getJWTClaimsSet().getSubject());
+		assertTrue(((SignedJWT)parsed).verify(new MACVerifier("12345678901234567890123456789012")));
+
+		// Heap buffer with a position
+		ByteBuffer buffer = ByteBuffer.wrap(header);
+		buffer.position(7);
+		buffer.limit(7 + s.length());
+		parsed = JWTParser.parse(buffer);
+		assertEquals(s, parsed.getParsedString());
+		assertEquals(7, buffer.position());
+
+		// Direct buffer
+		ByteBuffer direct = ByteBuffer.allocateDirect(s.length());
+		direct.put(s.getBytes("US-ASCII"));
+		direct.flip();
+		parsed = JWTParser.parse(direct);
+		assertEquals(s, parsed.getParsedString());
+		assertEquals(0, direct.position());
+	}
+
+
+	public void testParsePlainAndEncryptedJWTFromBytes()
+		throws Exception {
+
+		String plain = new PlainJWT(new JWTClaimsSet.Builder().subject("alice").build()).serialize();
+		byte[] bytes = plain.getBytes("US-ASCII");
+		assertTrue(JWTParser.parse(bytes, 0, bytes.length) instanceof PlainJWT);
+
+		String jwe = "eyJhbGciOiJSU0ExXzUiLCJlbmMiOiJBMTI4Q0JDLUhTMjU2In0.abc.def.ghi.jkl";
+		bytes = jwe.getBytes("US-ASCII");
+		JWT parsed = JWTParser.parse(bytes, 0, bytes.length);
+		assertTrue(parsed instanceof EncryptedJWT);
+		assertEquals(jwe, parsed.getParsedString());
+	}
+
+
+	public void testParseMissingDotFromBytes()
+		throws Exception {
+
+		byte[] bytes = "abc.def".getBytes("US-ASCII");
+
+		try {
+			JWTParser.parse(bytes, 0, 3);
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Invalid JWT serialization: Missing dot delimiter(s)", e.getMessage());
+		}
+	}
 }
@@ -0,0 +1,304 @@
+package com.nimbusds.jwt;
+
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.JCAEnginePool;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Tests the signed JWT template.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class SignedJWTTemplateTest extends TestCase {
+
+
+	private static final byte[] HMAC_SECRET = new byte[32];
+
+
+	static {
+		for (int i = 0; i < HMAC_SECRET.length; i++) {
+			HMAC_SECRET[i] = (byte)i;
+		}
+	}
+
+
+	private static JWTClaimsSet createClaimsSet(final int i) {
+
+		return new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice-" + i)
+			.audience(Arrays.asList("https://app-1.example.com", "https://app-2.example.com"))
+			.issueTime(new Date(123000L))
+			.expirationTime(new Date(456000L + i * 1000L))
+			.jwtID("" + i)
+			.claim("scope", "openid email")
+			.build();
+	}
+
+
+	public void testSignHMAC()
+		throws Exception {
+
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build();
+		MACSigner signer = new MACSigner(HMAC_SECRET);
+
+		SignedJWTTemplate template = new SignedJWTTemplate(header, signer);
+
+		assertEquals(header, template.getHeader());
+		assertEquals(signer, template.getSigner());
+
+		// Claims sets of increasing length, to exercise the buffer
+		// growth and the Base64URL remainders
+		for (int i = 0; i < 100; i++) {
+
+			JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder(createClaimsSet(i));
+			char[] padding = new char[i * 13];
+			Arrays.fill(padding, 'x');
+			JWTClaimsSet claimsSet = builder.claim("padding", new String(padding)).build();
+
+			// HMAC is deterministic, the output must match SignedJWT
+			SignedJWT expected = new SignedJWT(header, claimsSet);
+			expected.sign(signer);
+
+			String jwt = template.sign(claimsSet);
+			assertEquals(expected.serialize(), jwt);
+
+			SignedJWT signedJWT = SignedJWT.parse(jwt);
+			assertTrue(signedJWT.verify(new MACVerifier(HMAC_SECRET)));
+			assertEquals(claimsSet.toJSONObject(), signedJWT.getJWTClaimsSet().toJSONObject());
+		}
+	}
+
+
+	public void testSignNonASCIIClaims()
+		throws Exception {
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+		MACSigner signer = new MACSigner(HMAC_SECRET);
+
+		SignedJWTTemplate template = new SignedJWTTemplate(header, signer);
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+			.subject("\u0412\u043b\u0430\u0434\u0438\u043c\u0438\u0440 \u0414\u0436\u0443\u0432\u0438\u043d\u043e\u0432")
+			.claim("name", "Zo\u00eb \u20ac \ud83d\ude00")
+			.build();
+
+		SignedJWT expected = new SignedJWT(header, claimsSet);
+		expected.sign(signer);
+
+		String jwt = template.sign(claimsSet);
+		assertEquals(expected.serialize(), jwt);
+
+		SignedJWT signedJWT = SignedJWT.parse(jwt);
+		assertTrue(signedJWT.verify(new MACVerifier(HMAC_SECRET)));
+		assertEquals("\u0412\u043b\u0430\u0434\u0438\u043c\u0438\u0440 \u0414\u0436\u0443\u0432\u0438\u043d\u043e\u0432", signedJWT.getJWTClaimsSet().getSubject());
+		assertEquals("Zo\u00eb \u20ac \ud83d\ude00", signedJWT.getJWTClaimsSet().getStringClaim("name"));
+
+		// ASCII claims after non-ASCII
+		expected = new SignedJWT(header, createClaimsSet(1));
+		expected.sign(signer);
+
+		assertEquals(expected.serialize(), template.sign(createClaimsSet(1)));
+	}
+
+
+	public void testSignLargeClaimsSet()
+		throws Exception {
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+		MACSigner signer = new MACSigner(HMAC_SECRET);
+
+		SignedJWTTemplate template = new SignedJWTTemplate(header, signer);
+
+		char[] padding = new char[SignedJWTTemplate.MAX_RETAINED_BUFFER_SIZE + 1];
+		Arrays.fill(padding, 'x');
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().claim("padding", new String(padding)).build();
+
+		SignedJWT expected = new SignedJWT(header, claimsSet);
+		expected.sign(signer);
+
+		assertEquals(expected.serialize(), template.sign(claimsSet));
+
+		// Small claims set after a large one
+		expected = new SignedJWT(header, createClaimsSet(0));
+		expected.sign(signer);
+
+		assertEquals(expected.serialize(), template.sign(createClaimsSet(0)));
+	}
+
+
+	public void testSignAllRSA()
+		throws Exception {
+
+		KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+		kpg.initialize(2048);
+		KeyPair kp = kpg.genKeyPair();
+
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("1").build();
+
+		SignedJWTTemplate template = new SignedJWTTemplate(header, new RSASSASigner((RSAPrivateKey)kp.getPrivate()));
+
+		List<JWTClaimsSet> claimsSets = new ArrayList<>();
+
+		for (int i = 0; i < 10; i++) {
+			claimsSets.add(createClaimsSet(i));
+		}
+
+		List<String> jwts = template.signAll(claimsSets);
+
+		assertEquals(claimsSets.size(), jwts.size());
+
+		JWSVerifier verifier = new RSASSAVerifier((RSAPublicKey)kp.getPublic());
+
+		for (int i = 0; i < jwts.size(); i++) {
+
+			SignedJWT signedJWT = SignedJWT.parse(jwts.get(i));
+			assertEquals(header.toBase64URL(), signedJWT.getHeader().toBase64URL());
+			assertEquals("1", signedJWT.getHeader().getKeyID());
+			assertTrue(signedJWT.verify(verifier));
+			assertEquals("alice-" + i, signedJWT.getJWTClaimsSet().getSubject());
+			assertEquals("" + i, signedJWT.getJWTClaimsSet().getJWTID());
+		}
+
+		assertTrue(template.signAll(Collections.<JWTClaimsSet>emptyList()).isEmpty());
+	}
+
+
+	public void testSignConcurrent()
+		throws Exception {
+
+		final JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
+		final MACSigner signer = new MACSigner(new byte[64]);
+		final SignedJWTTemplate template = new SignedJWTTemplate(header, signer);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<List<String>>> futures = new ArrayList<>();
+
+			for (int t = 0; t < 4; t++) {
+
+				final int offset = t * 100;
+
+				futures.add(executor.submit(new Callable<List<String>>() {
+					@Override
+					public List<String> call() throws Exception {
+						List<JWTClaimsSet> claimsSets = new ArrayList<>();
+						for (int i = 0; i < 100; i++) {
+							claimsSets.add(createClaimsSet(offset + i));
+						}
+						return template.signAll(claimsSets);
+					}
+				}));
+			}
+
+			for (int t = 0; t < 4; t++) {
+
+				List<String> jwts = futures.get(t).get();
+
+				for (int i = 0; i < 100; i++) {
+					SignedJWT expected = new SignedJWT(header, createClaimsSet(t * 100 + i));
+					expected.sign(signer);
+					assertEquals(expected.serialize(), jwts.get(i));
+				}
+			}
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	public void testEnginePoolEnabledWhileSigning()
+		throws Exception {
+
+		final MACSigner macSigner = new MACSigner(HMAC_SECRET);
+		final List<Boolean> pooled = new ArrayList<>();
+
+		JWSSigner signer = new JWSSigner() {
+			@Override
+			public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+				pooled.add(JCAEnginePool.isEnabledForCurrentThread());
+				return macSigner.sign(header, signingInput);
+			}
+
+
+			@Override
+			public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+				return macSigner.supportedJWSAlgorithms();
+			}
+
+
+			@Override
+			public JCAContext getJCAContext() {
+				return macSigner.getJCAContext();
+			}
+		};
+
+		assertFalse(JCAEnginePool.isEnabledForCurrentThread());
+
+		SignedJWTTemplate template = new SignedJWTTemplate(new JWSHeader(JWSAlgorithm.HS256), signer);
+		template.signAll(Arrays.asList(createClaimsSet(0), createClaimsSet(1)));
+
+		assertEquals(Arrays.asList(true, true), pooled);
+		assertFalse(JCAEnginePool.isEnabledForCurrentThread());
+		assertFalse(JCAEnginePool.isEnabled());
+		JCAEnginePool.clear();
+	}
+
+
+	public void testUnsupportedAlgorithm()
+		throws Exception {
+
+		try {
+			new SignedJWTTemplate(new JWSHeader(JWSAlgorithm.RS256), new MACSigner(HMAC_SECRET));
+			fail();
+		} catch (JOSEException e) {
+			assertTrue(e.getMessage().startsWith("The \"RS256\" algorithm is not allowed or supported by the JWS signer"));
+		}
+	}
+
+
+	public void testRejectNull()
+		throws Exception {
+
+		try {
+			new SignedJWTTemplate(null, new MACSigner(HMAC_SECRET));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The JWS header must not be null", e.getMessage());
+		}
+
+		try {
+			new SignedJWTTemplate(new JWSHeader(JWSAlgorithm.HS256), null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The JWS signer must not be null", e.getMessage());
+		}
+	}
+}
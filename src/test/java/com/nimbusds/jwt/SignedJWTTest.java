@@ -1,6 +1,7 @@
 package com.nimbusds.jwt;
 
 
+import java.nio.ByteBuffer;
 import java.net.URI;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
@@ -107,4 +108,38 @@ public class SignedJWTTest extends TestCase {
 		JWSVerifier verifier = new RSASSAVerifier(publicKey);
 		assertTrue(signedJWT.verify(verifier));
 	}
+
+
+	public void testParseFromBytes()
+		throws Exception {
+
+		KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+		kpg.initialize(2048);
+		KeyPair kp = kpg.genKeyPair();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new RSASSASigner((RSAPrivateKey)kp.getPrivate()));
+		String s = jwt.serialize();
+
+		byte[] bytes = s.getBytes("US-ASCII");
+
+		SignedJWT parsed = SignedJWT.parse(bytes, 0, bytes.length);
+		assertEquals(s, parsed.serialize());
+		assertTrue(parsed.verify(new RSASSAVerifier((RSAPublicKey)kp.getPublic())));
+
+		parsed = SignedJWT.parse(ByteBuffer.wrap(bytes));
+		assertEquals("alice", parsed.getJWTClaimsSet().getSubject());
+		assertTrue(parsed.verify(new RSASSAVerifier((RSAPublicKey)kp.getPublic())));
+	}
+
+
+	public void testClaimsSetParsedOnce()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+
+		JWTClaimsSet claimsSet = jwt.getJWTClaimsSet();
+		assertEquals("alice", claimsSet.getSubject());
+		assertSame(claimsSet, jwt.getJWTClaimsSet());
+	}
 }
@@ -0,0 +1,186 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+
+/**
+ * Tests the default JWT pre-verifier.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class DefaultJWTPreVerifierTest extends TestCase {
+
+
+	private static SignedJWT createSignedJWT(final JWSAlgorithm alg, final JWTClaimsSet claimsSet)
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(alg), claimsSet);
+		jwt.sign(new MACSigner(new byte[64]));
+		return SignedJWT.parse(jwt.serialize());
+	}
+
+
+	public void testDefaults() {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+
+		assertEquals(DefaultJWTClaimsVerifier.DEFAULT_MAX_CLOCK_SKEW_SECONDS, preVerifier.getMaxClockSkew());
+		assertNull(preVerifier.getAcceptedAlgorithms());
+		assertEquals(-1, preVerifier.getMaxTokenLength());
+		assertNull(preVerifier.getAcceptedIssuers());
+	}
+
+
+	public void testPass()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setAcceptedAlgorithms(new HashSet<>(Arrays.asList(JWSAlgorithm.HS256, JWSAlgorithm.HS512)));
+		preVerifier.setMaxTokenLength(1000);
+		preVerifier.setAcceptedIssuers(Collections.singleton("https://c2id.com"));
+
+		Date now = new Date();
+
+		preVerifier.preVerify(createSignedJWT(JWSAlgorithm.HS256, new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.expirationTime(new Date(now.getTime() + 60000L))
+			.notBeforeTime(new Date(now.getTime() - 60000L))
+			.build()));
+	}
+
+
+	public void testRejectAlgorithm()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setAcceptedAlgorithms(Collections.singleton(JWSAlgorithm.HS256));
+
+		try {
+			preVerifier.preVerify(createSignedJWT(JWSAlgorithm.HS512, new JWTClaimsSet.Builder().build()));
+			fail();
+		} catch (BadJWSException e) {
+			assertEquals("Signed JWT rejected: JWS algorithm not accepted", e.getMessage());
+		}
+	}
+
+
+	public void testRejectTooLong()
+		throws Exception {
+
+		SignedJWT jwt = createSignedJWT(JWSAlgorithm.HS256, new JWTClaimsSet.Builder().subject("alice").build());
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setMaxTokenLength(jwt.serialize().length());
+		preVerifier.preVerify(jwt);
+
+		preVerifier.setMaxTokenLength(jwt.serialize().length() - 1);
+
+		try {
+			preVerifier.preVerify(jwt);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+	}
+
+
+	public void testCheckLength()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.checkLength(Integer.MAX_VALUE);
+
+		preVerifier.setMaxTokenLength(100);
+		preVerifier.checkLength(100);
+
+		try {
+			preVerifier.checkLength(101);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+	}
+
+
+	public void testRejectExpired()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+
+		try {
+			preVerifier.preVerify(createSignedJWT(JWSAlgorithm.HS256, new JWTClaimsSet.Builder()
+				.expirationTime(new Date(new Date().getTime() - 3600000L))
+				.build()));
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+	}
+
+
+	public void testRejectBeforeUse()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+
+		try {
+			preVerifier.preVerify(createSignedJWT(JWSAlgorithm.HS256, new JWTClaimsSet.Builder()
+				.notBeforeTime(new Date(new Date().getTime() + 3600000L))
+				.build()));
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT before use time", e.getMessage());
+		}
+	}
+
+
+	public void testRejectIssuer()
+		throws Exception {
+
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setAcceptedIssuers(Collections.singleton("https://c2id.com"));
+
+		for (String iss: Arrays.asList("https://example.com", null)) {
+			try {
+				preVerifier.preVerify(createSignedJWT(JWSAlgorithm.HS256, new JWTClaimsSet.Builder().issuer(iss).build()));
+				fail();
+			} catch (BadJWTException e) {
+				assertEquals("JWT issuer not accepted", e.getMessage());
+			}
+		}
+	}
+
+
+	public void testRejectPayloadNotJSONObject()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(
+			new JWSHeader(JWSAlgorithm.HS256).toBase64URL(),
+			new Payload("abc").toBase64URL(),
+			Base64URL.encode("sig"));
+
+		try {
+			new DefaultJWTPreVerifier().preVerify(jwt);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Payload of JWS object is not a valid JSON object", e.getMessage());
+		}
+	}
+}
@@ -2,19 +2,26 @@ package com.nimbusds.jwt.proc;
 
 
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.security.SecureRandom;
+import java.text.ParseException;
 import java.security.Security;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.DirectEncrypter;
 import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
 import com.nimbusds.jose.crypto.factories.DefaultJWEDecrypterFactory;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.jwk.source.JWKSource;
@@ -22,6 +29,7 @@ import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.*;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.PlainJWT;
 import com.nimbusds.jwt.SignedJWT;
@@ -31,7 +39,7 @@ import junit.framework.TestCase;
 /**
  * Tests the default JWT processor.
  *
- * @version 2016-04-11
+ * @version 2026-10-18
  */
 public class DefaultJWTProcessorTest extends TestCase {
 
@@ -818,4 +826,1122 @@ public class DefaultJWTProcessorTest extends TestCase {
 		// Print out the token claims set
 		System.out.println(claimsSet.toJSONObject());
 	}
+
+
+	public void testProcessFromBytes()
+		throws Exception {
+
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+			.issuer("https://openid.c2id.com")
+			.subject("alice")
+			.build();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+
+		byte[] keyBytes = new byte[32];
+		new SecureRandom().nextBytes(keyBytes);
+		final SecretKey key = new SecretKeySpec(keyBytes, "HMAC");
+
+		jwt.sign(new MACSigner(key));
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+
+		processor.setJWSKeySelector(new JWSKeySelector<SimpleSecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWSKeys(JWSHeader header, SimpleSecurityContext context) {
+				return Collections.singletonList(key);
+			}
+		});
+
+		byte[] header = ("Bearer " + jwt.serialize()).getBytes("US-ASCII");
+
+		assertEquals("alice", processor.process(header, 7, header.length - 7, null).getSubject());
+
+		ByteBuffer buffer = ByteBuffer.wrap(header);
+		buffer.position(7);
+		assertEquals("alice", processor.process(buffer, null).getSubject());
+		assertEquals(7, buffer.position());
+	}
+
+
+	private static SecretKey generateHMACKey() {
+
+		byte[] keyBytes = new byte[32];
+		new SecureRandom().nextBytes(keyBytes);
+		return new SecretKeySpec(keyBytes, "HMAC");
+	}
+
+
+	private static DefaultJWTProcessor<SimpleSecurityContext> createCachingProcessor(final List<Key> keys,
+											 final AtomicInteger verifierCount) {
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+
+		processor.setJWSKeySelector(new JWSKeySelector<SimpleSecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWSKeys(JWSHeader header, SimpleSecurityContext context) {
+				return new ArrayList<>(keys);
+			}
+		});
+
+		final JWSVerifierFactory defaultFactory = processor.getJWSVerifierFactory();
+
+		processor.setJWSVerifierFactory(new JWSVerifierFactory() {
+			@Override
+			public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+				verifierCount.incrementAndGet();
+				return defaultFactory.createJWSVerifier(header, key);
+			}
+
+
+			@Override
+			public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+				return defaultFactory.supportedJWSAlgorithms();
+			}
+
+
+			@Override
+			public JCAContext getJCAContext() {
+				return defaultFactory.getJCAContext();
+			}
+		});
+
+		processor.setVerifiedJWTCache(new VerifiedJWTCache());
+
+		return processor;
+	}
+
+
+	public void testVerifiedJWTCacheDisabledByDefault() {
+
+		assertNull(new DefaultJWTProcessor<>().getVerifiedJWTCache());
+	}
+
+
+	public void testVerifiedJWTCacheHit()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.subject("alice")
+			.expirationTime(new Date(new Date().getTime() + 60000L))
+			.build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+
+		JWTClaimsSet claimsSet = processor.process(s, null);
+		assertEquals("alice", claimsSet.getSubject());
+		assertEquals(1, verifierCount.get());
+		assertEquals(1, processor.getVerifiedJWTCache().size());
+
+		assertSame(claimsSet, processor.process(s, null));
+		assertEquals(1, verifierCount.get());
+		assertEquals(1, processor.getVerifiedJWTCache().getHitCount());
+
+		// The byte entry points share the cache
+		byte[] bytes = s.getBytes("US-ASCII");
+		assertSame(claimsSet, processor.process(bytes, 0, bytes.length, null));
+		assertSame(claimsSet, processor.process(ByteBuffer.wrap(bytes), null));
+		assertEquals(1, verifierCount.get());
+		assertEquals(3, processor.getVerifiedJWTCache().getHitCount());
+	}
+
+
+	public void testVerifiedJWTCacheInvalidSignatureNotCached()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(generateHMACKey()));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(generateHMACKey()), verifierCount);
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWSException e) {
+				assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+			}
+		}
+
+		assertEquals(2, verifierCount.get());
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+	}
+
+
+	public void testVerifiedJWTCacheRerunsClaimsVerifier()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), new AtomicInteger());
+
+		final AtomicBoolean reject = new AtomicBoolean();
+
+		processor.setJWTClaimsVerifier(new JWTClaimsVerifier() {
+			@Override
+			public void verify(JWTClaimsSet claimsSet) throws BadJWTException {
+				if (reject.get()) {
+					throw new BadJWTException("Expired JWT");
+				}
+			}
+		});
+
+		processor.process(s, null);
+		assertEquals(1, processor.getVerifiedJWTCache().size());
+
+		reject.set(true);
+
+		try {
+			processor.process(s, null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+	}
+
+
+	public void testVerifiedJWTCacheInvalidatedOnKeyChange()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		List<Key> keys = new ArrayList<>();
+		keys.add(key);
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(keys, verifierCount);
+
+		processor.process(s, null);
+		processor.process(s, null);
+		assertEquals(1, verifierCount.get());
+
+		// Rotate the key
+		keys.clear();
+		keys.add(generateHMACKey());
+
+		try {
+			processor.process(s, null);
+			fail();
+		} catch (BadJWSException e) {
+			assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+		}
+
+		assertEquals(2, verifierCount.get());
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+	}
+
+
+	public void testVerifiedJWTCacheHonoursProcessJWTOverride()
+		throws Exception {
+
+		final SecretKey key = generateHMACKey();
+
+		SignedJWT alice = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		alice.sign(new MACSigner(key));
+		SignedJWT bob = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("bob").build());
+		bob.sign(new MACSigner(key));
+
+		final AtomicInteger processCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			public JWTClaimsSet process(JWT jwt, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				processCount.incrementAndGet();
+				JWTClaimsSet claimsSet = super.process(jwt, context);
+				if ("bob".equals(claimsSet.getSubject())) {
+					throw new BadJWTException("Rejected by subclass");
+				}
+				return claimsSet;
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableSecret<SimpleSecurityContext>(key)));
+		processor.setVerifiedJWTCache(new VerifiedJWTCache());
+
+		JWTClaimsSet claimsSet = processor.process(alice.serialize(), null);
+		assertEquals("alice", claimsSet.getSubject());
+		assertEquals(1, processCount.get());
+		assertEquals(1, processor.getVerifiedJWTCache().size());
+
+		assertSame(claimsSet, processor.process(alice.serialize(), null));
+		assertEquals(1, processCount.get());
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(bob.serialize(), null);
+				fail();
+			} catch (BadJWTException e) {
+				assertEquals("Rejected by subclass", e.getMessage());
+			}
+		}
+
+		assertEquals(3, processCount.get());
+		assertEquals(1, processor.getVerifiedJWTCache().size());
+	}
+
+
+	public void testVerifiedJWTCacheSkipsUnreportedKey()
+		throws Exception {
+
+		final SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		final AtomicInteger processCount = new AtomicInteger();
+
+		// Doesn't call the super method, no key is reported
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			public JWTClaimsSet process(SignedJWT signedJWT, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				processCount.incrementAndGet();
+				if (! signedJWT.verify(new MACVerifier(key))) {
+					throw new BadJWSException("Invalid signature");
+				}
+				try {
+					return signedJWT.getJWTClaimsSet();
+				} catch (ParseException e) {
+					throw new BadJWTException(e.getMessage(), e);
+				}
+			}
+		};
+		processor.setVerifiedJWTCache(new VerifiedJWTCache());
+
+		assertEquals("alice", processor.process(s, null).getSubject());
+		assertEquals("alice", processor.process(s, null).getSubject());
+		assertEquals(2, processCount.get());
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+	}
+
+
+	public void testVerifiedJWTCacheUsesVerifySignatureHook()
+		throws Exception {
+
+		final SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		final AtomicInteger hookCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			protected Key verifySignature(SignedJWT signedJWT, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				hookCount.incrementAndGet();
+				return super.verifySignature(signedJWT, context);
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableSecret<SimpleSecurityContext>(key)));
+		processor.setVerifiedJWTCache(new VerifiedJWTCache());
+
+		JWTClaimsSet claimsSet = processor.process(s, null);
+		assertEquals("alice", claimsSet.getSubject());
+		assertEquals(1, hookCount.get());
+		assertEquals(1, processor.getVerifiedJWTCache().size());
+
+		assertSame(claimsSet, processor.process(s, null));
+		assertEquals(1, hookCount.get());
+	}
+
+
+	public void testRejectedJWTCacheDisabledByDefault() {
+
+		assertNull(new DefaultJWTProcessor<>().getRejectedJWTCache());
+	}
+
+
+	public void testRejectedJWTCacheInvalidSignature()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(generateHMACKey()));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(generateHMACKey()), verifierCount);
+		processor.setVerifiedJWTCache(null);
+		RejectedJWTCache rejectedCache = new RejectedJWTCache();
+		processor.setRejectedJWTCache(rejectedCache);
+
+		BadJOSEException first = null;
+
+		for (int i=0; i < 3; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWSException e) {
+				assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+				if (first == null) {
+					first = e;
+				}
+				assertSame(first, e);
+			}
+		}
+
+		byte[] bytes = s.getBytes("US-ASCII");
+
+		try {
+			processor.process(bytes, 0, bytes.length, null);
+			fail();
+		} catch (BadJWSException e) {
+			assertSame(first, e);
+		}
+
+		assertEquals(1, verifierCount.get());
+		assertEquals(1, rejectedCache.size());
+		assertEquals(3, rejectedCache.getHitCount());
+		assertEquals(1, rejectedCache.getMissCount());
+	}
+
+
+	public void testRejectedJWTCacheExpiredJWT()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.subject("alice")
+			.expirationTime(new Date(new Date().getTime() - 3600000L))
+			.build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWTException e) {
+				assertEquals("Expired JWT", e.getMessage());
+			}
+		}
+
+		assertEquals(1, verifierCount.get());
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+		assertEquals(1, processor.getRejectedJWTCache().getHitCount());
+	}
+
+
+	public void testRejectedJWTCacheRejectionOfVerifiedJWT()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), new AtomicInteger());
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		final AtomicBoolean reject = new AtomicBoolean();
+
+		processor.setJWTClaimsVerifier(new JWTClaimsVerifier() {
+			@Override
+			public void verify(JWTClaimsSet claimsSet) throws BadJWTException {
+				if (reject.get()) {
+					throw DefaultJWTClaimsVerifier.EXPIRED_JWT_EXCEPTION;
+				}
+			}
+		});
+
+		processor.process(s, null);
+
+		reject.set(true);
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWTException e) {
+				assertEquals("Expired JWT", e.getMessage());
+			}
+		}
+
+		assertEquals(1, processor.getRejectedJWTCache().size());
+		assertEquals(1, processor.getRejectedJWTCache().getHitCount());
+	}
+
+
+	public void testRejectedJWTCacheAlgorithmNotAccepted()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setAcceptedAlgorithms(Collections.singleton(JWSAlgorithm.RS256));
+		processor.setJWTPreVerifier(preVerifier);
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWSException e) {
+				assertEquals("Signed JWT rejected: JWS algorithm not accepted", e.getMessage());
+			}
+		}
+
+		assertEquals(0, verifierCount.get());
+		assertEquals(1, processor.getRejectedJWTCache().size());
+		assertEquals(1, processor.getRejectedJWTCache().getHitCount());
+	}
+
+
+	public void testRejectedJWTCacheSkipsNoKeyCandidates()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		// Key not yet published
+		List<Key> keys = new ArrayList<>();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(keys, new AtomicInteger());
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		try {
+			processor.process(s, null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: No matching key(s) found", e.getMessage());
+		}
+
+		assertEquals(0, processor.getRejectedJWTCache().size());
+
+		keys.add(key);
+
+		assertEquals("alice", processor.process(s, null).getSubject());
+	}
+
+
+	public void testRejectedJWTCacheSkipsBeforeUse()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.subject("alice")
+			.notBeforeTime(new Date(new Date().getTime() + 3600000L))
+			.build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process(s, null);
+				fail();
+			} catch (BadJWTException e) {
+				assertEquals("JWT before use time", e.getMessage());
+			}
+		}
+
+		assertEquals(2, verifierCount.get());
+		assertEquals(0, processor.getRejectedJWTCache().size());
+	}
+
+
+	public void testRejectedJWTCacheSkipsOtherClaimsRejections()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), new AtomicInteger());
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		final AtomicBoolean reject = new AtomicBoolean();
+
+		processor.setJWTClaimsVerifier(new JWTClaimsVerifier() {
+			@Override
+			public void verify(JWTClaimsSet claimsSet) throws BadJWTException {
+				if (reject.get()) {
+					throw new BadJWTException("Subject not accepted");
+				}
+			}
+		});
+
+		reject.set(true);
+
+		try {
+			processor.process(s, null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Subject not accepted", e.getMessage());
+		}
+
+		assertEquals(0, processor.getRejectedJWTCache().size());
+
+		reject.set(false);
+
+		assertEquals("alice", processor.process(s, null).getSubject());
+	}
+
+
+	public void testRejectedJWTCacheIgnoresParseErrors()
+		throws Exception {
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+
+		for (int i=0; i < 2; i++) {
+			try {
+				processor.process("abc", null);
+				fail();
+			} catch (ParseException e) {
+				// ok
+			}
+		}
+
+		assertEquals(0, processor.getRejectedJWTCache().size());
+	}
+
+
+	public void testPreVerifierDisabledByDefault() {
+
+		assertNull(new DefaultJWTProcessor<>().getJWTPreVerifier());
+	}
+
+
+	public void testPreVerifierRejectsBeforeSignatureVerification()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.subject("alice")
+			.expirationTime(new Date(new Date().getTime() - 3600000L))
+			.build());
+		jwt.sign(new MACSigner(key));
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setVerifiedJWTCache(null);
+		processor.setJWTPreVerifier(new DefaultJWTPreVerifier());
+
+		try {
+			processor.process(jwt.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		assertEquals(0, verifierCount.get());
+
+		// Turn off
+		processor.setJWTPreVerifier(null);
+
+		try {
+			processor.process(jwt.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		assertEquals(1, verifierCount.get());
+	}
+
+
+	public void testPreVerifierRejectsTooLongBeforeParsing()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(key));
+		String s = jwt.serialize();
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setRejectedJWTCache(new RejectedJWTCache());
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setMaxTokenLength(s.length() - 1);
+		processor.setJWTPreVerifier(preVerifier);
+
+		// Not parsed, else a parse exception
+		char[] chars = new char[s.length()];
+		Arrays.fill(chars, '!');
+		String invalid = new String(chars);
+		byte[] bytes = invalid.getBytes("US-ASCII");
+
+		try {
+			processor.process(invalid, null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+
+		try {
+			processor.process(bytes, 0, bytes.length, null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+
+		try {
+			processor.process(ByteBuffer.wrap(bytes), null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+
+		JWTProcessingResult result = processor.processAll(Collections.singletonList(invalid), null).get(0);
+		assertEquals("JWT rejected: Maximum length exceeded", result.getException().getMessage());
+
+		assertEquals(0, processor.getRejectedJWTCache().size());
+
+		// Parsed JWT
+		try {
+			processor.process(SignedJWT.parse(s), null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Maximum length exceeded", e.getMessage());
+		}
+
+		assertEquals(0, verifierCount.get());
+
+		preVerifier.setMaxTokenLength(s.length());
+		assertEquals("alice", processor.process(s, null).getSubject());
+	}
+
+
+	public void testPreVerifierPassStillVerifiesSignature()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice")
+			.build());
+		jwt.sign(new MACSigner(generateHMACKey()));
+
+		SecretKey key = generateHMACKey();
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		DefaultJWTPreVerifier preVerifier = new DefaultJWTPreVerifier();
+		preVerifier.setAcceptedAlgorithms(Collections.singleton(JWSAlgorithm.HS256));
+		preVerifier.setAcceptedIssuers(Collections.singleton("https://c2id.com"));
+		processor.setJWTPreVerifier(preVerifier);
+
+		try {
+			processor.process(jwt.serialize(), null);
+			fail();
+		} catch (BadJWSException e) {
+			assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+		}
+
+		assertEquals(1, verifierCount.get());
+
+		jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.subject("alice")
+			.build());
+		jwt.sign(new MACSigner(key));
+
+		assertEquals("alice", processor.process(jwt.serialize(), null).getSubject());
+	}
+
+
+	public void testProcessAll()
+		throws Exception {
+
+		SecretKey key1 = generateHMACKey();
+		SecretKey key2 = generateHMACKey();
+
+		List<String> tokens = new ArrayList<>();
+
+		for (int i=0; i < 50; i++) {
+			SignedJWT jwt = new SignedJWT(
+				new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(i % 2 == 0 ? "1" : "2").build(),
+				new JWTClaimsSet.Builder().subject("user-" + i).build());
+			jwt.sign(new MACSigner(i % 2 == 0 ? key1 : key2));
+			tokens.add(jwt.serialize());
+		}
+
+		// Bad signature
+		SignedJWT badJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("bad").build());
+		badJWT.sign(new MACSigner(generateHMACKey()));
+		tokens.add(10, badJWT.serialize());
+
+		// Not a JWT
+		tokens.add(20, "abc");
+
+		// Unknown key
+		SignedJWT unknownKeyJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("3").build(), new JWTClaimsSet.Builder().subject("unknown").build());
+		unknownKeyJWT.sign(new MACSigner(generateHMACKey()));
+		tokens.add(30, unknownKeyJWT.serialize());
+
+		final Map<String,Key> keys = new HashMap<>();
+		keys.put("1", key1);
+		keys.put("2", key2);
+
+		final AtomicInteger selectorCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+
+		processor.setJWSKeySelector(new JWSKeySelector<SimpleSecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWSKeys(JWSHeader header, SimpleSecurityContext context) {
+				selectorCount.incrementAndGet();
+				Key key = keys.get(header.getKeyID());
+				return key != null ? Collections.singletonList(key) : Collections.<Key>emptyList();
+			}
+		});
+
+		ForkJoinPool pool = new ForkJoinPool(3);
+		processor.setForkJoinPool(pool);
+		assertSame(pool, processor.getForkJoinPool());
+
+		List<JWTProcessingResult> results = processor.processAll(tokens, null);
+
+		pool.shutdown();
+
+		assertEquals(tokens.size(), results.size());
+
+		// One key selection per distinct header
+		assertEquals(3, selectorCount.get());
+
+		int user = 0;
+
+		for (int i=0; i < results.size(); i++) {
+
+			JWTProcessingResult result = results.get(i);
+
+			if (i == 10) {
+				assertFalse(result.isSuccess());
+				assertEquals("Signed JWT rejected: Invalid signature", result.getException().getMessage());
+			} else if (i == 20) {
+				assertFalse(result.isSuccess());
+				assertTrue(result.getException() instanceof ParseException);
+			} else if (i == 30) {
+				assertFalse(result.isSuccess());
+				assertEquals("Signed JWT rejected: No matching key(s) found", result.getException().getMessage());
+			} else {
+				assertTrue(result.isSuccess());
+				assertNull(result.getException());
+				assertEquals("user-" + user++, result.getClaimsSet().getSubject());
+			}
+		}
+
+		assertEquals(50, user);
+	}
+
+
+	public void testProcessAllDefaultPool()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.subject("alice")
+			.expirationTime(new Date(new Date().getTime() - 3600000L))
+			.build());
+		jwt.sign(new MACSigner(key));
+
+		AtomicInteger verifierCount = new AtomicInteger();
+		DefaultJWTProcessor<SimpleSecurityContext> processor = createCachingProcessor(Collections.<Key>singletonList(key), verifierCount);
+		processor.setJWTPreVerifier(new DefaultJWTPreVerifier());
+		assertNull(processor.getForkJoinPool());
+
+		List<JWTProcessingResult> results = processor.processAll(Arrays.asList(jwt.serialize(), jwt.serialize()), null);
+
+		assertEquals(2, results.size());
+
+		for (JWTProcessingResult result: results) {
+			assertEquals("Expired JWT", result.getException().getMessage());
+		}
+
+		// Rejected by the pre-verifier, before the key selection
+		assertEquals(0, verifierCount.get());
+		assertEquals(0, processor.getVerifiedJWTCache().size());
+
+		List<String> tokens = new ArrayList<>();
+
+		for (int i=0; i < 10; i++) {
+			SignedJWT validJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("user-" + i).build());
+			validJWT.sign(new MACSigner(key));
+			tokens.add(validJWT.serialize());
+		}
+
+		results = processor.processAll(tokens, null);
+
+		for (int i=0; i < 10; i++) {
+			assertEquals("user-" + i, results.get(i).getClaimsSet().getSubject());
+		}
+
+		// Verifiers are created once per group
+		assertEquals(1, verifierCount.get());
+
+		// The verified JWT cache is used as with individual processing
+		assertEquals(10, processor.getVerifiedJWTCache().size());
+
+		assertTrue(processor.processAll(Collections.<String>emptyList(), null).isEmpty());
+	}
+
+
+	public void testProcessAllNoKeySelector()
+		throws Exception {
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(generateHMACKey()));
+
+		List<JWTProcessingResult> results = new DefaultJWTProcessor<>().processAll(Collections.singletonList(jwt.serialize()), null);
+
+		assertEquals("Signed JWT rejected: No JWS key selector is configured", results.get(0).getException().getMessage());
+	}
+
+
+	public void testProcessAllHonoursProcessSignedJWTOverride()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		List<String> tokens = new ArrayList<>();
+
+		for (String subject: Arrays.asList("alice", "bob", "claire")) {
+			SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject(subject).build());
+			jwt.sign(new MACSigner(key));
+			tokens.add(jwt.serialize());
+		}
+
+		final AtomicInteger processCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			public JWTClaimsSet process(SignedJWT signedJWT, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				processCount.incrementAndGet();
+				JWTClaimsSet claimsSet = super.process(signedJWT, context);
+				if ("bob".equals(claimsSet.getSubject())) {
+					throw new BadJWTException("Subject rejected by subclass");
+				}
+				return claimsSet;
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableSecret<SimpleSecurityContext>(key)));
+
+		List<JWTProcessingResult> results = processor.processAll(tokens, null);
+
+		assertEquals(3, processCount.get());
+		assertEquals("alice", results.get(0).getClaimsSet().getSubject());
+		assertEquals("Subject rejected by subclass", results.get(1).getException().getMessage());
+		assertEquals("claire", results.get(2).getClaimsSet().getSubject());
+
+		// Same as the individual processing
+		try {
+			processor.process(tokens.get(1), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Subject rejected by subclass", e.getMessage());
+		}
+	}
+
+
+	public void testProcessAllHonoursProcessJWTAndStringOverrides()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		List<String> tokens = new ArrayList<>();
+
+		for (String subject: Arrays.asList("alice", "bob", "claire")) {
+			SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject(subject).build());
+			jwt.sign(new MACSigner(key));
+			tokens.add(jwt.serialize());
+		}
+
+		tokens.add("abc");
+
+		final AtomicInteger stringCount = new AtomicInteger();
+		final AtomicInteger jwtCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			public JWTClaimsSet process(String jwtString, SimpleSecurityContext context)
+				throws ParseException, BadJOSEException, JOSEException {
+				stringCount.incrementAndGet();
+				return super.process(jwtString, context);
+			}
+
+
+			@Override
+			public JWTClaimsSet process(JWT jwt, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				jwtCount.incrementAndGet();
+				JWTClaimsSet claimsSet = super.process(jwt, context);
+				if ("bob".equals(claimsSet.getSubject())) {
+					throw new BadJWTException("Subject rejected by subclass");
+				}
+				return claimsSet;
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableSecret<SimpleSecurityContext>(key)));
+
+		List<JWTProcessingResult> results = processor.processAll(tokens, null);
+
+		assertEquals(4, stringCount.get());
+		assertEquals(3, jwtCount.get());
+		assertEquals("alice", results.get(0).getClaimsSet().getSubject());
+		assertEquals("Subject rejected by subclass", results.get(1).getException().getMessage());
+		assertEquals("claire", results.get(2).getClaimsSet().getSubject());
+		assertTrue(results.get(3).getException() instanceof ParseException);
+
+		// Same as the individual processing
+		for (int i=0; i < tokens.size(); i++) {
+
+			if (results.get(i).isSuccess()) {
+				assertEquals(results.get(i).getClaimsSet().toJSONObject(), processor.process(tokens.get(i), null).toJSONObject());
+				continue;
+			}
+
+			try {
+				processor.process(tokens.get(i), null);
+				fail();
+			} catch (ParseException | BadJOSEException e) {
+				assertEquals(results.get(i).getException().getMessage(), e.getMessage());
+			}
+		}
+	}
+
+
+	public void testProcessAllHonoursVerifySignatureOverride()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		List<String> tokens = new ArrayList<>();
+
+		for (int i=0; i < 10; i++) {
+			SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("user-" + i).build());
+			jwt.sign(new MACSigner(key));
+			tokens.add(jwt.serialize());
+		}
+
+		final AtomicInteger hookCount = new AtomicInteger();
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<SimpleSecurityContext>() {
+			@Override
+			protected Key verifySignature(SignedJWT signedJWT, SimpleSecurityContext context)
+				throws BadJOSEException, JOSEException {
+				hookCount.incrementAndGet();
+				return super.verifySignature(signedJWT, context);
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableSecret<SimpleSecurityContext>(key)));
+
+		List<JWTProcessingResult> results = processor.processAll(tokens, null);
+
+		assertEquals(10, hookCount.get());
+
+		for (int i=0; i < 10; i++) {
+			assertEquals("user-" + i, results.get(i).getClaimsSet().getSubject());
+		}
+	}
+
+
+	public void testProcessAllRuntimeExceptions()
+		throws Exception {
+
+		SecretKey key = generateHMACKey();
+
+		List<String> tokens = new ArrayList<>();
+
+		for (String kid: Arrays.asList("1", "2", "1", "1")) {
+			SignedJWT jwt = new SignedJWT(
+				new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(kid).build(),
+				new JWTClaimsSet.Builder().subject(tokens.size() == 3 ? "boom" : "user-" + tokens.size()).build());
+			jwt.sign(new MACSigner(key));
+			tokens.add(jwt.serialize());
+		}
+
+		// Encrypted JWTs aren't grouped
+		JWEObject jweObject = new JWEObject(new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A128GCM), new Payload("{}"));
+		jweObject.encrypt(new DirectEncrypter(new SecretKeySpec(new byte[16], "AES")));
+		tokens.add(jweObject.serialize());
+
+		final List<Key> keys = Collections.<Key>singletonList(key);
+
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+
+		processor.setJWSKeySelector(new JWSKeySelector<SimpleSecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWSKeys(JWSHeader header, SimpleSecurityContext context) {
+				if ("2".equals(header.getKeyID())) {
+					throw new IllegalStateException("Key selector failure");
+				}
+				return keys;
+			}
+		});
+
+		processor.setJWEKeySelector(new JWEKeySelector<SimpleSecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWEKeys(JWEHeader header, SimpleSecurityContext context) {
+				throw new IllegalStateException("JWE key selector failure");
+			}
+		});
+
+		processor.setJWTClaimsVerifier(new JWTClaimsVerifier() {
+			@Override
+			public void verify(JWTClaimsSet claimsSet) {
+				if ("boom".equals(claimsSet.getSubject())) {
+					throw new IllegalArgumentException("Claims verifier failure");
+				}
+			}
+		});
+
+		List<JWTProcessingResult> results = processor.processAll(tokens, null);
+
+		assertEquals(5, results.size());
+
+		assertEquals("user-0", results.get(0).getClaimsSet().getSubject());
+
+		assertTrue(results.get(1).getException() instanceof IllegalStateException);
+		assertEquals("Key selector failure", results.get(1).getException().getMessage());
+
+		assertEquals("user-2", results.get(2).getClaimsSet().getSubject());
+
+		assertTrue(results.get(3).getException() instanceof IllegalArgumentException);
+		assertEquals("Claims verifier failure", results.get(3).getException().getMessage());
+
+		assertTrue(results.get(4).getException() instanceof IllegalStateException);
+		assertEquals("JWE key selector failure", results.get(4).getException().getMessage());
+	}
 }
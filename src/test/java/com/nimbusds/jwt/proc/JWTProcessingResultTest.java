@@ -0,0 +1,59 @@
+package com.nimbusds.jwt.proc;
+
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * Tests the JWT processing result.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class JWTProcessingResultTest extends TestCase {
+
+
+	public void testSuccess() {
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().subject("alice").build();
+
+		JWTProcessingResult result = new JWTProcessingResult(claimsSet);
+
+		assertTrue(result.isSuccess());
+		assertSame(claimsSet, result.getClaimsSet());
+		assertNull(result.getException());
+	}
+
+
+	public void testFailure() {
+
+		BadJOSEException exception = new BadJOSEException("Rejected");
+
+		JWTProcessingResult result = new JWTProcessingResult(exception);
+
+		assertFalse(result.isSuccess());
+		assertNull(result.getClaimsSet());
+		assertSame(exception, result.getException());
+	}
+
+
+	public void testRejectNull() {
+
+		try {
+			new JWTProcessingResult((JWTClaimsSet)null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The claims set must not be null", e.getMessage());
+		}
+
+		try {
+			new JWTProcessingResult((Exception)null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The exception must not be null", e.getMessage());
+		}
+	}
+}
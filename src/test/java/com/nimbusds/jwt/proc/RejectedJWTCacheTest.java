@@ -0,0 +1,63 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+
+
+/**
+ * Tests the rejected JWT cache.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class RejectedJWTCacheTest extends TestCase {
+
+
+	public void testDefaultConstructor() {
+
+		RejectedJWTCache cache = new RejectedJWTCache();
+
+		assertEquals(RejectedJWTCache.DEFAULT_MAX_ENTRIES, cache.getMaxEntries());
+		assertEquals(RejectedJWTCache.DEFAULT_TTL_SECONDS, cache.getTimeToLive(TimeUnit.SECONDS));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+
+	public void testRejectNonPositiveTimeToLive() {
+
+		try {
+			new RejectedJWTCache(10, -1, TimeUnit.SECONDS);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The time-to-live must be positive", e.getMessage());
+		}
+	}
+
+
+	public void testPutGet() {
+
+		RejectedJWTCache cache = new RejectedJWTCache(2, 1, TimeUnit.MINUTES);
+
+		BadJOSEException e = new BadJOSEException("Rejected");
+
+		assertNull(cache.get("a"));
+		cache.put("a", e);
+		assertSame(e, cache.get("a"));
+
+		cache.put("b", e);
+		cache.put("c", e);
+		assertEquals(2, cache.size());
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,83 @@
+package com.nimbusds.jwt.proc;
+
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * Tests the verified JWT cache.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-18
+ */
+public class VerifiedJWTCacheTest extends TestCase {
+
+
+	public void testDefaultConstructor() {
+
+		VerifiedJWTCache cache = new VerifiedJWTCache();
+
+		assertEquals(VerifiedJWTCache.DEFAULT_MAX_ENTRIES, cache.getMaxEntries());
+		assertEquals(VerifiedJWTCache.DEFAULT_TTL_MINUTES, cache.getTimeToLive(TimeUnit.MINUTES));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+
+	public void testComputeKey()
+		throws Exception {
+
+		String key = VerifiedJWTCache.computeKey("abc.def.ghi");
+
+		// SHA-256, Base64URL
+		assertEquals(43, key.length());
+
+		byte[] bytes = "xxabc.def.ghiyy".getBytes("US-ASCII");
+		assertEquals(key, VerifiedJWTCache.computeKey(bytes, 2, 11));
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, 11);
+		assertEquals(key, VerifiedJWTCache.computeKey(buffer));
+		assertEquals(2, buffer.position());
+
+		assertFalse(key.equals(VerifiedJWTCache.computeKey("abc.def.ghj")));
+	}
+
+
+	public void testEntryExpiresAtJWTExpiration() {
+
+		VerifiedJWTCache cache = new VerifiedJWTCache(10, 1, TimeUnit.HOURS);
+
+		JWTClaimsSet expired = new JWTClaimsSet.Builder()
+			.expirationTime(new Date(new Date().getTime() - 1000L))
+			.build();
+
+		cache.put("a", new VerifiedJWTCache.Entry(expired, new JWSHeader(JWSAlgorithm.HS256), null));
+		assertNull(cache.get("a"));
+
+		JWTClaimsSet valid = new JWTClaimsSet.Builder()
+			.expirationTime(new Date(new Date().getTime() + 60000L))
+			.build();
+
+		cache.put("b", new VerifiedJWTCache.Entry(valid, new JWSHeader(JWSAlgorithm.HS256), null));
+		assertSame(valid, cache.get("b").claimsSet);
+
+		JWTClaimsSet noExp = new JWTClaimsSet.Builder().build();
+		cache.put("c", new VerifiedJWTCache.Entry(noExp, new JWSHeader(JWSAlgorithm.HS256), null));
+		assertSame(noExp, cache.get("c").claimsSet);
+
+		cache.remove("c");
+		assertNull(cache.get("c"));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+}